@@ -0,0 +1,109 @@
+#!/usr/bin/env python3
+#
+# Copyright © 2019 Dominokit
+#
+# Licensed under the Apache License, Version 2.0 (the "License");
+# you may not use this file except in compliance with the License.
+# You may obtain a copy of the License at
+#
+#     http://www.apache.org/licenses/LICENSE-2.0
+#
+# Unless required by applicable law or agreed to in writing, software
+# distributed under the License is distributed on an "AS IS" BASIS,
+# WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+# See the License for the specific language governing permissions and
+# limitations under the License.
+#
+
+"""Compares two JMH JSON result files and fails on regressions.
+
+usage: compare-benchmarks.py baseline.json current.json [--threshold 10]
+
+The score of every benchmark (lower is better, the benchmarks use the average time mode) and its
+allocated bytes per operation, reported by the gc profiler, are compared. The script exits with 1
+when any of them grew by more than the threshold percentage.
+"""
+
+import argparse
+import json
+import sys
+
+ALLOCATION_METRICS = ("gc.alloc.rate.norm", "·gc.alloc.rate.norm")
+
+
+def load(path):
+    with open(path, encoding="utf-8") as results:
+        return {key(result): result for result in json.load(results)}
+
+
+def key(result):
+    params = result.get("params") or {}
+    suffix = ",".join("%s=%s" % (name, params[name]) for name in sorted(params))
+    return result["benchmark"] + ("[" + suffix + "]" if suffix else "")
+
+
+def allocation(result):
+    metrics = result.get("secondaryMetrics") or {}
+    for name in ALLOCATION_METRICS:
+        if name in metrics:
+            return metrics[name]["score"]
+    return None
+
+
+def change(baseline, current):
+    if baseline is None or current is None:
+        return None
+    if baseline == 0:
+        return 0.0 if current == 0 else float("inf")
+    return (current - baseline) * 100.0 / baseline
+
+
+def format_change(percent):
+    return "n/a" if percent is None else "%+.1f%%" % percent
+
+
+def main():
+    parser = argparse.ArgumentParser(description=__doc__.splitlines()[0])
+    parser.add_argument("baseline")
+    parser.add_argument("current")
+    parser.add_argument(
+        "--threshold", type=float, default=10.0, help="allowed regression in percent")
+    args = parser.parse_args()
+
+    baseline = load(args.baseline)
+    current = load(args.current)
+    regressions = []
+    print("%-80s %12s %12s %9s %12s %9s" % ("benchmark", "baseline", "current", "time", "B/op",
+                                           "alloc"))
+    for name in sorted(current):
+        result = current[name]
+        unit = result["primaryMetric"]["scoreUnit"]
+        score = result["primaryMetric"]["score"]
+        previous = baseline.get(name)
+        if previous is None:
+            print("%-80s %12s %12.3f %9s %12s %9s  (new, %s)" % (
+                name, "-", score, "", "", "", unit))
+            continue
+        time_change = change(previous["primaryMetric"]["score"], score)
+        alloc_change = change(allocation(previous), allocation(result))
+        print("%-80s %12.3f %12.3f %9s %12s %9s" % (
+            name, previous["primaryMetric"]["score"], score, format_change(time_change),
+            "n/a" if allocation(result) is None else "%.0f" % allocation(result),
+            format_change(alloc_change)))
+        if time_change is not None and time_change > args.threshold:
+            regressions.append("%s is %s slower" % (name, format_change(time_change)))
+        if alloc_change is not None and alloc_change > args.threshold:
+            regressions.append("%s allocates %s more" % (name, format_change(alloc_change)))
+    for name in sorted(set(baseline) - set(current)):
+        print("%-80s missing from the current results" % name)
+
+    if regressions:
+        print("\nregressions above %.1f%%:" % args.threshold)
+        for regression in regressions:
+            print("  " + regression)
+        return 1
+    return 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
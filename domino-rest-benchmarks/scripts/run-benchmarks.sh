@@ -0,0 +1,36 @@
+#!/usr/bin/env bash
+#
+# Copyright © 2019 Dominokit
+#
+# Licensed under the Apache License, Version 2.0 (the "License");
+# you may not use this file except in compliance with the License.
+# You may obtain a copy of the License at
+#
+#     http://www.apache.org/licenses/LICENSE-2.0
+#
+# Unless required by applicable law or agreed to in writing, software
+# distributed under the License is distributed on an "AS IS" BASIS,
+# WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+# See the License for the specific language governing permissions and
+# limitations under the License.
+#
+
+# Runs the benchmarks with the gc profiler and writes the results as JSON.
+#
+# usage: scripts/run-benchmarks.sh [results.json] [jmh options...]
+#   scripts/run-benchmarks.sh baseline.json
+#   scripts/run-benchmarks.sh current.json 'UrlFormatter|ServicePath'
+
+set -euo pipefail
+
+module_dir="$(cd "$(dirname "$0")/.." && pwd)"
+jar="${module_dir}/target/benchmarks.jar"
+results="${1:-${module_dir}/target/benchmarks.json}"
+shift || true
+
+if [[ ! -f "${jar}" ]]; then
+  (cd "${module_dir}/.." && mvn -B -q -pl domino-rest-benchmarks -am package -DskipTests)
+fi
+
+java -jar "${jar}" -prof gc -rf json -rff "${results}" "$@"
+echo "results written to ${results}"
@@ -0,0 +1,91 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.dominokit.rest.benchmarks.model.LargeBean;
+import org.dominokit.rest.benchmarks.model.LargeBean_MapperImpl;
+import org.dominokit.rest.benchmarks.model.MediumBean;
+import org.dominokit.rest.benchmarks.model.MediumBean_MapperImpl;
+import org.dominokit.rest.benchmarks.model.SmallBean;
+import org.dominokit.rest.benchmarks.model.SmallBean_MapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures the generated JSON readers and writers for small, medium and large beans. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanMappingBenchmark {
+
+  private SmallBean small;
+  private MediumBean medium;
+  private LargeBean large;
+  private String smallJson;
+  private String mediumJson;
+  private String largeJson;
+
+  @Setup
+  public void setup() {
+    small = Fixtures.smallBean(1);
+    medium = Fixtures.mediumBean(1);
+    large = Fixtures.largeBean(100);
+    smallJson = SmallBean_MapperImpl.INSTANCE.write(small);
+    mediumJson = MediumBean_MapperImpl.INSTANCE.write(medium);
+    largeJson = LargeBean_MapperImpl.INSTANCE.write(large);
+  }
+
+  @Benchmark
+  public String writeSmall() {
+    return SmallBean_MapperImpl.INSTANCE.write(small);
+  }
+
+  @Benchmark
+  public SmallBean readSmall() {
+    return SmallBean_MapperImpl.INSTANCE.read(smallJson);
+  }
+
+  @Benchmark
+  public String writeMedium() {
+    return MediumBean_MapperImpl.INSTANCE.write(medium);
+  }
+
+  @Benchmark
+  public MediumBean readMedium() {
+    return MediumBean_MapperImpl.INSTANCE.read(mediumJson);
+  }
+
+  @Benchmark
+  public String writeLarge() {
+    return LargeBean_MapperImpl.INSTANCE.write(large);
+  }
+
+  @Benchmark
+  public LargeBean readLarge() {
+    return LargeBean_MapperImpl.INSTANCE.read(largeJson);
+  }
+}
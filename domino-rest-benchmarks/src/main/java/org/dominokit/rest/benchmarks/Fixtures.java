@@ -0,0 +1,122 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.dominokit.rest.DominoRestConfig;
+import org.dominokit.rest.benchmarks.model.LargeBean;
+import org.dominokit.rest.benchmarks.model.MediumBean;
+import org.dominokit.rest.benchmarks.model.SmallBean;
+import org.dominokit.rest.shared.Response;
+import org.dominokit.rest.shared.request.DominoRestContext;
+import org.dominokit.rest.shared.request.RequestDescriptor;
+import org.dominokit.rest.shared.request.RequestMeta;
+import org.dominokit.rest.shared.request.ServerRequest;
+
+/** Fixtures shared by the benchmarks. */
+final class Fixtures {
+
+  /** A path template with path, matrix, query and fragment expressions. */
+  static final String URL_TEMPLATE =
+      "/api/{tenant}/items/{id:\\d+};version={version}/details?expand={expand}&page=2#{section}";
+
+  /** The path of {@link ItemRequest}, its matrix parameters are added to the last segment. */
+  static final String REQUEST_PATH = "/api/{tenant}/items/{id:\\d+}/details?page=2#{section}";
+
+  /** A URL with matrix parameters, a query and a fragment. */
+  static final String URL = "/api/acme/items/42;version=3/details?expand=owner&page=2&size=50#top";
+
+  private Fixtures() {}
+
+  /** Initializes the runtime with the default configuration. */
+  static void initContext() {
+    DominoRestContext.make().init(DominoRestConfig.initDefaults());
+  }
+
+  /**
+   * @return a small bean with all its fields set
+   */
+  static SmallBean smallBean(int index) {
+    SmallBean bean = new SmallBean();
+    bean.setId("owner-" + index);
+    bean.setName("Owner number " + index);
+    bean.setQuantity(index);
+    return bean;
+  }
+
+  /**
+   * @return a medium bean with all its fields set
+   */
+  static MediumBean mediumBean(int index) {
+    MediumBean bean = new MediumBean();
+    bean.setId("item-" + index);
+    bean.setName("Item number " + index);
+    bean.setDescription("A medium sized item used to measure the JSON mappers, item " + index);
+    bean.setCategory("benchmarks");
+    bean.setStatus("ACTIVE");
+    bean.setQuantity(index);
+    bean.setCreatedAt(1_700_000_000_000L + index);
+    bean.setUpdatedAt(1_700_000_500_000L + index);
+    bean.setPrice(index * 1.25);
+    bean.setActive(index % 2 == 0);
+    bean.setOwner(smallBean(index));
+    bean.setTags(Arrays.asList("alpha", "beta", "gamma"));
+    bean.setRelated(Arrays.asList(smallBean(index + 1), smallBean(index + 2)));
+    return bean;
+  }
+
+  /**
+   * @param items the number of medium beans in the page
+   * @return a large bean holding a page of medium beans
+   */
+  static LargeBean largeBean(int items) {
+    LargeBean bean = new LargeBean();
+    bean.setId("page-1");
+    bean.setName("A page of items");
+    bean.setPage(1);
+    bean.setPageSize(items);
+    bean.setTotal(items * 10L);
+    List<MediumBean> page = new ArrayList<>(items);
+    List<SmallBean> owners = new ArrayList<>(items);
+    for (int i = 0; i < items; i++) {
+      page.add(mediumBean(i));
+      owners.add(smallBean(i));
+    }
+    bean.setItems(page);
+    bean.setOwners(owners);
+    return bean;
+  }
+
+  private static final RequestDescriptor ITEM_DESCRIPTOR =
+      new RequestDescriptor(
+          new RequestMeta(ItemRequest.class, "item", Void.class, String.class),
+          "GET",
+          REQUEST_PATH,
+          "http://localhost:8080",
+          new String[] {"application/json"},
+          null,
+          null);
+
+  /** A GET request built the way generated clients build theirs. */
+  static final class ItemRequest extends ServerRequest<Void, String> {
+    ItemRequest() {
+      super(ITEM_DESCRIPTOR, null);
+      setResponseReader(Response::getBodyAsString);
+    }
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.dominokit.rest.DominoRestConfig;
+import org.dominokit.rest.benchmarks.load.LoadGenerator;
+import org.dominokit.rest.benchmarks.load.LoadReport;
+import org.dominokit.rest.benchmarks.load.StubServer;
+import org.dominokit.rest.benchmarks.model.ItemsServiceFactory;
+import org.dominokit.rest.benchmarks.model.MediumBean_MapperImpl;
+import org.dominokit.rest.jvm.Transport;
+import org.dominokit.rest.jvm.loopback.Latency;
+import org.dominokit.rest.jvm.loopback.LoopbackResponse;
+import org.dominokit.rest.jvm.loopback.LoopbackServer;
+
+/**
+ * Runs the {@link LoadGenerator} with the generated {@code ItemsService} client against a local
+ * stub server, once per transport, and prints the reports.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar org.dominokit.rest.benchmarks.LoadGeneratorMain \
+ *     --rate 5000 --duration 30 --warmup 10 --service-time 2 --transports JDK_HTTP_CLIENT,NIO
+ * </pre>
+ */
+public final class LoadGeneratorMain {
+
+  private LoadGeneratorMain() {}
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = parse(args);
+    double rate = Double.parseDouble(options.getOrDefault("rate", "1000"));
+    long duration = Long.parseLong(options.getOrDefault("duration", "10"));
+    long warmup = Long.parseLong(options.getOrDefault("warmup", "5"));
+    long serviceTime = Long.parseLong(options.getOrDefault("service-time", "0"));
+    int maxOutstanding = Integer.parseInt(options.getOrDefault("max-outstanding", "100000"));
+    List<Transport> transports = new ArrayList<>();
+    for (String name : options.getOrDefault("transports", "JDK_HTTP_CLIENT,NIO").split(",")) {
+      transports.add(Transport.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+    }
+
+    Fixtures.initContext();
+    String item = MediumBean_MapperImpl.INSTANCE.write(Fixtures.mediumBean(1));
+    List<LoadReport> reports = new ArrayList<>();
+    try (StubServer server = StubServer.start(item, serviceTime)) {
+      for (Transport transport : transports) {
+        String root = server.getRoot();
+        if (transport == Transport.LOOPBACK) {
+          root = "http://loopback";
+          DominoRestConfig.getInstance()
+              .setLoopbackServer(
+                  new LoopbackServer()
+                      .setLatency(Latency.fixed(serviceTime))
+                      .route("/items/**", request -> LoopbackResponse.json(item)));
+        }
+        DominoRestConfig.getInstance().setTransport(transport);
+        String serviceRoot = root;
+        LoadReport report =
+            new LoadGenerator(
+                    i ->
+                        ItemsServiceFactory.INSTANCE
+                            .get(String.valueOf(i), "owner")
+                            .setServiceRoot(serviceRoot))
+                .setRate(rate)
+                .setDuration(duration, TimeUnit.SECONDS)
+                .setWarmup(warmup, TimeUnit.SECONDS)
+                .setMaxOutstanding(maxOutstanding)
+                .run(transport.name());
+        System.out.println(report);
+        reports.add(report);
+      }
+    } finally {
+      DominoRestConfig.getInstance().setTransport(null).setLoopbackServer(null);
+    }
+    if (reports.size() > 1) {
+      System.out.printf(
+          "%-16s %10s %10s %10s %10s %10s %8s%n",
+          "transport", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "failed");
+      for (LoadReport report : reports) {
+        System.out.printf(
+            "%-16s %10.1f %10.3f %10.3f %10.3f %10.3f %8d%n",
+            report.getName(),
+            report.getThroughput(),
+            report.getLatencies().getMillisAtPercentile(50),
+            report.getLatencies().getMillisAtPercentile(99),
+            report.getLatencies().getMillisAtPercentile(99.9),
+            report.getLatencies().getMillisAtPercentile(100),
+            report.getFailed());
+      }
+    }
+    System.exit(0);
+  }
+
+  private static Map<String, String> parse(String[] args) {
+    Map<String, String> options = new HashMap<>();
+    for (int i = 0; i < args.length; i++) {
+      if (!args[i].startsWith("--") || i + 1 == args.length) {
+        throw new IllegalArgumentException(
+            "usage: LoadGeneratorMain [--rate n] [--duration s] [--warmup s] [--service-time ms]"
+                + " [--max-outstanding n] [--transports JDK_HTTP_CLIENT,NIO,LOOPBACK]");
+      }
+      options.put(args[i].substring(2), args[++i]);
+    }
+    return options;
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.dominokit.rest.shared.request.ServerRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures {@link ServerRequest#normalizeUrl()}, the request creation is measured separately. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NormalizeUrlBenchmark {
+
+  @Setup
+  public void setup() {
+    Fixtures.initContext();
+  }
+
+  /** The cost of creating the request, to subtract from {@link #createAndNormalize()}. */
+  @Benchmark
+  public ServerRequest<Void, String> create() {
+    return newRequest();
+  }
+
+  @Benchmark
+  public String createAndNormalize() {
+    ServerRequest<Void, String> request = newRequest();
+    request.normalizeUrl();
+    return request.getUrl();
+  }
+
+  private static ServerRequest<Void, String> newRequest() {
+    Fixtures.ItemRequest request = new Fixtures.ItemRequest();
+    request.setPathParameter("tenant", "acme");
+    request.setPathParameter("id", "42");
+    request.setFragmentParameter("section", "top");
+    request.addMatrixParameter("version", "3");
+    request.addQueryParameter("expand", "owner");
+    return request;
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.benchmarks;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.dominokit.rest.shared.request.NullQueryParamStrategy;
+import org.dominokit.rest.shared.request.ParamKind;
+import org.dominokit.rest.shared.request.ParameterSetter;
+import org.dominokit.rest.shared.request.ServerRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the {@link ParameterSetter} calls generated clients make for every parameter, the typed
+ * calls emitted by the processor against the supplier based calls of earlier generated clients.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParameterSetterBenchmark {
+
+  private final List<String> values = Arrays.asList("alpha", "beta", "gamma");
+  private final Date date = new Date(1_700_000_000_000L);
+
+  @Setup
+  public void setup() {
+    Fixtures.initContext();
+  }
+
+  @Benchmark
+  public ServerRequest<Void, String> scalarParameters() {
+    ServerRequest<Void, String> request = new Fixtures.ItemRequest();
+    ParameterSetter.setParameter(request, "tenant", () -> "acme", "path");
+    ParameterSetter.setParameter(request, "id", () -> 42, "path");
+    ParameterSetter.setParameter(request, "version", () -> 3, "matrix");
+    ParameterSetter.setParameter(request, "expand", () -> "owner", "query");
+    return request;
+  }
+
+  @Benchmark
+  public ServerRequest<Void, String> typedScalarParameters() {
+    ServerRequest<Void, String> request = new Fixtures.ItemRequest();
+    request.setPathParameter("tenant", "acme");
+    request.setPathParameter("id", String.valueOf(42));
+    request.addMatrixParameter("version", String.valueOf(3));
+    ParameterSetter.setParameter(
+        request, "expand", "owner", ParamKind.QUERY, NullQueryParamStrategy.EMPTY);
+    return request;
+  }
+
+  @Benchmark
+  public ServerRequest<Void, String> collectionParameter() {
+    ServerRequest<Void, String> request = new Fixtures.ItemRequest();
+    ParameterSetter.setCollectionParameter(request, "tag", () -> values, "query");
+    return request;
+  }
+
+  @Benchmark
+  public ServerRequest<Void, String> typedCollectionParameter() {
+    ServerRequest<Void, String> request = new Fixtures.ItemRequest();
+    ParameterSetter.setCollectionParameter(request, "tag", values, ParamKind.QUERY);
+    return request;
+  }
+
+  @Benchmark
+  public ServerRequest<Void, String> dateParameter() {
+    ServerRequest<Void, String> request = new Fixtures.ItemRequest();
+    ParameterSetter.setDateParameter(request, "since", () -> date, "yyyy-MM-dd", "query");
+    return request;
+  }
+
+  @Benchmark
+  public ServerRequest<Void, String> typedDateParameter() {
+    ServerRequest<Void, String> request = new Fixtures.ItemRequest();
+    ParameterSetter.setDateParameter(request, "since", date, "yyyy-MM-dd", ParamKind.QUERY);
+    return request;
+  }
+}
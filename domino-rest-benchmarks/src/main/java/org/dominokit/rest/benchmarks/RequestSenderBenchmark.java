@@ -0,0 +1,108 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.dominokit.rest.DominoRestConfig;
+import org.dominokit.rest.benchmarks.load.StubServer;
+import org.dominokit.rest.benchmarks.model.ItemsServiceFactory;
+import org.dominokit.rest.benchmarks.model.MediumBean;
+import org.dominokit.rest.benchmarks.model.MediumBean_MapperImpl;
+import org.dominokit.rest.jvm.Transport;
+import org.dominokit.rest.jvm.loopback.LoopbackResponse;
+import org.dominokit.rest.jvm.loopback.LoopbackServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a full round trip through a generated client: building the request, writing the body,
+ * sending it, reading the response and parsing the JSON, against a local HTTP server or the
+ * in-process loopback server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestSenderBenchmark {
+
+  @Param({"JDK_HTTP_CLIENT", "NIO", "LOOPBACK"})
+  public Transport transport;
+
+  private StubServer server;
+  private String root;
+  private String item;
+  private MediumBean body;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    Fixtures.initContext();
+    body = Fixtures.mediumBean(7);
+    item = MediumBean_MapperImpl.INSTANCE.write(Fixtures.mediumBean(1));
+    if (transport == Transport.LOOPBACK) {
+      root = "http://loopback";
+      LoopbackServer loopback =
+          new LoopbackServer()
+              .route("GET", "/items/{id}", request -> LoopbackResponse.json(item))
+              .route(
+                  "POST",
+                  "/items",
+                  request -> LoopbackResponse.json(request.getBodyAsString()));
+      DominoRestConfig.getInstance().setLoopbackServer(loopback);
+    } else {
+      server = StubServer.start(item, 0);
+      root = server.getRoot();
+    }
+    DominoRestConfig.getInstance().setTransport(transport);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    DominoRestConfig.getInstance().setTransport(null).setLoopbackServer(null);
+    if (server != null) {
+      server.close();
+    }
+  }
+
+  @Benchmark
+  public MediumBean get() {
+    return ItemsServiceFactory.INSTANCE
+        .get("1", "owner")
+        .setServiceRoot(root)
+        .sendAndWait(5, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  public MediumBean post() {
+    return ItemsServiceFactory.INSTANCE
+        .save(body)
+        .setServiceRoot(root)
+        .sendAndWait(5, TimeUnit.SECONDS);
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.dominokit.rest.DominoRestConfig;
+import org.dominokit.rest.jvm.OnServerRequestEventFactory;
+import org.dominokit.rest.shared.request.DefaultRequestAsyncSender;
+import org.dominokit.rest.shared.request.DirectRequestAsyncSender;
+import org.dominokit.rest.shared.request.RequestAsyncSender;
+import org.dominokit.rest.shared.request.RequestRestSender;
+import org.dominokit.rest.shared.request.ServerRouter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the per-response cost of dispatching the result to the request, through the request
+ * events or straight from the callback. The transport is replaced with a sender answering right
+ * away so only the routing and the dispatch are measured, run with {@code -prof gc} to compare the
+ * allocations.
+ *
+ * <p>The results apply to the JVM only, the browser dispatches the request events through the GWT
+ * event bus which this benchmark does not run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseDispatchBenchmark {
+
+  private static final String RESPONSE = "{\"id\":1}";
+
+  @Param({"EVENTS", "DIRECT"})
+  public String dispatch;
+
+  private String received;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Fixtures.initContext();
+    RequestRestSender<Void, String> sender =
+        (request, callBack) -> callBack.onSuccess(RESPONSE);
+    RequestAsyncSender asyncSender =
+        "EVENTS".equals(dispatch)
+            ? new DefaultRequestAsyncSender(new OnServerRequestEventFactory(), sender)
+            : new DirectRequestAsyncSender(sender);
+    DominoRestConfig.getInstance().setServerRouter(new ServerRouter(asyncSender));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    DominoRestConfig.getInstance().setResponseEvents(false);
+  }
+
+  @Benchmark
+  public String dispatchResponse() {
+    Fixtures.ItemRequest request = new Fixtures.ItemRequest();
+    request.onSuccess(response -> received = response);
+    request.send();
+    return received;
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.dominokit.rest.shared.request.ServicePath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures parsing and serializing a {@link ServicePath}. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServicePathBenchmark {
+
+  private ServicePath parsed;
+
+  @Setup
+  public void setup() {
+    Fixtures.initContext();
+    parsed = new ServicePath(Fixtures.URL);
+  }
+
+  @Benchmark
+  public ServicePath parse() {
+    return new ServicePath(Fixtures.URL);
+  }
+
+  @Benchmark
+  public String serialize() {
+    return parsed.value();
+  }
+
+  /** Parse, add a query parameter and serialize, as done by {@code normalizeUrl}. */
+  @Benchmark
+  public String parseModifySerialize() {
+    return new ServicePath(Fixtures.URL).setQueryParameter("filter", "active").value();
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.dominokit.rest.shared.request.UrlFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures {@link UrlFormatter#formatUrl(String)}. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UrlFormatterBenchmark {
+
+  private final Map<String, String> pathParameters = new HashMap<>();
+  private final Map<String, String> matrixParameters = new HashMap<>();
+  private final Map<String, String> queryParameters = new HashMap<>();
+  private final Map<String, String> fragmentParameters = new HashMap<>();
+  private UrlFormatter formatter;
+
+  @Setup
+  public void setup() {
+    Fixtures.initContext();
+    pathParameters.put("tenant", "acme");
+    pathParameters.put("id", "42");
+    matrixParameters.put("version", "3");
+    queryParameters.put("expand", "owner");
+    fragmentParameters.put("section", "top");
+    formatter = newFormatter();
+  }
+
+  /** Formatting with a reused formatter. */
+  @Benchmark
+  public String format() {
+    return formatter.formatUrl(Fixtures.URL_TEMPLATE);
+  }
+
+  /** Formatting with a new formatter, as done for every request. */
+  @Benchmark
+  public String createAndFormat() {
+    return newFormatter().formatUrl(Fixtures.URL_TEMPLATE);
+  }
+
+  private UrlFormatter newFormatter() {
+    return new UrlFormatter(
+        pathParameters, matrixParameters, queryParameters, fragmentParameters);
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.benchmarks.load;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A log bucketed latency histogram in the style of HdrHistogram.
+ *
+ * <p>Values below 256 are counted exactly, larger values are counted in 128 linear sub buckets per
+ * power of two, so a reported value is within 0.8% of the recorded one whatever its magnitude.
+ * Recording is lock free and can be done from many threads.
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 8;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+  private static final int BUCKET_COUNT = Long.SIZE - SUB_BUCKET_BITS;
+
+  private final AtomicLongArray counts =
+      new AtomicLongArray(SUB_BUCKET_COUNT + BUCKET_COUNT * SUB_BUCKET_HALF_COUNT);
+  private final AtomicLong count = new AtomicLong();
+  private final AtomicLong sum = new AtomicLong();
+  private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Records a value.
+   *
+   * @param nanos the latency in nanoseconds, negative values are recorded as zero
+   */
+  public void record(long nanos) {
+    long value = Math.max(0, nanos);
+    counts.incrementAndGet(indexOf(value));
+    count.incrementAndGet();
+    sum.addAndGet(value);
+    min.accumulateAndGet(value, Math::min);
+    max.accumulateAndGet(value, Math::max);
+  }
+
+  /**
+   * Adds all the values recorded by another histogram to this one.
+   *
+   * @param other the histogram to add
+   * @return same instance to support builder pattern
+   */
+  public LatencyHistogram add(LatencyHistogram other) {
+    for (int i = 0; i < counts.length(); i++) {
+      long otherCount = other.counts.get(i);
+      if (otherCount > 0) {
+        counts.addAndGet(i, otherCount);
+      }
+    }
+    count.addAndGet(other.count.get());
+    sum.addAndGet(other.sum.get());
+    min.accumulateAndGet(other.min.get(), Math::min);
+    max.accumulateAndGet(other.max.get(), Math::max);
+    return this;
+  }
+
+  /**
+   * @return the number of recorded values
+   */
+  public long getCount() {
+    return count.get();
+  }
+
+  /**
+   * @return the smallest recorded value in nanoseconds, 0 if nothing was recorded
+   */
+  public long getMin() {
+    return getCount() == 0 ? 0 : min.get();
+  }
+
+  /**
+   * @return the largest recorded value in nanoseconds
+   */
+  public long getMax() {
+    return max.get();
+  }
+
+  /**
+   * @return the mean of the recorded values in nanoseconds
+   */
+  public double getMean() {
+    long recorded = getCount();
+    return recorded == 0 ? 0 : (double) sum.get() / recorded;
+  }
+
+  /**
+   * Returns the value at a percentile, as the highest value equivalent to the bucket holding it.
+   *
+   * @param percentile the percentile, between 0 and 100
+   * @return the value in nanoseconds, 0 if nothing was recorded
+   */
+  public long getValueAtPercentile(double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("Percentile must be between 0 and 100 : " + percentile);
+    }
+    long total = getCount();
+    if (total == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+    long seen = 0;
+    for (int i = 0; i < counts.length(); i++) {
+      seen += counts.get(i);
+      if (seen >= rank) {
+        return Math.min(highestEquivalentValue(i), getMax());
+      }
+    }
+    return getMax();
+  }
+
+  /**
+   * @param percentile the percentile, between 0 and 100
+   * @return the value at the percentile in milliseconds
+   */
+  public double getMillisAtPercentile(double percentile) {
+    return getValueAtPercentile(percentile) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  static int indexOf(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+    int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    return SUB_BUCKET_COUNT
+        + (shift - 1) * SUB_BUCKET_HALF_COUNT
+        + (int) ((value >>> shift) - SUB_BUCKET_HALF_COUNT);
+  }
+
+  static long highestEquivalentValue(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF_COUNT + 1;
+    long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+    return ((subBucket + 1) << shift) - 1;
+  }
+}
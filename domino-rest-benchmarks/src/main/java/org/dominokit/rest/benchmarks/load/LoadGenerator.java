@@ -0,0 +1,226 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.benchmarks.load;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+import org.dominokit.rest.shared.request.ServerRequest;
+
+/**
+ * Drives requests at a fixed arrival rate, whatever the response times are.
+ *
+ * <p>Closed loop tests, where each caller waits for a response before sending the next request,
+ * slow down with the system under test and hide the queuing delay real users see. This generator
+ * sends request {@code i} at {@code start + i / rate}. If it falls behind, because the client
+ * blocks or the scheduler is starved, the late requests are sent as soon as possible and their
+ * latency still counts from the scheduled time. The requests rejected by the {@link
+ * #setMaxOutstanding(int) outstanding limit} or still running when the run ends are recorded at
+ * the time from their scheduled start to the end of the run, as lower bounds of their latency.
+ *
+ * <pre>
+ * LoadReport report =
+ *     new LoadGenerator(i -&gt; ItemsServiceFactory.INSTANCE.get(String.valueOf(i), "owner"))
+ *         .setRate(2000)
+ *         .setDuration(30, TimeUnit.SECONDS)
+ *         .run("items");
+ * </pre>
+ */
+public final class LoadGenerator {
+
+  /** The error cause of requests not sent because too many requests were outstanding. */
+  public static final String REJECTED = "rejected: too many outstanding requests";
+
+  // the outcomes of the scheduled requests
+  private static final int RUNNING = 0;
+  private static final int COMPLETED = 1;
+  private static final int NOT_SENT = 2;
+
+  private final IntFunction<? extends ServerRequest<?, ?>> requestFactory;
+  private double rate = 1000;
+  private long durationNanos = TimeUnit.SECONDS.toNanos(10);
+  private long warmupNanos = 0;
+  private long drainNanos = TimeUnit.SECONDS.toNanos(30);
+  private int maxOutstanding = 100_000;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param requestFactory creates the request to send for an index, usually through a generated
+   *     {@code @RequestFactory} client
+   */
+  public LoadGenerator(IntFunction<? extends ServerRequest<?, ?>> requestFactory) {
+    this.requestFactory = requireNonNull(requestFactory);
+  }
+
+  /**
+   * @param rate the requests to send per second
+   * @return same instance to support builder pattern
+   */
+  public LoadGenerator setRate(double rate) {
+    if (rate <= 0) {
+      throw new IllegalArgumentException("Rate must be positive : " + rate);
+    }
+    this.rate = rate;
+    return this;
+  }
+
+  /**
+   * @param duration the duration of the measured run
+   * @param unit the unit of the duration
+   * @return same instance to support builder pattern
+   */
+  public LoadGenerator setDuration(long duration, TimeUnit unit) {
+    this.durationNanos = unit.toNanos(duration);
+    return this;
+  }
+
+  /**
+   * @param warmup the duration of the unmeasured run sent before the measured one
+   * @param unit the unit of the duration
+   * @return same instance to support builder pattern
+   */
+  public LoadGenerator setWarmup(long warmup, TimeUnit unit) {
+    this.warmupNanos = unit.toNanos(warmup);
+    return this;
+  }
+
+  /**
+   * @param drain how long to wait for the outstanding requests once all requests were sent
+   * @param unit the unit of the duration
+   * @return same instance to support builder pattern
+   */
+  public LoadGenerator setDrainTimeout(long drain, TimeUnit unit) {
+    this.drainNanos = unit.toNanos(drain);
+    return this;
+  }
+
+  /**
+   * Limits the requests waiting for a response, the requests scheduled beyond the limit are not
+   * sent and are reported as {@link #REJECTED}. The limit protects the generator from running out
+   * of memory against a stalled server.
+   *
+   * @param maxOutstanding the maximum number of requests waiting for a response
+   * @return same instance to support builder pattern
+   */
+  public LoadGenerator setMaxOutstanding(int maxOutstanding) {
+    this.maxOutstanding = maxOutstanding;
+    return this;
+  }
+
+  /**
+   * Runs the warmup, if any, then the measured run on the calling thread.
+   *
+   * @param name the name of the run in the report
+   * @return the report of the measured run
+   * @throws InterruptedException if the calling thread is interrupted
+   */
+  public LoadReport run(String name) throws InterruptedException {
+    if (warmupNanos > 0) {
+      run(new LoadReport(name + " (warmup)", rate), warmupNanos);
+    }
+    return run(new LoadReport(name, rate), durationNanos);
+  }
+
+  private LoadReport run(LoadReport report, long runNanos) throws InterruptedException {
+    long intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / rate));
+    int requests = (int) Math.min(Math.max(1, runNanos / intervalNanos), Integer.MAX_VALUE);
+    CountDownLatch done = new CountDownLatch(requests);
+    AtomicIntegerArray outcomes = new AtomicIntegerArray(requests);
+    AtomicInteger outstanding = new AtomicInteger();
+    long sent = 0;
+    long start = System.nanoTime();
+    for (int i = 0; i < requests; i++) {
+      long intendedStart = start + i * intervalNanos;
+      long wait;
+      while ((wait = intendedStart - System.nanoTime()) > 0) {
+        LockSupport.parkNanos(wait);
+        if (Thread.interrupted()) {
+          throw new InterruptedException();
+        }
+      }
+      if (outstanding.incrementAndGet() > maxOutstanding) {
+        outstanding.decrementAndGet();
+        outcomes.set(i, NOT_SENT);
+        report.error(REJECTED);
+        done.countDown();
+        continue;
+      }
+      if (send(i, intendedStart, report, outstanding, done, outcomes)) {
+        sent++;
+      }
+    }
+    done.await(drainNanos, TimeUnit.NANOSECONDS);
+    long end = System.nanoTime();
+    // the requests without a response took at least until the end of the run, the responses
+    // arriving from now on are ignored
+    for (int i = 0; i < requests; i++) {
+      long intendedStart = start + i * intervalNanos;
+      if (outcomes.get(i) == NOT_SENT) {
+        report.lowerBound(end - intendedStart);
+      } else if (outcomes.compareAndSet(i, RUNNING, COMPLETED)) {
+        report.lowerBound(end - intendedStart);
+        report.error(LoadReport.INCOMPLETE);
+      }
+    }
+    report.finish(sent, end - start);
+    return report;
+  }
+
+  private boolean send(
+      int index,
+      long intendedStart,
+      LoadReport report,
+      AtomicInteger outstanding,
+      CountDownLatch done,
+      AtomicIntegerArray outcomes) {
+    ServerRequest<?, ?> request;
+    try {
+      request = requestFactory.apply(index);
+    } catch (RuntimeException e) {
+      outcomes.set(index, COMPLETED);
+      outstanding.decrementAndGet();
+      report.error(e.getClass().getSimpleName());
+      done.countDown();
+      return false;
+    }
+    if (isNull(request)) {
+      throw new IllegalStateException("The request factory returned null for index " + index);
+    }
+    request.send(
+        response -> {
+          if (outcomes.compareAndSet(index, RUNNING, COMPLETED)) {
+            report.success(System.nanoTime() - intendedStart);
+          }
+          outstanding.decrementAndGet();
+          done.countDown();
+        },
+        failedResponse -> {
+          if (outcomes.compareAndSet(index, RUNNING, COMPLETED)) {
+            report.failure(System.nanoTime() - intendedStart, failedResponse);
+          }
+          outstanding.decrementAndGet();
+          done.countDown();
+        });
+    return true;
+  }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.benchmarks.load;
+
+import static java.util.Objects.nonNull;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.dominokit.rest.shared.request.FailedResponseBean;
+
+/**
+ * The outcome of a {@link LoadGenerator} run.
+ *
+ * <p>Latencies are measured from the time a request was supposed to be sent by the fixed arrival
+ * schedule, not from the time it was actually sent, so time spent queued behind a saturated
+ * client is part of the reported latency instead of being silently omitted. The requests that
+ * never got a response, because they were rejected or still running when the run ended, are
+ * recorded at the time from their intended start to the end of the run: the percentiles are then
+ * lower bounds, see {@link #getLowerBounds()}.
+ */
+public final class LoadReport {
+
+  /** The error cause of requests still running when the run ended. */
+  public static final String INCOMPLETE = "incomplete";
+
+  private final String name;
+  private final double intendedRate;
+  private final LatencyHistogram latencies = new LatencyHistogram();
+  private final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+  private final AtomicLong succeeded = new AtomicLong();
+  private final AtomicLong completed = new AtomicLong();
+  private final AtomicLong lowerBounds = new AtomicLong();
+  private volatile boolean finished;
+  private long sent;
+  private long elapsedNanos;
+
+  LoadReport(String name, double intendedRate) {
+    this.name = name;
+    this.intendedRate = intendedRate;
+  }
+
+  void success(long latencyNanos) {
+    if (finished) {
+      return;
+    }
+    latencies.record(latencyNanos);
+    completed.incrementAndGet();
+    succeeded.incrementAndGet();
+  }
+
+  void failure(long latencyNanos, FailedResponseBean failedResponse) {
+    if (finished) {
+      return;
+    }
+    latencies.record(latencyNanos);
+    completed.incrementAndGet();
+    error(causeOf(failedResponse));
+  }
+
+  void lowerBound(long latencyNanos) {
+    latencies.record(latencyNanos);
+    lowerBounds.incrementAndGet();
+  }
+
+  void error(String cause) {
+    errors.computeIfAbsent(cause, key -> new AtomicLong()).incrementAndGet();
+  }
+
+  void finish(long sent, long elapsedNanos) {
+    this.sent = sent;
+    this.elapsedNanos = elapsedNanos;
+    this.finished = true;
+  }
+
+  /**
+   * Describes the cause of a failed request: the status code for error responses, the exception
+   * type otherwise.
+   *
+   * @param failedResponse the failed response
+   * @return the cause
+   */
+  static String causeOf(FailedResponseBean failedResponse) {
+    if (failedResponse.getStatusCode() > 0) {
+      return "HTTP " + failedResponse.getStatusCode();
+    }
+    Throwable throwable = failedResponse.getThrowable();
+    if (nonNull(throwable)) {
+      while (nonNull(throwable.getCause()) && throwable.getCause() != throwable) {
+        throwable = throwable.getCause();
+      }
+      return throwable.getClass().getSimpleName();
+    }
+    return "unknown";
+  }
+
+  /**
+   * @return the name of the run
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * @return the requests per second the run was scheduled to send
+   */
+  public double getIntendedRate() {
+    return intendedRate;
+  }
+
+  /**
+   * @return the number of requests sent
+   */
+  public long getSent() {
+    return sent;
+  }
+
+  /**
+   * @return the number of requests that succeeded
+   */
+  public long getSucceeded() {
+    return succeeded.get();
+  }
+
+  /**
+   * @return the number of requests that failed or did not complete
+   */
+  public long getFailed() {
+    return errors.values().stream().mapToLong(AtomicLong::get).sum();
+  }
+
+  /**
+   * @return the number of failed requests per cause, sorted by cause
+   */
+  public Map<String, Long> getErrors() {
+    Map<String, Long> sorted = new TreeMap<>();
+    errors.forEach((cause, counter) -> sorted.put(cause, counter.get()));
+    return Collections.unmodifiableMap(sorted);
+  }
+
+  /**
+   * @return the number of requests without a response, whose latency is recorded as a lower bound
+   */
+  public long getLowerBounds() {
+    return lowerBounds.get();
+  }
+
+  /**
+   * @return the latencies of the requests from their intended start, including the {@link
+   *     #getLowerBounds() lower bounds} of the requests without a response
+   */
+  public LatencyHistogram getLatencies() {
+    return latencies;
+  }
+
+  /**
+   * @return the completed requests per second
+   */
+  public double getThroughput() {
+    return elapsedNanos == 0 ? 0 : completed.get() * 1e9 / elapsedNanos;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder report = new StringBuilder();
+    report.append(
+        String.format(
+            "%s: %.0f req/s intended, %.1f req/s completed in %.1f s%n",
+            name, intendedRate, getThroughput(), elapsedNanos / 1e9));
+    report.append(
+        String.format(
+            "  sent %d, succeeded %d, failed %d%n", getSent(), getSucceeded(), getFailed()));
+    report.append(
+        String.format(
+            "  latency ms: p50 %.3f, p99 %.3f, p99.9 %.3f, max %.3f, mean %.3f%n",
+            latencies.getMillisAtPercentile(50),
+            latencies.getMillisAtPercentile(99),
+            latencies.getMillisAtPercentile(99.9),
+            latencies.getMax() / (double) TimeUnit.MILLISECONDS.toNanos(1),
+            latencies.getMean() / TimeUnit.MILLISECONDS.toNanos(1)));
+    if (getLowerBounds() > 0) {
+      report.append(
+          String.format(
+              "  latencies are lower bounds, %d requests got no response before the end%n",
+              getLowerBounds()));
+    }
+    getErrors().forEach((cause, count) -> report.append(String.format("  %s: %d%n", cause, count)));
+    return report.toString();
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.benchmarks.load;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A local HTTP server for the benchmarks: {@code GET /items/...} answers with a fixed JSON
+ * document and {@code POST /items} echoes the request body, after an optional service time.
+ */
+public final class StubServer implements AutoCloseable {
+
+  static {
+    // the server writes headers and body separately, without this every response on a reused
+    // connection waits for a delayed ACK of the client
+    System.setProperty("sun.net.httpserver.nodelay", "true");
+  }
+
+  private final HttpServer server;
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+  private final byte[] item;
+  private final long serviceTimeMillis;
+
+  private StubServer(String item, long serviceTimeMillis) throws IOException {
+    this.item = item.getBytes(UTF_8);
+    this.serviceTimeMillis = serviceTimeMillis;
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 4096);
+    server.createContext("/items", this::itemsHandler);
+    server.setExecutor(executor);
+    server.start();
+  }
+
+  /**
+   * Starts a server on an ephemeral port of the loopback interface.
+   *
+   * @param item the JSON document returned for GET requests
+   * @param serviceTimeMillis how long every request takes to be served
+   * @return the started server
+   * @throws IOException if the server cannot be bound
+   */
+  public static StubServer start(String item, long serviceTimeMillis) throws IOException {
+    return new StubServer(item, serviceTimeMillis);
+  }
+
+  /**
+   * @return the service root of the server
+   */
+  public String getRoot() {
+    return "http://127.0.0.1:" + server.getAddress().getPort();
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  private void itemsHandler(HttpExchange exchange) throws IOException {
+    byte[] response;
+    try (InputStream in = exchange.getRequestBody()) {
+      byte[] requestBody = in.readAllBytes();
+      response = requestBody.length > 0 ? requestBody : item;
+    }
+    if (serviceTimeMillis > 0) {
+      try {
+        TimeUnit.MILLISECONDS.sleep(serviceTimeMillis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    exchange.getResponseHeaders().add("Content-Type", "application/json");
+    try (OutputStream out = exchange.getResponseBody()) {
+      exchange.sendResponseHeaders(200, response.length);
+      out.write(response);
+    } catch (IOException ignored) {
+      // the client gave up on the request
+    }
+  }
+}
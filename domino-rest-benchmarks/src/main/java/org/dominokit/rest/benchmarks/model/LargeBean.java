@@ -0,0 +1,87 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.benchmarks.model;
+
+import java.util.List;
+import org.dominokit.jackson.annotation.JSONMapper;
+
+/** A bean holding collections of nested beans, sized by the benchmarks. */
+@JSONMapper
+public class LargeBean {
+  private String id;
+  private String name;
+  private int page;
+  private int pageSize;
+  private long total;
+  private List<MediumBean> items;
+  private List<SmallBean> owners;
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public int getPage() {
+    return page;
+  }
+
+  public void setPage(int page) {
+    this.page = page;
+  }
+
+  public int getPageSize() {
+    return pageSize;
+  }
+
+  public void setPageSize(int pageSize) {
+    this.pageSize = pageSize;
+  }
+
+  public long getTotal() {
+    return total;
+  }
+
+  public void setTotal(long total) {
+    this.total = total;
+  }
+
+  public List<MediumBean> getItems() {
+    return items;
+  }
+
+  public void setItems(List<MediumBean> items) {
+    this.items = items;
+  }
+
+  public List<SmallBean> getOwners() {
+    return owners;
+  }
+
+  public void setOwners(List<SmallBean> owners) {
+    this.owners = owners;
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.dominokit.rest.DominoRestConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the {@link CustomMappersRegistry} lookups done for every request. It lives in the
+ * registry package to reach the package private lookup methods.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomMappersRegistryBenchmark {
+
+  private static final int MATCHERS = 20;
+
+  private Request matched;
+  private Request unmatched;
+
+  @Setup
+  public void setup() {
+    DominoRestContext.make().init(DominoRestConfig.initDefaults());
+    for (int i = 0; i < MATCHERS; i++) {
+      String method = "method" + i;
+      CustomMappersRegistry.INSTANCE
+          .registerResponseReader(
+              meta -> meta.getMethodName().equals(method), () -> response -> null)
+          .registerRequestWriter(meta -> meta.getMethodName().equals(method), () -> body -> "");
+    }
+    matched = new LookupRequest("method" + (MATCHERS - 1));
+    unmatched = new LookupRequest("unmatched");
+  }
+
+  /** The last registered matcher matches, every matcher is evaluated. */
+  @Benchmark
+  public Optional<?> findReaderHit() {
+    return CustomMappersRegistry.INSTANCE.findReader(matched);
+  }
+
+  /** No matcher matches, the case of every request without custom mappers. */
+  @Benchmark
+  public Optional<?> findReaderMiss() {
+    return CustomMappersRegistry.INSTANCE.findReader(unmatched);
+  }
+
+  @Benchmark
+  public Optional<?> findWriterMiss() {
+    return CustomMappersRegistry.INSTANCE.findWriter(unmatched);
+  }
+
+  private static final class LookupRequest extends ServerRequest<Void, Void> {
+    LookupRequest(String methodName) {
+      super(new RequestMeta(LookupRequest.class, methodName, Void.class, Void.class), null);
+    }
+  }
+}
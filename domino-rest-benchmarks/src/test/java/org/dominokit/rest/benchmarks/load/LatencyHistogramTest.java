@@ -0,0 +1,90 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.benchmarks.load;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+  @Test
+  void small_values_are_counted_exactly() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 100; i++) {
+      histogram.record(i);
+    }
+
+    assertEquals(100, histogram.getCount());
+    assertEquals(1, histogram.getMin());
+    assertEquals(100, histogram.getMax());
+    assertEquals(50, histogram.getValueAtPercentile(50));
+    assertEquals(99, histogram.getValueAtPercentile(99));
+    assertEquals(100, histogram.getValueAtPercentile(100));
+    assertEquals(50.5, histogram.getMean(), 0.001);
+  }
+
+  @Test
+  void large_values_are_reported_within_the_bucket_precision() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    Random random = new Random(42);
+    long[] values = new long[10_000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = 1_000 + (long) (random.nextDouble() * 5_000_000_000L);
+      histogram.record(values[i]);
+    }
+    Arrays.sort(values);
+
+    for (double percentile : new double[] {50, 90, 99, 99.9}) {
+      long expected = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+      long actual = histogram.getValueAtPercentile(percentile);
+      assertTrue(actual >= expected, percentile + ": " + actual + " < " + expected);
+      assertTrue(actual <= expected * 1.008, percentile + ": " + actual + " > " + expected);
+    }
+    assertEquals(values[values.length - 1], histogram.getValueAtPercentile(100));
+  }
+
+  @Test
+  void every_value_maps_to_a_bucket_holding_it() {
+    long[] values = {0, 255, 256, 257, 511, 512, 1_000_003, 1L << 40, Long.MAX_VALUE};
+    for (long value : values) {
+      int index = LatencyHistogram.indexOf(value);
+      assertTrue(LatencyHistogram.highestEquivalentValue(index) >= value, String.valueOf(value));
+      assertTrue(
+          index == 0 || LatencyHistogram.highestEquivalentValue(index - 1) < value,
+          String.valueOf(value));
+    }
+  }
+
+  @Test
+  void histograms_can_be_added() {
+    LatencyHistogram first = new LatencyHistogram();
+    LatencyHistogram second = new LatencyHistogram();
+    first.record(10);
+    second.record(1_000_000);
+    second.record(5);
+
+    first.add(second);
+
+    assertEquals(3, first.getCount());
+    assertEquals(5, first.getMin());
+    assertEquals(1_000_000, first.getMax());
+    assertEquals(10, first.getValueAtPercentile(50));
+  }
+}
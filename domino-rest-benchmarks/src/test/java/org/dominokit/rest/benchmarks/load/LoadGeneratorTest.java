@@ -0,0 +1,172 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.benchmarks.load;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import org.dominokit.rest.DominoRestConfig;
+import org.dominokit.rest.jvm.Transport;
+import org.dominokit.rest.jvm.loopback.Fault;
+import org.dominokit.rest.jvm.loopback.Latency;
+import org.dominokit.rest.jvm.loopback.LoopbackResponse;
+import org.dominokit.rest.jvm.loopback.LoopbackServer;
+import org.dominokit.rest.shared.Response;
+import org.dominokit.rest.shared.request.DominoRestContext;
+import org.dominokit.rest.shared.request.RequestMeta;
+import org.dominokit.rest.shared.request.ServerRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LoadGeneratorTest {
+
+  private final LoopbackServer server = new LoopbackServer(42);
+
+  @BeforeAll
+  void initRuntimeAndServer() {
+    DominoRestContext.make().init(DominoRestConfig.initDefaults());
+    server.route("/items/**", request -> LoopbackResponse.ok("item"));
+    DominoRestConfig.getInstance().setLoopbackServer(server).setTransport(Transport.LOOPBACK);
+  }
+
+  @BeforeEach
+  void reset() {
+    server.clearFaults().setLatency(null);
+  }
+
+  @AfterAll
+  void tearDown() {
+    DominoRestConfig.getInstance().setTransport(null).setLoopbackServer(null);
+  }
+
+  @Test
+  void requests_are_sent_at_the_fixed_rate() throws Exception {
+    LoadReport report =
+        new LoadGenerator(i -> new TextGet("/items/" + i))
+            .setRate(1000)
+            .setDuration(500, TimeUnit.MILLISECONDS)
+            .run("rate");
+
+    assertEquals(500, report.getSent());
+    assertEquals(500, report.getSucceeded());
+    assertEquals(0, report.getFailed());
+    assertEquals(500, report.getLatencies().getCount());
+    assertTrue(report.getThroughput() > 800, report.toString());
+  }
+
+  @Test
+  void failures_are_broken_down_by_cause() throws Exception {
+    server.addFault(Fault.status(0.2, 503)).addFault(Fault.error(0.2));
+
+    LoadReport report =
+        new LoadGenerator(i -> new TextGet("/items/" + i))
+            .setRate(2000)
+            .setDuration(500, TimeUnit.MILLISECONDS)
+            .run("faults");
+
+    assertEquals(1000, report.getSucceeded() + report.getFailed());
+    assertTrue(report.getErrors().get("HTTP 503") > 100, report.toString());
+    assertTrue(report.getErrors().get("IOException") > 50, report.toString());
+    assertEquals(2, report.getErrors().size(), report.toString());
+  }
+
+  @Test
+  void latency_counts_from_the_intended_start_of_delayed_requests() throws Exception {
+    // every request blocks the sending thread for 20ms while one is due every 5ms, a closed loop
+    // measurement would report 0ms latencies
+    LoadReport report =
+        new LoadGenerator(
+                i -> {
+                  sleep(20);
+                  return new TextGet("/items/" + i);
+                })
+            .setRate(200)
+            .setDuration(200, TimeUnit.MILLISECONDS)
+            .run("stalled");
+
+    assertEquals(40, report.getSucceeded());
+    // the last request is sent about 39 * 20 - 39 * 5 = 585ms after its intended start
+    assertTrue(
+        report.getLatencies().getMillisAtPercentile(100) > 500,
+        report.getLatencies().getMillisAtPercentile(100) + "ms");
+    assertTrue(report.getLatencies().getMillisAtPercentile(50) > 200, report.toString());
+  }
+
+  @Test
+  void requests_beyond_the_outstanding_limit_are_rejected() throws Exception {
+    server.setLatency(Latency.fixed(1_000));
+
+    LoadReport report =
+        new LoadGenerator(i -> new TextGet("/items/" + i))
+            .setRate(1000)
+            .setDuration(100, TimeUnit.MILLISECONDS)
+            .setMaxOutstanding(10)
+            .run("limited");
+
+    assertEquals(10, report.getSent());
+    assertEquals(10, report.getSucceeded());
+    assertEquals(90, (long) report.getErrors().get(LoadGenerator.REJECTED));
+    assertEquals(90, report.getLowerBounds());
+    assertEquals(100, report.getLatencies().getCount());
+  }
+
+  @Test
+  void requests_running_at_the_end_are_recorded_as_lower_bounds() throws Exception {
+    server.setLatency(Latency.fixed(2_000));
+
+    LoadReport report =
+        new LoadGenerator(i -> new TextGet("/items/" + i))
+            .setRate(100)
+            .setDuration(100, TimeUnit.MILLISECONDS)
+            .setDrainTimeout(200, TimeUnit.MILLISECONDS)
+            .run("incomplete");
+
+    assertEquals(10, report.getSent());
+    assertEquals(0, report.getSucceeded());
+    assertEquals(10, (long) report.getErrors().get(LoadReport.INCOMPLETE));
+    assertEquals(10, report.getLowerBounds());
+    assertEquals(10, report.getLatencies().getCount());
+    // the last request was scheduled 90ms after the start, the run ended after the drain timeout
+    assertTrue(
+        report.getLatencies().getMin() >= TimeUnit.MILLISECONDS.toNanos(200), report.toString());
+    assertTrue(report.toString().contains("lower bounds"), report.toString());
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** GET request reading the body as a String. */
+  static final class TextGet extends ServerRequest<Void, String> {
+    TextGet(String path) {
+      super(new RequestMeta(TextGet.class, "text", Void.class, String.class), null);
+      setServiceRoot("http://loopback");
+      setHttpMethod("GET");
+      setPath(path);
+      setAccept(new String[] {"text/plain"});
+      setResponseReader(Response::getBodyAsString);
+    }
+  }
+}
@@ -18,12 +18,12 @@ package org.dominokit.rest;
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.UnaryOperator;
 import org.dominokit.jackson.JacksonContextProvider;
 import org.dominokit.rest.js.DefaultServiceRoot;
+import org.dominokit.rest.js.GwtRequestTimer;
 import org.dominokit.rest.js.JsRegexEngine;
 import org.dominokit.rest.js.ServerEventFactory;
 import org.dominokit.rest.shared.regex.RegexEngine;
@@ -46,11 +46,17 @@ public class DominoRestConfig implements RestConfig {
   private static String defaultJsonDateFormat = null;
 
   private static RequestRouter<ServerRequest> serverRouter =
-      new ServerRouter(
-          new DefaultRequestAsyncSender(new ServerEventFactory(), new RequestSender<>()));
-  private static List<DynamicServiceRoot> dynamicServiceRoots = new ArrayList<>();
-  private static final List<RequestInterceptor> requestInterceptors = new ArrayList<>();
-  private static final List<ResponseInterceptor> responseInterceptors = new ArrayList<>();
+      new ServerRouter(new DirectRequestAsyncSender(new RequestSender<>()));
+  // interceptors, service roots and global parameters, replaced as a whole on every change
+  private static RestConfigSnapshot snapshot = RestConfigSnapshot.EMPTY;
+  private static AsyncRunner asyncRunner = AsyncRunner.direct();
+  private static AsyncRunner callbackRunner = AsyncRunner.direct();
+  private static final RequestTimer DEFAULT_REQUEST_TIMER = new GwtRequestTimer();
+  private static RequestTimer requestTimer = DEFAULT_REQUEST_TIMER;
+  private static HedgeBudget hedgeBudget = HedgeBudget.defaultBudget();
+  private static final LatencyTrackers LATENCY_TRACKERS = new LatencyTrackers();
+  private static String deadlineHeader;
+  private static PhaseTimeouts phaseTimeouts = new PhaseTimeouts();
 
   private static Fail defaultFailHandler =
       failedResponse -> {
@@ -71,11 +77,9 @@ public class DominoRestConfig implements RestConfig {
 
   private static NullQueryParamStrategy nullQueryParamStrategy = NullQueryParamStrategy.EMPTY;
 
-  private static final Map<String, String> globalPathParams = new HashMap<>();
-  private static final Map<String, String> globalHeaderParams = new HashMap<>();
-  private static final Map<String, List<String>> globalQueryParams = new HashMap<>();
   private JsRegexEngine jsRegexEngine = new JsRegexEngine();
   private RegexValidationMode regexValidationMode = RegexValidationMode.IGNORE;
+  private static EncodingMode encodingMode = EncodingMode.NONE;
 
   /**
    * Gets and initialize the instance with the default configurations
@@ -84,6 +88,7 @@ public class DominoRestConfig implements RestConfig {
    */
   public static DominoRestConfig initDefaults() {
     RestfullRequestContext.setFactory(new JsRestfulRequestFactory());
+    RestfullRequestContext.setRequestTimer(DEFAULT_REQUEST_TIMER);
     DominoRestContext.init(DominoRestConfig.getInstance());
     return DominoRestConfig.getInstance();
   }
@@ -112,48 +117,55 @@ public class DominoRestConfig implements RestConfig {
   /** {@inheritDoc} */
   @Override
   public DominoRestConfig addDynamicServiceRoot(DynamicServiceRoot dynamicServiceRoot) {
-    dynamicServiceRoots.add(dynamicServiceRoot);
+    update(builder -> builder.addServiceRoot(dynamicServiceRoot));
+    return this;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public DominoRestConfig removeDynamicServiceRoot(DynamicServiceRoot dynamicServiceRoot) {
+    update(builder -> builder.removeServiceRoot(dynamicServiceRoot));
     return this;
   }
 
   /** {@inheritDoc} */
   @Override
   public DominoRestConfig addRequestInterceptor(RequestInterceptor interceptor) {
-    this.requestInterceptors.add(interceptor);
+    update(builder -> builder.addRequestInterceptor(interceptor));
     return this;
   }
 
   /** {@inheritDoc} */
   @Override
   public DominoRestConfig removeRequestInterceptor(RequestInterceptor interceptor) {
-    this.requestInterceptors.remove(interceptor);
+    update(builder -> builder.removeRequestInterceptor(interceptor));
     return this;
   }
 
   /** {@inheritDoc} */
   @Override
   public List<RequestInterceptor> getRequestInterceptors() {
-    return requestInterceptors;
+    return snapshot.getRequestInterceptors();
   }
 
   /** {@inheritDoc} */
   @Override
   public DominoRestConfig addResponseInterceptor(ResponseInterceptor responseInterceptor) {
-    this.getResponseInterceptors().add(responseInterceptor);
+    update(builder -> builder.addResponseInterceptor(responseInterceptor));
     return this;
   }
 
   /** {@inheritDoc} */
   @Override
   public DominoRestConfig removeResponseInterceptor(ResponseInterceptor responseInterceptor) {
-    this.getResponseInterceptors().remove(responseInterceptor);
+    update(builder -> builder.removeResponseInterceptor(responseInterceptor));
     return this;
   }
 
   /** {@inheritDoc} */
   @Override
   public List<ResponseInterceptor> getResponseInterceptors() {
-    return responseInterceptors;
+    return snapshot.getResponseInterceptors();
   }
 
   /** {@inheritDoc} */
@@ -189,7 +201,7 @@ public class DominoRestConfig implements RestConfig {
   /** {@inheritDoc} */
   @Override
   public List<DynamicServiceRoot> getServiceRoots() {
-    return dynamicServiceRoots;
+    return snapshot.getServiceRoots();
   }
 
   /** {@inheritDoc} */
@@ -210,6 +222,22 @@ public class DominoRestConfig implements RestConfig {
     DominoRestConfig.serverRouter = serverRouter;
   }
 
+  /**
+   * Sets whether the responses are published as request events, by default the responses are
+   * applied to the requests directly without creating events. This replaces the server router.
+   *
+   * @param responseEvents true to publish an event for every response
+   * @return same instance to support builder pattern
+   */
+  public DominoRestConfig setResponseEvents(boolean responseEvents) {
+    DominoRestConfig.serverRouter =
+        new ServerRouter(
+            responseEvents
+                ? new DefaultRequestAsyncSender(new ServerEventFactory(), new RequestSender<>())
+                : new DirectRequestAsyncSender(new RequestSender<>()));
+    return this;
+  }
+
   /** {@inheritDoc} */
   @Override
   public RequestRouter<ServerRequest> getServerRouter() {
@@ -229,13 +257,87 @@ public class DominoRestConfig implements RestConfig {
   /** {@inheritDoc} */
   @Override
   public AsyncRunner asyncRunner() {
-    return asyncTask -> {
-      try {
-        asyncTask.onSuccess();
-      } catch (Throwable error) {
-        asyncTask.onFailed(error);
-      }
-    };
+    return asyncRunner;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public DominoRestConfig setAsyncRunner(AsyncRunner asyncRunner) {
+    DominoRestConfig.asyncRunner = isNull(asyncRunner) ? AsyncRunner.direct() : asyncRunner;
+    return this;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public AsyncRunner callbackRunner() {
+    return callbackRunner;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public DominoRestConfig setCallbackRunner(AsyncRunner callbackRunner) {
+    DominoRestConfig.callbackRunner =
+        isNull(callbackRunner) ? AsyncRunner.direct() : callbackRunner;
+    return this;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public RequestTimer getRequestTimer() {
+    return requestTimer;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public DominoRestConfig setRequestTimer(RequestTimer requestTimer) {
+    DominoRestConfig.requestTimer = isNull(requestTimer) ? DEFAULT_REQUEST_TIMER : requestTimer;
+    return this;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public HedgeBudget getHedgeBudget() {
+    return hedgeBudget;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public DominoRestConfig setHedgeBudget(HedgeBudget hedgeBudget) {
+    DominoRestConfig.hedgeBudget =
+        isNull(hedgeBudget) ? HedgeBudget.defaultBudget() : hedgeBudget;
+    return this;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public LatencyTrackers getLatencyTrackers() {
+    return LATENCY_TRACKERS;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String getDeadlineHeader() {
+    return deadlineHeader;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public DominoRestConfig setDeadlineHeader(String deadlineHeader) {
+    DominoRestConfig.deadlineHeader = deadlineHeader;
+    return this;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public PhaseTimeouts getPhaseTimeouts() {
+    return phaseTimeouts;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public DominoRestConfig setPhaseTimeouts(PhaseTimeouts phaseTimeouts) {
+    DominoRestConfig.phaseTimeouts = isNull(phaseTimeouts) ? new PhaseTimeouts() : phaseTimeouts;
+    return this;
   }
 
   /** {@inheritDoc} */
@@ -273,75 +375,88 @@ public class DominoRestConfig implements RestConfig {
 
   @Override
   public Map<String, String> getGlobalPathParameters() {
-    return globalPathParams;
+    return snapshot.getGlobalPathParameters();
   }
 
   @Override
   public Map<String, String> getGlobalHeaderParameters() {
-    return globalHeaderParams;
+    return snapshot.getGlobalHeaderParameters();
   }
 
   @Override
   public Map<String, List<String>> getGlobalQueryParameters() {
-    return globalQueryParams;
+    return snapshot.getGlobalQueryParameters();
   }
 
   @Override
   public RestConfig setGlobalPathParameter(String name, String value) {
-    getGlobalPathParameters().put(name, value);
+    update(builder -> builder.setGlobalPathParameter(name, value));
     return this;
   }
 
   @Override
   public RestConfig setGlobalPathParameters(Map<String, String> pathParameters) {
-    getGlobalPathParameters().putAll(pathParameters);
+    update(builder -> builder.setGlobalPathParameters(pathParameters));
     return this;
   }
 
   @Override
   public RestConfig setGlobalHeaderParameter(String name, String value) {
-    getGlobalHeaderParameters().put(name, value);
+    update(builder -> builder.setGlobalHeaderParameter(name, value));
     return this;
   }
 
   @Override
   public RestConfig setGlobalHeaderParameters(Map<String, String> headerParameters) {
-    getGlobalHeaderParameters().putAll(headerParameters);
+    update(builder -> builder.setGlobalHeaderParameters(headerParameters));
     return this;
   }
 
   @Override
   public RestConfig setGlobalQueryParameter(String name, String value) {
-    getGlobalQueryParameters().put(name, new ArrayList<>());
-    addGlobalQueryParameter(name, value);
+    update(builder -> builder.setGlobalQueryParameter(name, value));
     return this;
   }
 
   @Override
   public RestConfig addGlobalQueryParameter(String name, String value) {
-    if (getGlobalQueryParameters().containsKey(name)) {
-      getGlobalQueryParameters().get(name).add(value);
-    } else {
-      setGlobalQueryParameter(name, value);
-    }
+    update(builder -> builder.addGlobalQueryParameter(name, value));
     return this;
   }
 
   @Override
   public RestConfig setGlobalQueryParameters(Map<String, List<String>> parameters) {
-    parameters
-        .keySet()
-        .forEach(
-            name -> parameters.get(name).forEach(value -> addGlobalQueryParameter(name, value)));
+    update(builder -> builder.addGlobalQueryParameters(parameters));
     return this;
   }
 
   @Override
   public RestConfig addGlobalQueryParameters(Map<String, List<String>> parameters) {
-    parameters.forEach(
-        (key, values) -> {
-          values.forEach(value -> addGlobalQueryParameter(key, value));
-        });
+    update(builder -> builder.addGlobalQueryParameters(parameters));
+    return this;
+  }
+
+  @Override
+  public RestConfig removeGlobalPathParameter(String name) {
+    update(builder -> builder.removeGlobalPathParameter(name));
+    return this;
+  }
+
+  @Override
+  public RestConfig removeGlobalHeaderParameter(String name) {
+    update(builder -> builder.removeGlobalHeaderParameter(name));
+    return this;
+  }
+
+  @Override
+  public RestConfig removeGlobalQueryParameter(String name) {
+    update(builder -> builder.removeGlobalQueryParameter(name));
+    return this;
+  }
+
+  @Override
+  public RestConfig clearGlobalParameters() {
+    update(RestConfigSnapshot.Builder::clearGlobalParameters);
     return this;
   }
 
@@ -359,4 +474,25 @@ public class DominoRestConfig implements RestConfig {
   public RegexValidationMode getRegexValidationMode() {
     return this.regexValidationMode;
   }
+
+  @Override
+  public RestConfig setEncodingMode(EncodingMode encodingMode) {
+    DominoRestConfig.encodingMode = isNull(encodingMode) ? EncodingMode.NONE : encodingMode;
+    return this;
+  }
+
+  @Override
+  public EncodingMode getEncodingMode() {
+    return encodingMode;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public RestConfigSnapshot getSnapshot() {
+    return snapshot;
+  }
+
+  private static void update(UnaryOperator<RestConfigSnapshot.Builder> change) {
+    snapshot = change.apply(snapshot.toBuilder()).build();
+  }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.js;
+
+import org.dominokit.rest.shared.request.HashedWheel;
+import org.dominokit.rest.shared.request.RequestTimer;
+import org.gwtproject.timer.client.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Browser {@link RequestTimer} backed by a {@link HashedWheel}, a single repeating GWT {@link
+ * Timer} drives the wheel while tasks are pending instead of a timer per task.
+ */
+public class GwtRequestTimer implements RequestTimer {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(GwtRequestTimer.class);
+
+  /** The default tick duration in milliseconds. */
+  public static final int DEFAULT_TICK_MILLIS = 20;
+
+  /** The default number of buckets, one wheel turn covers about 5 seconds with the default tick. */
+  public static final int DEFAULT_TICKS_PER_WHEEL = 256;
+
+  private final HashedWheel wheel;
+  private final Timer ticker =
+      new Timer() {
+        @Override
+        public void run() {
+          tick();
+        }
+      };
+  private boolean ticking;
+
+  /** Creates a timer with the default tick and wheel size. */
+  public GwtRequestTimer() {
+    this(DEFAULT_TICK_MILLIS, DEFAULT_TICKS_PER_WHEEL);
+  }
+
+  /**
+   * Creates a new timer.
+   *
+   * @param tickMillis the duration of a tick in milliseconds, the precision of the timer
+   * @param ticksPerWheel the number of buckets of the wheel
+   */
+  public GwtRequestTimer(int tickMillis, int ticksPerWheel) {
+    this.wheel = new HashedWheel(tickMillis, ticksPerWheel, System.currentTimeMillis());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Timeout schedule(Runnable task, long delayMillis) {
+    long now = System.currentTimeMillis();
+    if (wheel.isEmpty()) {
+      // catch up with the idle time first, advancing an empty wheel takes constant time
+      wheel.advance(now);
+    }
+    HashedWheel.Entry entry = wheel.add(task, now + Math.max(delayMillis, 0));
+    if (!ticking) {
+      ticking = true;
+      ticker.scheduleRepeating((int) wheel.getTickMillis());
+    }
+    return () -> wheel.remove(entry);
+  }
+
+  private void tick() {
+    for (Runnable task : wheel.advance(System.currentTimeMillis())) {
+      try {
+        task.run();
+      } catch (Throwable e) {
+        LOGGER.error("Timer task failed : ", e);
+      }
+    }
+    if (wheel.isEmpty()) {
+      ticker.cancel();
+      ticking = false;
+    }
+  }
+}
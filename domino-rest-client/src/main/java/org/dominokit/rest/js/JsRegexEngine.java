@@ -15,6 +15,7 @@
  */
 package org.dominokit.rest.js;
 
+import org.dominokit.rest.shared.regex.CompiledPatternCache;
 import org.dominokit.rest.shared.regex.DominoCompiledPattern;
 import org.dominokit.rest.shared.regex.DominoMatcher;
 import org.dominokit.rest.shared.regex.RegexEngine;
@@ -22,28 +23,67 @@ import org.dominokit.rest.shared.regex.Replacer;
 import org.gwtproject.regexp.shared.MatchResult;
 import org.gwtproject.regexp.shared.RegExp;
 
-/** JavaScript implementation of the {@link RegexEngine}. */
+/**
+ * JavaScript implementation of the {@link RegexEngine}.
+ *
+ * <p>Compiled {@link RegExp}s are kept in bounded {@link CompiledPatternCache}s. A cached global
+ * {@link RegExp} is shared, so its {@code lastIndex} is reset before every use.
+ */
 public final class JsRegexEngine implements RegexEngine {
 
+  private final CompiledPatternCache<GwtCompiledPattern> cache;
+  private final CompiledPatternCache<RegExp> fullMatchCache;
+
+  /**
+   * Creates a new instance caching up to {@link CompiledPatternCache#DEFAULT_MAX_SIZE} compiled
+   * patterns.
+   */
+  public JsRegexEngine() {
+    this(CompiledPatternCache.DEFAULT_MAX_SIZE);
+  }
+
+  /**
+   * Creates a new instance.
+   *
+   * @param cacheSize the maximum number of cached compiled patterns
+   */
+  public JsRegexEngine(int cacheSize) {
+    this.cache =
+        new CompiledPatternCache<>(
+            cacheSize,
+            (pattern, flags) -> new GwtCompiledPattern(RegExp.compile(pattern, flags), flags));
+    this.fullMatchCache =
+        new CompiledPatternCache<>(
+            cacheSize,
+            // full match by anchoring, 'g' is irrelevant for a full match
+            (pattern, flags) -> RegExp.compile("^(?:" + pattern + ")$", flags.replace("g", "")));
+  }
+
   @Override
   public DominoCompiledPattern compile(String pattern) {
-    return new GwtCompiledPattern(RegExp.compile(pattern), "");
+    return cache.get(pattern, "");
   }
 
   @Override
   public DominoCompiledPattern compile(String pattern, String flags) {
-    String f = flags == null ? "" : flags;
     // GWT supports "g", "i", "m". (No "s"/dotall in GWT.)
-    return new GwtCompiledPattern(RegExp.compile(pattern, f), f);
+    return cache.get(pattern, flags);
+  }
+
+  /**
+   * @return the cache of compiled patterns
+   */
+  public CompiledPatternCache<?> getPatternCache() {
+    return cache;
   }
 
   @Override
   public String replaceAll(String input, DominoCompiledPattern compiled, Replacer replacer) {
     GwtCompiledPattern cp = (GwtCompiledPattern) compiled;
 
-    // Ensure global iteration. If the compiled pattern isn’t global, recreate with 'g' added.
-    String flags = cp.flags.contains("g") ? cp.flags : (cp.flags + "g");
-    RegExp re = flags.equals(cp.flags) ? cp.re : RegExp.compile(cp.re.getSource(), flags);
+    // Ensure global iteration. If the compiled pattern isn’t global, use the one with 'g' added.
+    RegExp re = cp.flags.contains("g") ? cp.re : cache.get(cp.re.getSource(), cp.flags + "g").re;
+    re.setLastIndex(0);
 
     StringBuilder out = new StringBuilder(input.length() + 16);
     int lastIndex = 0;
@@ -81,16 +121,12 @@ public final class JsRegexEngine implements RegexEngine {
 
   @Override
   public boolean matches(String pattern, String candidate) {
-    // full match by anchoring
-    RegExp re = RegExp.compile("^(?:" + pattern + ")$");
-    return re.test(candidate);
+    return fullMatchCache.get(pattern, "").test(candidate);
   }
 
   @Override
   public boolean matches(String pattern, String candidate, String flags) {
-    String f = flags == null ? "" : flags.replace("g", ""); // 'g' irrelevant for full match
-    RegExp re = RegExp.compile("^(?:" + pattern + ")$", f);
-    return re.test(candidate);
+    return fullMatchCache.get(pattern, flags).test(candidate);
   }
 
   // ---- wrappers -----------------------------------------------------------
@@ -106,6 +142,7 @@ public final class JsRegexEngine implements RegexEngine {
 
     @Override
     public DominoMatcher matcher(String input) {
+      re.setLastIndex(0);
       return new GwtMatcherSnapshot(re.exec(input));
     }
 
@@ -31,8 +31,9 @@ import java.util.Map;
 import org.dominokit.rest.shared.BaseRestfulRequest;
 import org.dominokit.rest.shared.MultipartForm;
 import org.dominokit.rest.shared.RestfulRequest;
-import org.dominokit.rest.shared.request.RequestTimeoutException;
-import org.gwtproject.timer.client.Timer;
+import org.dominokit.rest.shared.request.PhaseTimeoutException;
+import org.dominokit.rest.shared.request.PhaseTimeouts;
+import org.dominokit.rest.shared.request.PhaseWatchdog;
 
 /** JS implementation for {@link RestfulRequest} that uses {@link XMLHttpRequest} */
 public class JsRestfulRequest extends BaseRestfulRequest {
@@ -52,14 +53,11 @@ public class JsRestfulRequest extends BaseRestfulRequest {
   /** The map of headers. */
   private final Map<String, String> headers = new LinkedHashMap<>();
 
-  /** The timer for handling timeouts. */
-  private final Timer timer =
-      new Timer() {
-        @Override
-        public void run() {
-          fireOnTimeout();
-        }
-      };
+  /** The readyState value once the response headers are received. */
+  private static final int HEADERS_RECEIVED = 2;
+
+  /** The watchdog enforcing the phase timeouts of the current send. */
+  private PhaseWatchdog watchdog;
 
   /**
    * Creates a new instance.
@@ -174,6 +172,9 @@ public class JsRestfulRequest extends BaseRestfulRequest {
   /** {@inheritDoc} */
   @Override
   public void abort() {
+    if (nonNull(watchdog)) {
+      watchdog.finish();
+    }
     request.onreadystatechange = p0 -> null;
     request.abort();
   }
@@ -199,25 +200,34 @@ public class JsRestfulRequest extends BaseRestfulRequest {
     String url = getUri();
     request.open(getMethod(), url);
     setHeaders();
+    // the browser does not expose the connect phase, it is part of the time to the headers
+    PhaseTimeouts timeouts = getPhaseTimeouts();
+    timeouts.setFirstByte(timeouts.getConnect() + timeouts.getFirstByte()).setConnect(0);
+    PhaseWatchdog current = new PhaseWatchdog(timeouts, getRequestTimer(), this::onTimeout);
+    this.watchdog = current;
     request.onreadystatechange =
         xhr -> {
+          if (request.readyState >= HEADERS_RECEIVED) {
+            current.onHeaders();
+          }
           if (request.readyState == XMLHttpRequest.DONE) {
             request.onreadystatechange = p0 -> null;
-            timer.cancel();
-            successHandler.onResponseReceived(new JsResponse(request));
+            if (current.finish()) {
+              successHandler.onResponseReceived(new JsResponse(request));
+            }
           }
           return null;
         };
-    if (getTimeout() > 0) {
-      timer.schedule(getTimeout());
+    if (timeouts.getIdle() > 0) {
+      request.addEventListener("progress", evt -> current.onProgress());
     }
+    current.start();
   }
 
-  private void fireOnTimeout() {
-    timer.cancel();
+  private void onTimeout(PhaseTimeoutException error) {
     request.onreadystatechange = p0 -> null;
     request.abort();
-    errorHandler.onError(new RequestTimeoutException());
+    errorHandler.onError(error);
   }
 
   private void setHeaders() {
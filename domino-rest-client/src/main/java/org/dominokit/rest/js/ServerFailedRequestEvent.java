@@ -19,7 +19,6 @@ import org.dominokit.rest.shared.Event;
 import org.dominokit.rest.shared.EventProcessor;
 import org.dominokit.rest.shared.EventsBus;
 import org.dominokit.rest.shared.request.FailedResponseBean;
-import org.dominokit.rest.shared.request.Request;
 import org.dominokit.rest.shared.request.ServerRequest;
 
 /**
@@ -54,11 +53,7 @@ public class ServerFailedRequestEvent extends ServerFailedRequestGwtEvent implem
   /** {@inheritDoc} */
   @Override
   public void process() {
-    request.applyState(new Request.ServerResponseReceivedStateContext(makeFailedContext()));
-  }
-
-  private Request.ServerFailedRequestStateContext makeFailedContext() {
-    return new Request.ServerFailedRequestStateContext(failedResponseBean);
+    request.applyFailure(failedResponseBean);
   }
 
   /** {@inheritDoc} */
@@ -0,0 +1,63 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.js;
+
+import elemental2.promise.Promise;
+import org.dominokit.rest.shared.request.RequestFailedException;
+import org.dominokit.rest.shared.request.ServerRequest;
+
+/**
+ * Browser counterpart of {@link ServerRequest#sendAsync()}, sends a request and exposes its
+ * response as a {@link Promise}.
+ *
+ * <p>A promise cannot be cancelled, the request can still be aborted with {@link
+ * ServerRequest#abort()} which rejects the promise with a {@link RequestAbortedException}.
+ */
+public class ServerRequestPromise {
+
+  private ServerRequestPromise() {}
+
+  /**
+   * Sends the request and returns a promise that resolves with the response, or rejects with a
+   * {@link RequestFailedException} when the request fails.
+   *
+   * @param request the request to send
+   * @param <R> the request type
+   * @param <S> the response type
+   * @return the promise of the response
+   */
+  public static <R, S> Promise<S> sendAsync(ServerRequest<R, S> request) {
+    return new Promise<>(
+        (resolve, reject) -> {
+          try {
+            request.send(
+                response -> resolve.onInvoke(response),
+                failedResponse -> reject.onInvoke(new RequestFailedException(failedResponse)),
+                () -> reject.onInvoke(new RequestAbortedException()));
+          } catch (RuntimeException e) {
+            reject.onInvoke(e);
+          }
+        });
+  }
+
+  /** The rejection reason of a promise whose request was aborted. */
+  public static class RequestAbortedException extends RuntimeException {
+    /** Creates a new instance. */
+    public RequestAbortedException() {
+      super("Request aborted");
+    }
+  }
+}
@@ -18,7 +18,6 @@ package org.dominokit.rest.js;
 import org.dominokit.rest.shared.Event;
 import org.dominokit.rest.shared.EventProcessor;
 import org.dominokit.rest.shared.EventsBus;
-import org.dominokit.rest.shared.request.Request;
 import org.dominokit.rest.shared.request.ServerRequest;
 
 /**
@@ -56,11 +55,7 @@ public class ServerSuccessRequestEvent<T> extends ServerSuccessRequestGwtEvent i
   /** {@inheritDoc} */
   @Override
   public void process() {
-    request.applyState(new Request.ServerResponseReceivedStateContext(makeSuccessContext()));
-  }
-
-  private Request.ServerSuccessRequestStateContext makeSuccessContext() {
-    return new Request.ServerSuccessRequestStateContext(responseBean);
+    request.applySuccess(responseBean);
   }
 
   /** {@inheritDoc} */
@@ -19,16 +19,23 @@ import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.dominokit.jackson.JacksonContextProvider;
+import org.dominokit.rest.jvm.AsyncRunners;
 import org.dominokit.rest.jvm.DefaultServiceRoot;
+import org.dominokit.rest.jvm.HashedWheelRequestTimer;
 import org.dominokit.rest.jvm.JvmRegexEngine;
 import org.dominokit.rest.jvm.OnServerRequestEventFactory;
+import org.dominokit.rest.jvm.Transport;
+import org.dominokit.rest.jvm.VirtualThreads;
+import org.dominokit.rest.jvm.loopback.LoopbackServer;
+import org.dominokit.rest.jvm.nio.NioTransport;
 import org.dominokit.rest.shared.regex.RegexEngine;
 import org.dominokit.rest.shared.request.*;
 
@@ -41,17 +48,7 @@ public class DominoRestConfig implements RestConfig {
 
   private static final Logger LOGGER = Logger.getLogger(DominoRestConfig.class.getName());
 
-  private static String defaultServiceRoot;
-  private static String defaultResourceRootPath = "service";
-  private static String defaultJsonDateFormat = null;
-
-  private static RequestRouter<ServerRequest> serverRouter =
-      new ServerRouter(
-          new DefaultRequestAsyncSender(new OnServerRequestEventFactory(), new RequestSender<>()));
-  private static List<DynamicServiceRoot> dynamicServiceRoots = new ArrayList<>();
-  private static List<RequestInterceptor> requestInterceptors = new ArrayList<>();
-  private static final List<ResponseInterceptor> responseInterceptors = new ArrayList<>();
-  private static Fail defaultFailHandler =
+  private static final Fail DEFAULT_FAIL_HANDLER =
       failedResponse -> {
         if (nonNull(failedResponse.getThrowable())) {
           LOGGER.log(
@@ -67,39 +64,63 @@ public class DominoRestConfig implements RestConfig {
         }
       };
 
-  private static DateParamFormatter dateParamFormatter =
-      (date, pattern) -> new SimpleDateFormat(pattern).format(date);
+  private static final RequestTimer DEFAULT_REQUEST_TIMER = new HashedWheelRequestTimer();
 
-  private static NullQueryParamStrategy nullQueryParamStrategy = NullQueryParamStrategy.EMPTY;
+  // the settings shared by all the instances returned from getInstance()
+  private static final Settings DEFAULT = new Settings();
+
+  private final Settings settings;
 
-  private static final Map<String, String> globalPathParams = new HashMap<>();
-  private static final Map<String, String> globalHeaderParams = new HashMap<>();
-  private static final Map<String, List<String>> globalQueryParams = new HashMap<>();
   private JvmRegexEngine jvmRegexEngine = new JvmRegexEngine();
   private RegexValidationMode regexValidationMode = RegexValidationMode.IGNORE;
 
+  /** Creates an instance using the global settings, same as {@link #getInstance()}. */
+  public DominoRestConfig() {
+    this(DEFAULT);
+  }
+
+  private DominoRestConfig(Settings settings) {
+    this.settings = settings;
+  }
+
   /**
    * Gets and initialize the instance with the default configurations
    *
    * @return the instance
    */
   public static DominoRestConfig initDefaults() {
-    RestfullRequestContext.setFactory(new JavaRestfulRequestFactory());
-    DominoRestContext.init(DominoRestConfig.getInstance());
-    return DominoRestConfig.getInstance();
+    DominoRestConfig config = DominoRestConfig.getInstance();
+    RestfullRequestContext.setRequestTimer(DEFAULT_REQUEST_TIMER);
+    config.refreshRequestFactory();
+    DominoRestContext.init(config);
+    return config;
   }
 
   /**
-   * @return new instance
+   * @return new instance using the global settings
    */
   public static DominoRestConfig getInstance() {
-    return new DominoRestConfig();
+    return new DominoRestConfig(DEFAULT);
+  }
+
+  /**
+   * Creates a configuration isolated from the global one, with its own router, interceptors,
+   * service roots, transports, runners and timeouts. Requests are sent with it when they are bound
+   * to it, see {@link ServerRequest#setRequestContext(DominoRestContext)} and the {@code using}
+   * method of the generated factories.
+   *
+   * @return a new isolated configuration
+   */
+  public static DominoRestConfig create() {
+    DominoRestConfig config = new DominoRestConfig(new Settings());
+    config.refreshRequestFactory();
+    return config;
   }
 
   /** {@inheritDoc} */
   @Override
   public DominoRestConfig setDefaultServiceRoot(String defaultServiceRoot) {
-    this.defaultServiceRoot = defaultServiceRoot;
+    settings.defaultServiceRoot = defaultServiceRoot;
     return this;
   }
 
@@ -113,55 +134,62 @@ public class DominoRestConfig implements RestConfig {
   /** {@inheritDoc} */
   @Override
   public DominoRestConfig addDynamicServiceRoot(DynamicServiceRoot dynamicServiceRoot) {
-    dynamicServiceRoots.add(dynamicServiceRoot);
+    update(builder -> builder.addServiceRoot(dynamicServiceRoot));
+    return this;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public DominoRestConfig removeDynamicServiceRoot(DynamicServiceRoot dynamicServiceRoot) {
+    update(builder -> builder.removeServiceRoot(dynamicServiceRoot));
     return this;
   }
 
   /** {@inheritDoc} */
   @Override
   public DominoRestConfig addRequestInterceptor(RequestInterceptor interceptor) {
-    this.requestInterceptors.add(interceptor);
+    update(builder -> builder.addRequestInterceptor(interceptor));
     return this;
   }
 
   /** {@inheritDoc} */
   @Override
   public DominoRestConfig removeRequestInterceptor(RequestInterceptor interceptor) {
-    this.requestInterceptors.remove(interceptor);
+    update(builder -> builder.removeRequestInterceptor(interceptor));
     return this;
   }
 
   /** {@inheritDoc} */
   @Override
   public List<RequestInterceptor> getRequestInterceptors() {
-    return requestInterceptors;
+    return settings.snapshot.get().getRequestInterceptors();
   }
 
   /** {@inheritDoc} */
   @Override
   public DominoRestConfig addResponseInterceptor(ResponseInterceptor responseInterceptor) {
-    this.getResponseInterceptors().add(responseInterceptor);
+    update(builder -> builder.addResponseInterceptor(responseInterceptor));
     return this;
   }
 
   /** {@inheritDoc} */
   @Override
   public DominoRestConfig removeResponseInterceptor(ResponseInterceptor responseInterceptor) {
-    this.getResponseInterceptors().remove(responseInterceptor);
+    update(builder -> builder.removeResponseInterceptor(responseInterceptor));
     return this;
   }
 
   /** {@inheritDoc} */
   @Override
   public List<ResponseInterceptor> getResponseInterceptors() {
-    return responseInterceptors;
+    return settings.snapshot.get().getResponseInterceptors();
   }
 
   /** {@inheritDoc} */
   @Override
   public DominoRestConfig setDefaultFailHandler(Fail fail) {
     if (nonNull(fail)) {
-      this.defaultFailHandler = fail;
+      settings.defaultFailHandler = fail;
     }
     return this;
   }
@@ -169,16 +197,16 @@ public class DominoRestConfig implements RestConfig {
   /** {@inheritDoc} */
   @Override
   public Fail getDefaultFailHandler() {
-    return defaultFailHandler;
+    return settings.defaultFailHandler;
   }
 
   /** {@inheritDoc} */
   @Override
   public String getDefaultServiceRoot() {
-    if (isNull(defaultServiceRoot)) {
-      return DefaultServiceRoot.get() + defaultResourceRootPath + "/";
+    if (isNull(settings.defaultServiceRoot)) {
+      return DefaultServiceRoot.get() + settings.defaultResourceRootPath + "/";
     }
-    return defaultServiceRoot;
+    return settings.defaultServiceRoot;
   }
 
   /** {@inheritDoc} */
@@ -190,14 +218,14 @@ public class DominoRestConfig implements RestConfig {
   /** {@inheritDoc} */
   @Override
   public List<DynamicServiceRoot> getServiceRoots() {
-    return dynamicServiceRoots;
+    return settings.snapshot.get().getServiceRoots();
   }
 
   /** {@inheritDoc} */
   @Override
   public DominoRestConfig setDefaultResourceRootPath(String rootPath) {
     if (nonNull(rootPath)) {
-      this.defaultResourceRootPath = rootPath;
+      settings.defaultResourceRootPath = rootPath;
     }
     return this;
   }
@@ -205,29 +233,250 @@ public class DominoRestConfig implements RestConfig {
   /** {@inheritDoc} */
   @Override
   public RequestRouter<ServerRequest> getServerRouter() {
-    return serverRouter;
+    return settings.serverRouter;
   }
 
   /** {@inheritDoc} */
   @Override
   public String getDefaultResourceRootPath() {
-    if (nonNull(defaultResourceRootPath) && !defaultResourceRootPath.trim().isEmpty()) {
-      return defaultResourceRootPath + "/";
+    String rootPath = settings.defaultResourceRootPath;
+    if (nonNull(rootPath) && !rootPath.trim().isEmpty()) {
+      return rootPath + "/";
     } else {
       return "";
     }
   }
 
-  /** {@inheritDoc} */
+  /**
+   * Runs the requests preparation and the HTTP client on the specified executor. By default the
+   * requests are prepared on the calling thread and the client uses its own thread pool.
+   *
+   * <p>Responses are completed on this executor, a bounded executor must not be used by callers
+   * of {@link ServerRequest#sendAndWait()} or they may starve it.
+   *
+   * @param executor the executor, null to restore the defaults
+   * @return same instance to support builder pattern
+   */
+  public DominoRestConfig setExecutor(Executor executor) {
+    settings.executor = executor;
+    refreshRequestFactory();
+    return setAsyncRunner(isNull(executor) ? null : AsyncRunners.executor(executor));
+  }
+
+  /**
+   * @return the executor set with {@link #setExecutor(Executor)}, null if none
+   */
+  public Executor getExecutor() {
+    return settings.executor;
+  }
+
+  /**
+   * Selects the HTTP transport used to send the requests, the JDK client is used by default.
+   *
+   * @param transport the transport, null to restore the default
+   * @return same instance to support builder pattern
+   */
+  public DominoRestConfig setTransport(Transport transport) {
+    settings.transport = isNull(transport) ? Transport.JDK_HTTP_CLIENT : transport;
+    refreshRequestFactory();
+    return this;
+  }
+
+  /**
+   * @return the selected HTTP transport
+   */
+  public Transport getTransport() {
+    return settings.transport;
+  }
+
+  /**
+   * Sets the {@link NioTransport} used when {@link Transport#NIO} is selected and for {@code
+   * unix:///path/to/app.sock} service roots, to tune its limits. The previous transport is not
+   * closed.
+   *
+   * @param nioTransport the transport, null to use a transport with the default limits
+   * @return same instance to support builder pattern
+   */
+  public DominoRestConfig setNioTransport(NioTransport nioTransport) {
+    synchronized (settings) {
+      settings.nioTransport = nioTransport;
+    }
+    refreshRequestFactory();
+    return this;
+  }
+
+  /**
+   * @return the {@link NioTransport} used when {@link Transport#NIO} is selected and for unix
+   *     domain socket service roots, created with the default limits on first use
+   */
+  public NioTransport getNioTransport() {
+    synchronized (settings) {
+      if (isNull(settings.nioTransport)) {
+        settings.nioTransport = new NioTransport();
+      }
+      return settings.nioTransport;
+    }
+  }
+
+  /**
+   * Sets the {@link LoopbackServer} handling the requests when {@link Transport#LOOPBACK} is
+   * selected.
+   *
+   * @param loopbackServer the server, null to use a server without routes
+   * @return same instance to support builder pattern
+   */
+  public DominoRestConfig setLoopbackServer(LoopbackServer loopbackServer) {
+    synchronized (settings) {
+      settings.loopbackServer = loopbackServer;
+    }
+    refreshRequestFactory();
+    return this;
+  }
+
+  /**
+   * @return the {@link LoopbackServer} handling the requests when {@link Transport#LOOPBACK} is
+   *     selected, a server without routes is created on first use
+   */
+  public LoopbackServer getLoopbackServer() {
+    synchronized (settings) {
+      if (isNull(settings.loopbackServer)) {
+        settings.loopbackServer = new LoopbackServer();
+      }
+      return settings.loopbackServer;
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The instances using the global settings share the global factory.
+   */
+  @Override
+  public RestfulRequestFactory getRequestFactory() {
+    return settings == DEFAULT ? RestfullRequestContext.getFactory() : settings.requestFactory;
+  }
+
+  private void refreshRequestFactory() {
+    RestfulRequestFactory factory = newRequestFactory();
+    if (settings == DEFAULT) {
+      RestfullRequestContext.setFactory(factory);
+    } else {
+      settings.requestFactory = factory;
+    }
+  }
+
+  private RestfulRequestFactory newRequestFactory() {
+    if (settings.transport == Transport.NIO) {
+      return new NioRestfulRequestFactory(getNioTransport());
+    }
+    if (settings.transport == Transport.LOOPBACK) {
+      return new LoopbackRestfulRequestFactory(getLoopbackServer());
+    }
+    return new JavaRestfulRequestFactory(settings.executor, this::getNioTransport);
+  }
+
+  /**
+   * Runs the requests preparation and the HTTP client on a virtual-thread-per-task executor, this
+   * requires a JDK that supports virtual threads.
+   *
+   * @return same instance to support builder pattern
+   * @throws UnsupportedOperationException if the running JDK does not support virtual threads
+   */
+  public DominoRestConfig useVirtualThreads() {
+    return setExecutor(VirtualThreads.newVirtualThreadPerTaskExecutor());
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Runs on the calling thread by default, see {@link AsyncRunners} for other options.
+   */
   @Override
   public AsyncRunner asyncRunner() {
-    return asyncTask -> {
-      try {
-        asyncTask.onSuccess();
-      } catch (Throwable error) {
-        asyncTask.onFailed(error);
-      }
-    };
+    return settings.asyncRunner;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public DominoRestConfig setAsyncRunner(AsyncRunner asyncRunner) {
+    settings.asyncRunner = isNull(asyncRunner) ? AsyncRunner.direct() : asyncRunner;
+    return this;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Runs on the HTTP client thread that completed the response by default, see {@link
+   * AsyncRunners} for other options.
+   */
+  @Override
+  public AsyncRunner callbackRunner() {
+    return settings.callbackRunner;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public DominoRestConfig setCallbackRunner(AsyncRunner callbackRunner) {
+    settings.callbackRunner = isNull(callbackRunner) ? AsyncRunner.direct() : callbackRunner;
+    return this;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public RequestTimer getRequestTimer() {
+    return settings.requestTimer;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public DominoRestConfig setRequestTimer(RequestTimer requestTimer) {
+    settings.requestTimer = isNull(requestTimer) ? DEFAULT_REQUEST_TIMER : requestTimer;
+    return this;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public HedgeBudget getHedgeBudget() {
+    return settings.hedgeBudget;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public DominoRestConfig setHedgeBudget(HedgeBudget hedgeBudget) {
+    settings.hedgeBudget = isNull(hedgeBudget) ? HedgeBudget.defaultBudget() : hedgeBudget;
+    return this;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public LatencyTrackers getLatencyTrackers() {
+    return settings.latencyTrackers;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String getDeadlineHeader() {
+    return settings.deadlineHeader;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public DominoRestConfig setDeadlineHeader(String deadlineHeader) {
+    settings.deadlineHeader = deadlineHeader;
+    return this;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public PhaseTimeouts getPhaseTimeouts() {
+    return settings.phaseTimeouts;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public DominoRestConfig setPhaseTimeouts(PhaseTimeouts phaseTimeouts) {
+    settings.phaseTimeouts = isNull(phaseTimeouts) ? new PhaseTimeouts() : phaseTimeouts;
+    return this;
   }
 
   /**
@@ -236,33 +485,50 @@ public class DominoRestConfig implements RestConfig {
    * @param serverRouter the new router
    */
   public void setServerRouter(RequestRouter<ServerRequest> serverRouter) {
-    DominoRestConfig.serverRouter = serverRouter;
+    settings.serverRouter = serverRouter;
+  }
+
+  /**
+   * Sets whether the responses are published as request events, by default the responses are
+   * applied to the requests directly without creating events. This replaces the server router.
+   *
+   * @param responseEvents true to publish an event for every response
+   * @return same instance to support builder pattern
+   */
+  public DominoRestConfig setResponseEvents(boolean responseEvents) {
+    settings.serverRouter =
+        new ServerRouter(
+            responseEvents
+                ? new DefaultRequestAsyncSender(
+                    new OnServerRequestEventFactory(), new RequestSender<>())
+                : new DirectRequestAsyncSender(new RequestSender<>()));
+    return this;
   }
 
   /** {@inheritDoc} */
   @Override
   public RestConfig setDateParamFormatter(DateParamFormatter formatter) {
-    DominoRestConfig.dateParamFormatter = formatter;
+    settings.dateParamFormatter = formatter;
     return this;
   }
 
   /** {@inheritDoc} */
   @Override
   public DateParamFormatter getDateParamFormatter() {
-    return DominoRestConfig.dateParamFormatter;
+    return settings.dateParamFormatter;
   }
 
   /** {@inheritDoc} */
   @Override
   public NullQueryParamStrategy getNullQueryParamStrategy() {
-    return nullQueryParamStrategy;
+    return settings.nullQueryParamStrategy;
   }
 
   /** {@inheritDoc} */
   @Override
   public DominoRestConfig setNullQueryParamStrategy(NullQueryParamStrategy nullQueryParamStrategy) {
     if (nonNull(nullQueryParamStrategy)) {
-      DominoRestConfig.nullQueryParamStrategy = nullQueryParamStrategy;
+      settings.nullQueryParamStrategy = nullQueryParamStrategy;
     }
     return this;
   }
@@ -274,75 +540,88 @@ public class DominoRestConfig implements RestConfig {
 
   @Override
   public Map<String, String> getGlobalPathParameters() {
-    return globalPathParams;
+    return settings.snapshot.get().getGlobalPathParameters();
   }
 
   @Override
   public Map<String, String> getGlobalHeaderParameters() {
-    return globalHeaderParams;
+    return settings.snapshot.get().getGlobalHeaderParameters();
   }
 
   @Override
   public Map<String, List<String>> getGlobalQueryParameters() {
-    return globalQueryParams;
+    return settings.snapshot.get().getGlobalQueryParameters();
   }
 
   @Override
   public RestConfig setGlobalPathParameter(String name, String value) {
-    getGlobalPathParameters().put(name, value);
+    update(builder -> builder.setGlobalPathParameter(name, value));
     return this;
   }
 
   @Override
   public RestConfig setGlobalPathParameters(Map<String, String> pathParameters) {
-    getGlobalPathParameters().putAll(pathParameters);
+    update(builder -> builder.setGlobalPathParameters(pathParameters));
     return this;
   }
 
   @Override
   public RestConfig setGlobalHeaderParameter(String name, String value) {
-    getGlobalHeaderParameters().put(name, value);
+    update(builder -> builder.setGlobalHeaderParameter(name, value));
     return this;
   }
 
   @Override
   public RestConfig setGlobalHeaderParameters(Map<String, String> headerParameters) {
-    getGlobalHeaderParameters().putAll(headerParameters);
+    update(builder -> builder.setGlobalHeaderParameters(headerParameters));
     return this;
   }
 
   @Override
   public RestConfig setGlobalQueryParameter(String name, String value) {
-    getGlobalQueryParameters().put(name, new ArrayList<>());
-    addGlobalQueryParameter(name, value);
+    update(builder -> builder.setGlobalQueryParameter(name, value));
     return this;
   }
 
   @Override
   public RestConfig addGlobalQueryParameter(String name, String value) {
-    if (getGlobalQueryParameters().containsKey(name)) {
-      getGlobalQueryParameters().get(name).add(value);
-    } else {
-      setGlobalQueryParameter(name, value);
-    }
+    update(builder -> builder.addGlobalQueryParameter(name, value));
     return this;
   }
 
   @Override
   public RestConfig setGlobalQueryParameters(Map<String, List<String>> parameters) {
-    parameters
-        .keySet()
-        .forEach(
-            name -> parameters.get(name).forEach(value -> addGlobalQueryParameter(name, value)));
+    update(builder -> builder.addGlobalQueryParameters(parameters));
     return this;
   }
 
   @Override
   public RestConfig addGlobalQueryParameters(Map<String, List<String>> parameters) {
-    parameters.forEach(
-        (key, values) -> {
-          values.forEach(value -> addGlobalQueryParameter(key, value));
-        });
+    update(builder -> builder.addGlobalQueryParameters(parameters));
+    return this;
+  }
+
+  @Override
+  public RestConfig removeGlobalPathParameter(String name) {
+    update(builder -> builder.removeGlobalPathParameter(name));
+    return this;
+  }
+
+  @Override
+  public RestConfig removeGlobalHeaderParameter(String name) {
+    update(builder -> builder.removeGlobalHeaderParameter(name));
+    return this;
+  }
+
+  @Override
+  public RestConfig removeGlobalQueryParameter(String name) {
+    update(builder -> builder.removeGlobalQueryParameter(name));
+    return this;
+  }
+
+  @Override
+  public RestConfig clearGlobalParameters() {
+    update(RestConfigSnapshot.Builder::clearGlobalParameters);
     return this;
   }
 
@@ -360,4 +639,66 @@ public class DominoRestConfig implements RestConfig {
   public RegexValidationMode getRegexValidationMode() {
     return this.regexValidationMode;
   }
+
+  @Override
+  public RestConfig setEncodingMode(EncodingMode encodingMode) {
+    settings.encodingMode = isNull(encodingMode) ? EncodingMode.NONE : encodingMode;
+    return this;
+  }
+
+  @Override
+  public EncodingMode getEncodingMode() {
+    return settings.encodingMode;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public RestConfigSnapshot getSnapshot() {
+    return settings.snapshot.get();
+  }
+
+  /**
+   * Applies a change to a copy of the current snapshot and swaps it in, retrying if another thread
+   * changed the configuration in the meantime.
+   */
+  private void update(UnaryOperator<RestConfigSnapshot.Builder> change) {
+    RestConfigSnapshot current;
+    RestConfigSnapshot next;
+    do {
+      current = settings.snapshot.get();
+      next = change.apply(current.toBuilder()).build();
+    } while (!settings.snapshot.compareAndSet(current, next));
+  }
+
+  /** The settings of a configuration, shared by the instances created for it. */
+  private static final class Settings {
+    private String defaultServiceRoot;
+    private String defaultResourceRootPath = "service";
+
+    private RequestRouter<ServerRequest> serverRouter =
+        new ServerRouter(new DirectRequestAsyncSender(new RequestSender<>()));
+    // interceptors, service roots and global parameters, replaced as a whole on every change
+    private final AtomicReference<RestConfigSnapshot> snapshot =
+        new AtomicReference<>(RestConfigSnapshot.EMPTY);
+    private Fail defaultFailHandler = DEFAULT_FAIL_HANDLER;
+
+    private DateParamFormatter dateParamFormatter =
+        (date, pattern) -> new SimpleDateFormat(pattern).format(date);
+
+    private NullQueryParamStrategy nullQueryParamStrategy = NullQueryParamStrategy.EMPTY;
+
+    private Executor executor;
+    private Transport transport = Transport.JDK_HTTP_CLIENT;
+    private NioTransport nioTransport;
+    private LoopbackServer loopbackServer;
+    private RestfulRequestFactory requestFactory;
+    private AsyncRunner asyncRunner = AsyncRunner.direct();
+    private AsyncRunner callbackRunner = AsyncRunner.direct();
+    private RequestTimer requestTimer = DEFAULT_REQUEST_TIMER;
+    private HedgeBudget hedgeBudget = HedgeBudget.defaultBudget();
+    private final LatencyTrackers latencyTrackers = new LatencyTrackers();
+    private String deadlineHeader;
+    private PhaseTimeouts phaseTimeouts = new PhaseTimeouts();
+    private EncodingMode encodingMode = EncodingMode.NONE;
+  }
 }
@@ -15,11 +15,19 @@
  */
 package org.dominokit.rest;
 
+import java.net.http.HttpClient;
+import java.util.concurrent.Executor;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
 import org.dominokit.rest.jvm.JavaStandardRestfulRequest;
+import org.dominokit.rest.jvm.NioRestfulRequest;
+import org.dominokit.rest.jvm.nio.NioTransport;
+import org.dominokit.rest.jvm.nio.UnixSocketEndpoint;
 import org.dominokit.rest.shared.RestfulRequest;
 
 /**
- * Java platform implementation for {@link RestfulRequestFactory}
+ * Java platform implementation for {@link RestfulRequestFactory}, requests to {@code unix} URIs
+ * are sent through the {@link DominoRestConfig#getNioTransport() NIO transport}.
  *
  * @see RestfulRequestFactory
  */
@@ -29,10 +37,42 @@ class JavaRestfulRequestFactory implements RestfulRequestFactory {
     RestfullRequestContext.setFactory(new JavaRestfulRequestFactory());
   }
 
+  private final IntFunction<HttpClient> httpClients;
+  private final Supplier<NioTransport> nioTransport;
+
+  /** Creates a factory whose requests share a client using the client default executor. */
+  JavaRestfulRequestFactory() {
+    this(null);
+  }
+
+  /**
+   * Creates a factory whose requests share a client running on the specified executor.
+   *
+   * @param executor the client executor, null to use the client default executor
+   */
+  JavaRestfulRequestFactory(Executor executor) {
+    this(executor, () -> DominoRestConfig.getInstance().getNioTransport());
+  }
+
+  /**
+   * Creates a factory whose requests share a client running on the specified executor.
+   *
+   * @param executor the client executor, null to use the client default executor
+   * @param nioTransport supplies the transport of the requests to {@code unix} URIs
+   */
+  JavaRestfulRequestFactory(Executor executor, Supplier<NioTransport> nioTransport) {
+    this.httpClients = JavaStandardRestfulRequest.newHttpClients(executor);
+    this.nioTransport = nioTransport;
+  }
+
   /** {@inheritDoc} */
   @Override
   public RestfulRequest request(String uri, String method) {
-    return new JavaStandardRestfulRequest(uri, method);
+    if (UnixSocketEndpoint.isUnixUri(uri)) {
+      // the JDK client cannot connect to unix domain sockets
+      return new NioRestfulRequest(uri, method, nioTransport.get());
+    }
+    return new JavaStandardRestfulRequest(uri, method, httpClients);
   }
 
   /** {@inheritDoc} */
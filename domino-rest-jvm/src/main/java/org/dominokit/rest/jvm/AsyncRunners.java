@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.jvm;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.dominokit.rest.shared.GwtIncompatible;
+import org.dominokit.rest.shared.request.AsyncRunner;
+
+/**
+ * Ready made {@link AsyncRunner}s to be used for the requests preparation and the callbacks
+ * dispatch, see {@link org.dominokit.rest.shared.request.RestConfig#setAsyncRunner(AsyncRunner)}
+ * and {@link org.dominokit.rest.shared.request.RestConfig#setCallbackRunner(AsyncRunner)}.
+ */
+@GwtIncompatible
+public final class AsyncRunners {
+
+  private AsyncRunners() {}
+
+  /**
+   * @return a runner that runs the tasks on the calling thread, this is the default
+   */
+  public static AsyncRunner direct() {
+    return AsyncRunner.direct();
+  }
+
+  /**
+   * @return a runner that runs the tasks on the {@link ForkJoinPool#commonPool()}
+   */
+  public static AsyncRunner forkJoin() {
+    return executor(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Creates a runner backed by a new pool with a fixed number of daemon threads.
+   *
+   * @param threads the number of threads
+   * @return a new runner
+   */
+  public static AsyncRunner boundedPool(int threads) {
+    AtomicInteger counter = new AtomicInteger();
+    ExecutorService pool =
+        Executors.newFixedThreadPool(
+            threads,
+            task -> {
+              Thread thread = new Thread(task, "domino-rest-" + counter.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    return executor(pool);
+  }
+
+  /**
+   * @return a runner that runs each task on a new virtual thread
+   * @throws UnsupportedOperationException if the running JDK does not support virtual threads
+   */
+  public static AsyncRunner virtualThreads() {
+    return executor(VirtualThreads.newVirtualThreadPerTaskExecutor());
+  }
+
+  /**
+   * Creates a runner that submits the tasks to the specified executor, a task rejected by the
+   * executor is failed with the rejection error.
+   *
+   * @param executor the executor
+   * @return a new runner
+   */
+  public static AsyncRunner executor(Executor executor) {
+    AsyncRunner direct = AsyncRunner.direct();
+    return asyncTask -> {
+      try {
+        executor.execute(() -> direct.runAsync(asyncTask));
+      } catch (Throwable error) {
+        asyncTask.onFailed(error);
+      }
+    };
+  }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.jvm;
+
+import static java.util.Objects.nonNull;
+
+import java.io.IOException;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import org.dominokit.rest.shared.GwtIncompatible;
+import org.dominokit.rest.shared.request.FileDownload;
+
+/**
+ * A {@link HttpResponse.BodyHandler} that writes successful response bodies straight to a {@link
+ * FileChannel}, the body chunks are never accumulated in memory. Error responses are still read
+ * as a byte array so they can be reported in the failed response.
+ */
+@GwtIncompatible
+class FileDownloadBodyHandler implements HttpResponse.BodyHandler<byte[]> {
+
+  private static final byte[] EMPTY = new byte[0];
+
+  private final FileDownload download;
+  private final long offset;
+  private volatile FileChannelSubscriber current;
+
+  /**
+   * Creates a handler for a single attempt.
+   *
+   * @param download the download target
+   * @param offset the number of bytes requested to be skipped with a range request, 0 for a full
+   *     download
+   */
+  FileDownloadBodyHandler(FileDownload download, long offset) {
+    this.download = download;
+    this.offset = offset;
+  }
+
+  /**
+   * Resolves the target path of the download, creating a temporary file when none was set.
+   *
+   * @param download the download target
+   * @return the target path
+   * @throws IOException if the temporary file cannot be created
+   */
+  static Path targetPath(FileDownload download) throws IOException {
+    if (nonNull(download.getFilePath())) {
+      return Paths.get(download.getFilePath());
+    }
+    Path path = Files.createTempFile("domino-rest-", ".download");
+    download.setFilePath(path.toString());
+    return path;
+  }
+
+  /**
+   * Computes the offset to resume the download from.
+   *
+   * @param download the download target
+   * @return the size of the partially written file if the download can be resumed, 0 otherwise
+   * @throws IOException if the size of the file cannot be read
+   */
+  static long resumeOffset(FileDownload download) throws IOException {
+    if (!download.canResume()) {
+      return 0;
+    }
+    Path path = targetPath(download);
+    return Files.exists(path) ? Files.size(path) : 0;
+  }
+
+  @Override
+  public HttpResponse.BodySubscriber<byte[]> apply(HttpResponse.ResponseInfo responseInfo) {
+    int status = responseInfo.statusCode();
+    if (status < 200 || status >= 300) {
+      return HttpResponse.BodySubscribers.ofByteArray();
+    }
+
+    HttpHeaders headers = responseInfo.headers();
+    String validator = validator(headers);
+    try {
+      Path path = targetPath(download);
+      if (status == 206) {
+        long start = rangeStart(headers);
+        if (start == offset && offset > 0) {
+          download.onStarted(offset, rangeTotal(headers), validator);
+          return subscribe(FileChannel.open(path, StandardOpenOption.WRITE));
+        } else if (start != 0) {
+          return new FileChannelSubscriber(
+              new IOException(
+                  "Unexpected Content-Range ["
+                      + headers.firstValue("Content-Range").orElse("")
+                      + "] for requested offset ["
+                      + offset
+                      + "]"));
+        }
+        download.onStarted(0, rangeTotal(headers), validator);
+      } else {
+        download.onStarted(0, headers.firstValueAsLong("Content-Length").orElse(-1), validator);
+      }
+      return subscribe(
+          FileChannel.open(
+              path,
+              StandardOpenOption.CREATE,
+              StandardOpenOption.WRITE,
+              StandardOpenOption.TRUNCATE_EXISTING));
+    } catch (IOException e) {
+      return new FileChannelSubscriber(e);
+    }
+  }
+
+  /** Closes the file channel of the current attempt if any. */
+  void close() {
+    FileChannelSubscriber subscriber = current;
+    if (nonNull(subscriber)) {
+      subscriber.close();
+    }
+  }
+
+  private FileChannelSubscriber subscribe(FileChannel channel) throws IOException {
+    channel.position(download.getBytesWritten());
+    FileChannelSubscriber subscriber = new FileChannelSubscriber(channel);
+    this.current = subscriber;
+    return subscriber;
+  }
+
+  private static String validator(HttpHeaders headers) {
+    Optional<String> etag = headers.firstValue("ETag");
+    if (etag.isPresent() && !etag.get().startsWith("W/")) {
+      return etag.get();
+    }
+    return headers.firstValue("Last-Modified").orElse(null);
+  }
+
+  private static long rangeStart(HttpHeaders headers) {
+    // Content-Range: bytes <start>-<end>/<total>
+    String range = headers.firstValue("Content-Range").orElse("");
+    int space = range.indexOf(' ');
+    int dash = range.indexOf('-');
+    if (space < 0 || dash < space) {
+      return -1;
+    }
+    try {
+      return Long.parseLong(range.substring(space + 1, dash).trim());
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  private static long rangeTotal(HttpHeaders headers) {
+    String range = headers.firstValue("Content-Range").orElse("");
+    int slash = range.indexOf('/');
+    if (slash < 0 || "*".equals(range.substring(slash + 1).trim())) {
+      return -1;
+    }
+    try {
+      return Long.parseLong(range.substring(slash + 1).trim());
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  private final class FileChannelSubscriber implements HttpResponse.BodySubscriber<byte[]> {
+
+    private final CompletableFuture<byte[]> result = new CompletableFuture<>();
+    private final FileChannel channel;
+    private final IOException openError;
+    private Flow.Subscription subscription;
+
+    private FileChannelSubscriber(FileChannel channel) {
+      this.channel = channel;
+      this.openError = null;
+    }
+
+    private FileChannelSubscriber(IOException openError) {
+      this.channel = null;
+      this.openError = openError;
+    }
+
+    @Override
+    public CompletionStage<byte[]> getBody() {
+      return result;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+      if (nonNull(openError)) {
+        subscription.cancel();
+        result.completeExceptionally(openError);
+      } else {
+        subscription.request(1);
+      }
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> buffers) {
+      try {
+        long written = 0;
+        for (ByteBuffer buffer : buffers) {
+          while (buffer.hasRemaining()) {
+            written += channel.write(buffer);
+          }
+        }
+        download.onWritten(written);
+        subscription.request(1);
+      } catch (IOException e) {
+        subscription.cancel();
+        close();
+        result.completeExceptionally(e);
+      }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      close();
+      result.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+      close();
+      result.complete(EMPTY);
+    }
+
+    private void close() {
+      if (nonNull(channel)) {
+        try {
+          channel.close();
+        } catch (IOException ignored) {
+          // nothing more can be done, the attempt outcome is already decided
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.jvm;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.dominokit.rest.shared.GwtIncompatible;
+import org.dominokit.rest.shared.request.HashedWheel;
+import org.dominokit.rest.shared.request.RequestTimer;
+
+/**
+ * JVM {@link RequestTimer} backed by a {@link HashedWheel} owned by a single daemon worker thread.
+ *
+ * <p>Scheduling and cancelling only enqueue the timeout into lock free queues drained by the worker
+ * on every tick, so both stay constant time with many thousands of requests in flight. The worker
+ * only hands the expired tasks to the dispatch executor, at most one tick late, so a slow task
+ * never delays the other timeouts. The worker starts with the first scheduled task and parks
+ * while there is nothing to wait for.
+ */
+@GwtIncompatible
+public class HashedWheelRequestTimer implements RequestTimer {
+
+  private static final Logger LOGGER = Logger.getLogger(HashedWheelRequestTimer.class.getName());
+
+  /** The default tick duration in milliseconds. */
+  public static final int DEFAULT_TICK_MILLIS = 10;
+
+  /** The default number of buckets, one wheel turn covers about 5 seconds with the default tick. */
+  public static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+  private static final int INIT = 0;
+  private static final int CANCELLED = 1;
+  private static final int EXPIRED = 2;
+
+  private final Queue<WheelTimeout> scheduled = new ConcurrentLinkedQueue<>();
+  private final Queue<WheelTimeout> cancelled = new ConcurrentLinkedQueue<>();
+  private final HashedWheel wheel;
+  private final Executor dispatcher;
+  private final Thread worker;
+  private final AtomicInteger workerState = new AtomicInteger();
+  private volatile boolean idle;
+
+  /** Creates a timer with the default tick and wheel size. */
+  public HashedWheelRequestTimer() {
+    this(DEFAULT_TICK_MILLIS, DEFAULT_TICKS_PER_WHEEL);
+  }
+
+  /**
+   * Creates a new timer.
+   *
+   * @param tickMillis the duration of a tick in milliseconds, the precision of the timer
+   * @param ticksPerWheel the number of buckets of the wheel
+   */
+  public HashedWheelRequestTimer(int tickMillis, int ticksPerWheel) {
+    this(tickMillis, ticksPerWheel, DefaultDispatcher.EXECUTOR);
+  }
+
+  /**
+   * Creates a new timer.
+   *
+   * @param tickMillis the duration of a tick in milliseconds, the precision of the timer
+   * @param ticksPerWheel the number of buckets of the wheel
+   * @param dispatcher the executor running the expired tasks, by default a pool of daemon threads
+   *     created on demand
+   */
+  public HashedWheelRequestTimer(int tickMillis, int ticksPerWheel, Executor dispatcher) {
+    this.wheel = new HashedWheel(tickMillis, ticksPerWheel, now());
+    this.dispatcher = dispatcher;
+    this.worker = new Thread(this::work, "domino-rest-timer");
+    this.worker.setDaemon(true);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Timeout schedule(Runnable task, long delayMillis) {
+    long delayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(delayMillis, 0));
+    WheelTimeout timeout = new WheelTimeout(task, ceilMillis(System.nanoTime() + delayNanos));
+    scheduled.add(timeout);
+    if (workerState.get() == 0 && workerState.compareAndSet(0, 1)) {
+      worker.start();
+    } else if (idle) {
+      LockSupport.unpark(worker);
+    }
+    return timeout;
+  }
+
+  /**
+   * @return the number of tasks waiting in the wheel, tasks scheduled or cancelled since the last
+   *     tick are not accounted yet
+   */
+  public int pending() {
+    return wheel.size();
+  }
+
+  private void work() {
+    while (!Thread.currentThread().isInterrupted()) {
+      transferCancelled();
+      long now = now();
+      if (wheel.isEmpty()) {
+        // catch up with the idle time first, advancing an empty wheel takes constant time
+        wheel.advance(now);
+      }
+      transferScheduled();
+      for (Runnable task : wheel.advance(now)) {
+        try {
+          dispatcher.execute(task);
+        } catch (RejectedExecutionException e) {
+          LOGGER.log(Level.SEVERE, "Timer task rejected : ", e);
+        }
+      }
+      if (wheel.isEmpty()) {
+        idle = true;
+        if (scheduled.isEmpty()) {
+          LockSupport.park(this);
+        }
+        idle = false;
+      } else {
+        long wait = wheel.nextTickTime() - now();
+        if (wait > 0) {
+          LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(wait));
+        }
+      }
+    }
+  }
+
+  private void transferScheduled() {
+    WheelTimeout timeout;
+    while ((timeout = scheduled.poll()) != null) {
+      if (timeout.state.get() == INIT) {
+        timeout.entry = wheel.add(timeout, timeout.deadline);
+      }
+    }
+  }
+
+  private void transferCancelled() {
+    WheelTimeout timeout;
+    while ((timeout = cancelled.poll()) != null) {
+      if (timeout.entry != null) {
+        wheel.remove(timeout.entry);
+        timeout.entry = null;
+      }
+    }
+  }
+
+  private static long now() {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+  }
+
+  // the wheel clock truncates to milliseconds, deadlines are rounded up so no task runs early
+  private static long ceilMillis(long nanos) {
+    return Math.floorDiv(nanos, 1_000_000L) + (Math.floorMod(nanos, 1_000_000L) == 0 ? 0 : 1);
+  }
+
+  private final class WheelTimeout implements Timeout, Runnable {
+    private final AtomicInteger state = new AtomicInteger(INIT);
+    private final Runnable task;
+    private final long deadline;
+    // only accessed by the worker thread
+    private HashedWheel.Entry entry;
+
+    private WheelTimeout(Runnable task, long deadline) {
+      this.task = task;
+      this.deadline = deadline;
+    }
+
+    @Override
+    public void cancel() {
+      if (state.compareAndSet(INIT, CANCELLED)) {
+        cancelled.add(this);
+      }
+    }
+
+    @Override
+    public void run() {
+      if (state.compareAndSet(INIT, EXPIRED)) {
+        try {
+          task.run();
+        } catch (Throwable e) {
+          LOGGER.log(Level.SEVERE, "Timer task failed : ", e);
+        }
+      }
+    }
+  }
+
+  private static final class DefaultDispatcher {
+    private static final AtomicInteger THREADS = new AtomicInteger();
+    private static final Executor EXECUTOR =
+        Executors.newCachedThreadPool(
+            task -> {
+              Thread thread =
+                  new Thread(task, "domino-rest-timer-task-" + THREADS.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+}
@@ -24,6 +24,7 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
 import java.net.http.HttpClient.Redirect;
 import java.net.http.HttpClient.Version;
 import java.net.http.HttpRequest;
@@ -32,11 +33,19 @@ import java.net.http.HttpTimeoutException;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
 import org.dominokit.rest.shared.BaseRestfulRequest;
 import org.dominokit.rest.shared.GwtIncompatible;
 import org.dominokit.rest.shared.MultipartForm;
 import org.dominokit.rest.shared.RestfulRequest;
+import org.dominokit.rest.shared.request.FileDownload;
+import org.dominokit.rest.shared.request.PhaseTimeoutException;
+import org.dominokit.rest.shared.request.PhaseTimeoutException.Phase;
+import org.dominokit.rest.shared.request.PhaseTimeouts;
+import org.dominokit.rest.shared.request.PhaseWatchdog;
 
 /** Java implementation for {@link RestfulRequest} using the standard JDK HTTP Client. */
 @GwtIncompatible
@@ -47,12 +56,14 @@ public class JavaStandardRestfulRequest extends BaseRestfulRequest {
   private final Map<String, List<String>> queryParams = new LinkedHashMap<>();
   private final Map<String, String> headers = new LinkedHashMap<>();
 
-  private final HttpClient httpClient;
-  private volatile int timeoutMillis = 0; // 0 = not set
+  private final IntFunction<HttpClient> httpClients;
 
   private final AtomicReference<CompletableFuture<HttpResponse<byte[]>>> inFlight =
       new AtomicReference<>();
 
+  private FileDownload fileDownload;
+  private volatile FileDownloadBodyHandler downloadHandler;
+
   /**
    * Creates a new instance.
    *
@@ -60,13 +71,82 @@ public class JavaStandardRestfulRequest extends BaseRestfulRequest {
    * @param method the HTTP method
    */
   public JavaStandardRestfulRequest(String uri, String method) {
+    this(uri, method, newHttpClients(null));
+  }
+
+  /**
+   * Creates a new instance sending through the specified client, clients are meant to be shared
+   * between requests so connections can be reused.
+   *
+   * @param uri the request URI
+   * @param method the HTTP method
+   * @param httpClient the client used to send the request
+   */
+  public JavaStandardRestfulRequest(String uri, String method, HttpClient httpClient) {
+    this(uri, method, connectTimeout -> httpClient);
+  }
+
+  /**
+   * Creates a new instance sending through clients picked by connect timeout, the JDK client only
+   * supports a connect timeout per client.
+   *
+   * @param uri the request URI
+   * @param method the HTTP method
+   * @param httpClients returns the client to use for a connect timeout in milliseconds, 0 for none
+   * @see #newHttpClients(Executor)
+   */
+  public JavaStandardRestfulRequest(
+      String uri, String method, IntFunction<HttpClient> httpClients) {
     super(uri, method);
     this.method = method == null ? "GET" : method.toUpperCase(Locale.ROOT);
-    this.httpClient =
+    this.httpClients = httpClients;
+  }
+
+  /**
+   * Creates a client with the defaults used by this transport.
+   *
+   * @param executor the executor used by the client for asynchronous tasks and to complete the
+   *     responses, null to use the client default executor
+   * @return a new client
+   */
+  public static HttpClient newHttpClient(Executor executor) {
+    return newHttpClient(executor, 0);
+  }
+
+  /**
+   * Creates a client with the defaults used by this transport.
+   *
+   * @param executor the executor used by the client for asynchronous tasks and to complete the
+   *     responses, null to use the client default executor
+   * @param connectTimeout the connect timeout in milliseconds, 0 for none
+   * @return a new client
+   */
+  public static HttpClient newHttpClient(Executor executor, int connectTimeout) {
+    HttpClient.Builder builder =
         HttpClient.newBuilder()
             .version(Version.HTTP_1_1) // keep conservative default; switch to 2 if you prefer
-            .followRedirects(Redirect.NORMAL)
-            .build();
+            .followRedirects(Redirect.NORMAL);
+    if (nonNull(executor)) {
+      builder.executor(executor);
+    }
+    if (connectTimeout > 0) {
+      builder.connectTimeout(Duration.ofMillis(connectTimeout));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Creates a function returning a shared client for each connect timeout, clients are created
+   * once per distinct timeout.
+   *
+   * @param executor the executor of the clients, null to use the client default executor
+   * @return the clients function
+   */
+  public static IntFunction<HttpClient> newHttpClients(Executor executor) {
+    Map<Integer, HttpClient> clients = new ConcurrentHashMap<>();
+    return connectTimeout ->
+        clients.computeIfAbsent(
+            Math.max(connectTimeout, 0), timeout -> newHttpClient(executor, timeout));
   }
 
   @Override
@@ -88,12 +168,6 @@ public class JavaStandardRestfulRequest extends BaseRestfulRequest {
     return new LinkedHashMap<>(headers);
   }
 
-  @Override
-  public RestfulRequest timeout(int timeout) {
-    this.timeoutMillis = timeout;
-    return super.timeout(timeout);
-  }
-
   @Override
   public void setWithCredentials(boolean withCredentials) {
     // Not applicable for JDK client (browser concept); noop
@@ -140,27 +214,52 @@ public class JavaStandardRestfulRequest extends BaseRestfulRequest {
   }
 
   private void send(byte[] data) {
+    send(HttpRequest.BodyPublishers.ofByteArray(data));
+  }
+
+  @Override
+  public void send() {
+    // Methods like POST/PUT/PATCH without body → send empty body
+    send(HttpRequest.BodyPublishers.noBody());
+  }
+
+  private void send(HttpRequest.BodyPublisher body) {
     try {
       HttpRequest.Builder b = startBuilderWithUriAndHeaders();
-      if (allowsRequestBody(method)) {
-        b.method(method, HttpRequest.BodyPublishers.ofByteArray(data));
-      } else {
-        // If a body was given but method typically doesn't send one, we still try to comply.
-        // Many servers ignore a body on GET/DELETE.
-        b.method(method, HttpRequest.BodyPublishers.ofByteArray(data));
+      b.method(method, body);
+
+      PhaseTimeouts timeouts = getPhaseTimeouts();
+      int connectTimeout = timeouts.getConnect();
+      // the connect phase is enforced by the client itself
+      PhaseWatchdog watchdog =
+          new PhaseWatchdog(timeouts.copy().setConnect(0), getRequestTimer(), this::onPhaseTimeout);
+      HttpResponse.BodyHandler<byte[]> bodyHandler = bodyHandler(b);
+      if (!timeouts.isEmpty()) {
+        bodyHandler = new WatchedBodyHandler(bodyHandler, watchdog);
       }
-      applyTimeout(b);
-
       HttpRequest httpReq = b.build();
       CompletableFuture<HttpResponse<byte[]>> fut =
-          httpClient.sendAsync(httpReq, HttpResponse.BodyHandlers.ofByteArray());
+          httpClients.apply(connectTimeout).sendAsync(httpReq, bodyHandler);
       inFlight.set(fut);
+      watchdog.start();
       fut.whenComplete(
           (resp, err) -> {
-            inFlight.compareAndSet(fut, null);
+            boolean active = inFlight.compareAndSet(fut, null);
+            if (!watchdog.finish()) {
+              // a phase timeout already failed this attempt
+              return;
+            }
             if (err != null) {
-              errorHandler.onError(
-                  err instanceof HttpTimeoutException ? err : unwrapCompletion(err));
+              Throwable cause = err instanceof HttpTimeoutException ? err : unwrapCompletion(err);
+              if (cause instanceof HttpConnectTimeoutException) {
+                cause = new PhaseTimeoutException(Phase.CONNECT, connectTimeout);
+              }
+              if (active && shouldResumeDownload(cause)) {
+                fileDownload.onResume();
+                send(body);
+              } else {
+                errorHandler.onError(cause);
+              }
             } else {
               successHandler.onResponseReceived(new StandardJavaResponse(resp));
             }
@@ -170,34 +269,40 @@ public class JavaStandardRestfulRequest extends BaseRestfulRequest {
     }
   }
 
+  private void onPhaseTimeout(PhaseTimeoutException error) {
+    CompletableFuture<HttpResponse<byte[]>> fut = inFlight.getAndSet(null);
+    if (fut != null) {
+      fut.cancel(true);
+    }
+    FileDownloadBodyHandler handler = downloadHandler;
+    if (handler != null) {
+      handler.close();
+    }
+    errorHandler.onError(error);
+  }
+
   @Override
-  public void send() {
-    try {
-      HttpRequest.Builder b = startBuilderWithUriAndHeaders();
-      if (usesRequestBody(method)) {
-        // Methods like POST/PUT/PATCH without body → send empty body
-        b.method(method, HttpRequest.BodyPublishers.noBody());
-      } else {
-        b.method(method, HttpRequest.BodyPublishers.noBody());
-      }
-      applyTimeout(b);
+  public RestfulRequest downloadTo(FileDownload fileDownload) {
+    this.fileDownload = fileDownload;
+    return this;
+  }
 
-      HttpRequest httpReq = b.build();
-      CompletableFuture<HttpResponse<byte[]>> fut =
-          httpClient.sendAsync(httpReq, HttpResponse.BodyHandlers.ofByteArray());
-      inFlight.set(fut);
-      fut.whenComplete(
-          (resp, err) -> {
-            inFlight.compareAndSet(fut, null);
-            if (err != null) {
-              errorHandler.onError(unwrapCompletion(err));
-            } else {
-              successHandler.onResponseReceived(new StandardJavaResponse(resp));
-            }
-          });
-    } catch (Throwable t) {
-      errorHandler.onError(t);
+  private HttpResponse.BodyHandler<byte[]> bodyHandler(HttpRequest.Builder b) throws IOException {
+    if (fileDownload == null) {
+      return HttpResponse.BodyHandlers.ofByteArray();
     }
+    long offset = FileDownloadBodyHandler.resumeOffset(fileDownload);
+    if (offset > 0) {
+      b.header("Range", "bytes=" + offset + "-");
+      b.header("If-Range", fileDownload.getValidator());
+    }
+    FileDownloadBodyHandler handler = new FileDownloadBodyHandler(fileDownload, offset);
+    this.downloadHandler = handler;
+    return handler;
+  }
+
+  private boolean shouldResumeDownload(Throwable cause) {
+    return fileDownload != null && cause instanceof IOException && fileDownload.canResume();
   }
 
   @Override
@@ -206,6 +311,10 @@ public class JavaStandardRestfulRequest extends BaseRestfulRequest {
     if (fut != null) {
       fut.cancel(true);
     }
+    FileDownloadBodyHandler handler = downloadHandler;
+    if (handler != null) {
+      handler.close();
+    }
   }
 
   private HttpRequest.Builder startBuilderWithUriAndHeaders() {
@@ -216,28 +325,13 @@ public class JavaStandardRestfulRequest extends BaseRestfulRequest {
     return b;
   }
 
-  private void applyTimeout(HttpRequest.Builder b) {
-    if (timeoutMillis > 0) {
-      b.timeout(Duration.ofMillis(timeoutMillis));
-    }
-  }
-
   private static Throwable unwrapCompletion(Throwable t) {
     // Unwrap CompletionException/ExecutionException when possible
     if (t.getCause() != null) return t.getCause();
     return t;
   }
 
-  private static boolean usesRequestBody(String method) {
-    String m = method.toUpperCase(Locale.ROOT);
-    return "POST".equals(m) || "PUT".equals(m) || "PATCH".equals(m);
-  }
-
-  private static boolean allowsRequestBody(String method) {
-    return true;
-  }
-
-  private static String urlEncode(String s) {
+  static String urlEncode(String s) {
     try {
       return URLEncoder.encode(s, UTF_8.name());
     } catch (Exception e) {
@@ -245,7 +339,7 @@ public class JavaStandardRestfulRequest extends BaseRestfulRequest {
     }
   }
 
-  private static byte[] buildMultipartBody(MultipartForm form, String boundary) throws IOException {
+  static byte[] buildMultipartBody(MultipartForm form, String boundary) throws IOException {
     ByteArrayOutputStream out = new ByteArrayOutputStream();
     String dashBoundary = "--" + boundary;
 
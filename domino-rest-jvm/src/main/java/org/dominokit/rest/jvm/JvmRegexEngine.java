@@ -17,29 +17,63 @@ package org.dominokit.rest.jvm;
 
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import org.dominokit.rest.shared.regex.CompiledPatternCache;
 import org.dominokit.rest.shared.regex.DominoCompiledPattern;
 import org.dominokit.rest.shared.regex.DominoMatcher;
 import org.dominokit.rest.shared.regex.RegexEngine;
 import org.dominokit.rest.shared.regex.Replacer;
 
-/** JVM implementation of the {@link RegexEngine}. */
+/**
+ * JVM implementation of the {@link RegexEngine}.
+ *
+ * <p>Compiled patterns are kept in a bounded {@link CompiledPatternCache}, {@link Pattern}s are
+ * immutable so the cached instances are shared between threads.
+ */
 public class JvmRegexEngine implements RegexEngine {
 
+  private final CompiledPatternCache<JvmDominoCompiledPattern> cache;
+
+  /**
+   * Creates a new instance caching up to {@link CompiledPatternCache#DEFAULT_MAX_SIZE} compiled
+   * patterns.
+   */
+  public JvmRegexEngine() {
+    this(CompiledPatternCache.DEFAULT_MAX_SIZE);
+  }
+
+  /**
+   * Creates a new instance.
+   *
+   * @param cacheSize the maximum number of cached compiled patterns
+   */
+  public JvmRegexEngine(int cacheSize) {
+    this.cache = new CompiledPatternCache<>(cacheSize, JvmRegexEngine::compilePattern);
+  }
+
+  private static JvmDominoCompiledPattern compilePattern(String pattern, String flags) {
+    int f = 0;
+    if (flags.indexOf('i') >= 0) f |= Pattern.CASE_INSENSITIVE;
+    if (flags.indexOf('m') >= 0) f |= Pattern.MULTILINE;
+    if (flags.indexOf('s') >= 0) f |= Pattern.DOTALL;
+    // 'g' has no direct meaning for JVM; replaceAll controls iteration.
+    return new JvmDominoCompiledPattern(Pattern.compile(pattern, f), flags);
+  }
+
   @Override
   public DominoCompiledPattern compile(String pattern) {
-    return new JvmDominoCompiledPattern(Pattern.compile(pattern), "");
+    return cache.get(pattern, "");
   }
 
   @Override
   public DominoCompiledPattern compile(String pattern, String flags) {
-    int f = 0;
-    if (flags != null) {
-      if (flags.indexOf('i') >= 0) f |= Pattern.CASE_INSENSITIVE;
-      if (flags.indexOf('m') >= 0) f |= Pattern.MULTILINE;
-      if (flags.indexOf('s') >= 0) f |= Pattern.DOTALL;
-      // 'g' has no direct meaning for JVM; replaceAll controls iteration.
-    }
-    return new JvmDominoCompiledPattern(Pattern.compile(pattern, f), flags == null ? "" : flags);
+    return cache.get(pattern, flags);
+  }
+
+  /**
+   * @return the cache of compiled patterns
+   */
+  public CompiledPatternCache<?> getPatternCache() {
+    return cache;
   }
 
   @Override
@@ -57,15 +91,13 @@ public class JvmRegexEngine implements RegexEngine {
 
   @Override
   public boolean matches(String pattern, String candidate) {
-    return Pattern.compile(pattern).matcher(candidate).matches();
+    return cache.get(pattern, "").pattern.matcher(candidate).matches();
   }
 
   @Override
   public boolean matches(String pattern, String candidate, String flags) {
-    return ((JvmDominoCompiledPattern) compile("^(?:" + pattern + ")$", flags))
-        .pattern
-        .matcher(candidate)
-        .matches();
+    // Matcher.matches() already requires the whole candidate to match, no anchors needed
+    return cache.get(pattern, flags).pattern.matcher(candidate).matches();
   }
 
   // --- wrappers ---
@@ -0,0 +1,199 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.jvm;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.nonNull;
+import static java.util.stream.Collectors.joining;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import org.dominokit.rest.jvm.loopback.LoopbackServer;
+import org.dominokit.rest.shared.BaseRestfulRequest;
+import org.dominokit.rest.shared.GwtIncompatible;
+import org.dominokit.rest.shared.MultipartForm;
+import org.dominokit.rest.shared.Response;
+import org.dominokit.rest.shared.RestfulRequest;
+import org.dominokit.rest.shared.request.PhaseTimeoutException;
+import org.dominokit.rest.shared.request.PhaseWatchdog;
+import org.dominokit.rest.shared.request.RequestTimer;
+
+/**
+ * Java implementation for {@link RestfulRequest} handled in process by a {@link LoopbackServer},
+ * the phase timeouts are enforced as with the network transports.
+ */
+@GwtIncompatible
+public class LoopbackRestfulRequest extends BaseRestfulRequest {
+
+  private final String method;
+  private final Map<String, String> headers = new LinkedHashMap<>();
+  private final LoopbackServer server;
+
+  private volatile RequestTimer.Timeout delivery;
+  private volatile PhaseWatchdog watchdog;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param uri the request URI
+   * @param method the HTTP method
+   * @param server the server handling the request
+   */
+  public LoopbackRestfulRequest(String uri, String method, LoopbackServer server) {
+    super(uri, method);
+    this.method = method == null ? "GET" : method.toUpperCase(Locale.ROOT);
+    this.server = server;
+  }
+
+  @Override
+  public RestfulRequest putHeader(String key, String value) {
+    headers.put(key, value);
+    return this;
+  }
+
+  @Override
+  public RestfulRequest putHeaders(Map<String, String> headers) {
+    if (nonNull(headers)) {
+      headers.forEach(this::putHeader);
+    }
+    return this;
+  }
+
+  @Override
+  public Map<String, String> getHeaders() {
+    return new LinkedHashMap<>(headers);
+  }
+
+  @Override
+  public void setWithCredentials(boolean withCredentials) {
+    // Not applicable outside the browser; noop
+  }
+
+  @Override
+  public RestfulRequest setResponseType(String responseType) {
+    // Not applicable, the body is always kept as bytes; noop
+    return this;
+  }
+
+  @Override
+  public void sendForm(Map<String, String> formData) {
+    putHeader("Content-Type", "application/x-www-form-urlencoded");
+    String body =
+        formData.entrySet().stream()
+            .map(
+                e ->
+                    JavaStandardRestfulRequest.urlEncode(e.getKey())
+                        + "="
+                        + JavaStandardRestfulRequest.urlEncode(e.getValue()))
+            .collect(joining("&"));
+    send(body);
+  }
+
+  @Override
+  public void sendJson(String json) {
+    putHeader("Content-Type", "application/json");
+    send(json);
+  }
+
+  @Override
+  public void sendMultipartForm(MultipartForm multipartForm) {
+    String boundary = "----DominoRestBoundary" + UUID.randomUUID();
+    putHeader("Content-Type", "multipart/form-data; boundary=" + boundary);
+    try {
+      send(JavaStandardRestfulRequest.buildMultipartBody(multipartForm, boundary));
+    } catch (IOException ex) {
+      errorHandler.onError(ex);
+    }
+  }
+
+  @Override
+  public void send(String data) {
+    send(data == null ? new byte[0] : data.getBytes(UTF_8));
+  }
+
+  @Override
+  public void send() {
+    send(new byte[0]);
+  }
+
+  private void send(byte[] body) {
+    try {
+      URI uri = URI.create(getUri());
+      PhaseWatchdog current =
+          new PhaseWatchdog(getPhaseTimeouts(), getRequestTimer(), this::onPhaseTimeout);
+      this.watchdog = current;
+      current.start();
+      current.onConnected();
+      this.delivery =
+          server.send(
+              method,
+              uri,
+              new LinkedHashMap<>(headers),
+              body,
+              getRequestTimer(),
+              new Callback(current));
+    } catch (Throwable t) {
+      errorHandler.onError(t);
+    }
+  }
+
+  private void onPhaseTimeout(PhaseTimeoutException error) {
+    RequestTimer.Timeout current = delivery;
+    if (current != null) {
+      current.cancel();
+    }
+    errorHandler.onError(error);
+  }
+
+  @Override
+  public void abort() {
+    PhaseWatchdog current = watchdog;
+    if (current != null) {
+      current.finish();
+    }
+    RequestTimer.Timeout pending = delivery;
+    if (pending != null) {
+      pending.cancel();
+    }
+  }
+
+  private final class Callback implements LoopbackServer.Callback {
+    private final PhaseWatchdog watchdog;
+
+    private Callback(PhaseWatchdog watchdog) {
+      this.watchdog = watchdog;
+    }
+
+    @Override
+    public void onResponse(Response response) {
+      watchdog.onHeaders();
+      if (watchdog.finish()) {
+        successHandler.onResponseReceived(response);
+      }
+    }
+
+    @Override
+    public void onError(Throwable error) {
+      if (watchdog.finish()) {
+        errorHandler.onError(error);
+      }
+    }
+  }
+}
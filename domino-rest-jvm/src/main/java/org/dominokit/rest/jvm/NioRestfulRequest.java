@@ -0,0 +1,230 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.jvm;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.nonNull;
+import static java.util.stream.Collectors.joining;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import org.dominokit.rest.jvm.nio.NioExchange;
+import org.dominokit.rest.jvm.nio.NioResponse;
+import org.dominokit.rest.jvm.nio.NioTransport;
+import org.dominokit.rest.jvm.nio.TcpEndpoint;
+import org.dominokit.rest.jvm.nio.UnixSocketEndpoint;
+import org.dominokit.rest.shared.BaseRestfulRequest;
+import org.dominokit.rest.shared.GwtIncompatible;
+import org.dominokit.rest.shared.MultipartForm;
+import org.dominokit.rest.shared.RestfulRequest;
+import org.dominokit.rest.shared.request.PhaseTimeoutException;
+import org.dominokit.rest.shared.request.PhaseWatchdog;
+
+/**
+ * Java implementation for {@link RestfulRequest} sending through a {@link NioTransport}, the
+ * connect phase timeout is enforced together with the other phases. Requests to {@code unix} URIs
+ * are sent over a unix domain socket, see {@link UnixSocketEndpoint}.
+ */
+@GwtIncompatible
+public class NioRestfulRequest extends BaseRestfulRequest {
+
+  private final String method;
+  private final Map<String, String> headers = new LinkedHashMap<>();
+  private final NioTransport transport;
+
+  private volatile NioExchange exchange;
+  private volatile PhaseWatchdog watchdog;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param uri the request URI
+   * @param method the HTTP method
+   * @param transport the transport used to send the request
+   */
+  public NioRestfulRequest(String uri, String method, NioTransport transport) {
+    super(uri, method);
+    this.method = method == null ? "GET" : method.toUpperCase(Locale.ROOT);
+    this.transport = transport;
+  }
+
+  @Override
+  public RestfulRequest putHeader(String key, String value) {
+    headers.put(key, value);
+    return this;
+  }
+
+  @Override
+  public RestfulRequest putHeaders(Map<String, String> headers) {
+    if (nonNull(headers)) {
+      headers.forEach(this::putHeader);
+    }
+    return this;
+  }
+
+  @Override
+  public Map<String, String> getHeaders() {
+    return new LinkedHashMap<>(headers);
+  }
+
+  @Override
+  public void setWithCredentials(boolean withCredentials) {
+    // Not applicable outside the browser; noop
+  }
+
+  @Override
+  public RestfulRequest setResponseType(String responseType) {
+    // Not applicable, the body is always read as bytes; noop
+    return this;
+  }
+
+  @Override
+  public void sendForm(Map<String, String> formData) {
+    putHeader("Content-Type", "application/x-www-form-urlencoded");
+    String body =
+        formData.entrySet().stream()
+            .map(
+                e ->
+                    JavaStandardRestfulRequest.urlEncode(e.getKey())
+                        + "="
+                        + JavaStandardRestfulRequest.urlEncode(e.getValue()))
+            .collect(joining("&"));
+    send(body);
+  }
+
+  @Override
+  public void sendJson(String json) {
+    putHeader("Content-Type", "application/json");
+    send(json);
+  }
+
+  @Override
+  public void sendMultipartForm(MultipartForm multipartForm) {
+    String boundary = "----DominoRestBoundary" + UUID.randomUUID();
+    putHeader("Content-Type", "multipart/form-data; boundary=" + boundary);
+    try {
+      send(JavaStandardRestfulRequest.buildMultipartBody(multipartForm, boundary));
+    } catch (IOException ex) {
+      errorHandler.onError(ex);
+    }
+  }
+
+  @Override
+  public void send(String data) {
+    send(data == null ? new byte[0] : data.getBytes(UTF_8));
+  }
+
+  @Override
+  public void send() {
+    send(new byte[0]);
+  }
+
+  private void send(byte[] body) {
+    try {
+      URI uri = URI.create(getUri());
+      PhaseWatchdog current =
+          new PhaseWatchdog(getPhaseTimeouts(), getRequestTimer(), this::onPhaseTimeout);
+      NioExchange sent =
+          UnixSocketEndpoint.isUnixUri(uri)
+              ? new NioExchange(
+                  UnixSocketEndpoint.of(uri),
+                  method,
+                  UnixSocketEndpoint.target(uri),
+                  headers,
+                  body,
+                  new Callback(current))
+              : new NioExchange(
+                  TcpEndpoint.of(uri), method, target(uri), headers, body, new Callback(current));
+      this.watchdog = current;
+      this.exchange = sent;
+      current.start();
+      transport.send(sent);
+    } catch (Throwable t) {
+      errorHandler.onError(t);
+    }
+  }
+
+  private void onPhaseTimeout(PhaseTimeoutException error) {
+    NioExchange current = exchange;
+    if (current != null) {
+      current.cancel();
+    }
+    errorHandler.onError(error);
+  }
+
+  @Override
+  public void abort() {
+    PhaseWatchdog current = watchdog;
+    if (current != null) {
+      current.finish();
+    }
+    NioExchange sent = exchange;
+    if (sent != null) {
+      sent.cancel();
+    }
+  }
+
+  /**
+   * @param uri the request URI
+   * @return the origin form request target, the path and query of the URI
+   */
+  static String target(URI uri) {
+    String path = uri.getRawPath();
+    String target = path == null || path.isEmpty() ? "/" : path;
+    return uri.getRawQuery() == null ? target : target + "?" + uri.getRawQuery();
+  }
+
+  private final class Callback implements NioExchange.Callback {
+    private final PhaseWatchdog watchdog;
+
+    private Callback(PhaseWatchdog watchdog) {
+      this.watchdog = watchdog;
+    }
+
+    @Override
+    public void onConnected() {
+      watchdog.onConnected();
+    }
+
+    @Override
+    public void onHeaders() {
+      watchdog.onHeaders();
+    }
+
+    @Override
+    public void onProgress() {
+      watchdog.onProgress();
+    }
+
+    @Override
+    public void onResponse(NioResponse response) {
+      if (watchdog.finish()) {
+        successHandler.onResponseReceived(response);
+      }
+    }
+
+    @Override
+    public void onError(Throwable error) {
+      if (watchdog.finish()) {
+        errorHandler.onError(error);
+      }
+    }
+  }
+}
@@ -17,7 +17,6 @@ package org.dominokit.rest.jvm;
 
 import org.dominokit.rest.shared.Event;
 import org.dominokit.rest.shared.request.FailedResponseBean;
-import org.dominokit.rest.shared.request.Request;
 import org.dominokit.rest.shared.request.ServerRequest;
 
 /**
@@ -47,10 +46,6 @@ public class ServerFailedServerEvent implements Event {
   /** {@inheritDoc} */
   @Override
   public void process() {
-    request.applyState(new Request.ServerResponseReceivedStateContext(makeFailedContext()));
-  }
-
-  private Request.ServerFailedRequestStateContext makeFailedContext() {
-    return new Request.ServerFailedRequestStateContext(failedResponseBean);
+    request.applyFailure(failedResponseBean);
   }
 }
@@ -16,7 +16,6 @@
 package org.dominokit.rest.jvm;
 
 import org.dominokit.rest.shared.Event;
-import org.dominokit.rest.shared.request.Request;
 import org.dominokit.rest.shared.request.ServerRequest;
 
 /**
@@ -49,10 +48,6 @@ public class ServerSuccessServerEvent<T> implements Event {
   /** {@inheritDoc} */
   @Override
   public void process() {
-    request.applyState(new Request.ServerResponseReceivedStateContext(makeSuccessContext()));
-  }
-
-  private Request.ServerSuccessRequestStateContext makeSuccessContext() {
-    return new Request.ServerSuccessRequestStateContext(responseBean);
+    request.applySuccess(responseBean);
   }
 }
@@ -0,0 +1,37 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.jvm;
+
+import org.dominokit.rest.jvm.loopback.LoopbackServer;
+import org.dominokit.rest.jvm.nio.NioTransport;
+import org.dominokit.rest.shared.GwtIncompatible;
+
+/** The HTTP transports available on the JVM, see {@code DominoRestConfig#setTransport}. */
+@GwtIncompatible
+public enum Transport {
+  /** Sends the requests with the JDK {@link java.net.http.HttpClient}, supports https. */
+  JDK_HTTP_CLIENT,
+  /**
+   * Sends the requests with a {@link NioTransport}, plain http only with persistent connections
+   * and pipelining of idempotent requests, tuned for many small requests.
+   */
+  NIO,
+  /**
+   * Handles the requests in process with a {@link LoopbackServer}, no socket is opened. Meant for
+   * benchmarks and load tests of the client stack.
+   */
+  LOOPBACK
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.jvm;
+
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import org.dominokit.rest.shared.GwtIncompatible;
+import org.dominokit.rest.shared.request.PhaseWatchdog;
+
+/**
+ * Wraps a {@link HttpResponse.BodyHandler} to report the response headers and every body chunk to
+ * a {@link PhaseWatchdog}.
+ */
+@GwtIncompatible
+class WatchedBodyHandler implements HttpResponse.BodyHandler<byte[]> {
+
+  private final HttpResponse.BodyHandler<byte[]> delegate;
+  private final PhaseWatchdog watchdog;
+
+  WatchedBodyHandler(HttpResponse.BodyHandler<byte[]> delegate, PhaseWatchdog watchdog) {
+    this.delegate = delegate;
+    this.watchdog = watchdog;
+  }
+
+  @Override
+  public HttpResponse.BodySubscriber<byte[]> apply(HttpResponse.ResponseInfo responseInfo) {
+    watchdog.onHeaders();
+    return new WatchedSubscriber(delegate.apply(responseInfo));
+  }
+
+  private final class WatchedSubscriber implements HttpResponse.BodySubscriber<byte[]> {
+
+    private final HttpResponse.BodySubscriber<byte[]> delegate;
+
+    private WatchedSubscriber(HttpResponse.BodySubscriber<byte[]> delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public CompletionStage<byte[]> getBody() {
+      return delegate.getBody();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      delegate.onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> item) {
+      watchdog.onProgress();
+      delegate.onNext(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      delegate.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+      delegate.onComplete();
+    }
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.jvm.loopback;
+
+import org.dominokit.rest.shared.GwtIncompatible;
+
+/**
+ * A failure injected by a {@link LoopbackServer} into a share of the requests, faults are applied
+ * in the order they were added and at most one fault is applied to a request.
+ */
+@GwtIncompatible
+public final class Fault {
+
+  /** The kinds of injected failures. */
+  public enum Kind {
+    /** The request fails with an {@link java.io.IOException}, as if the connection was reset. */
+    ERROR,
+    /**
+     * The response never arrives, the request only completes when one of its timeouts expires or
+     * when it is aborted.
+     */
+    TIMEOUT,
+    /** The handler response is delivered with only a part of its body. */
+    PARTIAL_BODY,
+    /** The handler is not called and an empty response with the fault status is delivered. */
+    STATUS
+  }
+
+  private final Kind kind;
+  private final double probability;
+  private final double bodyFraction;
+  private final int status;
+
+  private Fault(Kind kind, double probability, double bodyFraction, int status) {
+    if (probability < 0 || probability > 1) {
+      throw new IllegalArgumentException(
+          "The fault probability must be between 0 and 1 : [" + probability + "]");
+    }
+    this.kind = kind;
+    this.probability = probability;
+    this.bodyFraction = bodyFraction;
+    this.status = status;
+  }
+
+  /**
+   * @param probability the share of the requests failing, between 0 and 1
+   * @return a fault failing the requests with an I/O error
+   */
+  public static Fault error(double probability) {
+    return new Fault(Kind.ERROR, probability, 1, 0);
+  }
+
+  /**
+   * @param probability the share of the requests never answered, between 0 and 1
+   * @return a fault leaving the requests without a response
+   */
+  public static Fault timeout(double probability) {
+    return new Fault(Kind.TIMEOUT, probability, 1, 0);
+  }
+
+  /**
+   * @param probability the share of the responses truncated, between 0 and 1
+   * @param bodyFraction the fraction of the body delivered, between 0 and 1
+   * @return a fault truncating the response bodies
+   */
+  public static Fault partialBody(double probability, double bodyFraction) {
+    return new Fault(Kind.PARTIAL_BODY, probability, Math.min(Math.max(bodyFraction, 0), 1), 0);
+  }
+
+  /**
+   * @param probability the share of the requests answered with the status, between 0 and 1
+   * @param status the status code, for example 503
+   * @return a fault answering the requests with an error status
+   */
+  public static Fault status(double probability, int status) {
+    return new Fault(Kind.STATUS, probability, 1, status);
+  }
+
+  /**
+   * @return the kind of the injected failure
+   */
+  public Kind getKind() {
+    return kind;
+  }
+
+  /**
+   * @return the share of the requests the fault is applied to
+   */
+  public double getProbability() {
+    return probability;
+  }
+
+  /**
+   * @return the fraction of the body delivered by a {@link Kind#PARTIAL_BODY} fault
+   */
+  public double getBodyFraction() {
+    return bodyFraction;
+  }
+
+  /**
+   * @return the status code of a {@link Kind#STATUS} fault
+   */
+  public int getStatus() {
+    return status;
+  }
+}
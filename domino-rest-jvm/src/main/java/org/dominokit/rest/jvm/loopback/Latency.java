@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.jvm.loopback;
+
+import java.util.Random;
+import org.dominokit.rest.shared.GwtIncompatible;
+
+/**
+ * A distribution of the artificial latency added by a {@link LoopbackServer} before a response is
+ * delivered. Delays are rounded to the tick of the configured request timer.
+ */
+@GwtIncompatible
+@FunctionalInterface
+public interface Latency {
+
+  /**
+   * @param random the random source of the server
+   * @return the next delay in milliseconds, 0 or less to deliver the response immediately
+   */
+  long nextMillis(Random random);
+
+  /**
+   * @return a latency that delivers responses immediately on the sending thread
+   */
+  static Latency none() {
+    return random -> 0;
+  }
+
+  /**
+   * @param millis the delay in milliseconds
+   * @return a latency that always waits for the same delay
+   */
+  static Latency fixed(long millis) {
+    return random -> millis;
+  }
+
+  /**
+   * @param minMillis the smallest delay in milliseconds
+   * @param maxMillis the largest delay in milliseconds
+   * @return a latency uniformly distributed between the two bounds
+   */
+  static Latency uniform(long minMillis, long maxMillis) {
+    if (maxMillis < minMillis) {
+      throw new IllegalArgumentException(
+          "maxMillis [" + maxMillis + "] is less than minMillis [" + minMillis + "]");
+    }
+    return random -> minMillis + (long) (random.nextDouble() * (maxMillis - minMillis + 1));
+  }
+
+  /**
+   * @param meanMillis the mean delay in milliseconds
+   * @param stdDevMillis the standard deviation in milliseconds
+   * @return a normally distributed latency, negative samples are clamped to 0
+   */
+  static Latency normal(double meanMillis, double stdDevMillis) {
+    return random -> Math.max(0, Math.round(meanMillis + random.nextGaussian() * stdDevMillis));
+  }
+
+  /**
+   * A long tailed latency where most responses are fast and a few are much slower, closer to
+   * real services than a normal distribution.
+   *
+   * @param medianMillis the median delay in milliseconds
+   * @param sigma the standard deviation of the logarithm of the delay, 0.5 to 1 gives a
+   *     realistic tail
+   * @return a log-normally distributed latency
+   */
+  static Latency logNormal(double medianMillis, double sigma) {
+    return random -> Math.round(medianMillis * Math.exp(random.nextGaussian() * sigma));
+  }
+
+  /**
+   * @param meanMillis the mean delay in milliseconds
+   * @return an exponentially distributed latency
+   */
+  static Latency exponential(double meanMillis) {
+    return random -> Math.round(-meanMillis * Math.log(1 - random.nextDouble()));
+  }
+}
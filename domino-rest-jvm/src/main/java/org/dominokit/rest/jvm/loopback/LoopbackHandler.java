@@ -0,0 +1,33 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.jvm.loopback;
+
+import org.dominokit.rest.shared.GwtIncompatible;
+
+/** Answers the requests routed to it by a {@link LoopbackServer}. */
+@GwtIncompatible
+@FunctionalInterface
+public interface LoopbackHandler {
+
+  /**
+   * Handles a request, exceptions are answered with a 500 response.
+   *
+   * @param request the request
+   * @return the response
+   * @throws Exception if the request cannot be handled
+   */
+  LoopbackResponse handle(LoopbackRequest request) throws Exception;
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.jvm.loopback;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.net.URI;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import org.dominokit.rest.shared.GwtIncompatible;
+
+/** A request received by a {@link LoopbackHandler}. */
+@GwtIncompatible
+public final class LoopbackRequest {
+
+  private final String method;
+  private final URI uri;
+  private final Map<String, String> headers;
+  private final byte[] body;
+  private final Map<String, String> pathParameters;
+  private Map<String, List<String>> queryParameters;
+
+  LoopbackRequest(
+      String method,
+      URI uri,
+      Map<String, String> headers,
+      byte[] body,
+      Map<String, String> pathParameters) {
+    this.method = method;
+    this.uri = uri;
+    this.headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    this.headers.putAll(headers);
+    this.body = body;
+    this.pathParameters = pathParameters;
+  }
+
+  /**
+   * @return the HTTP method
+   */
+  public String getMethod() {
+    return method;
+  }
+
+  /**
+   * @return the request URI
+   */
+  public URI getUri() {
+    return uri;
+  }
+
+  /**
+   * @return the decoded path of the request URI
+   */
+  public String getPath() {
+    return uri.getPath();
+  }
+
+  /**
+   * @param name the name of a variable of the matched path pattern, {@code id} for {@code
+   *     /items/{id}}
+   * @return the value of the variable
+   */
+  public Optional<String> getPathParameter(String name) {
+    return Optional.ofNullable(pathParameters.get(name));
+  }
+
+  /**
+   * @param name the query parameter name
+   * @return the first value of the query parameter
+   */
+  public Optional<String> getQueryParameter(String name) {
+    List<String> values = getQueryParameters().get(name);
+    return values == null ? Optional.empty() : Optional.of(values.get(0));
+  }
+
+  /**
+   * @return the decoded query parameters
+   */
+  public Map<String, List<String>> getQueryParameters() {
+    if (queryParameters == null) {
+      Map<String, List<String>> parameters = new LinkedHashMap<>();
+      String query = uri.getRawQuery();
+      if (query != null && !query.isEmpty()) {
+        for (String pair : query.split("&")) {
+          int equals = pair.indexOf('=');
+          String name = equals < 0 ? pair : pair.substring(0, equals);
+          String value = equals < 0 ? "" : pair.substring(equals + 1);
+          parameters
+              .computeIfAbsent(decode(name), key -> new ArrayList<>())
+              .add(decode(value));
+        }
+      }
+      queryParameters = Collections.unmodifiableMap(parameters);
+    }
+    return queryParameters;
+  }
+
+  /**
+   * @param name the header name, case insensitive
+   * @return the header value
+   */
+  public Optional<String> getHeader(String name) {
+    return Optional.ofNullable(headers.get(name));
+  }
+
+  /**
+   * @return the request headers, keys are case insensitive
+   */
+  public Map<String, String> getHeaders() {
+    return Collections.unmodifiableMap(headers);
+  }
+
+  /**
+   * @return the request body, empty if the request has no body
+   */
+  public byte[] getBody() {
+    return body;
+  }
+
+  /**
+   * @return the request body decoded as UTF-8
+   */
+  public String getBodyAsString() {
+    return new String(body, UTF_8);
+  }
+
+  private static String decode(String value) {
+    return URLDecoder.decode(value, UTF_8);
+  }
+}
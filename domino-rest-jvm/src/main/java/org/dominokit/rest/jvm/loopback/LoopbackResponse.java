@@ -0,0 +1,168 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.jvm.loopback;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.nonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import org.dominokit.rest.shared.GwtIncompatible;
+import org.dominokit.rest.shared.Response;
+
+/**
+ * A response returned by a {@link LoopbackHandler}. Handlers may return the same instance for
+ * every request, each request receives its own copy.
+ */
+@GwtIncompatible
+public class LoopbackResponse implements Response {
+
+  private static final byte[] EMPTY = new byte[0];
+
+  private final int statusCode;
+  private final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+  private byte[] body = EMPTY;
+  private Object responseBean;
+
+  /**
+   * Creates a new instance with an empty body.
+   *
+   * @param statusCode the status code
+   */
+  public LoopbackResponse(int statusCode) {
+    this.statusCode = statusCode;
+  }
+
+  /**
+   * @param statusCode the status code
+   * @return a new response with an empty body
+   */
+  public static LoopbackResponse status(int statusCode) {
+    return new LoopbackResponse(statusCode);
+  }
+
+  /**
+   * @param body the body, encoded as UTF-8
+   * @return a new 200 response with a {@code text/plain} body
+   */
+  public static LoopbackResponse ok(String body) {
+    return status(200).header("Content-Type", "text/plain").body(body);
+  }
+
+  /**
+   * @param json the JSON body
+   * @return a new 200 response with an {@code application/json} body
+   */
+  public static LoopbackResponse json(String json) {
+    return status(200).header("Content-Type", "application/json").body(json);
+  }
+
+  /**
+   * Adds a header value.
+   *
+   * @param name the header name
+   * @param value the header value
+   * @return same instance to support builder pattern
+   */
+  public LoopbackResponse header(String name, String value) {
+    headers.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+    return this;
+  }
+
+  /**
+   * @param body the body, encoded as UTF-8
+   * @return same instance to support builder pattern
+   */
+  public LoopbackResponse body(String body) {
+    return body(body.getBytes(UTF_8));
+  }
+
+  /**
+   * @param body the body
+   * @return same instance to support builder pattern
+   */
+  public LoopbackResponse body(byte[] body) {
+    this.body = nonNull(body) ? body : EMPTY;
+    return this;
+  }
+
+  /**
+   * @param length the number of bytes to keep
+   * @return a copy of this response without a bean, its body truncated to the specified length
+   */
+  LoopbackResponse copy(int length) {
+    LoopbackResponse copy = new LoopbackResponse(statusCode);
+    headers.forEach((name, values) -> copy.headers.put(name, new ArrayList<>(values)));
+    copy.body = length >= body.length ? body : Arrays.copyOf(body, length);
+    return copy;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<String> getHeader(String header) {
+    return headers.getOrDefault(header, Collections.emptyList());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Map<String, List<String>> getHeaders() {
+    return headers;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int getStatusCode() {
+    return statusCode;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String getStatusText() {
+    return "";
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String getBodyAsString() {
+    return new String(body, UTF_8);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public byte[] getBodyAsBytes() {
+    return body;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Optional<Object> getBean() {
+    return Optional.ofNullable(responseBean);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void setBean(Object bean) {
+    if (nonNull(this.responseBean)) {
+      throw new IllegalStateException("The response bean has already been set");
+    }
+    this.responseBean = bean;
+  }
+}
@@ -0,0 +1,317 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.jvm.loopback;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import org.dominokit.rest.shared.GwtIncompatible;
+import org.dominokit.rest.shared.Response;
+import org.dominokit.rest.shared.request.DominoRestContext;
+import org.dominokit.rest.shared.request.RequestTimer;
+
+/**
+ * An in-process HTTP server answering requests with Java handlers, no socket is involved. It is
+ * meant to measure and load test the client stack, interceptors, URL building, serialization and
+ * callbacks, without the network noise.
+ *
+ * <p>Handlers are registered for path patterns where {@code {name}} matches a segment and exposes
+ * it as a path parameter, {@code *} matches any segment and a trailing {@code **} matches the rest
+ * of the path. Routes are tried in the order they were added, requests that match no route get a
+ * 404 response.
+ *
+ * <p>Responses are delayed by a {@link Latency} and {@link Fault}s can be injected into a share of
+ * the requests. A server created with a seed draws the same delays and faults for the same
+ * sequence of requests.
+ */
+@GwtIncompatible
+public class LoopbackServer {
+
+  private static final String ANY_METHOD = "*";
+  private static final RequestTimer.Timeout DELIVERED = () -> {};
+
+  private final List<Route> routes = new CopyOnWriteArrayList<>();
+  private final List<Fault> faults = new CopyOnWriteArrayList<>();
+  private final AtomicLong requestCount = new AtomicLong();
+  private final Random random;
+  private volatile Latency latency = Latency.none();
+
+  /** Creates a server drawing its delays and faults from a random seed. */
+  public LoopbackServer() {
+    this(new Random());
+  }
+
+  /**
+   * Creates a server drawing its delays and faults from the specified seed.
+   *
+   * @param seed the seed of the random source
+   */
+  public LoopbackServer(long seed) {
+    this(new Random(seed));
+  }
+
+  private LoopbackServer(Random random) {
+    this.random = random;
+  }
+
+  /**
+   * Registers a handler for all the methods.
+   *
+   * @param pathPattern the path pattern, for example {@code /items/{id}}
+   * @param handler the handler
+   * @return same instance to support builder pattern
+   */
+  public LoopbackServer route(String pathPattern, LoopbackHandler handler) {
+    return route(ANY_METHOD, pathPattern, handler);
+  }
+
+  /**
+   * Registers a handler for a method.
+   *
+   * @param method the HTTP method, {@code *} for all the methods
+   * @param pathPattern the path pattern, for example {@code /items/{id}}
+   * @param handler the handler
+   * @return same instance to support builder pattern
+   */
+  public LoopbackServer route(String method, String pathPattern, LoopbackHandler handler) {
+    routes.add(
+        new Route(
+            requireNonNull(method).toUpperCase(Locale.ROOT),
+            segments(requireNonNull(pathPattern)),
+            requireNonNull(handler)));
+    return this;
+  }
+
+  /**
+   * @param latency the latency added before the responses are delivered, null for none
+   * @return same instance to support builder pattern
+   */
+  public LoopbackServer setLatency(Latency latency) {
+    this.latency = isNull(latency) ? Latency.none() : latency;
+    return this;
+  }
+
+  /**
+   * Adds a fault injected into a share of the requests.
+   *
+   * @param fault the fault
+   * @return same instance to support builder pattern
+   */
+  public LoopbackServer addFault(Fault fault) {
+    faults.add(requireNonNull(fault));
+    return this;
+  }
+
+  /**
+   * Removes all the injected faults.
+   *
+   * @return same instance to support builder pattern
+   */
+  public LoopbackServer clearFaults() {
+    faults.clear();
+    return this;
+  }
+
+  /**
+   * @return the number of requests received so far
+   */
+  public long getRequestCount() {
+    return requestCount.get();
+  }
+
+  /**
+   * Handles a request, the response is delivered after the drawn latency on the request timer of
+   * the global configuration, or on the calling thread when there is no latency.
+   *
+   * @param method the HTTP method
+   * @param uri the request URI
+   * @param headers the request headers
+   * @param body the request body
+   * @param callback notified with the response or the injected error
+   * @return a handle to cancel the delivery of the response
+   */
+  public RequestTimer.Timeout send(
+      String method, URI uri, Map<String, String> headers, byte[] body, Callback callback) {
+    return send(
+        method,
+        uri,
+        headers,
+        body,
+        DominoRestContext.make().getConfig().getRequestTimer(),
+        callback);
+  }
+
+  /**
+   * Handles a request, the response is delivered after the drawn latency on the given timer, or on
+   * the calling thread when there is no latency.
+   *
+   * @param method the HTTP method
+   * @param uri the request URI
+   * @param headers the request headers
+   * @param body the request body
+   * @param timer the timer delaying the response
+   * @param callback notified with the response or the injected error
+   * @return a handle to cancel the delivery of the response
+   */
+  public RequestTimer.Timeout send(
+      String method,
+      URI uri,
+      Map<String, String> headers,
+      byte[] body,
+      RequestTimer timer,
+      Callback callback) {
+    requestCount.incrementAndGet();
+    Fault fault;
+    long delay;
+    synchronized (random) {
+      fault = drawFault();
+      delay = latency.nextMillis(random);
+    }
+
+    if (isNull(fault)) {
+      Response response = handle(method, uri, headers, body).copy(Integer.MAX_VALUE);
+      return deliver(timer, delay, () -> callback.onResponse(response));
+    }
+    switch (fault.getKind()) {
+      case TIMEOUT:
+        return DELIVERED;
+      case ERROR:
+        return deliver(
+            timer,
+            delay,
+            () -> callback.onError(new IOException("Injected loopback fault : " + uri)));
+      case STATUS:
+        Response status = new LoopbackResponse(fault.getStatus());
+        return deliver(timer, delay, () -> callback.onResponse(status));
+      default:
+        LoopbackResponse handled = handle(method, uri, headers, body);
+        Response partial =
+            handled.copy((int) (handled.getBodyAsBytes().length * fault.getBodyFraction()));
+        return deliver(timer, delay, () -> callback.onResponse(partial));
+    }
+  }
+
+  private Fault drawFault() {
+    for (Fault fault : faults) {
+      if (random.nextDouble() < fault.getProbability()) {
+        return fault;
+      }
+    }
+    return null;
+  }
+
+  private LoopbackResponse handle(
+      String method, URI uri, Map<String, String> headers, byte[] body) {
+    String[] path = segments(uri.getPath());
+    for (Route route : routes) {
+      Map<String, String> pathParameters = route.match(method, path);
+      if (pathParameters != null) {
+        try {
+          LoopbackResponse response =
+              route.handler.handle(new LoopbackRequest(method, uri, headers, body, pathParameters));
+          return isNull(response) ? LoopbackResponse.status(204) : response;
+        } catch (Exception e) {
+          return LoopbackResponse.status(500).body(String.valueOf(e.getMessage()));
+        }
+      }
+    }
+    return LoopbackResponse.status(404)
+        .body("No loopback route for [" + method + " " + uri.getPath() + "]");
+  }
+
+  private static RequestTimer.Timeout deliver(RequestTimer timer, long delay, Runnable delivery) {
+    if (delay <= 0) {
+      delivery.run();
+      return DELIVERED;
+    }
+    return timer.schedule(delivery, delay);
+  }
+
+  private static String[] segments(String path) {
+    if (isNull(path)) {
+      return new String[0];
+    }
+    return Arrays.stream(path.split("/"))
+        .filter(segment -> !segment.isEmpty())
+        .toArray(String[]::new);
+  }
+
+  /** Notified with the outcome of a request sent to a {@link LoopbackServer}. */
+  public interface Callback {
+
+    /**
+     * Called with the response of the request.
+     *
+     * @param response the response
+     */
+    void onResponse(Response response);
+
+    /**
+     * Called when an {@link Fault.Kind#ERROR} fault is injected.
+     *
+     * @param error the error
+     */
+    void onError(Throwable error);
+  }
+
+  private static final class Route {
+    private final String method;
+    private final String[] pattern;
+    private final LoopbackHandler handler;
+
+    private Route(String method, String[] pattern, LoopbackHandler handler) {
+      this.method = method;
+      this.pattern = pattern;
+      this.handler = handler;
+    }
+
+    private Map<String, String> match(String requestMethod, String[] path) {
+      if (!ANY_METHOD.equals(method) && !method.equalsIgnoreCase(requestMethod)) {
+        return null;
+      }
+      Map<String, String> parameters = Collections.emptyMap();
+      for (int i = 0; i < pattern.length; i++) {
+        String segment = pattern[i];
+        if ("**".equals(segment) && i == pattern.length - 1) {
+          return parameters;
+        }
+        if (i >= path.length) {
+          return null;
+        }
+        if (segment.startsWith("{") && segment.endsWith("}")) {
+          if (parameters.isEmpty()) {
+            parameters = new HashMap<>();
+          }
+          parameters.put(segment.substring(1, segment.length() - 1), path[i]);
+        } else if (!"*".equals(segment) && !segment.equals(path[i])) {
+          return null;
+        }
+      }
+      return pattern.length == path.length ? parameters : null;
+    }
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.jvm.nio;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.dominokit.rest.shared.GwtIncompatible;
+
+/** A bounded pool of equally sized direct buffers shared by the connections of a transport. */
+@GwtIncompatible
+final class BufferPool {
+
+  private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pooled = new AtomicInteger();
+  private final int bufferSize;
+  private final int maxPooled;
+
+  /**
+   * Creates a new pool.
+   *
+   * @param bufferSize the capacity of the buffers
+   * @param maxPooled the maximum number of idle buffers kept in the pool
+   */
+  BufferPool(int bufferSize, int maxPooled) {
+    this.bufferSize = bufferSize;
+    this.maxPooled = maxPooled;
+  }
+
+  /**
+   * @return a cleared buffer, allocated when the pool is empty
+   */
+  ByteBuffer acquire() {
+    ByteBuffer buffer = buffers.poll();
+    if (buffer == null) {
+      return ByteBuffer.allocateDirect(bufferSize);
+    }
+    pooled.decrementAndGet();
+    buffer.clear();
+    return buffer;
+  }
+
+  /**
+   * Returns a buffer to the pool, buffers that were not acquired from a pool are ignored.
+   *
+   * @param buffer the buffer
+   */
+  void release(ByteBuffer buffer) {
+    if (!buffer.isDirect() || buffer.capacity() != bufferSize) {
+      return;
+    }
+    if (pooled.incrementAndGet() <= maxPooled) {
+      buffers.offer(buffer);
+    } else {
+      pooled.decrementAndGet();
+    }
+  }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.jvm.nio;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import org.dominokit.rest.shared.GwtIncompatible;
+
+/**
+ * The connections of a {@link NioTransport} to a single {@link Endpoint}.
+ *
+ * <p>An exchange goes to an idle connection first, then to a new connection while the limit is not
+ * reached, then idempotent exchanges are pipelined on the least loaded connection that only
+ * carries idempotent requests. Exchanges that fit nowhere wait in order for a connection to free
+ * up.
+ */
+@GwtIncompatible
+final class ConnectionPool {
+
+  private final NioTransport transport;
+  private final Endpoint endpoint;
+  private final List<NioConnection> connections = new ArrayList<>();
+  private final ArrayDeque<NioExchange> pending = new ArrayDeque<>();
+
+  ConnectionPool(NioTransport transport, Endpoint endpoint) {
+    this.transport = transport;
+    this.endpoint = endpoint;
+  }
+
+  NioTransport getTransport() {
+    return transport;
+  }
+
+  Endpoint getEndpoint() {
+    return endpoint;
+  }
+
+  /**
+   * Sends an exchange on a connection of this pool, or queues it until one is available.
+   *
+   * @param exchange the exchange
+   */
+  void dispatch(NioExchange exchange) {
+    NioConnection connection;
+    try {
+      synchronized (this) {
+        connection = reserve(exchange);
+        if (connection == null) {
+          pending.add(exchange);
+          return;
+        }
+      }
+    } catch (IOException e) {
+      exchange.fail(e);
+      return;
+    }
+    connection.submit(exchange);
+  }
+
+  /**
+   * Releases the reservation of a completed or cancelled exchange and hands the freed slot to the
+   * next waiting exchange.
+   *
+   * @param connection the connection the exchange was reserved on
+   * @param exchange the exchange
+   */
+  void release(NioConnection connection, NioExchange exchange) {
+    synchronized (this) {
+      connection.reserved--;
+      if (!exchange.isIdempotent()) {
+        connection.exclusive--;
+      }
+    }
+    drainPending();
+  }
+
+  /**
+   * Removes a closed connection, waiting exchanges may open a new one.
+   *
+   * @param connection the connection
+   */
+  void remove(NioConnection connection) {
+    synchronized (this) {
+      if (!connections.remove(connection)) {
+        return;
+      }
+    }
+    drainPending();
+  }
+
+  synchronized void removePending(NioExchange exchange) {
+    pending.remove(exchange);
+  }
+
+  synchronized int size() {
+    return connections.size();
+  }
+
+  private void drainPending() {
+    List<NioExchange> reserved = new ArrayList<>();
+    List<NioExchange> failed = new ArrayList<>();
+    IOException error = null;
+    synchronized (this) {
+      while (!pending.isEmpty()) {
+        NioExchange exchange = pending.peek();
+        if (exchange.isDone()) {
+          pending.poll();
+          continue;
+        }
+        try {
+          if (reserve(exchange) == null) {
+            break;
+          }
+          reserved.add(exchange);
+        } catch (IOException e) {
+          error = e;
+          failed.add(exchange);
+        }
+        pending.poll();
+      }
+    }
+    for (NioExchange exchange : reserved) {
+      exchange.getConnection().submit(exchange);
+    }
+    for (NioExchange exchange : failed) {
+      exchange.fail(error);
+    }
+  }
+
+  // guarded by this
+  private NioConnection reserve(NioExchange exchange) throws IOException {
+    NioConnection selected = null;
+    for (NioConnection connection : connections) {
+      if (connection.reserved == 0 && !connection.isClosed()) {
+        selected = connection;
+        break;
+      }
+    }
+    if (selected == null && connections.size() < transport.getMaxConnectionsPerEndpoint()) {
+      selected = open();
+    }
+    if (selected == null && exchange.isIdempotent()) {
+      for (NioConnection connection : connections) {
+        if (connection.exclusive == 0
+            && connection.reserved < transport.getMaxPipelineDepth()
+            && !connection.isClosed()
+            && (selected == null || connection.reserved < selected.reserved)) {
+          selected = connection;
+        }
+      }
+    }
+    if (selected != null) {
+      selected.reserved++;
+      if (!exchange.isIdempotent()) {
+        selected.exclusive++;
+      }
+      exchange.setConnection(selected);
+    }
+    return selected;
+  }
+
+  // guarded by this
+  private NioConnection open() throws IOException {
+    SocketAddress address = endpoint.address();
+    SocketChannel channel = endpoint.openChannel();
+    try {
+      channel.configureBlocking(false);
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+    NioConnection connection =
+        new NioConnection(this, transport.nextLoop(), channel, address);
+    connections.add(connection);
+    connection.getLoop().execute(connection::connect);
+    return connection;
+  }
+}
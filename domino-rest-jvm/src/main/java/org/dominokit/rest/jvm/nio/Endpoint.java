@@ -0,0 +1,49 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.jvm.nio;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.channels.SocketChannel;
+import org.dominokit.rest.shared.GwtIncompatible;
+
+/**
+ * The target of HTTP connections opened by a {@link NioTransport}, connections are pooled per
+ * endpoint so implementations must implement {@code equals} and {@code hashCode}.
+ */
+@GwtIncompatible
+public interface Endpoint {
+
+  /**
+   * @return a new unconnected channel able to connect to {@link #address()}
+   * @throws IOException if the channel cannot be opened
+   */
+  SocketChannel openChannel() throws IOException;
+
+  /**
+   * Resolves the address to connect to, called by the thread dispatching the request every time a
+   * new connection is opened.
+   *
+   * @return the address to connect to
+   * @throws IOException if the address cannot be resolved
+   */
+  SocketAddress address() throws IOException;
+
+  /**
+   * @return the value of the {@code Host} header of the requests sent to this endpoint
+   */
+  String hostHeader();
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.jvm.nio;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import org.dominokit.rest.shared.GwtIncompatible;
+
+/** Encodes HTTP/1.1 request heads, the bodies are written as they are next to the head. */
+@GwtIncompatible
+final class Http1Codec {
+
+  private static final String CRLF = "\r\n";
+
+  private Http1Codec() {}
+
+  /**
+   * Checks that a header can be written to the head as it is: the name must be a token, the value
+   * visible ASCII or Latin-1 characters, spaces and tabs.
+   *
+   * @param name the header name
+   * @param value the header value
+   * @throws IllegalArgumentException if the header is not valid
+   */
+  static void checkHeader(String name, String value) {
+    if (name.isEmpty() || !isToken(name) || !isFieldValue(value)) {
+      throw new IllegalArgumentException("Invalid header [" + name + "]");
+    }
+  }
+
+  private static boolean isToken(String name) {
+    for (int i = 0; i < name.length(); i++) {
+      char c = name.charAt(i);
+      boolean alphaNumeric =
+          (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+      if (!alphaNumeric && "!#$%&'*+-.^_`|~".indexOf(c) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isFieldValue(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c != '\t' && (c < ' ' || c == 0x7F || c > 0xFF)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Encodes the request line and headers of an exchange, into a pooled direct buffer when it fits.
+   *
+   * @param exchange the exchange
+   * @param hostHeader the default {@code Host} header value
+   * @param buffers the pool of direct buffers
+   * @return the head ready to be written
+   */
+  static ByteBuffer encodeHead(NioExchange exchange, String hostHeader, BufferPool buffers) {
+    ByteBuffer buffer = buffers.acquire();
+    try {
+      writeHead(exchange, hostHeader, buffer);
+      buffer.flip();
+      return buffer;
+    } catch (BufferOverflowException e) {
+      buffers.release(buffer);
+      StringBuilder head = new StringBuilder(buffer.capacity() * 2);
+      appendHead(exchange, hostHeader, head);
+      return ByteBuffer.wrap(head.toString().getBytes(ISO_8859_1));
+    }
+  }
+
+  private static void writeHead(NioExchange exchange, String hostHeader, ByteBuffer buffer) {
+    put(buffer, exchange.getMethod());
+    buffer.put((byte) ' ');
+    put(buffer, exchange.getTarget());
+    put(buffer, " HTTP/1.1\r\n");
+    boolean hasHost = false;
+    for (Map.Entry<String, String> header : exchange.getHeaders().entrySet()) {
+      if (isContentLength(header.getKey())) {
+        continue;
+      }
+      hasHost |= "Host".equalsIgnoreCase(header.getKey());
+      put(buffer, header.getKey());
+      put(buffer, ": ");
+      put(buffer, header.getValue());
+      put(buffer, CRLF);
+    }
+    if (!hasHost) {
+      put(buffer, "Host: ");
+      put(buffer, hostHeader);
+      put(buffer, CRLF);
+    }
+    if (hasContentLength(exchange)) {
+      put(buffer, "Content-Length: ");
+      put(buffer, Integer.toString(exchange.getBody().length));
+      put(buffer, CRLF);
+    }
+    put(buffer, CRLF);
+  }
+
+  private static void appendHead(NioExchange exchange, String hostHeader, StringBuilder head) {
+    head.append(exchange.getMethod()).append(' ').append(exchange.getTarget());
+    head.append(" HTTP/1.1\r\n");
+    boolean hasHost = false;
+    for (Map.Entry<String, String> header : exchange.getHeaders().entrySet()) {
+      if (isContentLength(header.getKey())) {
+        continue;
+      }
+      hasHost |= "Host".equalsIgnoreCase(header.getKey());
+      head.append(header.getKey()).append(": ").append(header.getValue()).append(CRLF);
+    }
+    if (!hasHost) {
+      head.append("Host: ").append(hostHeader).append(CRLF);
+    }
+    if (hasContentLength(exchange)) {
+      head.append("Content-Length: ").append(exchange.getBody().length).append(CRLF);
+    }
+    head.append(CRLF);
+  }
+
+  private static boolean isContentLength(String header) {
+    return "Content-Length".equalsIgnoreCase(header);
+  }
+
+  private static boolean hasContentLength(NioExchange exchange) {
+    if (exchange.getBody().length > 0) {
+      return true;
+    }
+    String method = exchange.getMethod();
+    return "POST".equals(method) || "PUT".equals(method) || "PATCH".equals(method);
+  }
+
+  // the headers were checked when the exchange was created, every char fits in a byte
+  private static void put(ByteBuffer buffer, String value) {
+    for (int i = 0; i < value.length(); i++) {
+      buffer.put((byte) value.charAt(i));
+    }
+  }
+}
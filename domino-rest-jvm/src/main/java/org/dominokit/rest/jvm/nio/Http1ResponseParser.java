@@ -0,0 +1,342 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.jvm.nio;
+
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import org.dominokit.rest.shared.GwtIncompatible;
+
+/**
+ * Incremental HTTP/1.1 response parser, bytes are fed as they are read and the parser stops at the
+ * end of the current response so the next pipelined response stays in the buffer.
+ */
+@GwtIncompatible
+final class Http1ResponseParser {
+
+  private static final int MAX_LINE_LENGTH = 64 * 1024;
+  private static final int MAX_HEADERS_SIZE = 256 * 1024;
+  private static final byte[] EMPTY = new byte[0];
+
+  private enum State {
+    STATUS_LINE,
+    HEADERS,
+    FIXED_BODY,
+    CHUNK_SIZE,
+    CHUNK_DATA,
+    CHUNK_END,
+    TRAILERS,
+    BODY_UNTIL_CLOSE,
+    DONE
+  }
+
+  private final StringBuilder line = new StringBuilder();
+  private State state = State.STATUS_LINE;
+  private boolean headRequest;
+  private boolean started;
+  private int headersSize;
+  private int statusCode;
+  private String statusText;
+  private Map<String, List<String>> headers;
+  private boolean keepAlive;
+  private long remaining;
+  private byte[] fixedBody;
+  private int fixedPosition;
+  private ByteArrayOutputStream body;
+
+  /**
+   * Prepares the parser for the next response.
+   *
+   * @param headRequest true if the response answers a HEAD request and has no body
+   */
+  void begin(boolean headRequest) {
+    this.headRequest = headRequest;
+    this.state = State.STATUS_LINE;
+    this.started = false;
+    this.headersSize = 0;
+    this.line.setLength(0);
+    this.headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    this.fixedBody = null;
+    this.fixedPosition = 0;
+    this.body = null;
+  }
+
+  /**
+   * @return true if bytes of the current response were received
+   */
+  boolean isStarted() {
+    return started;
+  }
+
+  /**
+   * @return true once the status line and headers of the current response are parsed
+   */
+  boolean isHeadersComplete() {
+    return state != State.STATUS_LINE && state != State.HEADERS;
+  }
+
+  /**
+   * @return true if the connection can be reused after the current response
+   */
+  boolean isKeepAlive() {
+    return keepAlive;
+  }
+
+  /**
+   * Consumes the bytes of the current response.
+   *
+   * @param in the received bytes, left positioned after the last consumed byte
+   * @return true if the response is complete
+   * @throws IOException if the response is malformed
+   */
+  boolean parse(ByteBuffer in) throws IOException {
+    while (in.hasRemaining() && state != State.DONE) {
+      started = true;
+      switch (state) {
+        case STATUS_LINE:
+          if (readLine(in)) {
+            parseStatusLine();
+          }
+          break;
+        case HEADERS:
+          if (readLine(in)) {
+            parseHeaderLine();
+          }
+          break;
+        case FIXED_BODY:
+          readFixed(in);
+          break;
+        case CHUNK_SIZE:
+          if (readLine(in)) {
+            parseChunkSize();
+          }
+          break;
+        case CHUNK_DATA:
+          readChunk(in);
+          break;
+        case CHUNK_END:
+          if (readLine(in)) {
+            if (line.length() > 0) {
+              throw new IOException("Malformed chunked body");
+            }
+            line.setLength(0);
+            state = State.CHUNK_SIZE;
+          }
+          break;
+        case TRAILERS:
+          if (readLine(in)) {
+            if (line.length() == 0) {
+              state = State.DONE;
+            }
+            line.setLength(0);
+          }
+          break;
+        case BODY_UNTIL_CLOSE:
+          byte[] bytes = new byte[in.remaining()];
+          in.get(bytes);
+          body.write(bytes, 0, bytes.length);
+          break;
+        default:
+          throw new IllegalStateException(state.name());
+      }
+    }
+    return state == State.DONE;
+  }
+
+  /**
+   * Called when the server closed the connection.
+   *
+   * @return true if the current response is complete, its body was delimited by the close
+   */
+  boolean onEndOfStream() {
+    if (state == State.BODY_UNTIL_CLOSE) {
+      state = State.DONE;
+      return true;
+    }
+    return state == State.DONE;
+  }
+
+  /**
+   * @return the complete response
+   */
+  NioResponse response() {
+    byte[] bytes;
+    if (fixedBody != null) {
+      bytes = fixedBody;
+    } else if (body != null) {
+      bytes = body.toByteArray();
+    } else {
+      bytes = EMPTY;
+    }
+    return new NioResponse(statusCode, statusText, headers, bytes);
+  }
+
+  private boolean readLine(ByteBuffer in) throws IOException {
+    while (in.hasRemaining()) {
+      char c = (char) (in.get() & 0xFF);
+      if (c == '\n') {
+        int length = line.length();
+        if (length > 0 && line.charAt(length - 1) == '\r') {
+          line.setLength(length - 1);
+        }
+        return true;
+      }
+      line.append(c);
+      if (line.length() > MAX_LINE_LENGTH) {
+        throw new IOException("Response line too long");
+      }
+    }
+    return false;
+  }
+
+  private void parseStatusLine() throws IOException {
+    // HTTP/1.1 200 OK
+    String status = line.toString();
+    line.setLength(0);
+    int first = status.indexOf(' ');
+    if (!status.startsWith("HTTP/1.") || first < 0) {
+      throw new IOException("Malformed status line [" + status + "]");
+    }
+    int second = status.indexOf(' ', first + 1);
+    try {
+      statusCode =
+          Integer.parseInt(
+              second < 0 ? status.substring(first + 1) : status.substring(first + 1, second));
+    } catch (NumberFormatException e) {
+      throw new IOException("Malformed status line [" + status + "]");
+    }
+    statusText = second < 0 ? "" : status.substring(second + 1);
+    keepAlive = status.startsWith("HTTP/1.1");
+    state = State.HEADERS;
+  }
+
+  private void parseHeaderLine() throws IOException {
+    if (line.length() == 0) {
+      onHeadersEnd();
+      return;
+    }
+    headersSize += line.length();
+    if (headersSize > MAX_HEADERS_SIZE) {
+      throw new IOException("Response headers too large");
+    }
+    String header = line.toString();
+    line.setLength(0);
+    int colon = header.indexOf(':');
+    if (colon <= 0) {
+      throw new IOException("Malformed header [" + header + "]");
+    }
+    String name = header.substring(0, colon).trim();
+    String value = header.substring(colon + 1).trim();
+    headers.computeIfAbsent(name, key -> new ArrayList<>(1)).add(value);
+  }
+
+  private void onHeadersEnd() throws IOException {
+    if (statusCode >= 100 && statusCode < 200 && statusCode != 101) {
+      // interim response, the final one follows
+      begin(headRequest);
+      return;
+    }
+    String connection = firstHeader("Connection");
+    if (connection != null) {
+      String value = connection.toLowerCase(Locale.ROOT);
+      if (value.contains("close")) {
+        keepAlive = false;
+      } else if (value.contains("keep-alive")) {
+        keepAlive = true;
+      }
+    }
+    String transferEncoding = firstHeader("Transfer-Encoding");
+    String contentLength = firstHeader("Content-Length");
+    if (headRequest || statusCode == 204 || statusCode == 304) {
+      state = State.DONE;
+    } else if (transferEncoding != null
+        && transferEncoding.toLowerCase(Locale.ROOT).contains("chunked")) {
+      body = new ByteArrayOutputStream();
+      state = State.CHUNK_SIZE;
+    } else if (contentLength != null) {
+      try {
+        remaining = Long.parseLong(contentLength);
+      } catch (NumberFormatException e) {
+        throw new IOException("Malformed Content-Length [" + contentLength + "]");
+      }
+      if (remaining < 0 || remaining > Integer.MAX_VALUE - 8) {
+        throw new IOException("Unsupported Content-Length [" + contentLength + "]");
+      }
+      fixedBody = new byte[(int) remaining];
+      state = remaining == 0 ? State.DONE : State.FIXED_BODY;
+    } else {
+      // the body ends when the server closes the connection
+      keepAlive = false;
+      body = new ByteArrayOutputStream();
+      state = State.BODY_UNTIL_CLOSE;
+    }
+  }
+
+  private void readFixed(ByteBuffer in) {
+    int count = (int) Math.min(in.remaining(), remaining);
+    in.get(fixedBody, fixedPosition, count);
+    fixedPosition += count;
+    remaining -= count;
+    if (remaining == 0) {
+      state = State.DONE;
+    }
+  }
+
+  private void parseChunkSize() throws IOException {
+    String size = line.toString();
+    line.setLength(0);
+    int extension = size.indexOf(';');
+    if (extension >= 0) {
+      size = size.substring(0, extension);
+    }
+    try {
+      remaining = Long.parseLong(size.trim(), 16);
+    } catch (NumberFormatException e) {
+      throw new IOException("Malformed chunk size [" + size + "]");
+    }
+    if (remaining < 0 || body.size() + remaining > Integer.MAX_VALUE - 8) {
+      throw new IOException("Unsupported chunk size [" + size + "]");
+    }
+    state = remaining == 0 ? State.TRAILERS : State.CHUNK_DATA;
+  }
+
+  private void readChunk(ByteBuffer in) {
+    int count = (int) Math.min(in.remaining(), remaining);
+    if (in.hasArray()) {
+      body.write(in.array(), in.arrayOffset() + in.position(), count);
+      in.position(in.position() + count);
+    } else {
+      byte[] bytes = new byte[count];
+      in.get(bytes);
+      body.write(bytes, 0, count);
+    }
+    remaining -= count;
+    if (remaining == 0) {
+      state = State.CHUNK_END;
+    }
+  }
+
+  private String firstHeader(String name) {
+    List<String> values = headers.get(name);
+    return values == null || values.isEmpty() ? null : values.get(0);
+  }
+}
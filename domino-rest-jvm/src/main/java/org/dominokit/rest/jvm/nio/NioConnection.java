@@ -0,0 +1,311 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.jvm.nio;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.dominokit.rest.shared.GwtIncompatible;
+
+/**
+ * A persistent HTTP/1.1 connection, requests are written as soon as they are submitted and their
+ * responses are matched in order, which allows pipelining idempotent requests.
+ *
+ * <p>Only {@link #submit(NioExchange)} and {@link #cancel(NioExchange)} may be called from any
+ * thread, everything else runs on the {@link SelectorLoop} the connection is registered with.
+ */
+@GwtIncompatible
+final class NioConnection {
+
+  private static final ByteBuffer[] NO_BUFFERS = new ByteBuffer[0];
+
+  private final ConnectionPool pool;
+  private final SelectorLoop loop;
+  private final SocketChannel channel;
+  private final SocketAddress address;
+  private final Queue<NioExchange> submitted = new ConcurrentLinkedQueue<>();
+
+  // guarded by the pool
+  int reserved;
+  int exclusive;
+
+  private volatile boolean closed;
+
+  private final ArrayDeque<NioExchange> awaiting = new ArrayDeque<>();
+  private final ArrayDeque<ByteBuffer> writes = new ArrayDeque<>();
+  private final Http1ResponseParser parser = new Http1ResponseParser();
+  private SelectionKey key;
+  private ByteBuffer readBuffer;
+  private boolean connected;
+  private boolean parsing;
+  private int interestOps;
+
+  NioConnection(
+      ConnectionPool pool, SelectorLoop loop, SocketChannel channel, SocketAddress address) {
+    this.pool = pool;
+    this.loop = loop;
+    this.channel = channel;
+    this.address = address;
+  }
+
+  SelectorLoop getLoop() {
+    return loop;
+  }
+
+  boolean isClosed() {
+    return closed;
+  }
+
+  /** Starts connecting, called on the loop thread once the connection is created. */
+  void connect() {
+    try {
+      if (channel.connect(address)) {
+        register(SelectionKey.OP_READ);
+        onConnected();
+      } else {
+        register(SelectionKey.OP_CONNECT);
+      }
+    } catch (Throwable e) {
+      close(e);
+    }
+  }
+
+  void onConnectable() throws IOException {
+    if (channel.finishConnect()) {
+      setInterest(SelectionKey.OP_READ);
+      onConnected();
+    }
+  }
+
+  private void onConnected() {
+    connected = true;
+    flush();
+  }
+
+  /**
+   * Hands an exchange reserved by the pool to this connection.
+   *
+   * @param exchange the exchange
+   */
+  void submit(NioExchange exchange) {
+    submitted.add(exchange);
+    loop.execute(this::flush);
+  }
+
+  /**
+   * Cancels an exchange, the connection is closed if the request was already written.
+   *
+   * @param exchange the cancelled exchange
+   */
+  void cancel(NioExchange exchange) {
+    loop.execute(
+        () -> {
+          if (awaiting.contains(exchange)) {
+            close(new CancellationException("The request was cancelled"));
+          }
+        });
+  }
+
+  private void flush() {
+    if (closed) {
+      // reserved by the pool right before the connection was closed
+      drainSubmitted(new IOException("Connection closed"));
+      return;
+    }
+    if (!connected) {
+      return;
+    }
+    NioExchange exchange;
+    while ((exchange = submitted.poll()) != null) {
+      if (exchange.isDone()) {
+        pool.release(this, exchange);
+        continue;
+      }
+      exchange.onConnected();
+      writes.add(Http1Codec.encodeHead(exchange, pool.getEndpoint().hostHeader(), buffers()));
+      if (exchange.getBody().length > 0) {
+        writes.add(ByteBuffer.wrap(exchange.getBody()));
+      }
+      awaiting.add(exchange);
+    }
+    try {
+      write();
+    } catch (IOException e) {
+      close(e);
+    }
+  }
+
+  void onWritable() throws IOException {
+    write();
+  }
+
+  private void write() throws IOException {
+    while (!writes.isEmpty()) {
+      // head and body of every queued request in a single gathering write
+      channel.write(writes.toArray(NO_BUFFERS));
+      while (!writes.isEmpty() && !writes.peek().hasRemaining()) {
+        buffers().release(writes.poll());
+      }
+      if (!writes.isEmpty()) {
+        setInterest(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        return;
+      }
+    }
+    setInterest(SelectionKey.OP_READ);
+  }
+
+  void onReadable() throws IOException {
+    if (readBuffer == null) {
+      readBuffer = buffers().acquire();
+    }
+    int read = channel.read(readBuffer);
+    if (read < 0) {
+      onEndOfStream();
+      return;
+    }
+    readBuffer.flip();
+    while (readBuffer.hasRemaining() && !closed) {
+      NioExchange exchange = awaiting.peek();
+      if (exchange == null) {
+        throw new IOException("Unexpected data received from [" + pool.getEndpoint() + "]");
+      }
+      if (!parsing) {
+        parser.begin(exchange.isHead());
+        parsing = true;
+      }
+      boolean headers = parser.isHeadersComplete();
+      boolean complete = parser.parse(readBuffer);
+      if (parser.isHeadersComplete()) {
+        if (!headers) {
+          exchange.onHeaders();
+        }
+        exchange.onProgress();
+      }
+      if (!complete) {
+        break;
+      }
+      onResponse(exchange);
+    }
+    if (!closed) {
+      readBuffer.compact();
+      if (readBuffer.position() == 0 && awaiting.isEmpty()) {
+        buffers().release(readBuffer);
+        readBuffer = null;
+      }
+    }
+  }
+
+  private void onResponse(NioExchange exchange) {
+    awaiting.poll();
+    parsing = false;
+    boolean keepAlive = parser.isKeepAlive();
+    if (!keepAlive) {
+      // keep the pool from reserving this connection again
+      pool.remove(this);
+    }
+    // free the slot first so a request sent from the callback can reuse this connection
+    pool.release(this, exchange);
+    exchange.complete(parser.response());
+    if (!keepAlive) {
+      close(new IOException("Connection closed by the server"));
+    }
+  }
+
+  private void onEndOfStream() {
+    if (parsing && parser.onEndOfStream()) {
+      NioExchange exchange = awaiting.poll();
+      parsing = false;
+      exchange.complete(parser.response());
+    }
+    close(new IOException("Connection closed by the server"));
+  }
+
+  /**
+   * Closes the connection, requests never written are dispatched again unless the connection could
+   * not be established, written idempotent requests are sent again once, the others fail with the
+   * specified cause.
+   *
+   * @param cause the reason of the close
+   */
+  void close(Throwable cause) {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    pool.remove(this);
+    if (key != null) {
+      key.cancel();
+    }
+    try {
+      channel.close();
+    } catch (IOException ignored) {
+      // the connection is dropped anyway
+    }
+    if (readBuffer != null) {
+      buffers().release(readBuffer);
+      readBuffer = null;
+    }
+    ByteBuffer buffer;
+    while ((buffer = writes.poll()) != null) {
+      buffers().release(buffer);
+    }
+    NioExchange exchange;
+    while ((exchange = awaiting.poll()) != null) {
+      if (exchange.redispatch()) {
+        pool.dispatch(exchange);
+      } else {
+        exchange.fail(cause);
+      }
+    }
+    drainSubmitted(cause);
+  }
+
+  private void drainSubmitted(Throwable cause) {
+    NioExchange exchange;
+    while ((exchange = submitted.poll()) != null) {
+      if (exchange.isDone()) {
+        continue;
+      }
+      if (connected) {
+        pool.dispatch(exchange);
+      } else {
+        exchange.fail(cause);
+      }
+    }
+  }
+
+  private void register(int ops) throws IOException {
+    key = loop.register(channel, ops, this);
+    interestOps = ops;
+  }
+
+  private void setInterest(int ops) {
+    if (interestOps != ops) {
+      key.interestOps(ops);
+      interestOps = ops;
+    }
+  }
+
+  private BufferPool buffers() {
+    return pool.getTransport().getBuffers();
+  }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.jvm.nio;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.dominokit.rest.shared.GwtIncompatible;
+
+/** A single HTTP request sent by a {@link NioTransport} and the handling of its outcome. */
+@GwtIncompatible
+public final class NioExchange {
+
+  private final Endpoint endpoint;
+  private final String method;
+  private final String target;
+  private final Map<String, String> headers;
+  private final byte[] body;
+  private final Callback callback;
+  private final AtomicBoolean done = new AtomicBoolean();
+
+  private volatile NioTransport transport;
+  private volatile NioConnection connection;
+  private int redispatches;
+
+  /**
+   * Creates a new exchange.
+   *
+   * @param endpoint the endpoint to send the request to
+   * @param method the HTTP method
+   * @param target the request target, the path and query of the URI
+   * @param headers the request headers
+   * @param body the request body, empty for none
+   * @param callback notified about the progress and outcome of the exchange
+   * @throws IllegalArgumentException if a header name is not a token or a header value contains
+   *     control or non Latin-1 characters
+   */
+  public NioExchange(
+      Endpoint endpoint,
+      String method,
+      String target,
+      Map<String, String> headers,
+      byte[] body,
+      Callback callback) {
+    for (Map.Entry<String, String> header : headers.entrySet()) {
+      Http1Codec.checkHeader(header.getKey(), header.getValue());
+    }
+    this.endpoint = endpoint;
+    this.method = method.toUpperCase(Locale.ROOT);
+    this.target = target;
+    this.headers = headers;
+    this.body = body;
+    this.callback = callback;
+  }
+
+  /**
+   * @return the endpoint to send the request to
+   */
+  public Endpoint getEndpoint() {
+    return endpoint;
+  }
+
+  /**
+   * @return the HTTP method
+   */
+  public String getMethod() {
+    return method;
+  }
+
+  /**
+   * @return the request target
+   */
+  public String getTarget() {
+    return target;
+  }
+
+  /**
+   * @return the request headers
+   */
+  public Map<String, String> getHeaders() {
+    return headers;
+  }
+
+  /**
+   * @return the request body
+   */
+  public byte[] getBody() {
+    return body;
+  }
+
+  /**
+   * @return true if the request can be pipelined and safely sent again on another connection
+   */
+  public boolean isIdempotent() {
+    switch (method) {
+      case "GET":
+      case "HEAD":
+      case "OPTIONS":
+      case "PUT":
+      case "DELETE":
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * @return true once the exchange completed, failed or was cancelled
+   */
+  public boolean isDone() {
+    return done.get();
+  }
+
+  /**
+   * Cancels the exchange, the callback is not notified. A request already written to a connection
+   * closes that connection since its response can no longer be skipped reliably.
+   */
+  public void cancel() {
+    if (done.compareAndSet(false, true)) {
+      NioTransport current = transport;
+      if (current != null) {
+        current.cancel(this);
+      }
+    }
+  }
+
+  void setTransport(NioTransport transport) {
+    this.transport = transport;
+  }
+
+  NioConnection getConnection() {
+    return connection;
+  }
+
+  void setConnection(NioConnection connection) {
+    this.connection = connection;
+  }
+
+  boolean redispatch() {
+    return !isDone() && isIdempotent() && redispatches++ < 1;
+  }
+
+  boolean isHead() {
+    return "HEAD".equals(method);
+  }
+
+  void onConnected() {
+    if (!isDone()) {
+      callback.onConnected();
+    }
+  }
+
+  void onHeaders() {
+    if (!isDone()) {
+      callback.onHeaders();
+    }
+  }
+
+  void onProgress() {
+    if (!isDone()) {
+      callback.onProgress();
+    }
+  }
+
+  void complete(NioResponse response) {
+    if (done.compareAndSet(false, true)) {
+      callback.onResponse(response);
+    }
+  }
+
+  void fail(Throwable error) {
+    if (done.compareAndSet(false, true)) {
+      callback.onError(error);
+    }
+  }
+
+  /** Notified about the progress and outcome of an exchange, called on the transport threads. */
+  public interface Callback {
+    /** Called when the connection used by the exchange is established or reused. */
+    default void onConnected() {}
+
+    /** Called when the response headers are received. */
+    default void onHeaders() {}
+
+    /** Called every time a part of the response body is received. */
+    default void onProgress() {}
+
+    /**
+     * Called once with the complete response.
+     *
+     * @param response the response
+     */
+    void onResponse(NioResponse response);
+
+    /**
+     * Called once if the exchange fails.
+     *
+     * @param error the failure cause
+     */
+    void onError(Throwable error);
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.jvm.nio;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.nonNull;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.dominokit.rest.shared.GwtIncompatible;
+import org.dominokit.rest.shared.Response;
+
+/** A {@link Response} read by a {@link NioTransport}. */
+@GwtIncompatible
+public class NioResponse implements Response {
+
+  private final int statusCode;
+  private final String statusText;
+  private final Map<String, List<String>> headers;
+  private final byte[] body;
+  private Object responseBean;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param statusCode the status code
+   * @param statusText the reason phrase
+   * @param headers the headers, keys must be case insensitive
+   * @param body the body
+   */
+  public NioResponse(
+      int statusCode, String statusText, Map<String, List<String>> headers, byte[] body) {
+    this.statusCode = statusCode;
+    this.statusText = statusText;
+    this.headers = headers;
+    this.body = body;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<String> getHeader(String header) {
+    return headers.getOrDefault(header, Collections.emptyList());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Map<String, List<String>> getHeaders() {
+    return headers;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int getStatusCode() {
+    return statusCode;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String getStatusText() {
+    return statusText;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String getBodyAsString() {
+    return new String(body, UTF_8);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public byte[] getBodyAsBytes() {
+    return body;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Optional<Object> getBean() {
+    return Optional.ofNullable(responseBean);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void setBean(Object bean) {
+    if (nonNull(this.responseBean)) {
+      throw new IllegalStateException("The response bean has already been set");
+    }
+    this.responseBean = bean;
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.jvm.nio;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.ClosedChannelException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.dominokit.rest.shared.GwtIncompatible;
+
+/**
+ * A non blocking HTTP/1.1 client built on {@code java.nio} socket channels.
+ *
+ * <p>A small pool of selector loops multiplexes all the connections. Connections are persistent
+ * and pooled per {@link Endpoint}, idempotent requests are pipelined once every connection of an
+ * endpoint is in use, request heads are encoded into pooled direct buffers and written together
+ * with the bodies using gathering writes. Only plain {@code http} is supported.
+ *
+ * <p>Callbacks of the exchanges run on the selector loop threads and must not block.
+ */
+@GwtIncompatible
+public class NioTransport implements AutoCloseable {
+
+  /** The default maximum number of connections per endpoint. */
+  public static final int DEFAULT_MAX_CONNECTIONS_PER_ENDPOINT = 16;
+
+  /** The default maximum number of requests in flight on a single connection. */
+  public static final int DEFAULT_MAX_PIPELINE_DEPTH = 8;
+
+  private static final int BUFFER_SIZE = 16 * 1024;
+  private static final int MAX_POOLED_BUFFERS = 1024;
+  private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+  private final SelectorLoop[] loops;
+  private final AtomicInteger nextLoop = new AtomicInteger();
+  private final BufferPool buffers = new BufferPool(BUFFER_SIZE, MAX_POOLED_BUFFERS);
+  private final Map<Endpoint, ConnectionPool> pools = new ConcurrentHashMap<>();
+  private final int maxConnectionsPerEndpoint;
+  private final int maxPipelineDepth;
+  private volatile boolean closed;
+
+  /** Creates a transport with up to 4 selector loops and the default limits. */
+  public NioTransport() {
+    this(
+        Math.min(Runtime.getRuntime().availableProcessors(), 4),
+        DEFAULT_MAX_CONNECTIONS_PER_ENDPOINT,
+        DEFAULT_MAX_PIPELINE_DEPTH);
+  }
+
+  /**
+   * Creates a new transport.
+   *
+   * @param loopCount the number of selector loop threads
+   * @param maxConnectionsPerEndpoint the maximum number of connections per endpoint
+   * @param maxPipelineDepth the maximum number of requests in flight on a single connection, 1 to
+   *     disable pipelining
+   * @throws UncheckedIOException if a selector cannot be opened
+   */
+  public NioTransport(int loopCount, int maxConnectionsPerEndpoint, int maxPipelineDepth) {
+    this.maxConnectionsPerEndpoint = Math.max(maxConnectionsPerEndpoint, 1);
+    this.maxPipelineDepth = Math.max(maxPipelineDepth, 1);
+    this.loops = new SelectorLoop[Math.max(loopCount, 1)];
+    int instance = INSTANCES.incrementAndGet();
+    try {
+      for (int i = 0; i < loops.length; i++) {
+        loops[i] = new SelectorLoop("domino-rest-nio-" + instance + "-" + i);
+      }
+    } catch (IOException e) {
+      close();
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Sends an exchange, the outcome is reported to the exchange callback.
+   *
+   * @param exchange the exchange
+   */
+  public void send(NioExchange exchange) {
+    if (closed) {
+      exchange.fail(new ClosedChannelException());
+      return;
+    }
+    exchange.setTransport(this);
+    pools
+        .computeIfAbsent(exchange.getEndpoint(), endpoint -> new ConnectionPool(this, endpoint))
+        .dispatch(exchange);
+  }
+
+  /**
+   * @param endpoint the endpoint
+   * @return the number of open or opening connections to the endpoint
+   */
+  public int getConnectionCount(Endpoint endpoint) {
+    ConnectionPool pool = pools.get(endpoint);
+    return pool == null ? 0 : pool.size();
+  }
+
+  /**
+   * @return the maximum number of connections per endpoint
+   */
+  public int getMaxConnectionsPerEndpoint() {
+    return maxConnectionsPerEndpoint;
+  }
+
+  /**
+   * @return the maximum number of requests in flight on a single connection
+   */
+  public int getMaxPipelineDepth() {
+    return maxPipelineDepth;
+  }
+
+  /** Stops the selector loops and closes all the connections, in flight requests fail. */
+  @Override
+  public void close() {
+    closed = true;
+    for (SelectorLoop loop : loops) {
+      if (loop != null) {
+        loop.shutdown();
+      }
+    }
+  }
+
+  void cancel(NioExchange exchange) {
+    NioConnection connection = exchange.getConnection();
+    if (connection != null) {
+      connection.cancel(exchange);
+    } else {
+      ConnectionPool pool = pools.get(exchange.getEndpoint());
+      if (pool != null) {
+        pool.removePending(exchange);
+      }
+    }
+  }
+
+  SelectorLoop nextLoop() {
+    return loops[Math.floorMod(nextLoop.getAndIncrement(), loops.length)];
+  }
+
+  BufferPool getBuffers() {
+    return buffers;
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.jvm.nio;
+
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.dominokit.rest.shared.GwtIncompatible;
+
+/**
+ * A daemon thread multiplexing the I/O of many connections with a {@link Selector}, connections
+ * are only touched by the loop they are registered with and other threads hand work over with
+ * {@link #execute(Runnable)}.
+ */
+@GwtIncompatible
+final class SelectorLoop implements Runnable {
+
+  private static final Logger LOGGER = Logger.getLogger(SelectorLoop.class.getName());
+
+  private final Selector selector;
+  private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean wakeupPending = new AtomicBoolean();
+  private final Thread thread;
+  private volatile boolean running = true;
+
+  SelectorLoop(String name) throws IOException {
+    this.selector = Selector.open();
+    this.thread = new Thread(this, name);
+    this.thread.setDaemon(true);
+    this.thread.start();
+  }
+
+  /**
+   * Runs a task on the loop thread, tasks submitted from the loop thread run on the next iteration
+   * so they never interleave with the connection being processed.
+   *
+   * @param task the task
+   */
+  void execute(Runnable task) {
+    tasks.add(task);
+    if (wakeupPending.compareAndSet(false, true)) {
+      selector.wakeup();
+    }
+  }
+
+  SelectionKey register(SelectableChannel channel, int ops, NioConnection connection)
+      throws ClosedChannelException {
+    return channel.register(selector, ops, connection);
+  }
+
+  void shutdown() {
+    running = false;
+    selector.wakeup();
+  }
+
+  @Override
+  public void run() {
+    while (running) {
+      try {
+        selector.select();
+        wakeupPending.set(false);
+        runTasks();
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+          SelectionKey key = keys.next();
+          keys.remove();
+          process(key);
+        }
+      } catch (Throwable e) {
+        LOGGER.log(Level.SEVERE, "Selector loop failure : ", e);
+      }
+    }
+    closeAll();
+  }
+
+  private void runTasks() {
+    Runnable task;
+    while ((task = tasks.poll()) != null) {
+      try {
+        task.run();
+      } catch (Throwable e) {
+        LOGGER.log(Level.SEVERE, "Selector loop task failed : ", e);
+      }
+    }
+  }
+
+  private static void process(SelectionKey key) {
+    NioConnection connection = (NioConnection) key.attachment();
+    try {
+      if (key.isValid() && key.isConnectable()) {
+        connection.onConnectable();
+      }
+      if (key.isValid() && key.isWritable()) {
+        connection.onWritable();
+      }
+      if (key.isValid() && key.isReadable()) {
+        connection.onReadable();
+      }
+    } catch (Throwable e) {
+      connection.close(e);
+    }
+  }
+
+  private void closeAll() {
+    runTasks();
+    for (SelectionKey key : selector.keys()) {
+      ((NioConnection) key.attachment()).close(new ClosedChannelException());
+    }
+    try {
+      selector.close();
+    } catch (IOException ignored) {
+      // the loop is stopping anyway
+    }
+  }
+}
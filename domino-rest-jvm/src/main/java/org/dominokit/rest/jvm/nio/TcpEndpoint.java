@@ -0,0 +1,107 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.jvm.nio;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.nio.channels.SocketChannel;
+import java.util.Locale;
+import java.util.Objects;
+import org.dominokit.rest.shared.GwtIncompatible;
+
+/** An {@link Endpoint} reached over TCP, the host name is resolved for every new connection. */
+@GwtIncompatible
+public final class TcpEndpoint implements Endpoint {
+
+  private final String host;
+  private final int port;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param host the host name or address
+   * @param port the port
+   */
+  public TcpEndpoint(String host, int port) {
+    this.host = host.toLowerCase(Locale.ROOT);
+    this.port = port;
+  }
+
+  /**
+   * Creates the endpoint of an {@code http} URI.
+   *
+   * @param uri the request URI
+   * @return the endpoint
+   * @throws IllegalArgumentException if the URI is not an {@code http} URI with a host
+   */
+  public static TcpEndpoint of(URI uri) {
+    if (!"http".equalsIgnoreCase(uri.getScheme()) || uri.getHost() == null) {
+      throw new IllegalArgumentException(
+          "Only http URIs are supported by the NIO transport : [" + uri + "]");
+    }
+    return new TcpEndpoint(uri.getHost(), uri.getPort() < 0 ? 80 : uri.getPort());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public SocketChannel openChannel() throws IOException {
+    SocketChannel channel = SocketChannel.open();
+    channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+    return channel;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public SocketAddress address() throws IOException {
+    InetSocketAddress address = new InetSocketAddress(host, port);
+    if (address.isUnresolved()) {
+      throw new UnknownHostException(host);
+    }
+    return address;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String hostHeader() {
+    return port == 80 ? host : host + ":" + port;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof TcpEndpoint)) {
+      return false;
+    }
+    TcpEndpoint that = (TcpEndpoint) o;
+    return port == that.port && host.equals(that.host);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(host, port);
+  }
+
+  @Override
+  public String toString() {
+    return "http://" + hostHeader();
+  }
+}
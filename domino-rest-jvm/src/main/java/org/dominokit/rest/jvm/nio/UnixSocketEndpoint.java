@@ -0,0 +1,213 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.jvm.nio;
+
+import static java.util.Objects.nonNull;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.URI;
+import java.nio.channels.SocketChannel;
+import org.dominokit.rest.shared.GwtIncompatible;
+
+/**
+ * An {@link Endpoint} reached over a unix domain socket, for services and sidecars running on the
+ * same host.
+ *
+ * <p>The endpoint of a {@code unix:///path/to/app.sock/api/items} URI is the socket file {@code
+ * /path/to/app.sock}, the path segments after the first segment ending with {@code .sock} form
+ * the request target {@code /api/items}. Unix domain sockets need JDK 16 or later, they are looked
+ * up reflectively so this class can still be loaded on older runtimes.
+ */
+@GwtIncompatible
+public final class UnixSocketEndpoint implements Endpoint {
+
+  /** The URI scheme of unix domain socket service roots. */
+  public static final String SCHEME = "unix";
+
+  private static final String SOCKET_SUFFIX = ".sock";
+  private static final ProtocolFamily UNIX_FAMILY;
+  private static final Method OPEN_CHANNEL;
+  private static final Method ADDRESS_OF;
+
+  static {
+    ProtocolFamily family = null;
+    Method open = null;
+    Method addressOf = null;
+    try {
+      family = StandardProtocolFamily.valueOf("UNIX");
+      open = SocketChannel.class.getMethod("open", ProtocolFamily.class);
+      addressOf =
+          Class.forName("java.net.UnixDomainSocketAddress").getMethod("of", String.class);
+    } catch (IllegalArgumentException | ReflectiveOperationException e) {
+      // running on a JDK without unix domain socket channels
+    }
+    UNIX_FAMILY = family;
+    OPEN_CHANNEL = open;
+    ADDRESS_OF = addressOf;
+  }
+
+  private final String path;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param path the path of the socket file
+   */
+  public UnixSocketEndpoint(String path) {
+    this.path = path;
+  }
+
+  /**
+   * @return true if the running JDK supports unix domain socket channels
+   */
+  public static boolean isSupported() {
+    return ADDRESS_OF != null;
+  }
+
+  /**
+   * @param uri the request URI
+   * @return true if the URI targets a unix domain socket
+   */
+  public static boolean isUnixUri(URI uri) {
+    return SCHEME.equalsIgnoreCase(uri.getScheme());
+  }
+
+  /**
+   * @param uri the request URI
+   * @return true if the URI targets a unix domain socket
+   */
+  public static boolean isUnixUri(String uri) {
+    return nonNull(uri) && uri.regionMatches(true, 0, SCHEME + ":", 0, SCHEME.length() + 1);
+  }
+
+  /**
+   * Creates the endpoint of a {@code unix} URI.
+   *
+   * @param uri the request URI
+   * @return the endpoint
+   * @throws IllegalArgumentException if the URI path does not contain a {@code .sock} segment
+   */
+  public static UnixSocketEndpoint of(URI uri) {
+    String path = uri.getPath();
+    return new UnixSocketEndpoint(path.substring(0, socketPathEnd(uri, path)));
+  }
+
+  /**
+   * @param uri the request URI
+   * @return the origin form request target, the path after the socket file and the query
+   */
+  public static String target(URI uri) {
+    String rawPath = uri.getRawPath();
+    int end = socketPathEnd(uri, rawPath);
+    String target = end >= rawPath.length() ? "/" : rawPath.substring(end);
+    return uri.getRawQuery() == null ? target : target + "?" + uri.getRawQuery();
+  }
+
+  private static int socketPathEnd(URI uri, String path) {
+    if (!isUnixUri(uri) || path == null) {
+      throw new IllegalArgumentException("Not a unix domain socket URI : [" + uri + "]");
+    }
+    int from = 0;
+    while (from < path.length()) {
+      int next = path.indexOf('/', from + 1);
+      int end = next < 0 ? path.length() : next;
+      if (path.startsWith(SOCKET_SUFFIX, end - SOCKET_SUFFIX.length()) && end > from + 1) {
+        return end;
+      }
+      from = end;
+    }
+    throw new IllegalArgumentException(
+        "The path of a unix domain socket URI must contain a segment ending with ["
+            + SOCKET_SUFFIX
+            + "] : ["
+            + uri
+            + "]");
+  }
+
+  /**
+   * @return the path of the socket file
+   */
+  public String getPath() {
+    return path;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public SocketChannel openChannel() throws IOException {
+    return (SocketChannel) invokeStatic(OPEN_CHANNEL, UNIX_FAMILY);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public SocketAddress address() throws IOException {
+    return (SocketAddress) invokeStatic(ADDRESS_OF, path);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String hostHeader() {
+    return "localhost";
+  }
+
+  private static Object invokeStatic(Method method, Object argument) throws IOException {
+    if (!isSupported()) {
+      throw new UnsupportedOperationException(
+          "Unix domain sockets need JDK 16 or later, running on ["
+              + System.getProperty("java.version")
+              + "]");
+    }
+    try {
+      return method.invoke(null, argument);
+    } catch (InvocationTargetException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IOException(cause);
+    } catch (IllegalAccessException e) {
+      throw new IOException(e);
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof UnixSocketEndpoint)) {
+      return false;
+    }
+    return path.equals(((UnixSocketEndpoint) o).path);
+  }
+
+  @Override
+  public int hashCode() {
+    return path.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return SCHEME + "://" + path;
+  }
+}
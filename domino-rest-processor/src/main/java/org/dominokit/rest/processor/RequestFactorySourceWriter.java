@@ -30,6 +30,7 @@ import jakarta.ws.rs.core.MediaType;
 import java.lang.annotation.Annotation;
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.CompletionStage;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import javax.annotation.processing.ProcessingEnvironment;
@@ -57,9 +58,14 @@ import org.dominokit.rest.shared.request.service.annotations.Request;
 /** Writes the factory generated class */
 public class RequestFactorySourceWriter extends AbstractSourceBuilder {
 
+  // the context the requests created by a factory are bound to
+  private static final String CONTEXT_FIELD = "restContext";
+
   private final Element serviceElement;
   private final String requestsServiceRoot;
+  private final AsyncFacade asyncFacade;
   private Map<String, Integer> methodCount;
+  private List<ServiceMethod> rootServiceMethods;
 
   /**
    * Creates a new instance.
@@ -72,6 +78,7 @@ public class RequestFactorySourceWriter extends AbstractSourceBuilder {
     super(processingEnvironment);
     this.serviceElement = serviceElement;
     this.requestsServiceRoot = serviceElement.getAnnotation(RequestFactory.class).serviceRoot();
+    this.asyncFacade = serviceElement.getAnnotation(RequestFactory.class).async();
 
     ObjectMapperProcessor.elementUtils = elements;
     ObjectMapperProcessor.typeUtils = types;
@@ -91,6 +98,7 @@ public class RequestFactorySourceWriter extends AbstractSourceBuilder {
     super(processingEnvironment);
     this.serviceElement = serviceElement;
     this.requestsServiceRoot = serviceRoot;
+    this.asyncFacade = AsyncFacade.NONE;
 
     ObjectMapperProcessor.elementUtils = elements;
     ObjectMapperProcessor.typeUtils = types;
@@ -100,7 +108,11 @@ public class RequestFactorySourceWriter extends AbstractSourceBuilder {
 
   @Override
   public List<TypeSpec.Builder> asTypeBuilder() {
-    return Collections.singletonList(asTypeBuilder(serviceElement, null));
+    TypeSpec.Builder factory = asTypeBuilder(serviceElement, null);
+    if (AsyncFacade.NONE.equals(asyncFacade)) {
+      return Collections.singletonList(factory);
+    }
+    return Arrays.asList(factory, asAsyncFacadeBuilder());
   }
 
   private TypeSpec.Builder asTypeBuilder(Element serviceElement, ServiceMethod parent) {
@@ -113,6 +125,9 @@ public class RequestFactorySourceWriter extends AbstractSourceBuilder {
     List<ServiceMethod> serviceMethods =
         getServiceMethods(
             processedTypes, isNull(parent) ? "" : getPath(parent), serviceElement, parent);
+    if (isNull(parent)) {
+      rootServiceMethods = serviceMethods;
+    }
 
     List<TypeSpec> subResource =
         serviceMethods.stream()
@@ -128,6 +143,13 @@ public class RequestFactorySourceWriter extends AbstractSourceBuilder {
             .map(this::makeRequestClass)
             .collect(toList());
 
+    // the request classes are inner classes, their shared descriptors live in the factory
+    List<FieldSpec> descriptors =
+        serviceMethods.stream()
+            .filter(serviceMethod -> !ResourceLocatorFilter.isResourceLocator(serviceMethod.method))
+            .map(this::makeRequestDescriptor)
+            .collect(toList());
+
     List<MethodSpec> overrideMethods =
         serviceMethods.stream().map(this::makeRequestFactoryMethod).collect(toList());
 
@@ -140,7 +162,10 @@ public class RequestFactorySourceWriter extends AbstractSourceBuilder {
     if (nonNull(parent)) {
       factory.addModifiers(Modifier.STATIC);
       MethodSpec.Builder constructorBuilder =
-          MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE);
+          MethodSpec.constructorBuilder()
+              .addModifiers(Modifier.PRIVATE)
+              .addParameter(TypeName.get(DominoRestContext.class), CONTEXT_FIELD)
+              .addStatement("this.$L = $L", CONTEXT_FIELD, CONTEXT_FIELD);
       parent
           .method
           .getParameters()
@@ -174,14 +199,180 @@ public class RequestFactorySourceWriter extends AbstractSourceBuilder {
                   Modifier.FINAL)
               .initializer("new " + factoryName + "()")
               .build();
-      factory.addField(instanceField);
+      factory
+          .addField(instanceField)
+          .addMethod(
+              MethodSpec.constructorBuilder()
+                  .addModifiers(Modifier.PUBLIC)
+                  .addJavadoc("Creates a factory whose requests use the global configuration.\n")
+                  .addStatement("this($T.make())", DominoRestContext.class)
+                  .build())
+          .addMethod(
+              MethodSpec.constructorBuilder()
+                  .addModifiers(Modifier.PRIVATE)
+                  .addParameter(TypeName.get(DominoRestContext.class), CONTEXT_FIELD)
+                  .addStatement("this.$L = $L", CONTEXT_FIELD, CONTEXT_FIELD)
+                  .build())
+          .addMethod(
+              MethodSpec.methodBuilder("using")
+                  .addModifiers(Modifier.PUBLIC)
+                  .addJavadoc(
+                      "@param config the configuration the requests are sent with\n"
+                          + "@return a factory whose requests are bound to the configuration\n")
+                  .addParameter(TypeName.get(RestConfig.class), "config")
+                  .returns(ClassName.bestGuess(factoryName))
+                  .addStatement(
+                      "return new $L($T.of(config))", factoryName, DominoRestContext.class)
+                  .build());
     }
 
-    factory.addTypes(requests).addTypes(subResource).addMethods(overrideMethods);
+    factory
+        .addFields(descriptors)
+        .addField(
+            FieldSpec.builder(
+                    TypeName.get(DominoRestContext.class),
+                    CONTEXT_FIELD,
+                    Modifier.PRIVATE,
+                    Modifier.FINAL)
+                .build())
+        .addTypes(requests)
+        .addTypes(subResource)
+        .addMethods(overrideMethods);
 
     return factory;
   }
 
+  private TypeSpec.Builder asAsyncFacadeBuilder() {
+    String factoryName = getRequestClassName(serviceElement, null);
+    String facadeName =
+        factoryName.substring(0, factoryName.length() - "Factory".length()) + "AsyncFactory";
+    ClassName facadeType = ClassName.bestGuess(facadeName);
+    boolean promise = AsyncFacade.PROMISE.equals(asyncFacade);
+
+    TypeSpec.Builder facade =
+        DominoTypeBuilder.classBuilder(facadeName, RequestFactoryProcessor.class)
+            .addField(
+                FieldSpec.builder(
+                        facadeType, "INSTANCE", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                    .initializer("new $T()", facadeType)
+                    .build());
+
+    ClassName factoryType = ClassName.bestGuess(factoryName);
+    facade
+        .addField(
+            FieldSpec.builder(factoryType, "factory", Modifier.PRIVATE, Modifier.FINAL).build())
+        .addMethod(
+            MethodSpec.methodBuilder("using")
+                .addModifiers(Modifier.PUBLIC)
+                .addJavadoc(
+                    "@param config the configuration the requests are sent with\n"
+                        + "@return a facade whose requests are bound to the configuration\n")
+                .addParameter(TypeName.get(RestConfig.class), "config")
+                .returns(facadeType)
+                .addStatement(
+                    promise
+                        ? "return new $T(this.factory.using(config))"
+                        : "return new $T(this.factory.using(config), this.limiter)",
+                    facadeType)
+                .build());
+
+    if (promise) {
+      facade
+          .addMethod(
+              MethodSpec.constructorBuilder()
+                  .addModifiers(Modifier.PRIVATE)
+                  .addStatement("this($T.INSTANCE)", factoryType)
+                  .build())
+          .addMethod(
+              MethodSpec.constructorBuilder()
+                  .addModifiers(Modifier.PRIVATE)
+                  .addParameter(factoryType, "factory")
+                  .addStatement("this.factory = factory")
+                  .build());
+    } else {
+      facade
+          .addField(
+              FieldSpec.builder(
+                      TypeName.get(RequestLimiter.class),
+                      "limiter",
+                      Modifier.PRIVATE,
+                      Modifier.FINAL)
+                  .build())
+          .addMethod(
+              MethodSpec.constructorBuilder()
+                  .addModifiers(Modifier.PRIVATE)
+                  .addStatement("this($T.INSTANCE, null)", factoryType)
+                  .build())
+          .addMethod(
+              MethodSpec.constructorBuilder()
+                  .addModifiers(Modifier.PRIVATE)
+                  .addParameter(factoryType, "factory")
+                  .addParameter(TypeName.get(RequestLimiter.class), "limiter")
+                  .addStatement("this.factory = factory")
+                  .addStatement("this.limiter = limiter")
+                  .build())
+          .addMethod(
+              MethodSpec.methodBuilder("withLimiter")
+                  .addModifiers(Modifier.PUBLIC)
+                  .addJavadoc(
+                      "@param limiter controls when the requests are sent\n"
+                          + "@return a facade that sends its requests through the limiter\n")
+                  .addParameter(TypeName.get(RequestLimiter.class), "limiter")
+                  .returns(facadeType)
+                  .addStatement("return new $T(this.factory, limiter)", facadeType)
+                  .build());
+    }
+
+    rootServiceMethods.stream()
+        .filter(serviceMethod -> !ResourceLocatorFilter.isResourceLocator(serviceMethod.method))
+        .map(serviceMethod -> makeAsyncFacadeMethod(serviceMethod, promise))
+        .forEach(facade::addMethod);
+
+    return facade;
+  }
+
+  private MethodSpec makeAsyncFacadeMethod(ServiceMethod serviceMethod, boolean promise) {
+    TypeMirror responseBean = getResponseBeanType(serviceMethod);
+    ClassName resultType =
+        promise
+            ? ClassName.get("elemental2.promise", "Promise")
+            : ClassName.get(CompletionStage.class);
+    String methodName = serviceMethod.method.getSimpleName().toString();
+
+    MethodSpec.Builder method =
+        MethodSpec.methodBuilder(methodName)
+            .addModifiers(Modifier.PUBLIC)
+            .returns(ParameterizedTypeName.get(resultType, ClassName.get(responseBean)));
+
+    String arguments =
+        getMethodParameters(serviceMethod).stream()
+            .map(
+                parameter -> {
+                  method.addParameter(
+                      getParameterType(parameter), parameter.getSimpleName().toString());
+                  return parameter.getSimpleName().toString();
+                })
+            .collect(joining(", "));
+
+    if (promise) {
+      method.addStatement(
+          "return $T.sendAsync(this.factory.$L($L))",
+          ClassName.get("org.dominokit.rest.js", "ServerRequestPromise"),
+          methodName,
+          arguments);
+    } else {
+      method.addStatement(
+          "return $T.isNull(this.limiter) ? this.factory.$L($L).sendAsync()"
+              + " : this.limiter.execute(() -> this.factory.$L($L).sendAsync())",
+          Objects.class,
+          methodName,
+          arguments,
+          methodName,
+          arguments);
+    }
+    return method.build();
+  }
+
   private String getRequestClassName(Element serviceElement, ServiceMethod parent) {
     String namePrefix = "";
     if (!ElementKind.PACKAGE.equals(serviceElement.getEnclosingElement().getKind())) {
@@ -303,15 +494,13 @@ public class RequestFactorySourceWriter extends AbstractSourceBuilder {
                   parameter -> {
                     request.addParameter(
                         getParameterType(parameter), parameter.getSimpleName().toString());
-                    return parameter.getSimpleName();
+                    return "," + parameter.getSimpleName();
                   })
-              .collect(joining(","));
-      request.addStatement("return new $T($L)", returnType, paramsNames);
+              .collect(joining());
+      request.addStatement("return new $T($L$L)", returnType, CONTEXT_FIELD, paramsNames);
 
       return request.build();
     } else {
-      String classifier = getMethodClassifier(serviceMethod);
-
       TypeName requestTypeName = TypeName.get(getRequestBeanType(serviceMethod).type);
       TypeMirror responseBean = getResponseBeanType(serviceMethod);
 
@@ -330,11 +519,7 @@ public class RequestFactorySourceWriter extends AbstractSourceBuilder {
                   request.addParameter(
                       getParameterType(parameter), parameter.getSimpleName().toString()));
 
-      String requestClassName =
-          serviceElement.getSimpleName().toString()
-              + "_"
-              + serviceMethod.method.getSimpleName()
-              + classifier;
+      String requestClassName = getRequestClassName(serviceMethod);
       String initializeStatement = requestClassName + " instance = new " + requestClassName;
 
       Optional<String> requestBodyParamName = getRequestBeanType(serviceMethod).getParamName();
@@ -363,16 +548,21 @@ public class RequestFactorySourceWriter extends AbstractSourceBuilder {
       } else {
         request.addStatement(initializeStatement + "()");
       }
+      request.addStatement("instance.setRequestContext($L)", CONTEXT_FIELD);
+
+      // resolved once here so the generated code does not look it up for every null parameter
+      Optional<NullQueryParamStrategy> nullStrategy =
+          getNullQueryParamStrategy(getRequestBeanType(serviceMethod).type, serviceMethod);
 
       if (nonNull(serviceMethod.parent)) {
-        addQueryParameters(serviceMethod.parent, request);
+        addQueryParameters(serviceMethod.parent, request, nullStrategy);
       }
-      addQueryParameters(serviceMethod, request);
+      addQueryParameters(serviceMethod, request, nullStrategy);
 
       if (nonNull(serviceMethod.parent)) {
-        addMatrixParameters(serviceMethod.parent, request);
+        addMatrixParameters(serviceMethod.parent, request, nullStrategy);
       }
-      addMatrixParameters(serviceMethod, request);
+      addMatrixParameters(serviceMethod, request, nullStrategy);
 
       if (nonNull(serviceMethod.parent)) {
         addPathParameters(serviceMethod.parent, request);
@@ -481,31 +671,44 @@ public class RequestFactorySourceWriter extends AbstractSourceBuilder {
               if (processorUtil.isAssignableFrom(parameter, Date.class)
                   && nonNull(parameter.getAnnotation(DateFormat.class))) {
                 request.addStatement(
-                    "$T.setPathParameter(instance, $S, () -> $L, $S)",
-                    TypeName.get(ParameterSetter.class),
+                    "instance.setPathParameter($S, $T.formatDate(instance, $L, $S))",
                     parameter.getAnnotation(PathParam.class).value(),
+                    TypeName.get(ParameterSetter.class),
                     parameter.getSimpleName(),
                     parameter.getAnnotation(DateFormat.class).value());
-              } else {
+              } else if (isPrimitive(parameter.asType())) {
                 request.addStatement(
-                    "$T.setPathParameter(instance, $S, () -> $L)",
-                    TypeName.get(ParameterSetter.class),
+                    "instance.setPathParameter($S, $T.valueOf($L))",
                     parameter.getAnnotation(PathParam.class).value(),
+                    TypeName.get(String.class),
                     parameter.getSimpleName());
+              } else {
+                request.addStatement(
+                    "instance.setPathParameter($S, $T.toString($L, $S))",
+                    parameter.getAnnotation(PathParam.class).value(),
+                    TypeName.get(Objects.class),
+                    parameter.getSimpleName(),
+                    "");
               }
             });
   }
 
-  private void addMatrixParameters(ServiceMethod serviceMethod, MethodSpec.Builder request) {
+  private void addMatrixParameters(
+      ServiceMethod serviceMethod,
+      MethodSpec.Builder request,
+      Optional<NullQueryParamStrategy> nullStrategy) {
     serviceMethod.method.getParameters().stream()
         .filter(parameter -> nonNull(parameter.getAnnotation(MatrixParam.class)))
-        .forEach(parameter -> addSetMatrixParameterStatement(request, parameter));
+        .forEach(parameter -> addSetMatrixParameterStatement(request, parameter, nullStrategy));
   }
 
-  private void addQueryParameters(ServiceMethod serviceMethod, MethodSpec.Builder request) {
+  private void addQueryParameters(
+      ServiceMethod serviceMethod,
+      MethodSpec.Builder request,
+      Optional<NullQueryParamStrategy> nullStrategy) {
     serviceMethod.method.getParameters().stream()
         .filter(parameter -> nonNull(parameter.getAnnotation(QueryParam.class)))
-        .forEach(parameter -> addSetParameterStatement(request, parameter));
+        .forEach(parameter -> addSetParameterStatement(request, parameter, nullStrategy));
   }
 
   private void addMetParamStatement(MethodSpec.Builder request, MetaParam metaParam) {
@@ -661,15 +864,28 @@ public class RequestFactorySourceWriter extends AbstractSourceBuilder {
     }
   }
 
-  private void addSetParameterStatement(MethodSpec.Builder request, VariableElement parameter) {
+  private void addSetParameterStatement(
+      MethodSpec.Builder request,
+      VariableElement parameter,
+      Optional<NullQueryParamStrategy> nullStrategy) {
     addSetParameterStatement(
-        request, parameter, parameter.getAnnotation(QueryParam.class).value(), "Query");
+        request,
+        parameter,
+        parameter.getAnnotation(QueryParam.class).value(),
+        ParamKind.QUERY,
+        nullStrategy);
   }
 
   private void addSetMatrixParameterStatement(
-      MethodSpec.Builder request, VariableElement parameter) {
+      MethodSpec.Builder request,
+      VariableElement parameter,
+      Optional<NullQueryParamStrategy> nullStrategy) {
     addSetParameterStatement(
-        request, parameter, parameter.getAnnotation(MatrixParam.class).value(), "Matrix");
+        request,
+        parameter,
+        parameter.getAnnotation(MatrixParam.class).value(),
+        ParamKind.MATRIX,
+        nullStrategy);
   }
 
   /**
@@ -678,46 +894,71 @@ public class RequestFactorySourceWriter extends AbstractSourceBuilder {
    * @param request the method builder
    * @param parameter the parameter element
    * @param paramName the name used in @QueryParam/@MatrixParam
-   * @param type "Query" or "Matrix"
+   * @param kind {@link ParamKind#QUERY} or {@link ParamKind#MATRIX}
+   * @param nullStrategy the null strategy of the request when known at compile time
    */
   private void addSetParameterStatement(
-      MethodSpec.Builder request, VariableElement parameter, String paramName, String type) {
+      MethodSpec.Builder request,
+      VariableElement parameter,
+      String paramName,
+      ParamKind kind,
+      Optional<NullQueryParamStrategy> nullStrategy) {
 
     DateFormat dateFormat = parameter.getAnnotation(DateFormat.class);
+    CodeBlock strategy =
+        nullStrategy
+            .map(value -> CodeBlock.of(", $T.$L", NullQueryParamStrategy.class, value))
+            .orElse(CodeBlock.of(""));
 
     if (processorUtil.isCollection(parameter.asType())) {
       TypeMirror typeArgument = processorUtil.firstTypeArgument(parameter.asType());
       if (processorUtil.isAssignableFrom(typeArgument, Date.class) && nonNull(dateFormat)) {
         request.addStatement(
-            "$T.setDateCollectionParameter(instance, $S, () -> $L, $S, $S)",
+            "$T.setDateCollectionParameter(instance, $S, $L, $S, $T.$L$L)",
             TypeName.get(ParameterSetter.class),
             paramName,
             parameter.getSimpleName(),
             dateFormat.value(),
-            type);
+            ParamKind.class,
+            kind,
+            strategy);
       } else {
         request.addStatement(
-            "$T.setCollectionParameter(instance, $S, () -> $L, $S)",
+            "$T.setCollectionParameter(instance, $S, $L, $T.$L$L)",
             TypeName.get(ParameterSetter.class),
             paramName,
             parameter.getSimpleName(),
-            type);
+            ParamKind.class,
+            kind,
+            strategy);
       }
     } else if (processorUtil.isAssignableFrom(parameter, Date.class) && nonNull(dateFormat)) {
       request.addStatement(
-          "$T.setDateParameter(instance, $S, () -> $L, $S, $S)",
+          "$T.setDateParameter(instance, $S, $L, $S, $T.$L$L)",
           TypeName.get(ParameterSetter.class),
           paramName,
           parameter.getSimpleName(),
           dateFormat.value(),
-          type);
+          ParamKind.class,
+          kind,
+          strategy);
+    } else if (isPrimitive(parameter.asType())) {
+      // primitives are never null, add them directly
+      request.addStatement(
+          "instance.$L($S, $T.valueOf($L))",
+          kind == ParamKind.MATRIX ? "addMatrixParameter" : "addQueryParameter",
+          paramName,
+          TypeName.get(String.class),
+          parameter.getSimpleName());
     } else {
       request.addStatement(
-          "$T.setParameter(instance, $S, () -> $L, $S)",
+          "$T.setParameter(instance, $S, $L, $T.$L$L)",
           TypeName.get(ParameterSetter.class),
           paramName,
           parameter.getSimpleName(),
-          type);
+          ParamKind.class,
+          kind,
+          strategy);
     }
   }
 
@@ -843,18 +1084,64 @@ public class RequestFactorySourceWriter extends AbstractSourceBuilder {
         && isNull(param.getAnnotation(Suspended.class));
   }
 
+  private String getRequestClassName(ServiceMethod serviceMethod) {
+    return serviceElement.getSimpleName().toString()
+        + "_"
+        + serviceMethod.method.getSimpleName()
+        + getMethodClassifier(serviceMethod);
+  }
+
+  private String getDescriptorFieldName(ServiceMethod serviceMethod) {
+    return getRequestClassName(serviceMethod) + "_DESCRIPTOR";
+  }
+
+  private FieldSpec makeRequestDescriptor(ServiceMethod serviceMethod) {
+    TypeMirror requestBean = getRequestBeanType(serviceMethod).type;
+
+    CodeBlock.Builder initializer =
+        CodeBlock.builder()
+            .add("new $T(\n$>$>", RequestDescriptor.class)
+            .add(
+                "new $T($T.class, $S, $T.class, $T.class),\n",
+                RequestMeta.class,
+                serviceElement.asType(),
+                serviceMethod.method.getSimpleName().toString(),
+                types.erasure(requestBean),
+                types.erasure(serviceMethod.method.getReturnType()))
+            .add("$S,\n", getHttpMethod(serviceMethod))
+            .add("$S,\n", getPath(serviceMethod))
+            .add("$S,\n", getServiceRoot(serviceMethod.method))
+            .add("new String[] {$L},\n", getAcceptResponse(serviceMethod));
+
+    if (consumesMultipartForm(serviceMethod)) {
+      initializer.add("null,\n");
+    } else {
+      initializer.add("new String[] {$L},\n", getContentType(serviceMethod));
+    }
+
+    if (nonNull(serviceMethod.method.getAnnotation(SuccessCodes.class))) {
+      initializer.add("$T.of($L))$<$<", StatusCodes.class, getSuccessCodes(serviceMethod));
+    } else {
+      initializer.add("null)$<$<");
+    }
+
+    return FieldSpec.builder(
+            RequestDescriptor.class,
+            getDescriptorFieldName(serviceMethod),
+            Modifier.PRIVATE,
+            Modifier.STATIC,
+            Modifier.FINAL)
+        .initializer(initializer.build())
+        .build();
+  }
+
   private TypeSpec makeRequestClass(ServiceMethod serviceMethod) {
-    String classifier = getMethodClassifier(serviceMethod);
     TypeMirror requestType = getRequestBeanType(serviceMethod).type;
     TypeName requestTypeName = TypeName.get(requestType);
     TypeMirror responseBean = getResponseBeanType(serviceMethod);
 
     TypeSpec.Builder requestBuilder =
-        TypeSpec.classBuilder(
-                serviceElement.getSimpleName().toString()
-                    + "_"
-                    + serviceMethod.method.getSimpleName()
-                    + classifier)
+        TypeSpec.classBuilder(getRequestClassName(serviceMethod))
             .addAnnotation(Request.class)
             .addModifiers(Modifier.PUBLIC)
             .superclass(
@@ -1010,40 +1297,43 @@ public class RequestFactorySourceWriter extends AbstractSourceBuilder {
       constructorBuilder.addParameter(TypeName.get(requestBean), "request");
     }
 
+    // the method, path, service root, headers and success codes come from the shared descriptor
     constructorBuilder.addStatement(
-        "super(new $T($T.class, $S, $T.class, $T.class), $L)",
-        RequestMeta.class,
-        serviceElement.asType(),
-        serviceMethod.method.getSimpleName().toString(),
-        types.erasure(requestBean),
-        types.erasure(serviceMethod.method.getReturnType()),
-        voidType ? "null" : "request");
-
-    constructorBuilder
-        .addStatement("setHttpMethod($S)", getHttpMethod(serviceMethod))
-        .addStatement("setAccept(new String[]{$L})", getAcceptResponse(serviceMethod))
-        .addStatement("setPath($S)", getPath(serviceMethod))
-        .addStatement("setServiceRoot($S)", getServiceRoot(serviceMethod.method));
-
-    if (!consumesMultipartForm(serviceMethod)) {
-      constructorBuilder.addStatement(
-          "setContentType(new String[]{$L})", getContentType(serviceMethod));
-    }
+        "super($L, $L)", getDescriptorFieldName(serviceMethod), voidType ? "null" : "request");
 
     Retries retries = serviceMethod.method.getAnnotation(Retries.class);
     if (nonNull(retries)) {
       constructorBuilder.addStatement("setTimeout($L)", retries.timeout());
       constructorBuilder.addStatement("setMaxRetries($L)", retries.maxRetries());
+      if (retries.backoff() > 0) {
+        constructorBuilder.addStatement("setRetryBackoff($L)", retries.backoff());
+      }
     }
 
-    WithCredentials withCredentials = serviceMethod.method.getAnnotation(WithCredentials.class);
-    if (nonNull(withCredentials)) {
-      constructorBuilder.addStatement("setWithCredentials($L)", withCredentials.value());
+    Timeouts timeouts = serviceMethod.method.getAnnotation(Timeouts.class);
+    if (nonNull(timeouts)) {
+      constructorBuilder.addStatement(
+          "setPhaseTimeouts(new $T().setConnect($L).setFirstByte($L).setIdle($L).setTotal($L))",
+          PhaseTimeouts.class,
+          timeouts.connect(),
+          timeouts.firstByte(),
+          timeouts.idle(),
+          timeouts.total());
     }
 
-    if (nonNull(serviceMethod.method.getAnnotation(SuccessCodes.class))) {
+    Hedge hedge = serviceMethod.method.getAnnotation(Hedge.class);
+    if (nonNull(hedge)) {
       constructorBuilder.addStatement(
-          "setSuccessCodes(new Integer[]{$L})", getSuccessCodes(serviceMethod));
+          "setHedgePolicy(new $T().setDelay($L).setFallbackDelay($L).setAlternateOrigin($S))",
+          HedgePolicy.class,
+          hedge.delay(),
+          hedge.fallbackDelay(),
+          hedge.alternateOrigin());
+    }
+
+    WithCredentials withCredentials = serviceMethod.method.getAnnotation(WithCredentials.class);
+    if (nonNull(withCredentials)) {
+      constructorBuilder.addStatement("setWithCredentials($L)", withCredentials.value());
     }
 
     Optional<NullQueryParamStrategy> nullQueryParamStrategy =
@@ -1196,6 +1486,11 @@ public class RequestFactorySourceWriter extends AbstractSourceBuilder {
           "setResponseReader(response -> new $T(this.getMeta()).read(response))",
           TypeName.get(GenericResponseReader.class));
       return Optional.of(builder.build());
+    } else if (isFileDownload(serviceMethod)) {
+      builder.addStatement("downloadTo(new $T())", TypeName.get(FileDownload.class));
+      builder.addStatement(
+          "setResponseReader(new $T(this))", TypeName.get(FileDownloadReader.class));
+      return Optional.of(builder.build());
     } else if (producesJson(serviceMethod)) {
 
       TypeMirror responseBeanType = getResponseBeanType(serviceMethod);
@@ -1239,6 +1534,10 @@ public class RequestFactorySourceWriter extends AbstractSourceBuilder {
         getResponseBeanType(serviceMethod), GenericResponse.class);
   }
 
+  private boolean isFileDownload(ServiceMethod serviceMethod) {
+    return processorUtil.isAssignableFrom(getResponseBeanType(serviceMethod), FileDownload.class);
+  }
+
   private boolean producesJson(ServiceMethod serviceMethod) {
     String acceptResponse = getAcceptResponse(serviceMethod);
     return acceptResponse.contains(MediaType.APPLICATION_JSON)
@@ -15,10 +15,13 @@
  */
 package org.dominokit.rest;
 
-/** A context to hold {@link RestfulRequestFactory} */
+import org.dominokit.rest.shared.request.RequestTimer;
+
+/** A context to hold {@link RestfulRequestFactory} and the {@link RequestTimer} of the platform */
 public class RestfullRequestContext {
 
   private static RestfulRequestFactory factory;
+  private static RequestTimer requestTimer;
 
   /**
    * @return the {@link RestfulRequestFactory}
@@ -30,4 +33,15 @@ public class RestfullRequestContext {
   static void setFactory(RestfulRequestFactory factory) {
     RestfullRequestContext.factory = factory;
   }
+
+  /**
+   * @return the default {@link RequestTimer} of the platform
+   */
+  public static RequestTimer getRequestTimer() {
+    return requestTimer;
+  }
+
+  static void setRequestTimer(RequestTimer requestTimer) {
+    RestfullRequestContext.requestTimer = requestTimer;
+  }
 }
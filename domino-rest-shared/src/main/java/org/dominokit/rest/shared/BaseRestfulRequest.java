@@ -17,6 +17,10 @@ package org.dominokit.rest.shared;
 
 import static java.util.Objects.isNull;
 
+import org.dominokit.rest.shared.request.DominoRestContext;
+import org.dominokit.rest.shared.request.PhaseTimeouts;
+import org.dominokit.rest.shared.request.RequestTimer;
+
 /**
  * A base implementation for the {@link RestfulRequest}
  *
@@ -34,6 +38,8 @@ public abstract class BaseRestfulRequest implements RestfulRequest {
   protected ErrorHandler errorHandler;
 
   private int timeout;
+  private PhaseTimeouts phaseTimeouts;
+  private RequestTimer requestTimer;
 
   /**
    * Creates a new instance.
@@ -85,6 +91,40 @@ public abstract class BaseRestfulRequest implements RestfulRequest {
     return timeout;
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public RestfulRequest phaseTimeouts(PhaseTimeouts phaseTimeouts) {
+    this.phaseTimeouts = phaseTimeouts;
+    return this;
+  }
+
+  /**
+   * @return the phase timeouts of the request combined with its total timeout, never null
+   */
+  protected PhaseTimeouts getPhaseTimeouts() {
+    PhaseTimeouts timeouts = isNull(phaseTimeouts) ? new PhaseTimeouts() : phaseTimeouts.copy();
+    if (timeout > 0 && (timeouts.getTotal() <= 0 || timeout < timeouts.getTotal())) {
+      timeouts.setTotal(timeout);
+    }
+    return timeouts;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public RestfulRequest requestTimer(RequestTimer requestTimer) {
+    this.requestTimer = requestTimer;
+    return this;
+  }
+
+  /**
+   * @return the timer set for the request, or the one of the global configuration if none was set
+   */
+  protected RequestTimer getRequestTimer() {
+    return isNull(requestTimer)
+        ? DominoRestContext.make().getConfig().getRequestTimer()
+        : requestTimer;
+  }
+
   /** {@inheritDoc} */
   @Override
   public BaseRestfulRequest onSuccess(SuccessHandler successHandler) {
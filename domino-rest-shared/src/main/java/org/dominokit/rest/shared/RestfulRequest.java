@@ -18,6 +18,9 @@ package org.dominokit.rest.shared;
 import java.util.Map;
 import org.dominokit.rest.RestfulRequestFactory;
 import org.dominokit.rest.RestfullRequestContext;
+import org.dominokit.rest.shared.request.FileDownload;
+import org.dominokit.rest.shared.request.PhaseTimeouts;
+import org.dominokit.rest.shared.request.RequestTimer;
 
 /** A representation of REST request */
 public interface RestfulRequest {
@@ -181,6 +184,32 @@ public interface RestfulRequest {
    */
   int getTimeout();
 
+  /**
+   * Sets the timeouts of the individual phases of the request, implementations that cannot track
+   * the phases only apply the total timeout.
+   *
+   * @param phaseTimeouts the phase timeouts
+   * @return same instance to support builder pattern
+   * @see PhaseTimeouts
+   */
+  default RestfulRequest phaseTimeouts(PhaseTimeouts phaseTimeouts) {
+    if (phaseTimeouts.getTotal() > 0) {
+      timeout(phaseTimeouts.getTotal());
+    }
+    return this;
+  }
+
+  /**
+   * Sets the timer used to enforce the phase timeouts of the request, implementations that do not
+   * track the phases ignore it.
+   *
+   * @param requestTimer the timer of the configuration the request is sent with
+   * @return same instance to support builder pattern
+   */
+  default RestfulRequest requestTimer(RequestTimer requestTimer) {
+    return this;
+  }
+
   /**
    * Sends the request with content type {@code application/x-www-form-urlencoded}
    *
@@ -230,6 +259,19 @@ public interface RestfulRequest {
    */
   RestfulRequest setResponseType(String responseType);
 
+  /**
+   * Streams the response body of a successful response to a file instead of reading it in memory,
+   * implementations that cannot write to files do not override this method.
+   *
+   * @param fileDownload the download target
+   * @return same instance to support builder pattern
+   * @throws UnsupportedOperationException if the implementation does not support file downloads
+   */
+  default RestfulRequest downloadTo(FileDownload fileDownload) {
+    throw new UnsupportedOperationException(
+        "File downloads are not supported by [" + getClass().getName() + "]");
+  }
+
   /**
    * Sets a success handler to be called if the request succeed
    *
@@ -0,0 +1,117 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.regex;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * A bounded, least recently used cache of compiled patterns keyed by pattern and flags, used by
+ * the {@link RegexEngine} implementations so that patterns are not recompiled on every match.
+ *
+ * @param <T> the type of the compiled pattern
+ */
+public final class CompiledPatternCache<T> {
+
+  /** The default maximum number of cached patterns. */
+  public static final int DEFAULT_MAX_SIZE = 256;
+
+  private final int maxSize;
+  private final BiFunction<String, String, T> compiler;
+  private final Map<Key, T> patterns;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param maxSize the maximum number of cached patterns, the least recently used pattern is
+   *     evicted when it is exceeded
+   * @param compiler compiles a pattern with the given flags on a cache miss
+   */
+  public CompiledPatternCache(int maxSize, BiFunction<String, String, T> compiler) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("Cache size must be positive : [" + maxSize + "]");
+    }
+    this.maxSize = maxSize;
+    this.compiler = compiler;
+    this.patterns =
+        new LinkedHashMap<Key, T>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<Key, T> eldest) {
+            return size() > CompiledPatternCache.this.maxSize;
+          }
+        };
+  }
+
+  /**
+   * Returns the cached compiled pattern, compiling it on a cache miss.
+   *
+   * @param pattern the regular expression pattern
+   * @param flags the regular expression flags, {@code null} is the same as no flags
+   * @return the compiled pattern
+   */
+  public synchronized T get(String pattern, String flags) {
+    Key key = new Key(pattern, flags == null ? "" : flags);
+    T compiled = patterns.get(key);
+    if (compiled == null) {
+      compiled = compiler.apply(key.pattern, key.flags);
+      patterns.put(key, compiled);
+    }
+    return compiled;
+  }
+
+  /**
+   * @return the number of cached patterns
+   */
+  public synchronized int size() {
+    return patterns.size();
+  }
+
+  /**
+   * @return the maximum number of cached patterns
+   */
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /** Removes all the cached patterns. */
+  public synchronized void clear() {
+    patterns.clear();
+  }
+
+  private static final class Key {
+    private final String pattern;
+    private final String flags;
+
+    private Key(String pattern, String flags) {
+      this.pattern = pattern;
+      this.flags = flags;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof Key)) return false;
+      Key key = (Key) o;
+      return pattern.equals(key.pattern) && flags.equals(key.flags);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * pattern.hashCode() + flags.hashCode();
+    }
+  }
+}
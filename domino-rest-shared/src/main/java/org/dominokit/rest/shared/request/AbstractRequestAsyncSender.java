@@ -45,11 +45,19 @@ public abstract class AbstractRequestAsyncSender implements RequestAsyncSender {
     this.requestEventFactory = requestEventFactory;
   }
 
+  /**
+   * Creates a new instance for senders that dispatch the responses without events, {@link
+   * #sendRequest(ServerRequest, ServerRequestEventFactory)} receives a null factory.
+   */
+  protected AbstractRequestAsyncSender() {
+    this(null);
+  }
+
   /** {@inheritDoc} */
   @SuppressWarnings("rawtypes")
   @Override
   public final void send(final ServerRequest request) {
-    DominoRestContext.make().getConfig().asyncRunner().runAsync(new RequestAsyncTask(request));
+    request.getRequestContext().getConfig().asyncRunner().runAsync(new RequestAsyncTask(request));
   }
 
   private class RequestAsyncTask implements AsyncRunner.AsyncTask {
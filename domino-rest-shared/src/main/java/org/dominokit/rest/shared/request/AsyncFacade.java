@@ -0,0 +1,39 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+import org.dominokit.rest.shared.request.service.annotations.RequestFactory;
+
+/**
+ * The kind of asynchronous facade to generate next to the request factory of a {@link
+ * RequestFactory}.
+ *
+ * @see RequestFactory#async()
+ */
+public enum AsyncFacade {
+  /** No facade is generated. */
+  NONE,
+  /**
+   * A facade whose methods send the request right away and return a {@code
+   * java.util.concurrent.CompletionStage}, for the JVM.
+   */
+  COMPLETION_STAGE,
+  /**
+   * A facade whose methods send the request right away and return an {@code
+   * elemental2.promise.Promise}, for the browser. Requires {@code domino-rest-client}.
+   */
+  PROMISE
+}
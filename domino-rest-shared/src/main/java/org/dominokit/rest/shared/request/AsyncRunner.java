@@ -54,4 +54,17 @@ public interface AsyncRunner {
    * @param asyncTask the task to run
    */
   void runAsync(AsyncTask asyncTask);
+
+  /**
+   * @return a runner that runs the tasks directly on the calling thread
+   */
+  static AsyncRunner direct() {
+    return asyncTask -> {
+      try {
+        asyncTask.onSuccess();
+      } catch (Throwable error) {
+        asyncTask.onFailed(error);
+      }
+    };
+  }
 }
@@ -15,35 +15,48 @@
  */
 package org.dominokit.rest.shared.request;
 
+import static java.util.Objects.isNull;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
 /**
- * A base implementation that updates the state of the request based on the result
+ * A base implementation that updates the state of the request based on the result.
  *
- * @see RequestState
+ * <p>The state is a single int moved forward with compare and set, a response received
+ * concurrently with an abort is either processed or ignored but never both.
  */
 public abstract class BaseRequest implements Request {
 
+  private static final Logger LOGGER = Logger.getLogger(BaseRequest.class.getName());
+
   /** Error message when a request is sent more than once. */
   public static final String REQUEST_HAVE_ALREADY_BEEN_SENT = "Request have already been sent";
 
-  /** The current state of the request. */
-  protected RequestState state;
+  /** The request is ready to be sent. */
+  protected static final int READY = 0;
 
-  private boolean skipFailHandler = false;
+  /** The request has been sent and waits for the response. */
+  protected static final int SENT = 1;
 
-  /** The context for the REST request. */
-  protected final DominoRestContext requestContext = DominoRestContext.make();
+  /** The request succeeded and its handlers have been called. */
+  protected static final int COMPLETED = 2;
+
+  /** The request failed on the server, it can be sent again. */
+  protected static final int FAILED = 3;
+
+  /** The request has been aborted. */
+  protected static final int ABORTED = 4;
+
+  private final AtomicInteger state = new AtomicInteger(READY);
 
-  /** State representing the request is ready to be sent. */
-  protected final RequestState<DefaultRequestStateContext> ready = context -> startRouting();
+  private boolean skipFailHandler = false;
+
+  private RestConfigSnapshot configSnapshot;
 
-  /** State representing the request has been completed. */
-  protected final RequestState<DefaultRequestStateContext> completed =
-      context -> {
-        throw new InvalidRequestState(
-            "This request have already been completed!. ["
-                + this.getClass().getCanonicalName()
-                + "]");
-      };
+  /** The context for the REST request. */
+  protected DominoRestContext requestContext = DominoRestContext.make();
 
   /** Handler to be called when the request is completed. */
   protected CompleteHandler completeHandler = () -> {};
@@ -51,52 +64,168 @@ public abstract class BaseRequest implements Request {
   /** Handler to be called after the request is completed. */
   protected CompleteHandler afterCompleteHandler = () -> {};
 
-  /** Handler to be called when the request fails. */
-  protected Fail fail = requestContext.getConfig().getDefaultFailHandler();
-
-  /** State representing the request failed on the server. */
-  protected final RequestState<ServerFailedRequestStateContext> failedOnServer =
-      context -> {
-        if (!skipFailHandler) {
-          fail.onFail(context.response);
-        }
-        onCompleted();
-      };
+  /** Handler to be called when the request fails, null for the default handler of the config. */
+  protected Fail fail;
 
   /** Internal method called when the request is completed to trigger handlers and interceptors. */
   protected void onCompleted() {
-    DominoRestContext.make()
-        .getConfig()
-        .getResponseInterceptors()
-        .forEach(
-            responseInterceptor ->
-                responseInterceptor.onBeforeCompleteCallback((ServerRequest) this));
+    List<ResponseInterceptor> responseInterceptors = getConfigSnapshot().getResponseInterceptors();
+    responseInterceptors.forEach(
+        responseInterceptor -> responseInterceptor.onBeforeCompleteCallback((ServerRequest) this));
     completeHandler.onCompleted();
-    DominoRestContext.make()
-        .getConfig()
-        .getResponseInterceptors()
-        .forEach(
-            responseInterceptor ->
-                responseInterceptor.onAfterCompleteCallback((ServerRequest) this));
+    responseInterceptors.forEach(
+        responseInterceptor -> responseInterceptor.onAfterCompleteCallback((ServerRequest) this));
     afterCompleteHandler.onCompleted();
   }
 
-  /** Default constructor, initializes the request to the ready state. */
-  public BaseRequest() {
-    this.state = ready;
+  /**
+   * @return the current state of the request, one of {@link #READY}, {@link #SENT}, {@link
+   *     #COMPLETED}, {@link #FAILED} or {@link #ABORTED}
+   */
+  protected final int getState() {
+    return state.get();
+  }
+
+  /**
+   * Moves the request to a new state if it is still in the expected one.
+   *
+   * @param expected the state the request must be in
+   * @param next the new state
+   * @return true if the state was changed, false if the request was in another state
+   */
+  protected final boolean transition(int expected, int next) {
+    return state.compareAndSet(expected, next);
+  }
+
+  /**
+   * @return the fail handler of the request, or the default fail handler of its configuration
+   */
+  protected Fail getFailHandler() {
+    return isNull(fail) ? requestContext.getConfig().getDefaultFailHandler() : fail;
+  }
+
+  /**
+   * @return the context whose configuration sends this request
+   */
+  public DominoRestContext getRequestContext() {
+    return requestContext;
+  }
+
+  /**
+   * @return the configuration captured when the request was sent, or the current one if it was not
+   *     sent yet
+   */
+  public RestConfigSnapshot getConfigSnapshot() {
+    if (isNull(configSnapshot)) {
+      configSnapshot = requestContext.getConfig().getSnapshot();
+    }
+    return configSnapshot;
   }
 
   /** Executes the request if it is in a valid state. */
   protected void execute() {
-    if (!state.equals(ready) && !state.equals(failedOnServer))
+    moveToSent();
+    startRouting();
+  }
+
+  /**
+   * Moves a new or failed request to the {@link #SENT} state.
+   *
+   * @throws InvalidRequestState if the request was already sent
+   */
+  protected final void moveToSent() {
+    if (!transition(READY, SENT) && !transition(FAILED, SENT)) {
       throw new InvalidRequestState(REQUEST_HAVE_ALREADY_BEEN_SENT);
-    this.state.execute(new DefaultRequestStateContext());
+    }
+    // every attempt sees one consistent configuration, later changes apply to the next attempt
+    configSnapshot = requestContext.getConfig().getSnapshot();
   }
 
-  /** {@inheritDoc} */
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The server events call {@link #applySuccess(Object)} and {@link
+   * #applyFailure(FailedResponseBean)} directly, this method unwraps the contexts for callers
+   * still using them.
+   */
   @Override
   public void applyState(RequestStateContext context) {
-    state.execute(context);
+    if (context instanceof ServerResponseReceivedStateContext) {
+      applyState(((ServerResponseReceivedStateContext) context).nextContext);
+    } else if (context instanceof ServerSuccessRequestStateContext) {
+      applySuccess(((ServerSuccessRequestStateContext<?>) context).responseBean);
+    } else if (context instanceof ServerFailedRequestStateContext) {
+      applyFailure(((ServerFailedRequestStateContext) context).response);
+    } else {
+      throw new InvalidRequestState(
+          "Request cannot be processed until a responseBean is received from the server");
+    }
+  }
+
+  /**
+   * Completes a sent request with the response received from the server.
+   *
+   * @param responseBean the response bean
+   */
+  public void applySuccess(Object responseBean) {
+    if (transition(SENT, COMPLETED)) {
+      onServerSuccess(responseBean);
+      onCompleted();
+    } else {
+      onUnexpectedResponse();
+    }
+  }
+
+  /**
+   * Fails a sent request with the failure reported by the server or the transport.
+   *
+   * @param response the failed response
+   */
+  public void applyFailure(FailedResponseBean response) {
+    if (transition(SENT, FAILED)) {
+      onServerFailed(response);
+      onCompleted();
+    } else {
+      onUnexpectedResponse();
+    }
+  }
+
+  /**
+   * Called once the request moved to the {@link #COMPLETED} state, before the complete handlers.
+   *
+   * @param responseBean the response bean
+   */
+  protected void onServerSuccess(Object responseBean) {}
+
+  /**
+   * Called once the request moved to the {@link #FAILED} state, before the complete handlers.
+   *
+   * @param response the failed response
+   */
+  protected void onServerFailed(FailedResponseBean response) {
+    if (!skipFailHandler) {
+      getFailHandler().onFail(response);
+    }
+  }
+
+  /**
+   * @return true if {@link #skipFailHandler()} was called
+   */
+  protected final boolean isFailHandlerSkipped() {
+    return skipFailHandler;
+  }
+
+  private void onUnexpectedResponse() {
+    if (getState() == ABORTED) {
+      LOGGER.info("Request aborted, no response will be processed.");
+      onCompleted();
+    } else if (getState() == READY) {
+      throw new InvalidRequestState(
+          "Request cannot be processed until a responseBean is received from the server");
+    } else {
+      throw new InvalidRequestState(
+          "This request have already been completed!. [" + getClass().getCanonicalName() + "]");
+    }
   }
 
   /** Skip the failure handler if the request has failed */
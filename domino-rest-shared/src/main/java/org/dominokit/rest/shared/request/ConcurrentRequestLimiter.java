@@ -0,0 +1,100 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.dominokit.rest.shared.GwtIncompatible;
+
+/** A {@link RequestLimiter} that caps the number of requests in flight at the same time. */
+@GwtIncompatible
+class ConcurrentRequestLimiter implements RequestLimiter {
+
+  private final int maxConcurrentRequests;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+
+  ConcurrentRequestLimiter(int maxConcurrentRequests) {
+    if (maxConcurrentRequests < 1) {
+      throw new IllegalArgumentException(
+          "Max concurrent requests must be greater than zero [" + maxConcurrentRequests + "]");
+    }
+    this.maxConcurrentRequests = maxConcurrentRequests;
+  }
+
+  @Override
+  public <S> CompletionStage<S> execute(Supplier<? extends CompletionStage<S>> request) {
+    CompletableFuture<S> result = new CompletableFuture<>();
+    pending.add(() -> start(request, result));
+    drain();
+    return result;
+  }
+
+  private <S> void start(
+      Supplier<? extends CompletionStage<S>> request, CompletableFuture<S> result) {
+    CompletionStage<S> stage;
+    try {
+      stage = request.get();
+    } catch (RuntimeException e) {
+      release();
+      result.completeExceptionally(e);
+      return;
+    }
+    stage.whenComplete(
+        (response, error) -> {
+          release();
+          if (error != null) {
+            result.completeExceptionally(error);
+          } else {
+            result.complete(response);
+          }
+        });
+  }
+
+  private void release() {
+    inFlight.decrementAndGet();
+    drain();
+  }
+
+  private void drain() {
+    while (!pending.isEmpty()) {
+      if (!tryAcquire()) {
+        return;
+      }
+      Runnable next = pending.poll();
+      if (next == null) {
+        inFlight.decrementAndGet();
+      } else {
+        next.run();
+      }
+    }
+  }
+
+  private boolean tryAcquire() {
+    int current;
+    do {
+      current = inFlight.get();
+      if (current >= maxConcurrentRequests) {
+        return false;
+      }
+    } while (!inFlight.compareAndSet(current, current + 1));
+    return true;
+  }
+}
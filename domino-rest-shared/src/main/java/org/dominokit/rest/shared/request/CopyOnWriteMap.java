@@ -0,0 +1,277 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * A map that shares its entries with its snapshots until one of them is modified.
+ *
+ * <p>{@link #snapshot()} does not copy anything, the first modification of either the map or the
+ * snapshot copies the entries, so reading the parameters of a request costs nothing and a copy is
+ * paid only by a caller that really modifies it. The values are shared as they are, they must be
+ * immutable. A map created with a value copy hands out the values of its snapshots through that
+ * copy instead, once per key, so a caller can modify a value it got from a snapshot. The entry, key
+ * and value views are live, modifying them or their entries copies the shared entries first like
+ * the methods of the map do.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+final class CopyOnWriteMap<K, V> extends AbstractMap<K, V> {
+
+  private Map<K, V> map;
+  private boolean shared;
+  private Map<K, V> readOnly;
+  private Set<Entry<K, V>> entrySet;
+  private final UnaryOperator<V> snapshotValueCopy;
+  // copies the values handed out by this map, only set on snapshots
+  private final UnaryOperator<V> valueCopy;
+  // the keys whose values are owned by this map and handed out as they are
+  private Set<Object> ownedKeys;
+
+  /** Creates an empty map, the entries are allocated by the first modification. */
+  CopyOnWriteMap() {
+    this(null);
+  }
+
+  /**
+   * Creates an empty map whose snapshots hand out copies of the values made by the specified
+   * function.
+   *
+   * @param snapshotValueCopy the copy of a value, null to share the values
+   */
+  CopyOnWriteMap(UnaryOperator<V> snapshotValueCopy) {
+    this(Collections.emptyMap(), snapshotValueCopy, null);
+  }
+
+  private CopyOnWriteMap(
+      Map<K, V> map, UnaryOperator<V> snapshotValueCopy, UnaryOperator<V> valueCopy) {
+    this.map = map;
+    this.shared = true;
+    this.snapshotValueCopy = snapshotValueCopy;
+    this.valueCopy = valueCopy;
+  }
+
+  /**
+   * @return a map with the current entries, neither this map nor the snapshot sees the later
+   *     modifications of the other
+   */
+  CopyOnWriteMap<K, V> snapshot() {
+    shared = true;
+    // the values this map owns are now shared with the snapshot
+    ownedKeys = null;
+    return new CopyOnWriteMap<>(map, snapshotValueCopy, snapshotValueCopy);
+  }
+
+  /**
+   * @return a read only live view of this map
+   */
+  Map<K, V> readOnlyView() {
+    if (readOnly == null) {
+      readOnly = Collections.unmodifiableMap(this);
+    }
+    return readOnly;
+  }
+
+  private Map<K, V> writable() {
+    if (shared) {
+      map = new HashMap<>(map);
+      shared = false;
+    }
+    return map;
+  }
+
+  @Override
+  public int size() {
+    return map.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return map.isEmpty();
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return map.containsKey(key);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V get(Object key) {
+    V value = map.get(key);
+    if (valueCopy == null || value == null || isOwned(key)) {
+      return value;
+    }
+    V copy = valueCopy.apply(value);
+    writable().put((K) key, copy);
+    own(key);
+    return copy;
+  }
+
+  private boolean isOwned(Object key) {
+    return ownedKeys != null && ownedKeys.contains(key);
+  }
+
+  private void own(Object key) {
+    if (valueCopy != null) {
+      if (ownedKeys == null) {
+        ownedKeys = new HashSet<>();
+      }
+      ownedKeys.add(key);
+    }
+  }
+
+  @Override
+  public V put(K key, V value) {
+    V previous = writable().put(key, value);
+    own(key);
+    return previous;
+  }
+
+  @Override
+  public void putAll(Map<? extends K, ? extends V> entries) {
+    if (!entries.isEmpty()) {
+      writable().putAll(entries);
+      if (valueCopy != null) {
+        entries.keySet().forEach(this::own);
+      }
+    }
+  }
+
+  @Override
+  public V remove(Object key) {
+    if (!map.containsKey(key)) {
+      return null;
+    }
+    if (ownedKeys != null) {
+      ownedKeys.remove(key);
+    }
+    return writable().remove(key);
+  }
+
+  @Override
+  public void clear() {
+    map = Collections.emptyMap();
+    shared = true;
+    ownedKeys = null;
+  }
+
+  @Override
+  public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+    writable().replaceAll(function);
+  }
+
+  @Override
+  public void forEach(BiConsumer<? super K, ? super V> action) {
+    if (valueCopy == null) {
+      map.forEach(action);
+    } else {
+      for (Entry<K, V> entry : entrySet()) {
+        action.accept(entry.getKey(), entry.getValue());
+      }
+    }
+  }
+
+  @Override
+  public Set<Entry<K, V>> entrySet() {
+    if (entrySet == null) {
+      entrySet = new EntrySet();
+    }
+    return entrySet;
+  }
+
+  private final class EntrySet extends AbstractSet<Entry<K, V>> {
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+      return new EntryIterator();
+    }
+
+    @Override
+    public int size() {
+      return map.size();
+    }
+
+    @Override
+    public void clear() {
+      CopyOnWriteMap.this.clear();
+    }
+  }
+
+  /** Iterates the entries the map had when the iteration started. */
+  private final class EntryIterator implements Iterator<Entry<K, V>> {
+    private final Map<K, V> iterated = map;
+    private final Iterator<Entry<K, V>> entries = iterated.entrySet().iterator();
+    private Entry<K, V> last;
+
+    @Override
+    public boolean hasNext() {
+      return entries.hasNext();
+    }
+
+    @Override
+    public Entry<K, V> next() {
+      last = entries.next();
+      return new EntryView(last);
+    }
+
+    @Override
+    public void remove() {
+      if (last == null) {
+        throw new IllegalStateException();
+      }
+      if (!shared && map == iterated) {
+        entries.remove();
+      } else {
+        // the iterated entries are shared or were replaced, remove from the current ones
+        CopyOnWriteMap.this.remove(last.getKey());
+      }
+      last = null;
+    }
+  }
+
+  /**
+   * An entry whose value is read and set through the map, so shared values and entries are copied
+   * first.
+   */
+  private final class EntryView extends SimpleEntry<K, V> {
+    private EntryView(Entry<K, V> entry) {
+      super(entry);
+    }
+
+    @Override
+    public V getValue() {
+      return valueCopy == null ? super.getValue() : get(getKey());
+    }
+
+    @Override
+    public V setValue(V value) {
+      put(getKey(), value);
+      return super.setValue(value);
+    }
+  }
+}
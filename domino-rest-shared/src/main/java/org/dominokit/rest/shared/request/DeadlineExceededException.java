@@ -0,0 +1,32 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+/**
+ * The request failed because its deadline passed, see {@link ServerRequest#setDeadline(int)}.
+ * Requests failing with this exception are never retried.
+ */
+public class DeadlineExceededException extends RequestTimeoutException {
+
+  /**
+   * Creates a new instance.
+   *
+   * @param stage the request processing stage at which the deadline was detected
+   */
+  public DeadlineExceededException(String stage) {
+    super("Request deadline exceeded " + stage);
+  }
+}
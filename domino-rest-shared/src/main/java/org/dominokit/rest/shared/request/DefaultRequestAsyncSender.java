@@ -19,6 +19,9 @@ package org.dominokit.rest.shared.request;
  * The default {@link RequestAsyncSender} that sends the request using the {@link RequestRestSender}
  * and sends events to the request event factory based on the result
  *
+ * <p>Use it instead of the {@link DirectRequestAsyncSender} when something listens to the request
+ * events.
+ *
  * @see RequestAsyncSender
  * @see RequestRestSender
  * @see ServerRequestEventFactory
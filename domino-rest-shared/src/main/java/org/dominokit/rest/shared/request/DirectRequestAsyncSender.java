@@ -0,0 +1,60 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+/**
+ * A {@link RequestAsyncSender} that sends the request using the {@link RequestRestSender} and
+ * applies the result to the request straight from the callback.
+ *
+ * <p>Unlike {@link DefaultRequestAsyncSender} no {@link org.dominokit.rest.shared.Event} is created
+ * or published for the response, use the default sender when something listens to the request
+ * events.
+ *
+ * @see RequestAsyncSender
+ * @see RequestRestSender
+ */
+public class DirectRequestAsyncSender extends AbstractRequestAsyncSender {
+
+  private final RequestRestSender requestSender;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param requestSender the {@link RequestRestSender}
+   */
+  public DirectRequestAsyncSender(RequestRestSender requestSender) {
+    this.requestSender = requestSender;
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  @Override
+  protected void sendRequest(ServerRequest request, ServerRequestEventFactory requestEventFactory) {
+    requestSender.send(
+        request,
+        new ServerRequestCallBack() {
+
+          @Override
+          public <T> void onSuccess(T response) {
+            request.applySuccess(response);
+          }
+
+          @Override
+          public void onFailure(FailedResponseBean failedResponse) {
+            request.applyFailure(failedResponse);
+          }
+        });
+  }
+}
@@ -15,12 +15,24 @@
  */
 package org.dominokit.rest.shared.request;
 
-/** A context which contains the configuration of domino rest */
+import static java.util.Objects.isNull;
+
+/**
+ * A context which contains the configuration of domino rest.
+ *
+ * <p>{@link #make()} returns a context reading the global configuration set with {@link
+ * #init(RestConfig)}, {@link #of(RestConfig)} binds a context to its own configuration so
+ * independent clients can live in the same application.
+ */
 public class DominoRestContext {
 
   private static RestConfig config;
 
-  private DominoRestContext() {}
+  private final RestConfig boundConfig;
+
+  private DominoRestContext(RestConfig boundConfig) {
+    this.boundConfig = boundConfig;
+  }
 
   /**
    * Initialize the context with the configuration
@@ -32,16 +44,24 @@ public class DominoRestContext {
   }
 
   /**
-   * @return new instance
+   * @return new instance using the global configuration
    */
   public static DominoRestContext make() {
-    return new DominoRestContext();
+    return new DominoRestContext(null);
+  }
+
+  /**
+   * @param config the configuration of the context, null for the global configuration
+   * @return new instance bound to the configuration
+   */
+  public static DominoRestContext of(RestConfig config) {
+    return new DominoRestContext(config);
   }
 
   /**
    * @return the configurations associated with the context
    */
   public RestConfig getConfig() {
-    return config;
+    return isNull(boundConfig) ? config : boundConfig;
   }
 }
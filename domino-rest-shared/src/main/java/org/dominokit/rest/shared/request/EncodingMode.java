@@ -0,0 +1,27 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+/** Enum representing how values are encoded when they are put into a request url. */
+public enum EncodingMode {
+  /** Values are put into the url verbatim, they must be encoded by the caller. */
+  NONE,
+  /**
+   * Values are percent-encoded following RFC 3986 for the url component they are put into, see
+   * {@link UriEncoder}.
+   */
+  ENCODE;
+}
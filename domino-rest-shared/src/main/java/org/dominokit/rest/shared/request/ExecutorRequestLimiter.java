@@ -0,0 +1,39 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.dominokit.rest.shared.GwtIncompatible;
+
+/** A {@link RequestLimiter} that sends the requests from an {@link Executor}. */
+@GwtIncompatible
+class ExecutorRequestLimiter implements RequestLimiter {
+
+  private final Executor executor;
+
+  ExecutorRequestLimiter(Executor executor) {
+    this.executor = executor;
+  }
+
+  @Override
+  public <S> CompletionStage<S> execute(Supplier<? extends CompletionStage<S>> request) {
+    return CompletableFuture.supplyAsync(request, executor).thenCompose(Function.identity());
+  }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Describes a response body that is streamed to a file instead of being buffered in memory.
+ *
+ * <p>A service method returning {@code FileDownload} gets a request that writes the response body
+ * to the file path set with {@link ServerRequest#downloadTo(String)}, or to a temporary file when
+ * no path was set. Once the request succeeds the same instance is handed to the success handler
+ * with the final file path and size.
+ *
+ * <p>When the transport loses the connection in the middle of the body and the server supplied an
+ * {@code ETag} or {@code Last-Modified} validator, the download is resumed from the last written
+ * byte using {@code Range} and {@code If-Range} headers.
+ */
+public class FileDownload {
+
+  private String filePath;
+  private boolean resumable = true;
+  private int maxResumeAttempts = 3;
+  private ProgressHandler progressHandler = (received, total) -> {};
+
+  private long bytesWritten;
+  private long totalBytes = -1;
+  private String validator;
+  private int resumeCount;
+
+  /**
+   * Creates a download for the specified file path.
+   *
+   * @param filePath the target file path
+   * @return a new instance
+   */
+  public static FileDownload to(String filePath) {
+    return new FileDownload(filePath);
+  }
+
+  /** Creates a download that will be written to a temporary file chosen by the transport. */
+  public FileDownload() {}
+
+  /**
+   * Creates a new instance.
+   *
+   * @param filePath the target file path
+   */
+  public FileDownload(String filePath) {
+    this.filePath = filePath;
+  }
+
+  /**
+   * @return the target file path, null until the transport picks a temporary file if none was set
+   */
+  public String getFilePath() {
+    return filePath;
+  }
+
+  /**
+   * @param filePath the target file path
+   * @return same instance to support builder pattern
+   */
+  public FileDownload setFilePath(String filePath) {
+    this.filePath = filePath;
+    return this;
+  }
+
+  /**
+   * @return true if an interrupted download should be resumed using range requests
+   */
+  public boolean isResumable() {
+    return resumable;
+  }
+
+  /**
+   * @param resumable true to resume interrupted downloads using range requests
+   * @return same instance to support builder pattern
+   */
+  public FileDownload setResumable(boolean resumable) {
+    this.resumable = resumable;
+    return this;
+  }
+
+  /**
+   * @return the maximum number of times an interrupted download is resumed
+   */
+  public int getMaxResumeAttempts() {
+    return maxResumeAttempts;
+  }
+
+  /**
+   * @param maxResumeAttempts the maximum number of times an interrupted download is resumed
+   * @return same instance to support builder pattern
+   */
+  public FileDownload setMaxResumeAttempts(int maxResumeAttempts) {
+    this.maxResumeAttempts = Math.max(maxResumeAttempts, 0);
+    return this;
+  }
+
+  /**
+   * Sets a handler to be notified every time a chunk of the body is written to the file
+   *
+   * @param progressHandler the handler
+   * @return same instance to support builder pattern
+   */
+  public FileDownload onProgress(ProgressHandler progressHandler) {
+    if (nonNull(progressHandler)) {
+      this.progressHandler = progressHandler;
+    }
+    return this;
+  }
+
+  /**
+   * @return the number of bytes written to the file so far
+   */
+  public long getBytesWritten() {
+    return bytesWritten;
+  }
+
+  /**
+   * @return the full size of the downloaded resource, -1 if the server did not report it
+   */
+  public long getTotalBytes() {
+    return totalBytes;
+  }
+
+  /**
+   * @return the {@code ETag} or {@code Last-Modified} value used to resume the download, null if
+   *     the server did not send one
+   */
+  public String getValidator() {
+    return validator;
+  }
+
+  /**
+   * @return how many times the download has been resumed
+   */
+  public int getResumeCount() {
+    return resumeCount;
+  }
+
+  /**
+   * @return true if the download can be continued from {@link #getBytesWritten()}
+   */
+  public boolean canResume() {
+    return resumable && bytesWritten > 0 && nonNull(validator) && resumeCount < maxResumeAttempts;
+  }
+
+  /**
+   * Called by the transport when the response headers of an attempt are received.
+   *
+   * @param offset the number of bytes already present in the file before this attempt
+   * @param totalBytes the full size of the resource, -1 if unknown
+   * @param validator the {@code ETag} or {@code Last-Modified} value, null if none
+   */
+  public void onStarted(long offset, long totalBytes, String validator) {
+    this.bytesWritten = offset;
+    this.totalBytes = totalBytes;
+    this.validator = validator;
+  }
+
+  /**
+   * Called by the transport every time a chunk is written to the file.
+   *
+   * @param count the number of bytes written
+   */
+  public void onWritten(long count) {
+    this.bytesWritten += count;
+    progressHandler.onProgress(bytesWritten, totalBytes);
+  }
+
+  /** Called by the transport before a new attempt is sent to resume the download. */
+  public void onResume() {
+    this.resumeCount++;
+  }
+
+  /** Handler for download progress notifications. */
+  @FunctionalInterface
+  public interface ProgressHandler {
+    /**
+     * Called when a chunk of the body is written to the file.
+     *
+     * @param bytesReceived the total number of bytes written so far
+     * @param totalBytes the full size of the resource, -1 if unknown
+     */
+    void onProgress(long bytesReceived, long totalBytes);
+  }
+}
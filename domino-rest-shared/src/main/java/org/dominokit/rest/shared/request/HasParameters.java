@@ -75,6 +75,21 @@ public interface HasParameters<R, S> {
    */
   HasParameters<R, S> addQueryParameter(String name, String value);
 
+  /**
+   * Adds new values to an existing query parameter (or creates it if missing). The default
+   * implementation adds the values one at a time.
+   *
+   * @param name the name of the parameter
+   * @param values the values to add
+   * @return same instance to support builder pattern
+   */
+  default HasParameters<R, S> addQueryParameterValues(String name, List<String> values) {
+    for (String value : values) {
+      addQueryParameter(name, value);
+    }
+    return this;
+  }
+
   /**
    * Adds new values to existing query parameters (or creates them if missing).
    *
@@ -0,0 +1,215 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A hashed timing wheel holding delayed tasks, adding and removing a task take constant time
+ * regardless of how many tasks are pending.
+ *
+ * <p>The wheel is a ring of buckets each covering one tick, a task lands in the bucket of the tick
+ * its deadline falls in and keeps the number of full turns left before it is due. Expired tasks
+ * are handed out by {@link #advance(long)} at most one tick late.
+ *
+ * <p>The wheel does not own a clock or a thread and is not thread safe, {@link RequestTimer}
+ * implementations drive it from a single thread, see {@link RestConfig#getRequestTimer()}. Drivers
+ * that stop advancing an empty wheel should {@link #advance(long)} it before adding a task, or the
+ * next advance walks every bucket of the idle time.
+ */
+public class HashedWheel {
+
+  private static final int MAX_BUCKETS = 1 << 20;
+
+  private final long tickMillis;
+  private final long startTime;
+  private final Entry[] buckets;
+  private final int mask;
+  private long tick;
+  private int size;
+
+  /**
+   * Creates a new wheel.
+   *
+   * @param tickMillis the duration of a tick in milliseconds, the precision of the wheel
+   * @param ticksPerWheel the number of buckets, rounded up to a power of two
+   * @param startTime the current time in milliseconds of the clock used to drive the wheel
+   */
+  public HashedWheel(long tickMillis, int ticksPerWheel, long startTime) {
+    if (tickMillis <= 0) {
+      throw new IllegalArgumentException("tickMillis must be greater than 0 : " + tickMillis);
+    }
+    if (ticksPerWheel <= 0 || ticksPerWheel > MAX_BUCKETS) {
+      throw new IllegalArgumentException(
+          "ticksPerWheel must be between 1 and " + MAX_BUCKETS + " : " + ticksPerWheel);
+    }
+    int length = 1;
+    while (length < ticksPerWheel) {
+      length <<= 1;
+    }
+    this.tickMillis = tickMillis;
+    this.startTime = startTime;
+    this.buckets = new Entry[length];
+    this.mask = length - 1;
+  }
+
+  /**
+   * Adds a task to the wheel.
+   *
+   * @param task the task to run once the deadline is reached
+   * @param deadline the time in milliseconds the task is due at, past deadlines expire on the next
+   *     tick
+   * @return the entry of the task, used to remove it
+   */
+  public Entry add(Runnable task, long deadline) {
+    long elapsed = deadline - startTime;
+    // the tick that ends at or after the deadline
+    long target = Math.max((elapsed + tickMillis - 1) / tickMillis - 1, tick);
+    Entry entry = new Entry(task, deadline, (target - tick) / buckets.length);
+    int index = (int) (target & mask);
+    Entry head = buckets[index];
+    entry.bucket = index;
+    entry.next = head;
+    if (head != null) {
+      head.prev = entry;
+    }
+    buckets[index] = entry;
+    size++;
+    return entry;
+  }
+
+  /**
+   * Removes a task from the wheel.
+   *
+   * @param entry the entry returned when the task was added
+   * @return true if the task was pending, false if it already expired or was removed
+   */
+  public boolean remove(Entry entry) {
+    if (entry.bucket < 0) {
+      return false;
+    }
+    if (entry.prev != null) {
+      entry.prev.next = entry.next;
+    } else {
+      buckets[entry.bucket] = entry.next;
+    }
+    if (entry.next != null) {
+      entry.next.prev = entry.prev;
+    }
+    entry.bucket = -1;
+    entry.prev = null;
+    entry.next = null;
+    size--;
+    return true;
+  }
+
+  /**
+   * Moves the wheel forward to the specified time, the expired tasks are removed from the wheel and
+   * returned to the caller to run them, tasks can safely add new tasks or remove other tasks.
+   *
+   * @param now the current time in milliseconds
+   * @return the expired tasks in no particular order
+   */
+  public List<Runnable> advance(long now) {
+    if (size == 0) {
+      // nothing to expire, catch up with the clock without visiting the buckets
+      tick = Math.max(tick, (now - startTime) / tickMillis);
+      return Collections.emptyList();
+    }
+    List<Runnable> expired = null;
+    while (size > 0 && nextTickTime() <= now) {
+      Entry entry = buckets[(int) (tick & mask)];
+      while (entry != null) {
+        Entry next = entry.next;
+        if (entry.rounds <= 0) {
+          remove(entry);
+          if (expired == null) {
+            expired = new ArrayList<>();
+          }
+          expired.add(entry.task);
+        } else {
+          entry.rounds--;
+        }
+        entry = next;
+      }
+      tick++;
+    }
+    if (size == 0) {
+      tick = Math.max(tick, (now - startTime) / tickMillis);
+    }
+    return expired == null ? Collections.<Runnable>emptyList() : expired;
+  }
+
+  /**
+   * @return the time in milliseconds the current tick ends at, the wheel should be advanced then
+   */
+  public long nextTickTime() {
+    return startTime + (tick + 1) * tickMillis;
+  }
+
+  /**
+   * @return the duration of a tick in milliseconds
+   */
+  public long getTickMillis() {
+    return tickMillis;
+  }
+
+  /**
+   * @return the number of pending tasks
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return true if there are no pending tasks
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /** A task pending in the wheel. */
+  public static final class Entry {
+    private final Runnable task;
+    private final long deadline;
+    private long rounds;
+    private int bucket = -1;
+    private Entry prev;
+    private Entry next;
+
+    private Entry(Runnable task, long deadline, long rounds) {
+      this.task = task;
+      this.deadline = deadline;
+      this.rounds = rounds;
+    }
+
+    /**
+     * @return the time in milliseconds the task is due at
+     */
+    public long getDeadline() {
+      return deadline;
+    }
+
+    /**
+     * @return true if the task is still pending in the wheel
+     */
+    public boolean isPending() {
+      return bucket >= 0;
+    }
+  }
+}
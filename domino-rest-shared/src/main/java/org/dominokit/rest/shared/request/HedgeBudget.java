@@ -0,0 +1,84 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+/**
+ * Caps the number of hedged requests relative to the number of hedge-eligible requests so
+ * hedging cannot multiply the load when a backend is slow for everyone.
+ *
+ * <p>Every hedge-eligible request deposits {@code ratio} tokens up to {@code maxTokens}, and every
+ * hedge consumes a whole token. With a ratio of 0.1 at most one request out of ten is hedged in
+ * the long run, while {@code maxTokens} allows short bursts.
+ */
+public class HedgeBudget {
+
+  private final double ratio;
+  private final double maxTokens;
+  private double tokens;
+  private long hedges;
+
+  /**
+   * Creates a new budget, the budget starts full.
+   *
+   * @param ratio the tokens deposited by each hedge-eligible request
+   * @param maxTokens the maximum number of tokens that can be accumulated
+   */
+  public HedgeBudget(double ratio, int maxTokens) {
+    this.ratio = Math.max(ratio, 0);
+    this.maxTokens = Math.max(maxTokens, 0);
+    this.tokens = this.maxTokens;
+  }
+
+  /**
+   * @return a budget allowing hedging at most 10% of the requests with bursts of 10 hedges
+   */
+  public static HedgeBudget defaultBudget() {
+    return new HedgeBudget(0.1, 10);
+  }
+
+  /**
+   * @return a budget that never allows hedging
+   */
+  public static HedgeBudget none() {
+    return new HedgeBudget(0, 0);
+  }
+
+  /** Deposits the tokens of a new hedge-eligible request. */
+  public synchronized void onRequest() {
+    tokens = Math.min(maxTokens, tokens + ratio);
+  }
+
+  /**
+   * Consumes a token for a new hedge.
+   *
+   * @return true if the hedge can be sent, false if the budget is exhausted
+   */
+  public synchronized boolean tryAcquire() {
+    if (tokens < 1) {
+      return false;
+    }
+    tokens -= 1;
+    hedges++;
+    return true;
+  }
+
+  /**
+   * @return the number of hedges allowed by this budget so far
+   */
+  public synchronized long getHedgeCount() {
+    return hedges;
+  }
+}
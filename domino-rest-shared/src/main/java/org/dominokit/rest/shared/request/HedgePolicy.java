@@ -0,0 +1,128 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+/**
+ * Describes how a request is hedged: after a delay without a response a duplicate request is sent
+ * to the same or an alternate origin, the first response wins and the other request is aborted.
+ *
+ * <p>Hedging only applies to idempotent methods ({@code GET}, {@code HEAD}, {@code OPTIONS},
+ * {@code PUT} and {@code DELETE}) that do not download to a file, and every hedge consumes a token
+ * from the {@link HedgeBudget} configured in {@link RestConfig#getHedgeBudget()}.
+ *
+ * @see org.dominokit.rest.shared.request.service.annotations.Hedge
+ */
+public class HedgePolicy {
+
+  private int delay = -1;
+  private int fallbackDelay = 100;
+  private String alternateOrigin;
+
+  /**
+   * @param delay the delay in milliseconds before sending the hedge
+   * @return a new policy with a fixed delay
+   */
+  public static HedgePolicy fixed(int delay) {
+    return new HedgePolicy().setDelay(delay);
+  }
+
+  /**
+   * @return a new policy delaying the hedge by the observed 95th percentile latency of the request
+   */
+  public static HedgePolicy adaptive() {
+    return new HedgePolicy();
+  }
+
+  /**
+   * @return the delay in milliseconds before sending the hedge, negative to use the observed 95th
+   *     percentile latency
+   */
+  public int getDelay() {
+    return delay;
+  }
+
+  /**
+   * @param delay the delay in milliseconds before sending the hedge, negative to use the observed
+   *     95th percentile latency
+   * @return same instance to support builder pattern
+   */
+  public HedgePolicy setDelay(int delay) {
+    this.delay = delay;
+    return this;
+  }
+
+  /**
+   * @return true if the delay is the observed 95th percentile latency
+   */
+  public boolean isAdaptive() {
+    return delay < 0;
+  }
+
+  /**
+   * @return the delay used by an adaptive policy until enough latencies have been observed
+   */
+  public int getFallbackDelay() {
+    return fallbackDelay;
+  }
+
+  /**
+   * @param fallbackDelay the delay used by an adaptive policy until enough latencies have been
+   *     observed
+   * @return same instance to support builder pattern
+   */
+  public HedgePolicy setFallbackDelay(int fallbackDelay) {
+    this.fallbackDelay = Math.max(fallbackDelay, 0);
+    return this;
+  }
+
+  /**
+   * @return the scheme, host and port the hedge is sent to, null to use the origin of the request
+   */
+  public String getAlternateOrigin() {
+    return alternateOrigin;
+  }
+
+  /**
+   * @param alternateOrigin the scheme, host and port the hedge is sent to, e.g. {@code
+   *     http://replica:8080}, null or empty to use the origin of the request
+   * @return same instance to support builder pattern
+   */
+  public HedgePolicy setAlternateOrigin(String alternateOrigin) {
+    this.alternateOrigin =
+        (alternateOrigin == null || alternateOrigin.isEmpty()) ? null : alternateOrigin;
+    return this;
+  }
+
+  /**
+   * Computes the url of the hedge by replacing the origin of the request url with the alternate
+   * origin if one is set.
+   *
+   * @param url the request url
+   * @return the hedge url
+   */
+  public String hedgeUrl(String url) {
+    int schemeEnd = url.indexOf("://");
+    if (alternateOrigin == null || schemeEnd < 0) {
+      return url;
+    }
+    int pathStart = url.indexOf('/', schemeEnd + 3);
+    String rest = pathStart < 0 ? "" : url.substring(pathStart);
+    if (alternateOrigin.endsWith("/") && rest.startsWith("/")) {
+      return alternateOrigin + rest.substring(1);
+    }
+    return alternateOrigin + rest;
+  }
+}
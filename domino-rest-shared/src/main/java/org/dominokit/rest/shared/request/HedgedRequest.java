@@ -0,0 +1,172 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+import static java.util.Objects.nonNull;
+
+import org.dominokit.rest.shared.RestfulRequest;
+
+/**
+ * Sends a request with a {@link HedgePolicy}: a second attempt is sent if the first one did not
+ * respond within the hedge delay, the first response wins and the other attempt is aborted.
+ *
+ * <p>A transport error of one attempt is ignored while the other attempt is still in flight, the
+ * error of the last attempt goes through the regular error handling including retries.
+ *
+ * @param <R> the request type
+ * @param <S> the response type
+ */
+class HedgedRequest<R, S> {
+
+  private final RequestSender<R, S> sender;
+  private final ServerRequest<R, S> request;
+  private final ServerRequestCallBack callBack;
+  private final HedgePolicy policy;
+  private final RestConfig config;
+  private final LatencyTracker latencyTracker;
+  private final int[] retriesCounter = new int[] {0};
+
+  private RestfulRequest primary;
+  private RestfulRequest hedge;
+  private RequestTimer.Timeout hedgeTimeout;
+  private int pending;
+  private boolean completed;
+  private boolean failed;
+
+  HedgedRequest(
+      RequestSender<R, S> sender, ServerRequest<R, S> request, ServerRequestCallBack callBack) {
+    this.sender = sender;
+    this.request = request;
+    this.callBack = callBack;
+    this.policy = request.getHedgePolicy().get();
+    this.config = request.getRequestContext().getConfig();
+    this.latencyTracker =
+        nonNull(request.getDescriptor())
+            ? config.getLatencyTrackers().of(request.getDescriptor())
+            : config.getLatencyTrackers().of(request.getMeta());
+  }
+
+  /**
+   * Sends the first attempt and schedules the hedge.
+   *
+   * @param primary the first attempt
+   */
+  void send(RestfulRequest primary) {
+    this.primary = primary;
+    config.getHedgeBudget().onRequest();
+    request.setAttemptsAbort(this::abort);
+    long delay =
+        policy.isAdaptive()
+            ? latencyTracker.percentile(95, policy.getFallbackDelay())
+            : policy.getDelay();
+    hedgeTimeout =
+        config
+            .getRequestTimer()
+            .schedule(() -> config.asyncRunner().runAsync(this::sendHedge), delay);
+    attempt(primary);
+  }
+
+  private void sendHedge() {
+    RestfulRequest restfulRequest;
+    synchronized (this) {
+      if (completed
+          || failed
+          || request.isAborted()
+          || request.isDeadlineExceeded()
+          || !config.getHedgeBudget().tryAcquire()) {
+        return;
+      }
+      restfulRequest =
+          config
+              .getRequestFactory()
+              .request(policy.hedgeUrl(request.getUrl()), request.getHttpMethod().toUpperCase());
+      hedge = restfulRequest;
+    }
+    attempt(restfulRequest);
+  }
+
+  private void attempt(RestfulRequest restfulRequest) {
+    AsyncRunner callbackRunner = config.callbackRunner();
+    long start = System.currentTimeMillis();
+    synchronized (this) {
+      pending++;
+    }
+    restfulRequest
+        .putHeaders(request.headers())
+        .onSuccess(
+            response -> {
+              if (win(restfulRequest)) {
+                latencyTracker.record(System.currentTimeMillis() - start);
+                callbackRunner.runAsync(() -> sender.handleResponse(request, callBack, response));
+              }
+            })
+        .onError(
+            throwable -> {
+              if (isLastAttempt()) {
+                callbackRunner.runAsync(
+                    () ->
+                        sender.handleError(
+                            request, callBack, retriesCounter, restfulRequest, throwable));
+              }
+            });
+    sender.prepare(request, restfulRequest);
+    sender.sendAttempt(request, callBack, restfulRequest);
+  }
+
+  private boolean win(RestfulRequest winner) {
+    RestfulRequest loser;
+    synchronized (this) {
+      if (completed) {
+        return false;
+      }
+      completed = true;
+      loser = winner == primary ? hedge : primary;
+    }
+    cancelHedge();
+    if (nonNull(loser)) {
+      loser.abort();
+    }
+    return true;
+  }
+
+  private synchronized boolean isLastAttempt() {
+    pending--;
+    if (completed || pending > 0) {
+      return false;
+    }
+    failed = true;
+    cancelHedge();
+    return true;
+  }
+
+  private void abort() {
+    RestfulRequest other;
+    synchronized (this) {
+      completed = true;
+      other = hedge;
+    }
+    cancelHedge();
+    if (nonNull(other)) {
+      other.abort();
+    }
+  }
+
+  private void cancelHedge() {
+    if (nonNull(hedgeTimeout)) {
+      hedgeTimeout.cancel();
+    }
+  }
+}
@@ -19,13 +19,13 @@ import static java.util.Objects.requireNonNull;
 
 import java.util.*;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 /**
  * Immutable wrapper around a ServerRequest that provides read-only access to the request
  * properties. This class implements IServerRequest and delegates all method calls to the wrapped
  * ServerRequest instance, ensuring that all returned collections and arrays are immutable or
- * defensive copies.
+ * defensive copies. The parameter maps are read only views of the wrapped request, they cost
+ * nothing to obtain and reflect its later changes.
  *
  * @param <R> the request type
  * @param <S> the response type
@@ -87,7 +87,7 @@ public class ImmutableServerRequest<R, S> implements IServerRequest<R, S> {
    */
   @Override
   public Map<String, String> headers() {
-    return Collections.unmodifiableMap(delegate.headers());
+    return delegate.headersView();
   }
 
   /**
@@ -97,7 +97,7 @@ public class ImmutableServerRequest<R, S> implements IServerRequest<R, S> {
    */
   @Override
   public Map<String, List<String>> queryParameters() {
-    return toUnmodifiableMapOfLists(delegate.queryParameters());
+    return delegate.queryParametersView();
   }
 
   /**
@@ -107,7 +107,7 @@ public class ImmutableServerRequest<R, S> implements IServerRequest<R, S> {
    */
   @Override
   public Map<String, String> pathParameters() {
-    return Collections.unmodifiableMap(delegate.pathParameters());
+    return delegate.pathParametersView();
   }
 
   /**
@@ -117,7 +117,7 @@ public class ImmutableServerRequest<R, S> implements IServerRequest<R, S> {
    */
   @Override
   public Map<String, List<String>> matrixParameters() {
-    return toUnmodifiableMapOfLists(delegate.matrixParameters());
+    return delegate.matrixParametersView();
   }
 
   /**
@@ -127,7 +127,7 @@ public class ImmutableServerRequest<R, S> implements IServerRequest<R, S> {
    */
   @Override
   public Map<String, String> fragmentParameters() {
-    return Collections.unmodifiableMap(delegate.fragmentParameters());
+    return delegate.fragmentParametersView();
   }
 
   /** {@inheritDoc} */
@@ -143,7 +143,7 @@ public class ImmutableServerRequest<R, S> implements IServerRequest<R, S> {
    */
   @Override
   public Map<String, MetaParam> getMetaParameters() {
-    return Collections.unmodifiableMap(delegate.getMetaParameters());
+    return delegate.metaParametersView();
   }
 
   /**
@@ -153,7 +153,7 @@ public class ImmutableServerRequest<R, S> implements IServerRequest<R, S> {
    */
   @Override
   public Map<String, List<String>> getRequestParameters() {
-    return toUnmodifiableMapOfLists(delegate.getRequestParameters());
+    return Collections.unmodifiableMap(delegate.getRequestParameters());
   }
 
   /** {@inheritDoc} */
@@ -284,18 +284,6 @@ public class ImmutableServerRequest<R, S> implements IServerRequest<R, S> {
    * @param map the map to convert
    * @return an unmodifiable map with unmodifiable lists
    */
-  private static <K, V> Map<K, List<V>> toUnmodifiableMapOfLists(Map<K, List<V>> map) {
-    if (map == null || map.isEmpty()) {
-      return Collections.emptyMap();
-    }
-    return Collections.unmodifiableMap(
-        map.entrySet().stream()
-            .collect(
-                Collectors.toMap(
-                    Map.Entry::getKey,
-                    entry -> Collections.unmodifiableList(new ArrayList<>(entry.getValue())))));
-  }
-
   @Override
   public String toString() {
     return "ImmutableServerRequest{" + delegate.toString() + "}";
@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+/**
+ * Keeps a window of the most recent latencies of a request method to compute percentiles, used by
+ * adaptive {@link HedgePolicy hedging}.
+ *
+ * <p>The window is kept sorted as the latencies are recorded, so reading a percentile does not
+ * copy or sort anything.
+ *
+ * @see LatencyTrackers
+ */
+public class LatencyTracker {
+
+  private static final int WINDOW = 256;
+  private static final int MIN_SAMPLES = 20;
+
+  // the latencies in the order they were recorded, to know which one leaves the window
+  private final long[] samples = new long[WINDOW];
+  private final long[] sorted = new long[WINDOW];
+  private int count;
+  private int next;
+
+  /**
+   * Records a latency, the oldest latency is dropped once the window is full.
+   *
+   * @param millis the latency in milliseconds
+   */
+  public synchronized void record(long millis) {
+    if (count == WINDOW) {
+      int oldest = indexOf(samples[next]);
+      System.arraycopy(sorted, oldest + 1, sorted, oldest, count - oldest - 1);
+      count--;
+    }
+    samples[next] = millis;
+    next = (next + 1) % WINDOW;
+    int index = indexOf(millis);
+    System.arraycopy(sorted, index, sorted, index + 1, count - index);
+    sorted[index] = millis;
+    count++;
+  }
+
+  /**
+   * @return the index of the first latency of the window not lower than the specified one
+   */
+  private int indexOf(long millis) {
+    int low = 0;
+    int high = count;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (sorted[middle] < millis) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * @param percentile the percentile between 1 and 100
+   * @param fallback the value to return when too few latencies were recorded
+   * @return the latency at the specified percentile of the window
+   */
+  public synchronized long percentile(int percentile, long fallback) {
+    if (count < MIN_SAMPLES) {
+      return fallback;
+    }
+    int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+    return sorted[Math.max(0, Math.min(index, count - 1))];
+  }
+
+  /**
+   * @return the number of latencies in the window
+   */
+  public synchronized int size() {
+    return count;
+  }
+
+  /** Drops all recorded latencies. */
+  public synchronized void reset() {
+    count = 0;
+    next = 0;
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+import static java.util.Objects.isNull;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The {@link LatencyTracker}s of the service methods sent with a configuration, every configuration
+ * keeps its own latencies.
+ *
+ * <p>The requests created from a {@link RequestDescriptor} share the tracker of their descriptor,
+ * found by identity without building a key. Looking a tracker up takes no lock, the trackers are
+ * replaced as a whole the first time a method is seen.
+ *
+ * @see RestConfig#getLatencyTrackers()
+ */
+public class LatencyTrackers {
+
+  private volatile Map<Object, LatencyTracker> trackers = Collections.emptyMap();
+
+  /**
+   * @param descriptor the descriptor of the service method
+   * @return the tracker of the service method
+   */
+  public LatencyTracker of(RequestDescriptor descriptor) {
+    return get(descriptor);
+  }
+
+  /**
+   * @param requestMeta the request meta
+   * @return the tracker of the service method of the request
+   */
+  public LatencyTracker of(RequestMeta requestMeta) {
+    return get(new MethodKey(requestMeta.getServiceClass(), requestMeta.getMethodName()));
+  }
+
+  private LatencyTracker get(Object key) {
+    LatencyTracker tracker = trackers.get(key);
+    return isNull(tracker) ? add(key) : tracker;
+  }
+
+  private synchronized LatencyTracker add(Object key) {
+    LatencyTracker tracker = trackers.get(key);
+    if (isNull(tracker)) {
+      Map<Object, LatencyTracker> added = new HashMap<>(trackers);
+      tracker = new LatencyTracker();
+      added.put(key, tracker);
+      trackers = added;
+    }
+    return tracker;
+  }
+
+  /** Identifies the service method of a request that was not created from a descriptor. */
+  private static final class MethodKey {
+    private final Class<?> serviceClass;
+    private final String methodName;
+
+    private MethodKey(Class<?> serviceClass, String methodName) {
+      this.serviceClass = serviceClass;
+      this.methodName = methodName;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof MethodKey)) {
+        return false;
+      }
+      MethodKey other = (MethodKey) o;
+      return serviceClass.equals(other.serviceClass) && methodName.equals(other.methodName);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * serviceClass.hashCode() + methodName.hashCode();
+    }
+  }
+}
@@ -15,6 +15,8 @@
  */
 package org.dominokit.rest.shared.request;
 
+import static java.util.Objects.nonNull;
+
 /** An enum for configure the handling of null query parameters value */
 public enum NullQueryParamStrategy {
   /**
@@ -24,22 +26,7 @@ public enum NullQueryParamStrategy {
    *
    * <pre>param1=null</pre>
    */
-  NULL(
-      (request, name, type) -> {
-        switch (type.toLowerCase()) {
-          case "query":
-            request.addQueryParameter(name, "null");
-            break;
-          case "path":
-            request.setPathParameter(name, "null");
-            break;
-          case "matrix":
-            request.addMatrixParameter(name, "null");
-            break;
-          default:
-            request.addQueryParameter(name, "null");
-        }
-      }),
+  NULL("null"),
   /**
    * set the parameter value as empty
    *
@@ -47,29 +34,14 @@ public enum NullQueryParamStrategy {
    *
    * <pre>param1=</pre>
    */
-  EMPTY(
-      (request, name, type) -> {
-        switch (type.toLowerCase()) {
-          case "query":
-            request.addQueryParameter(name, "");
-            break;
-          case "path":
-            request.setPathParameter(name, "");
-            break;
-          case "matrix":
-            request.addMatrixParameter(name, "");
-            break;
-          default:
-            request.addQueryParameter(name, "");
-        }
-      }),
+  EMPTY(""),
   /** Omit the parameter from the request query string */
-  OMIT((request, name, type) -> {});
+  OMIT(null);
 
-  private final ParamValueSetter paramValueSetter;
+  private final String nullValue;
 
-  NullQueryParamStrategy(ParamValueSetter paramValueSetter) {
-    this.paramValueSetter = paramValueSetter;
+  NullQueryParamStrategy(String nullValue) {
+    this.nullValue = nullValue;
   }
 
   /**
@@ -80,10 +52,19 @@ public enum NullQueryParamStrategy {
    * @param type String type of the parameter (query, path, matrix)
    */
   public void setNullValue(ServerRequest<?, ?> request, String name, String type) {
-    paramValueSetter.setParameter(request, name, type);
+    setNullValue(request, name, ParamKind.of(type));
   }
 
-  private interface ParamValueSetter {
-    void setParameter(ServerRequest<?, ?> request, String name, String type);
+  /**
+   * Sets a null param value in the provided request
+   *
+   * @param request {@link ServerRequest}
+   * @param name String name of the parameter
+   * @param kind the {@link ParamKind} of the parameter
+   */
+  public void setNullValue(ServerRequest<?, ?> request, String name, ParamKind kind) {
+    if (nonNull(nullValue)) {
+      kind.setValue(request, name, nullValue);
+    }
   }
 }
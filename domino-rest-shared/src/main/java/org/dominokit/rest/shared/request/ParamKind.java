@@ -0,0 +1,98 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+import static java.util.Objects.isNull;
+
+import java.util.List;
+
+/**
+ * The kind of a request parameter, tells where its value is set in the request. The generated
+ * requests refer to the kinds directly so setting a parameter does not need to look up its kind by
+ * name.
+ */
+public enum ParamKind {
+  /** A query parameter, values are added to the existing values of the parameter */
+  QUERY(
+      (request, name, value) -> request.addQueryParameter(name, value),
+      (request, name, values) -> request.addQueryParameterValues(name, values)),
+  /** A path parameter, the last value set wins */
+  PATH(
+      (request, name, value) -> request.setPathParameter(name, value),
+      (request, name, values) -> request.setPathParameter(name, values.get(values.size() - 1))),
+  /** A matrix parameter, values are added to the existing values of the parameter */
+  MATRIX(
+      (request, name, value) -> request.addMatrixParameter(name, value),
+      (request, name, values) -> request.addMatrixParameter(name, values));
+
+  private final ValueSetter valueSetter;
+  private final ValuesSetter valuesSetter;
+
+  ParamKind(ValueSetter valueSetter, ValuesSetter valuesSetter) {
+    this.valueSetter = valueSetter;
+    this.valuesSetter = valuesSetter;
+  }
+
+  /**
+   * Sets a parameter value in the provided request
+   *
+   * @param request {@link ServerRequest}
+   * @param name String name of the parameter
+   * @param value String value of the parameter
+   */
+  public void setValue(ServerRequest<?, ?> request, String name, String value) {
+    valueSetter.setValue(request, name, value);
+  }
+
+  /**
+   * Sets all the values of a parameter in the provided request at once
+   *
+   * @param request {@link ServerRequest}
+   * @param name String name of the parameter
+   * @param values the values of the parameter, must not be empty
+   */
+  public void setValues(ServerRequest<?, ?> request, String name, List<String> values) {
+    valuesSetter.setValues(request, name, values);
+  }
+
+  /**
+   * Resolves the kind of a parameter from its type name, kept for requests generated with the type
+   * names.
+   *
+   * @param type String type of the parameter (query, path, matrix), case insensitive
+   * @return the matching kind, {@link #QUERY} for unknown types
+   */
+  public static ParamKind of(String type) {
+    if (isNull(type)) {
+      return QUERY;
+    }
+    if ("path".equalsIgnoreCase(type)) {
+      return PATH;
+    }
+    if ("matrix".equalsIgnoreCase(type)) {
+      return MATRIX;
+    }
+    return QUERY;
+  }
+
+  private interface ValueSetter {
+    void setValue(ServerRequest<?, ?> request, String name, String value);
+  }
+
+  private interface ValuesSetter {
+    void setValues(ServerRequest<?, ?> request, String name, List<String> values);
+  }
+}
@@ -17,12 +17,231 @@ package org.dominokit.rest.shared.request;
 
 import static java.util.Objects.isNull;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.function.Supplier;
 
-/** A utility class to set query parameters for a request */
+/**
+ * A utility class to set query parameters for a request
+ *
+ * <p>The generated requests use the methods taking the values and a {@link ParamKind}, the methods
+ * taking a {@link Supplier} and a String type are kept for requests generated by earlier versions.
+ */
 public class ParameterSetter {
+
+  /**
+   * Sets a parameter, the {@link NullQueryParamStrategy} of the request is used if the value is
+   * null.
+   *
+   * @param request {@link ServerRequest} the target request for which we add the parameter
+   * @param name String name of the parameter
+   * @param value the parameter value, converted with {@link String#valueOf(Object)}
+   * @param kind the {@link ParamKind} of the parameter
+   */
+  public static void setParameter(
+      ServerRequest<?, ?> request, String name, Object value, ParamKind kind) {
+    setParameter(request, name, value, kind, null);
+  }
+
+  /**
+   * Sets a parameter using a null strategy resolved ahead of time.
+   *
+   * @param request {@link ServerRequest} the target request for which we add the parameter
+   * @param name String name of the parameter
+   * @param value the parameter value, converted with {@link String#valueOf(Object)}
+   * @param kind the {@link ParamKind} of the parameter
+   * @param nullStrategy the strategy used if the value is null, null for the strategy of the
+   *     request
+   */
+  public static void setParameter(
+      ServerRequest<?, ?> request,
+      String name,
+      Object value,
+      ParamKind kind,
+      NullQueryParamStrategy nullStrategy) {
+    if (isNull(value)) {
+      nullStrategy(request, nullStrategy).setNullValue(request, name, kind);
+    } else {
+      kind.setValue(request, name, String.valueOf(value));
+    }
+  }
+
+  /**
+   * Sets all the values of a collection parameter at once, the {@link NullQueryParamStrategy} of
+   * the request is used if the collection is null or empty.
+   *
+   * @param request {@link ServerRequest} the target request for which we add the parameter
+   * @param name String name of the parameter
+   * @param values the parameter values, each converted with {@link String#valueOf(Object)}
+   * @param kind the {@link ParamKind} of the parameter
+   */
+  public static void setCollectionParameter(
+      ServerRequest<?, ?> request, String name, Collection<?> values, ParamKind kind) {
+    setCollectionParameter(request, name, values, kind, null);
+  }
+
+  /**
+   * Sets all the values of a collection parameter at once using a null strategy resolved ahead of
+   * time.
+   *
+   * @param request {@link ServerRequest} the target request for which we add the parameter
+   * @param name String name of the parameter
+   * @param values the parameter values, each converted with {@link String#valueOf(Object)}
+   * @param kind the {@link ParamKind} of the parameter
+   * @param nullStrategy the strategy used if the collection is null or empty, null for the
+   *     strategy of the request
+   */
+  public static void setCollectionParameter(
+      ServerRequest<?, ?> request,
+      String name,
+      Collection<?> values,
+      ParamKind kind,
+      NullQueryParamStrategy nullStrategy) {
+    if (isNull(values) || values.isEmpty()) {
+      nullStrategy(request, nullStrategy).setNullValue(request, name, kind);
+    } else {
+      List<String> strings = new ArrayList<>(values.size());
+      for (Object value : values) {
+        strings.add(String.valueOf(value));
+      }
+      kind.setValues(request, name, strings);
+    }
+  }
+
+  /**
+   * Date parameter setter that formats the date using the {@link
+   * RestConfig#getDateParamFormatter()}
+   *
+   * @param request {@link ServerRequest} the target request for which we add the parameter
+   * @param name String name of the parameter
+   * @param value the {@link Date} value
+   * @param pattern String date format pattern
+   * @param kind the {@link ParamKind} of the parameter
+   */
+  public static void setDateParameter(
+      ServerRequest<?, ?> request, String name, Date value, String pattern, ParamKind kind) {
+    setDateParameter(request, name, value, pattern, kind, null);
+  }
+
+  /**
+   * Date parameter setter that formats the date using the {@link
+   * RestConfig#getDateParamFormatter()} and a null strategy resolved ahead of time.
+   *
+   * @param request {@link ServerRequest} the target request for which we add the parameter
+   * @param name String name of the parameter
+   * @param value the {@link Date} value
+   * @param pattern String date format pattern
+   * @param kind the {@link ParamKind} of the parameter
+   * @param nullStrategy the strategy used if the value is null, null for the strategy of the
+   *     request
+   */
+  public static void setDateParameter(
+      ServerRequest<?, ?> request,
+      String name,
+      Date value,
+      String pattern,
+      ParamKind kind,
+      NullQueryParamStrategy nullStrategy) {
+    if (isNull(value)) {
+      nullStrategy(request, nullStrategy).setNullValue(request, name, kind);
+    } else {
+      kind.setValue(
+          request,
+          name,
+          String.valueOf(format(request.getRequestContext().getConfig(), value, pattern)));
+    }
+  }
+
+  /**
+   * Date collection parameter setter that formats the dates using the {@link
+   * RestConfig#getDateParamFormatter()}
+   *
+   * @param request {@link ServerRequest} the target request for which we add the parameter
+   * @param name String name of the parameter
+   * @param values the {@link Date} values
+   * @param pattern String date format pattern
+   * @param kind the {@link ParamKind} of the parameter
+   */
+  public static void setDateCollectionParameter(
+      ServerRequest<?, ?> request,
+      String name,
+      Collection<? extends Date> values,
+      String pattern,
+      ParamKind kind) {
+    setDateCollectionParameter(request, name, values, pattern, kind, null);
+  }
+
+  /**
+   * Date collection parameter setter that formats the dates using the {@link
+   * RestConfig#getDateParamFormatter()} and a null strategy resolved ahead of time.
+   *
+   * @param request {@link ServerRequest} the target request for which we add the parameter
+   * @param name String name of the parameter
+   * @param values the {@link Date} values
+   * @param pattern String date format pattern
+   * @param kind the {@link ParamKind} of the parameter
+   * @param nullStrategy the strategy used if the collection or a date is null, null for the
+   *     strategy of the request
+   */
+  public static void setDateCollectionParameter(
+      ServerRequest<?, ?> request,
+      String name,
+      Collection<? extends Date> values,
+      String pattern,
+      ParamKind kind,
+      NullQueryParamStrategy nullStrategy) {
+    if (isNull(values) || values.isEmpty()) {
+      nullStrategy(request, nullStrategy).setNullValue(request, name, kind);
+    } else {
+      for (Date value : values) {
+        setDateParameter(request, name, value, pattern, kind, nullStrategy);
+      }
+    }
+  }
+
+  /**
+   * Formats a date parameter using the {@link RestConfig#getDateParamFormatter()}
+   *
+   * @param value the {@link Date} value
+   * @param pattern String date format pattern
+   * @return the formatted date, empty if the date is null
+   */
+  public static String formatDate(Date value, String pattern) {
+    if (isNull(value)) {
+      return "";
+    }
+    String formatted = format(DominoRestContext.make().getConfig(), value, pattern);
+    return isNull(formatted) ? "" : formatted;
+  }
+
+  /**
+   * Formats a date parameter using the {@link RestConfig#getDateParamFormatter()} of the request
+   * configuration
+   *
+   * @param request {@link ServerRequest} the request the parameter belongs to
+   * @param value the {@link Date} value
+   * @param pattern String date format pattern
+   * @return the formatted date, empty if the date is null
+   */
+  public static String formatDate(ServerRequest<?, ?> request, Date value, String pattern) {
+    if (isNull(value)) {
+      return "";
+    }
+    String formatted = format(request.getRequestContext().getConfig(), value, pattern);
+    return isNull(formatted) ? "" : formatted;
+  }
+
+  private static String format(RestConfig config, Date value, String pattern) {
+    return config.getDateParamFormatter().format(value, pattern);
+  }
+
+  private static NullQueryParamStrategy nullStrategy(
+      ServerRequest<?, ?> request, NullQueryParamStrategy nullStrategy) {
+    return isNull(nullStrategy) ? request.getNullParamStrategy() : nullStrategy;
+  }
+
   /**
    * General query parameters setter
    *
@@ -34,32 +253,7 @@ public class ParameterSetter {
    */
   public static <T> void setParameter(
       ServerRequest<?, ?> request, String name, Supplier<T> valueSupplier, String type) {
-    if (isNull(valueSupplier) || isNull(valueSupplier.get())) {
-      request.getNullParamStrategy().setNullValue(request, name, type);
-    } else {
-      setParam(request, name, valueSupplier, type);
-    }
-  }
-
-  private static <T> void setParam(ServerRequest<?, ?> request, String name, T value, String type) {
-    setParam(request, name, () -> value, type);
-  }
-
-  private static <T> void setParam(
-      ServerRequest<?, ?> request, String name, Supplier<T> valueSupplier, String type) {
-    switch (type.toLowerCase()) {
-      case "query":
-        request.addQueryParameter(name, String.valueOf(valueSupplier.get()));
-        break;
-      case "path":
-        request.setPathParameter(name, String.valueOf(valueSupplier.get()));
-        break;
-      case "matrix":
-        request.addMatrixParameter(name, String.valueOf(valueSupplier.get()));
-        break;
-      default:
-        request.addQueryParameter(name, String.valueOf(valueSupplier.get()));
-    }
+    setParameter(request, name, get(valueSupplier), ParamKind.of(type));
   }
 
   /**
@@ -73,11 +267,7 @@ public class ParameterSetter {
    */
   public static <T extends Collection<?>> void setCollectionParameter(
       ServerRequest<?, ?> request, String name, Supplier<T> valueSupplier, String type) {
-    if (isNull(valueSupplier) || isNull(valueSupplier.get()) || valueSupplier.get().isEmpty()) {
-      request.getNullParamStrategy().setNullValue(request, name, type);
-    } else {
-      valueSupplier.get().forEach(value -> setParam(request, name, () -> value, type));
-    }
+    setCollectionParameter(request, name, get(valueSupplier), ParamKind.of(type));
   }
 
   /**
@@ -96,18 +286,7 @@ public class ParameterSetter {
       Supplier<Date> valueSupplier,
       String pattern,
       String type) {
-    if (isNull(valueSupplier) || isNull(valueSupplier.get())) {
-      request.getNullParamStrategy().setNullValue(request, name, type);
-    } else {
-      setParam(
-          request,
-          name,
-          DominoRestContext.make()
-              .getConfig()
-              .getDateParamFormatter()
-              .format(valueSupplier.get(), pattern),
-          type);
-    }
+    setDateParameter(request, name, get(valueSupplier), pattern, ParamKind.of(type));
   }
 
   /**
@@ -126,14 +305,7 @@ public class ParameterSetter {
       Supplier<? extends Collection<Date>> valueSupplier,
       String pattern,
       String type) {
-    if (isNull(valueSupplier) || isNull(valueSupplier.get()) || valueSupplier.get().size() < 1) {
-      request.getNullParamStrategy().setNullValue(request, name, type);
-    } else {
-      valueSupplier
-          .get()
-          .forEach(
-              value -> ParameterSetter.setDateParameter(request, name, () -> value, pattern, type));
-    }
+    setDateCollectionParameter(request, name, get(valueSupplier), pattern, ParamKind.of(type));
   }
 
   /**
@@ -159,6 +331,10 @@ public class ParameterSetter {
    */
   public static void setPathParameter(
       ServerRequest<?, ?> request, String name, Supplier<Date> valueSupplier, String pattern) {
-    request.setPathParameter(name, request.formatDate(valueSupplier, pattern));
+    request.setPathParameter(name, formatDate(request, get(valueSupplier), pattern));
+  }
+
+  private static <T> T get(Supplier<T> supplier) {
+    return isNull(supplier) ? null : supplier.get();
   }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The immutable values of a multi valued request parameter, appending a value creates a new list
+ * so the lists can be shared between a request and the snapshots of its parameters.
+ */
+final class ParameterValues extends AbstractList<String> implements RandomAccess {
+
+  private final String[] values;
+
+  private ParameterValues(String[] values) {
+    this.values = values;
+  }
+
+  /**
+   * @param value the value
+   * @return a list holding the value
+   */
+  static List<String> of(String value) {
+    return Collections.singletonList(value);
+  }
+
+  /**
+   * @param values the values to copy
+   * @return an immutable copy of the values
+   */
+  static List<String> copyOf(Collection<String> values) {
+    if (values instanceof ParameterValues) {
+      return (ParameterValues) values;
+    }
+    switch (values.size()) {
+      case 0:
+        return Collections.emptyList();
+      case 1:
+        return of(values.iterator().next());
+      default:
+        return new ParameterValues(values.toArray(new String[0]));
+    }
+  }
+
+  /**
+   * @param current the current values, may be null
+   * @param value the value to append
+   * @return a new list with the current values followed by the value
+   */
+  static List<String> append(List<String> current, String value) {
+    if (current == null || current.isEmpty()) {
+      return of(value);
+    }
+    String[] values = current.toArray(new String[current.size() + 1]);
+    values[current.size()] = value;
+    return new ParameterValues(values);
+  }
+
+  /**
+   * @param current the current values, may be null
+   * @param appended the values to append
+   * @return a new list with the current values followed by the appended values
+   */
+  static List<String> appendAll(List<String> current, Collection<String> appended) {
+    if (current == null || current.isEmpty()) {
+      return copyOf(appended);
+    }
+    if (appended.isEmpty()) {
+      return current;
+    }
+    String[] values = current.toArray(new String[current.size() + appended.size()]);
+    int index = current.size();
+    for (String value : appended) {
+      values[index++] = value;
+    }
+    return new ParameterValues(values);
+  }
+
+  @Override
+  public String get(int index) {
+    return values[index];
+  }
+
+  @Override
+  public int size() {
+    return values.length;
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+/**
+ * A request attempt exceeded the timeout of one of its phases, see {@link PhaseTimeouts}. Like
+ * any {@link RequestTimeoutException} the attempt is retried if the request allows retries.
+ */
+public class PhaseTimeoutException extends RequestTimeoutException {
+
+  /** The phases of a request attempt. */
+  public enum Phase {
+    /** Establishing the connection. */
+    CONNECT,
+    /** Waiting for the response headers. */
+    FIRST_BYTE,
+    /** Waiting for the next chunk of the response body. */
+    IDLE,
+    /** The whole attempt. */
+    TOTAL
+  }
+
+  private final Phase phase;
+  private final int timeout;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param phase the phase that timed out
+   * @param timeout the timeout of the phase in milliseconds
+   */
+  public PhaseTimeoutException(Phase phase, int timeout) {
+    super("Request " + phase + " timeout of [" + timeout + "ms] exceeded");
+    this.phase = phase;
+    this.timeout = timeout;
+  }
+
+  /**
+   * @return the phase that timed out
+   */
+  public Phase getPhase() {
+    return phase;
+  }
+
+  /**
+   * @return the timeout of the phase in milliseconds
+   */
+  public int getTimeout() {
+    return timeout;
+  }
+}
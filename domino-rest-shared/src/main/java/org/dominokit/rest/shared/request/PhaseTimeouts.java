@@ -0,0 +1,154 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+/**
+ * Timeouts for the individual phases of a request attempt, all values are in milliseconds and a
+ * value of 0 or less means the phase is not limited.
+ *
+ * <ul>
+ *   <li>connect: establishing the connection, browsers do not expose this phase so it covers the
+ *       time until the response headers are received there
+ *   <li>first byte: from sending the request until the response headers are received
+ *   <li>idle: the maximum silence between two chunks of the response body
+ *   <li>total: the whole attempt, same as {@link ServerRequest#setTimeout(int)}
+ * </ul>
+ *
+ * <p>A slow but progressing download is only limited by the total timeout, while a dead connection
+ * fails as soon as the idle timeout elapses. Expired phases fail the attempt with a {@link
+ * PhaseTimeoutException}.
+ */
+public class PhaseTimeouts {
+
+  private int connect;
+  private int firstByte;
+  private int idle;
+  private int total;
+
+  /**
+   * @return the connect timeout
+   */
+  public int getConnect() {
+    return connect;
+  }
+
+  /**
+   * @param connect the connect timeout
+   * @return same instance to support builder pattern
+   */
+  public PhaseTimeouts setConnect(int connect) {
+    this.connect = Math.max(connect, 0);
+    return this;
+  }
+
+  /**
+   * @return the time to first byte timeout
+   */
+  public int getFirstByte() {
+    return firstByte;
+  }
+
+  /**
+   * @param firstByte the time to first byte timeout
+   * @return same instance to support builder pattern
+   */
+  public PhaseTimeouts setFirstByte(int firstByte) {
+    this.firstByte = Math.max(firstByte, 0);
+    return this;
+  }
+
+  /**
+   * @return the idle timeout between response body chunks
+   */
+  public int getIdle() {
+    return idle;
+  }
+
+  /**
+   * @param idle the idle timeout between response body chunks
+   * @return same instance to support builder pattern
+   */
+  public PhaseTimeouts setIdle(int idle) {
+    this.idle = Math.max(idle, 0);
+    return this;
+  }
+
+  /**
+   * @return the total attempt timeout
+   */
+  public int getTotal() {
+    return total;
+  }
+
+  /**
+   * @param total the total attempt timeout
+   * @return same instance to support builder pattern
+   */
+  public PhaseTimeouts setTotal(int total) {
+    this.total = Math.max(total, 0);
+    return this;
+  }
+
+  /**
+   * @return true if none of the phases is limited
+   */
+  public boolean isEmpty() {
+    return connect <= 0 && firstByte <= 0 && idle <= 0 && total <= 0;
+  }
+
+  /**
+   * Creates new timeouts using the values of this instance and falling back to the specified
+   * defaults for the phases this instance does not limit.
+   *
+   * @param defaults the default timeouts, can be null
+   * @return new timeouts
+   */
+  public PhaseTimeouts withDefaults(PhaseTimeouts defaults) {
+    if (defaults == null) {
+      return copy();
+    }
+    return new PhaseTimeouts()
+        .setConnect(connect > 0 ? connect : defaults.connect)
+        .setFirstByte(firstByte > 0 ? firstByte : defaults.firstByte)
+        .setIdle(idle > 0 ? idle : defaults.idle)
+        .setTotal(total > 0 ? total : defaults.total);
+  }
+
+  /**
+   * @return a copy of this instance
+   */
+  public PhaseTimeouts copy() {
+    return new PhaseTimeouts()
+        .setConnect(connect)
+        .setFirstByte(firstByte)
+        .setIdle(idle)
+        .setTotal(total);
+  }
+
+  @Override
+  public String toString() {
+    return "PhaseTimeouts{"
+        + "connect="
+        + connect
+        + ", firstByte="
+        + firstByte
+        + ", idle="
+        + idle
+        + ", total="
+        + total
+        + '}';
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+import static java.util.Objects.nonNull;
+
+import org.dominokit.rest.shared.request.PhaseTimeoutException.Phase;
+
+/**
+ * Enforces the {@link PhaseTimeouts} of a single request attempt using the shared {@link
+ * RequestTimer}, transports report the progress of the attempt and get notified once a phase
+ * expires.
+ *
+ * <p>The idle timeout does not reschedule a timer for every body chunk, chunks only record the
+ * time of the last activity and the idle check reschedules itself for the remaining silence.
+ */
+public class PhaseWatchdog {
+
+  private final RequestTimer timer;
+  private final int connect;
+  private final int firstByte;
+  private final int idle;
+  private final int total;
+  private final TimeoutHandler handler;
+
+  private RequestTimer.Timeout connectTimeout;
+  private RequestTimer.Timeout firstByteTimeout;
+  private RequestTimer.Timeout idleTimeout;
+  private RequestTimer.Timeout totalTimeout;
+  private volatile long lastActivity;
+  private boolean headersReceived;
+  private boolean finished;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param timeouts the phase timeouts, can be null
+   * @param timer the timer used to track the phases
+   * @param handler called once if a phase expires before the attempt is finished
+   */
+  public PhaseWatchdog(PhaseTimeouts timeouts, RequestTimer timer, TimeoutHandler handler) {
+    this.timer = timer;
+    this.handler = handler;
+    this.connect = nonNull(timeouts) ? timeouts.getConnect() : 0;
+    this.firstByte = nonNull(timeouts) ? timeouts.getFirstByte() : 0;
+    this.idle = nonNull(timeouts) ? timeouts.getIdle() : 0;
+    this.total = nonNull(timeouts) ? timeouts.getTotal() : 0;
+  }
+
+  /** Starts tracking the connect, first byte and total phases, called when the attempt is sent. */
+  public synchronized void start() {
+    if (connect > 0) {
+      connectTimeout = timer.schedule(() -> expire(Phase.CONNECT, connect), connect);
+    }
+    if (firstByte > 0) {
+      firstByteTimeout = timer.schedule(() -> expire(Phase.FIRST_BYTE, firstByte), firstByte);
+    }
+    if (total > 0) {
+      totalTimeout = timer.schedule(() -> expire(Phase.TOTAL, total), total);
+    }
+  }
+
+  /** Called when the connection is established, if the transport can observe it. */
+  public synchronized void onConnected() {
+    cancel(connectTimeout);
+  }
+
+  /**
+   * Called when the response headers are received, starts tracking the idle phase. Only the first
+   * call has an effect.
+   */
+  public synchronized void onHeaders() {
+    if (headersReceived) {
+      return;
+    }
+    headersReceived = true;
+    cancel(connectTimeout);
+    cancel(firstByteTimeout);
+    if (idle > 0 && !finished) {
+      lastActivity = System.currentTimeMillis();
+      idleTimeout = timer.schedule(this::checkIdle, idle);
+    }
+  }
+
+  /** Called for every chunk of the response body. */
+  public void onProgress() {
+    lastActivity = System.currentTimeMillis();
+  }
+
+  /**
+   * Stops tracking the phases, called when the attempt completes.
+   *
+   * @return true if the attempt was not already finished by this method or by an expired phase
+   */
+  public synchronized boolean finish() {
+    if (finished) {
+      return false;
+    }
+    finished = true;
+    cancel(connectTimeout);
+    cancel(firstByteTimeout);
+    cancel(idleTimeout);
+    cancel(totalTimeout);
+    return true;
+  }
+
+  private void checkIdle() {
+    long silence = System.currentTimeMillis() - lastActivity;
+    if (silence >= idle) {
+      expire(Phase.IDLE, idle);
+    } else {
+      synchronized (this) {
+        if (!finished) {
+          idleTimeout = timer.schedule(this::checkIdle, idle - silence);
+        }
+      }
+    }
+  }
+
+  private void expire(Phase phase, int timeout) {
+    if (finish()) {
+      handler.onTimeout(new PhaseTimeoutException(phase, timeout));
+    }
+  }
+
+  private static void cancel(RequestTimer.Timeout timeout) {
+    if (nonNull(timeout)) {
+      timeout.cancel();
+    }
+  }
+
+  /** Handler notified when a phase of the attempt expires. */
+  @FunctionalInterface
+  public interface TimeoutHandler {
+    /**
+     * @param error the timeout error describing the expired phase
+     */
+    void onTimeout(PhaseTimeoutException error);
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The parts of a request that are the same for every call of a service method: the {@link
+ * RequestMeta}, the http method, path, service root, the Accept and Content-type header values and
+ * the success codes.
+ *
+ * <p>The generated requests keep one descriptor per service method in a static field and pass it to
+ * {@link ServerRequest#ServerRequest(RequestDescriptor, Object)}, so creating a request does not
+ * rebuild any of these values. A descriptor is immutable and safe to share between threads, the
+ * values that change per request like the parameters are kept by the request itself.
+ */
+public final class RequestDescriptor {
+
+  private final RequestMeta meta;
+  private final String httpMethod;
+  private final String path;
+  private final String serviceRoot;
+  private final String acceptHeader;
+  private final String contentTypeHeader;
+  private final StatusCodes successCodes;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param meta the {@link RequestMeta} shared by all the requests of the method, it must not be
+   *     given to any request directly
+   * @param httpMethod the http method
+   * @param path the request path
+   * @param serviceRoot the service root, empty to use the configured service roots
+   * @param accept the Accept header values, null for no Accept header
+   * @param contentType the Content-type header values, null for no Content-type header
+   * @param successCodes the success codes, null for {@link StatusCodes#DEFAULT_SUCCESS}
+   */
+  public RequestDescriptor(
+      RequestMeta meta,
+      String httpMethod,
+      String path,
+      String serviceRoot,
+      String[] accept,
+      String[] contentType,
+      StatusCodes successCodes) {
+    this.meta = requireNonNull(meta);
+    this.httpMethod = requireNonNull(httpMethod).toUpperCase();
+    this.path = path;
+    this.serviceRoot = serviceRoot;
+    this.successCodes = isNull(successCodes) ? StatusCodes.DEFAULT_SUCCESS : successCodes;
+    meta.setProduce(accept);
+    meta.setConsume(contentType);
+    this.acceptHeader = nonNull(accept) ? String.join(", ", accept) : null;
+    this.contentTypeHeader = nonNull(contentType) ? String.join(", ", contentType) : null;
+  }
+
+  /**
+   * @return the {@link RequestMeta} shared by all the requests of the method
+   */
+  public RequestMeta getMeta() {
+    return meta;
+  }
+
+  /**
+   * @return the http method
+   */
+  public String getHttpMethod() {
+    return httpMethod;
+  }
+
+  /**
+   * @return the request path
+   */
+  public String getPath() {
+    return path;
+  }
+
+  /**
+   * @return the service root, empty to use the configured service roots
+   */
+  public String getServiceRoot() {
+    return serviceRoot;
+  }
+
+  /**
+   * @return the Accept header value, null if the requests have no Accept header
+   */
+  public String getAcceptHeader() {
+    return acceptHeader;
+  }
+
+  /**
+   * @return the Content-type header value, null if the requests have no Content-type header
+   */
+  public String getContentTypeHeader() {
+    return contentTypeHeader;
+  }
+
+  /**
+   * @return the success codes
+   */
+  public StatusCodes getSuccessCodes() {
+    return successCodes;
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+/**
+ * An exception used to complete asynchronous results of failed requests, it carries the {@link
+ * FailedResponseBean} of the failure.
+ */
+public class RequestFailedException extends RuntimeException {
+
+  private final FailedResponseBean failedResponse;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param failedResponse the failed response
+   */
+  public RequestFailedException(FailedResponseBean failedResponse) {
+    super(message(failedResponse), failedResponse.getThrowable());
+    this.failedResponse = failedResponse;
+  }
+
+  private static String message(FailedResponseBean failedResponse) {
+    if (failedResponse.getThrowable() != null) {
+      return "Request failed : " + failedResponse.getThrowable().getMessage();
+    }
+    return "Request failed with status [" + failedResponse.getStatusCode() + "]";
+  }
+
+  /**
+   * @return the failed response
+   */
+  public FailedResponseBean getFailedResponse() {
+    return failedResponse;
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import org.dominokit.rest.shared.GwtIncompatible;
+
+/**
+ * Controls when the requests of a generated {@link AsyncFacade#COMPLETION_STAGE} facade are sent,
+ * useful to send large batches of requests without flooding the server.
+ *
+ * @see AsyncFacade
+ */
+@GwtIncompatible
+@FunctionalInterface
+public interface RequestLimiter {
+
+  /**
+   * Sends the request when the limiter allows it.
+   *
+   * @param request sends the request and returns the stage of its response
+   * @param <S> the response type
+   * @return a stage that completes with the response of the request
+   */
+  <S> CompletionStage<S> execute(Supplier<? extends CompletionStage<S>> request);
+
+  /**
+   * @param maxConcurrentRequests the maximum number of requests in flight at the same time
+   * @return a limiter that queues requests once the maximum number of in flight requests is reached
+   */
+  static RequestLimiter maxConcurrent(int maxConcurrentRequests) {
+    return new ConcurrentRequestLimiter(maxConcurrentRequests);
+  }
+
+  /**
+   * @param executor the executor
+   * @return a limiter that prepares and sends each request from the specified executor
+   */
+  static RequestLimiter executor(Executor executor) {
+    return new ExecutorRequestLimiter(executor);
+  }
+}
@@ -42,6 +42,20 @@ public class RequestMeta {
     this.responseClass = responseClass;
   }
 
+  /**
+   * Creates a copy of this meta bound to the parameters of a single request.
+   *
+   * @param parametersProvider the parameters provider of the request
+   * @return the new meta
+   */
+  RequestMeta copyFor(RequestParametersProvider parametersProvider) {
+    RequestMeta copy = new RequestMeta(serviceClass, methodName, requestClass, responseClass);
+    copy.consume = consume;
+    copy.produce = produce;
+    copy.parametersProvider = parametersProvider;
+    return copy;
+  }
+
   /**
    * @return the service class
    */
@@ -50,13 +50,20 @@ public class RequestSender<R, S> implements RequestRestSender<R, S> {
 
   private static final Logger LOGGER = Logger.getLogger(RequestSender.class.getName());
 
+  private static final int PARTIAL_CONTENT = 206;
+
   private final List<String> SEND_BODY_METHODS = Arrays.asList("POST", "PUT", "PATCH");
+  private static final List<String> IDEMPOTENT_METHODS =
+      Arrays.asList("GET", "HEAD", "OPTIONS", "PUT", "DELETE");
+  private static final long MAX_RETRY_BACKOFF = 30000;
 
   /** {@inheritDoc} */
   @Override
   public void send(ServerRequest<R, S> request, ServerRequestCallBack callBack) {
-    List<RequestInterceptor> interceptors =
-        DominoRestContext.make().getConfig().getRequestInterceptors();
+    if (failIfDeadlineExceeded(request, callBack, "before the request interceptors")) {
+      return;
+    }
+    List<RequestInterceptor> interceptors = request.getConfigSnapshot().getRequestInterceptors();
 
     if (nonNull(interceptors) && !interceptors.isEmpty()) {
       List<InterceptorRequestWait> interceptorsWaitList =
@@ -72,44 +79,127 @@ public class RequestSender<R, S> implements RequestRestSender<R, S> {
   }
 
   private void onAfterInterception(ServerRequest<R, S> request, ServerRequestCallBack callBack) {
+    if (failIfDeadlineExceeded(request, callBack, "after the request interceptors")) {
+      return;
+    }
     final int[] retriesCounter = new int[] {0};
     request.normalizeUrl();
     RestfulRequest restfulRequest =
-        RestfulRequest.request(request.getUrl(), request.getHttpMethod().toUpperCase());
+        request
+            .getRequestContext()
+            .getConfig()
+            .getRequestFactory()
+            .request(request.getUrl(), request.getHttpMethod().toUpperCase());
     request.setHttpRequest(restfulRequest);
     if (!request.isAborted()) {
+      if (request.isFileDownload()) {
+        try {
+          restfulRequest.downloadTo(request.getFileDownload().get());
+        } catch (UnsupportedOperationException e) {
+          FailedResponseBean failedResponse = new FailedResponseBean(e);
+          onBeforeFailed(request, failedResponse);
+          callBack.onFailure(failedResponse);
+          return;
+        }
+      }
+      if (isHedged(request)) {
+        new HedgedRequest<>(this, request, callBack).send(restfulRequest);
+        return;
+      }
+      AsyncRunner callbackRunner = request.getRequestContext().getConfig().callbackRunner();
       restfulRequest
           .putHeaders(request.headers())
           .onSuccess(
-              response -> {
-                handleResponse(request, callBack, response);
-              })
+              response ->
+                  callbackRunner.runAsync(() -> handleResponse(request, callBack, response)))
           .onError(
-              throwable -> {
-                handleError(request, callBack, retriesCounter, restfulRequest, throwable);
-              });
+              throwable ->
+                  callbackRunner.runAsync(
+                      () ->
+                          handleError(
+                              request, callBack, retriesCounter, restfulRequest, throwable)));
 
-      if (nonNull(request.getResponseType())) {
-        restfulRequest.setResponseType(request.getResponseType());
-      }
+      prepare(request, restfulRequest);
+      sendAttempt(request, callBack, restfulRequest);
+    }
+  }
+
+  private boolean isHedged(ServerRequest<R, S> request) {
+    return request.getHedgePolicy().isPresent()
+        && !request.isFileDownload()
+        && IDEMPOTENT_METHODS.contains(request.getHttpMethod().toUpperCase());
+  }
+
+  void prepare(ServerRequest<R, S> request, RestfulRequest restfulRequest) {
+    restfulRequest.requestTimer(request.getRequestContext().getConfig().getRequestTimer());
+    if (nonNull(request.getResponseType())) {
+      restfulRequest.setResponseType(request.getResponseType());
+    }
+
+    setWithCredentials(request, restfulRequest);
+  }
+
+  /**
+   * Sends one attempt of the request, the attempt timeout is shrunk to the time left before the
+   * request deadline, and the request fails without sending if the deadline already passed.
+   */
+  void sendAttempt(
+      ServerRequest<R, S> request, ServerRequestCallBack callBack, RestfulRequest restfulRequest) {
+    if (failIfDeadlineExceeded(request, callBack, "before sending the request")) {
+      return;
+    }
+    setTimeout(request, restfulRequest);
+    setDeadlineHeader(request, restfulRequest);
+    doSendRequest(request, restfulRequest);
+  }
 
-      setTimeout(request, restfulRequest);
-      setWithCredentials(request, restfulRequest);
-      doSendRequest(request, restfulRequest);
+  private boolean failIfDeadlineExceeded(
+      ServerRequest<R, S> request, ServerRequestCallBack callBack, String stage) {
+    if (!request.isDeadlineExceeded()) {
+      return false;
     }
+    FailedResponseBean failedResponse =
+        new FailedResponseBean(new DeadlineExceededException(stage));
+    onBeforeFailed(request, failedResponse);
+    callBack.onFailure(failedResponse);
+    return true;
   }
 
-  private void handleError(
+  void handleError(
       ServerRequest<R, S> request,
       ServerRequestCallBack callBack,
       int[] retriesCounter,
       RestfulRequest restfulRequest,
       Throwable throwable) {
+    if (!(throwable instanceof DeadlineExceededException)
+        && failIfDeadlineExceeded(request, callBack, "while waiting for the response")) {
+      return;
+    }
     if (throwable instanceof RequestTimeoutException
+        && !(throwable instanceof DeadlineExceededException)
         && retriesCounter[0] < request.getMaxRetries()) {
       retriesCounter[0]++;
       LOGGER.info("Retrying request : " + retriesCounter[0]);
-      doSendRequest(request, restfulRequest);
+      long backoff = retryBackoff(request, retriesCounter[0]);
+      if (backoff > 0) {
+        RestConfig config = request.getRequestContext().getConfig();
+        // the resend is handed to the async runner, the timer only triggers it
+        config
+            .getRequestTimer()
+            .schedule(
+                () ->
+                    config
+                        .asyncRunner()
+                        .runAsync(
+                            () -> {
+                              if (!request.isAborted()) {
+                                sendAttempt(request, callBack, restfulRequest);
+                              }
+                            }),
+                backoff);
+      } else {
+        sendAttempt(request, callBack, restfulRequest);
+      }
     } else {
       FailedResponseBean failedResponse = new FailedResponseBean(throwable);
       LOGGER.log(Level.SEVERE, "Failed to execute request : ", failedResponse.getThrowable());
@@ -118,10 +208,25 @@ public class RequestSender<R, S> implements RequestRestSender<R, S> {
     }
   }
 
-  private void handleResponse(
+  /**
+   * Computes the delay before a retry, the backoff of the request doubles with every retry and
+   * never goes past the request deadline.
+   */
+  private long retryBackoff(ServerRequest<R, S> request, int retry) {
+    if (request.getRetryBackoff() <= 0) {
+      return 0;
+    }
+    long backoff =
+        Math.min((long) request.getRetryBackoff() << Math.min(retry - 1, 16), MAX_RETRY_BACKOFF);
+    return Math.min(backoff, request.getRemainingTime());
+  }
+
+  void handleResponse(
       ServerRequest<R, S> request, ServerRequestCallBack callBack, Response response) {
-    if (Arrays.stream(request.getSuccessCodes())
-        .anyMatch(code -> code.equals(response.getStatusCode()))) {
+    if (failIfDeadlineExceeded(request, callBack, "before reading the response")) {
+      return;
+    }
+    if (isSuccess(request, response)) {
       S result = readResponse(request, response);
       response.setBean(result);
       onBeforeSuccess(request, response);
@@ -133,6 +238,13 @@ public class RequestSender<R, S> implements RequestRestSender<R, S> {
     }
   }
 
+  private boolean isSuccess(ServerRequest<R, S> request, Response response) {
+    if (request.isFileDownload() && response.getStatusCode() == PARTIAL_CONTENT) {
+      return true;
+    }
+    return request.isSuccessCode(response.getStatusCode());
+  }
+
   private S readResponse(ServerRequest<R, S> request, Response response) {
     int statusCode = response.getStatusCode();
     if (statusCode == 204) {
@@ -144,16 +256,16 @@ public class RequestSender<R, S> implements RequestRestSender<R, S> {
   }
 
   private void onBeforeSuccess(ServerRequest<R, S> request, Response response) {
-    DominoRestContext.make()
-        .getConfig()
+    request
+        .getConfigSnapshot()
         .getResponseInterceptors()
         .forEach(
             responseInterceptor -> responseInterceptor.onBeforeSuccessCallback(request, response));
   }
 
   private void onBeforeFailed(ServerRequest<R, S> request, FailedResponseBean failedResponse) {
-    DominoRestContext.make()
-        .getConfig()
+    request
+        .getConfigSnapshot()
         .getResponseInterceptors()
         .forEach(
             responseInterceptor ->
@@ -161,8 +273,30 @@ public class RequestSender<R, S> implements RequestRestSender<R, S> {
   }
 
   private void setTimeout(ServerRequest<R, S> request, RestfulRequest restfulRequest) {
-    if (request.getTimeout() > 0) {
-      restfulRequest.timeout(request.getTimeout());
+    PhaseTimeouts defaults = request.getRequestContext().getConfig().getPhaseTimeouts();
+    PhaseTimeouts timeouts =
+        request.getPhaseTimeouts().map(t -> t.withDefaults(defaults)).orElse(defaults.copy());
+    int timeout = request.getTimeout();
+    if (timeouts.getTotal() > 0 && (timeout <= 0 || timeouts.getTotal() < timeout)) {
+      timeout = timeouts.getTotal();
+    }
+    long remaining = request.getRemainingTime();
+    if (remaining < Integer.MAX_VALUE && (timeout <= 0 || remaining < timeout)) {
+      timeout = (int) Math.max(1, remaining);
+    }
+    timeouts.setTotal(timeout);
+    if (!timeouts.isEmpty()) {
+      restfulRequest.phaseTimeouts(timeouts);
+    }
+    if (timeout > 0) {
+      restfulRequest.timeout(timeout);
+    }
+  }
+
+  private void setDeadlineHeader(ServerRequest<R, S> request, RestfulRequest restfulRequest) {
+    String header = request.getRequestContext().getConfig().getDeadlineHeader();
+    if (nonNull(header) && request.getDeadline() >= 0) {
+      restfulRequest.putHeader(header, String.valueOf(request.getRemainingTime()));
     }
   }
 
@@ -20,7 +20,9 @@ package org.dominokit.rest.shared.request;
  *
  * @param <C> the context of the state
  * @see RequestStateContext
+ * @deprecated requests track their state in {@link BaseRequest} and no longer use this interface
  */
+@Deprecated
 @FunctionalInterface
 public interface RequestState<C extends RequestStateContext> {
   /**
@@ -16,4 +16,17 @@
 package org.dominokit.rest.shared.request;
 
 /** An exception is thrown when the request timeout */
-public class RequestTimeoutException extends Throwable {}
+public class RequestTimeoutException extends Throwable {
+
+  /** Creates a new instance. */
+  public RequestTimeoutException() {}
+
+  /**
+   * Creates a new instance.
+   *
+   * @param message the detail message
+   */
+  public RequestTimeoutException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+/**
+ * A timer shared by all requests to run delayed tasks such as sending hedged requests.
+ *
+ * <p>Implementations are platform specific, see {@link RestConfig#getRequestTimer()}.
+ */
+public interface RequestTimer {
+
+  /**
+   * Schedules a task to run once after the specified delay.
+   *
+   * @param task the task to run
+   * @param delayMillis the delay in milliseconds
+   * @return a handle to cancel the task
+   */
+  Timeout schedule(Runnable task, long delayMillis);
+
+  /** A handle of a scheduled task. */
+  @FunctionalInterface
+  interface Timeout {
+    /** Cancels the task, does nothing if the task already ran or was cancelled. */
+    void cancel();
+  }
+}
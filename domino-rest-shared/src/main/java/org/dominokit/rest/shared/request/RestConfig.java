@@ -18,6 +18,8 @@ package org.dominokit.rest.shared.request;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import org.dominokit.rest.RestfulRequestFactory;
+import org.dominokit.rest.RestfullRequestContext;
 import org.dominokit.rest.shared.regex.RegexEngine;
 import org.dominokit.rest.shared.request.service.annotations.DateFormat;
 
@@ -47,7 +49,7 @@ public interface RestConfig {
   String getDefaultJsonDateFormat();
 
   /**
-   * @return A list of the dynamic service roots configured
+   * @return A read only list of the dynamic service roots configured
    * @see DynamicServiceRoot
    */
   List<DynamicServiceRoot> getServiceRoots();
@@ -79,6 +81,19 @@ public interface RestConfig {
    */
   RestConfig addDynamicServiceRoot(DynamicServiceRoot dynamicServiceRoot);
 
+  /**
+   * Removes a dynamic service root
+   *
+   * @param dynamicServiceRoot the service root to remove
+   * @return same instance to support builder pattern
+   * @throws UnsupportedOperationException by the default implementation, the configuration does
+   *     not support removing service roots
+   * @see DynamicServiceRoot
+   */
+  default RestConfig removeDynamicServiceRoot(DynamicServiceRoot dynamicServiceRoot) {
+    throw RestConfigDefaults.unsupported(this, "removeDynamicServiceRoot");
+  }
+
   /**
    * Adds new request interceptor
    *
@@ -98,7 +113,7 @@ public interface RestConfig {
   RestConfig removeRequestInterceptor(RequestInterceptor interceptor);
 
   /**
-   * @return all request interceptors configured
+   * @return a read only list of all request interceptors configured
    * @see RequestInterceptor
    */
   List<RequestInterceptor> getRequestInterceptors();
@@ -122,7 +137,7 @@ public interface RestConfig {
   RestConfig removeResponseInterceptor(ResponseInterceptor responseInterceptor);
 
   /**
-   * @return all response interceptors configured
+   * @return a read only list of all response interceptors configured
    * @see ResponseInterceptor
    */
   List<ResponseInterceptor> getResponseInterceptors();
@@ -153,6 +168,142 @@ public interface RestConfig {
    */
   AsyncRunner asyncRunner();
 
+  /**
+   * Sets the runner used to prepare the requests, it runs the request interceptors, the url
+   * normalization and the request body serialization.
+   *
+   * @param asyncRunner the runner, null to restore the default
+   * @return same instance to support builder pattern
+   * @throws UnsupportedOperationException by the default implementation, the configuration does
+   *     not support changing its runners
+   * @see AsyncRunner
+   */
+  default RestConfig setAsyncRunner(AsyncRunner asyncRunner) {
+    throw RestConfigDefaults.unsupported(this, "setAsyncRunner");
+  }
+
+  /**
+   * @return the runner used to read the responses and dispatch the success and fail callbacks,
+   *     {@link AsyncRunner#direct()} by default
+   * @see AsyncRunner
+   */
+  default AsyncRunner callbackRunner() {
+    return AsyncRunner.direct();
+  }
+
+  /**
+   * Sets the runner used to read the responses and dispatch the success and fail callbacks, this
+   * keeps slow response parsing and user callbacks away from the transport threads.
+   *
+   * @param callbackRunner the runner, null to restore the default
+   * @return same instance to support builder pattern
+   * @throws UnsupportedOperationException by the default implementation, the configuration does
+   *     not support changing its runners
+   * @see AsyncRunner
+   */
+  default RestConfig setCallbackRunner(AsyncRunner callbackRunner) {
+    throw RestConfigDefaults.unsupported(this, "setCallbackRunner");
+  }
+
+  /**
+   * @return the timer shared by all requests to run delayed tasks, the timer of the platform by
+   *     default
+   * @see RequestTimer
+   */
+  default RequestTimer getRequestTimer() {
+    return RestfullRequestContext.getRequestTimer();
+  }
+
+  /**
+   * Sets the timer shared by all requests to run delayed tasks
+   *
+   * @param requestTimer the timer, null to restore the default
+   * @return same instance to support builder pattern
+   * @throws UnsupportedOperationException by the default implementation, the configuration does
+   *     not support changing its timer
+   */
+  default RestConfig setRequestTimer(RequestTimer requestTimer) {
+    throw RestConfigDefaults.unsupported(this, "setRequestTimer");
+  }
+
+  /**
+   * @return the budget capping the number of hedged requests, by default a {@link
+   *     HedgeBudget#defaultBudget() default budget} shared by the configurations that do not keep
+   *     their own
+   * @see HedgeBudget
+   */
+  default HedgeBudget getHedgeBudget() {
+    return RestConfigDefaults.HEDGE_BUDGET;
+  }
+
+  /**
+   * Sets the budget capping the number of hedged requests
+   *
+   * @param hedgeBudget the budget, null to restore the default
+   * @return same instance to support builder pattern
+   * @throws UnsupportedOperationException by the default implementation, the configuration does
+   *     not support changing its hedge budget
+   * @see HedgePolicy
+   */
+  default RestConfig setHedgeBudget(HedgeBudget hedgeBudget) {
+    throw RestConfigDefaults.unsupported(this, "setHedgeBudget");
+  }
+
+  /**
+   * @return the latencies of the service methods sent with this configuration, used by adaptive
+   *     hedging, by default trackers shared by the configurations that do not keep their own
+   * @see HedgePolicy#adaptive()
+   */
+  default LatencyTrackers getLatencyTrackers() {
+    return RestConfigDefaults.LATENCY_TRACKERS;
+  }
+
+  /**
+   * @return the name of the header carrying the milliseconds left before the request deadline,
+   *     null if the header is not sent, which is the default
+   * @see ServerRequest#setDeadline(int)
+   */
+  default String getDeadlineHeader() {
+    return null;
+  }
+
+  /**
+   * Sends the milliseconds left before the deadline of a request in the specified header with
+   * every attempt, so servers can drop work the client will not wait for, e.g. {@code
+   * X-Request-Deadline}.
+   *
+   * @param deadlineHeader the header name, null to not send the header
+   * @return same instance to support builder pattern
+   * @throws UnsupportedOperationException by the default implementation, the configuration does
+   *     not support a deadline header
+   * @see ServerRequest#setDeadline(int)
+   */
+  default RestConfig setDeadlineHeader(String deadlineHeader) {
+    throw RestConfigDefaults.unsupported(this, "setDeadlineHeader");
+  }
+
+  /**
+   * @return the default phase timeouts applied to the phases a request does not limit itself, none
+   *     by default
+   * @see PhaseTimeouts
+   */
+  default PhaseTimeouts getPhaseTimeouts() {
+    return new PhaseTimeouts();
+  }
+
+  /**
+   * Sets the default phase timeouts applied to the phases a request does not limit itself
+   *
+   * @param phaseTimeouts the default phase timeouts, null to remove the defaults
+   * @return same instance to support builder pattern
+   * @throws UnsupportedOperationException by the default implementation, the configuration does
+   *     not support default phase timeouts
+   * @see PhaseTimeouts
+   */
+  default RestConfig setPhaseTimeouts(PhaseTimeouts phaseTimeouts) {
+    throw RestConfigDefaults.unsupported(this, "setPhaseTimeouts");
+  }
+
   /**
    * Sets the date parameter formatter, this formatter will be called to format any parameter
    * annotated with {@link DateFormat}
@@ -192,17 +343,17 @@ public interface RestConfig {
   RegexEngine getRegexEngine();
 
   /**
-   * @return a map of global path parameters
+   * @return a read only map of global path parameters
    */
   Map<String, String> getGlobalPathParameters();
 
   /**
-   * @return a map of global header parameters
+   * @return a read only map of global header parameters
    */
   Map<String, String> getGlobalHeaderParameters();
 
   /**
-   * @return a map of global query parameters
+   * @return a read only map of global query parameters
    */
   Map<String, List<String>> getGlobalQueryParameters();
 
@@ -274,6 +425,53 @@ public interface RestConfig {
    */
   RestConfig addGlobalQueryParameters(Map<String, List<String>> parameters);
 
+  /**
+   * Removes a global path parameter
+   *
+   * @param name the name of the parameter
+   * @return same instance
+   * @throws UnsupportedOperationException by the default implementation, the configuration does
+   *     not support removing global parameters
+   */
+  default RestConfig removeGlobalPathParameter(String name) {
+    throw RestConfigDefaults.unsupported(this, "removeGlobalPathParameter");
+  }
+
+  /**
+   * Removes a global header parameter
+   *
+   * @param name the name of the parameter
+   * @return same instance
+   * @throws UnsupportedOperationException by the default implementation, the configuration does
+   *     not support removing global parameters
+   */
+  default RestConfig removeGlobalHeaderParameter(String name) {
+    throw RestConfigDefaults.unsupported(this, "removeGlobalHeaderParameter");
+  }
+
+  /**
+   * Removes all the values of a global query parameter
+   *
+   * @param name the name of the parameter
+   * @return same instance
+   * @throws UnsupportedOperationException by the default implementation, the configuration does
+   *     not support removing global parameters
+   */
+  default RestConfig removeGlobalQueryParameter(String name) {
+    throw RestConfigDefaults.unsupported(this, "removeGlobalQueryParameter");
+  }
+
+  /**
+   * Removes all the global path, header and query parameters
+   *
+   * @return same instance
+   * @throws UnsupportedOperationException by the default implementation, the configuration does
+   *     not support removing global parameters
+   */
+  default RestConfig clearGlobalParameters() {
+    throw RestConfigDefaults.unsupported(this, "clearGlobalParameters");
+  }
+
   /**
    * Sets the regex validation mode
    *
@@ -287,6 +485,45 @@ public interface RestConfig {
    */
   RegexValidationMode getRegexValidationMode();
 
+  /**
+   * Sets how path, matrix, query and fragment values are encoded when they are put into the
+   * request url
+   *
+   * @param encodingMode the encoding mode, null for {@link EncodingMode#NONE}
+   * @return same instance
+   * @throws UnsupportedOperationException by the default implementation, the configuration does
+   *     not support changing its encoding mode
+   */
+  default RestConfig setEncodingMode(EncodingMode encodingMode) {
+    throw RestConfigDefaults.unsupported(this, "setEncodingMode");
+  }
+
+  /**
+   * @return the {@link EncodingMode}, {@link EncodingMode#NONE} by default
+   */
+  default EncodingMode getEncodingMode() {
+    return EncodingMode.NONE;
+  }
+
+  /**
+   * Requests capture the snapshot once when they are sent and read their interceptors, service
+   * roots and global parameters from it. The default implementation copies the current values,
+   * configurations shared between threads should keep a snapshot and swap it on every change.
+   *
+   * @return the current {@link RestConfigSnapshot}
+   */
+  default RestConfigSnapshot getSnapshot() {
+    return RestConfigSnapshot.of(this);
+  }
+
+  /**
+   * @return the {@link RestfulRequestFactory} creating the HTTP requests sent with this
+   *     configuration, the global factory by default
+   */
+  default RestfulRequestFactory getRequestFactory() {
+    return RestfullRequestContext.getFactory();
+  }
+
   /** Formatter to format the date parameter based on a pattern */
   @FunctionalInterface
   interface DateParamFormatter {
@@ -0,0 +1,30 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+/** The shared state behind the default methods of {@link RestConfig}. */
+final class RestConfigDefaults {
+
+  static final HedgeBudget HEDGE_BUDGET = HedgeBudget.defaultBudget();
+  static final LatencyTrackers LATENCY_TRACKERS = new LatencyTrackers();
+
+  private RestConfigDefaults() {}
+
+  static UnsupportedOperationException unsupported(RestConfig config, String method) {
+    return new UnsupportedOperationException(
+        method + " is not supported by " + config.getClass().getName());
+  }
+}
@@ -0,0 +1,396 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+import static java.util.Objects.nonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable view of the interceptors, the dynamic service roots and the global parameters of a
+ * {@link RestConfig}.
+ *
+ * <p>A configuration is never modified in place, every change builds a new snapshot with a higher
+ * version and swaps it in. A request captures the snapshot once when it is sent, so reading the
+ * configuration does not lock, and the interceptors and parameters stay the same for the whole
+ * request even if the configuration changes while it is in flight.
+ */
+public final class RestConfigSnapshot {
+
+  /** The snapshot of a configuration without interceptors, service roots or global parameters. */
+  public static final RestConfigSnapshot EMPTY =
+      new RestConfigSnapshot(
+          0,
+          Collections.emptyList(),
+          Collections.emptyList(),
+          Collections.emptyList(),
+          Collections.emptyMap(),
+          Collections.emptyMap(),
+          Collections.emptyMap());
+
+  private final long version;
+  private final List<RequestInterceptor> requestInterceptors;
+  private final List<ResponseInterceptor> responseInterceptors;
+  private final List<DynamicServiceRoot> serviceRoots;
+  private final Map<String, String> globalPathParameters;
+  private final Map<String, String> globalHeaderParameters;
+  private final Map<String, List<String>> globalQueryParameters;
+
+  private RestConfigSnapshot(
+      long version,
+      List<RequestInterceptor> requestInterceptors,
+      List<ResponseInterceptor> responseInterceptors,
+      List<DynamicServiceRoot> serviceRoots,
+      Map<String, String> globalPathParameters,
+      Map<String, String> globalHeaderParameters,
+      Map<String, List<String>> globalQueryParameters) {
+    this.version = version;
+    this.requestInterceptors = requestInterceptors;
+    this.responseInterceptors = responseInterceptors;
+    this.serviceRoots = serviceRoots;
+    this.globalPathParameters = globalPathParameters;
+    this.globalHeaderParameters = globalHeaderParameters;
+    this.globalQueryParameters = globalQueryParameters;
+  }
+
+  /**
+   * Copies the current values of a configuration that does not keep a snapshot of its own.
+   *
+   * @param config the configuration
+   * @return a new snapshot
+   */
+  public static RestConfigSnapshot of(RestConfig config) {
+    return new Builder(EMPTY)
+        .addRequestInterceptors(config.getRequestInterceptors())
+        .addResponseInterceptors(config.getResponseInterceptors())
+        .addServiceRoots(config.getServiceRoots())
+        .setGlobalPathParameters(config.getGlobalPathParameters())
+        .setGlobalHeaderParameters(config.getGlobalHeaderParameters())
+        .addGlobalQueryParameters(config.getGlobalQueryParameters())
+        .build();
+  }
+
+  /**
+   * @return the version of the configuration, incremented by every change
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * @return the request interceptors, read only
+   */
+  public List<RequestInterceptor> getRequestInterceptors() {
+    return requestInterceptors;
+  }
+
+  /**
+   * @return the response interceptors, read only
+   */
+  public List<ResponseInterceptor> getResponseInterceptors() {
+    return responseInterceptors;
+  }
+
+  /**
+   * @return the dynamic service roots, read only
+   */
+  public List<DynamicServiceRoot> getServiceRoots() {
+    return serviceRoots;
+  }
+
+  /**
+   * @return the global path parameters, read only
+   */
+  public Map<String, String> getGlobalPathParameters() {
+    return globalPathParameters;
+  }
+
+  /**
+   * @return the global header parameters, read only
+   */
+  public Map<String, String> getGlobalHeaderParameters() {
+    return globalHeaderParameters;
+  }
+
+  /**
+   * @return the global query parameters, the maps and the lists are read only
+   */
+  public Map<String, List<String>> getGlobalQueryParameters() {
+    return globalQueryParameters;
+  }
+
+  /**
+   * @return a builder starting from the values of this snapshot
+   */
+  public Builder toBuilder() {
+    return new Builder(this);
+  }
+
+  /** Builds the next snapshot from a copy of the values of the current one. */
+  public static final class Builder {
+
+    private final long version;
+    private final List<RequestInterceptor> requestInterceptors;
+    private final List<ResponseInterceptor> responseInterceptors;
+    private final List<DynamicServiceRoot> serviceRoots;
+    private final Map<String, String> globalPathParameters;
+    private final Map<String, String> globalHeaderParameters;
+    private final Map<String, List<String>> globalQueryParameters;
+
+    private Builder(RestConfigSnapshot snapshot) {
+      this.version = snapshot.version;
+      this.requestInterceptors = new ArrayList<>(snapshot.requestInterceptors);
+      this.responseInterceptors = new ArrayList<>(snapshot.responseInterceptors);
+      this.serviceRoots = new ArrayList<>(snapshot.serviceRoots);
+      this.globalPathParameters = new LinkedHashMap<>(snapshot.globalPathParameters);
+      this.globalHeaderParameters = new LinkedHashMap<>(snapshot.globalHeaderParameters);
+      this.globalQueryParameters = new LinkedHashMap<>();
+      snapshot.globalQueryParameters.forEach(
+          (name, values) -> globalQueryParameters.put(name, new ArrayList<>(values)));
+    }
+
+    /**
+     * @param interceptors the interceptors to add
+     * @return same instance to support builder pattern
+     */
+    public Builder addRequestInterceptors(List<RequestInterceptor> interceptors) {
+      if (nonNull(interceptors)) {
+        requestInterceptors.addAll(interceptors);
+      }
+      return this;
+    }
+
+    /**
+     * @param interceptors the interceptors to add
+     * @return same instance to support builder pattern
+     */
+    public Builder addResponseInterceptors(List<ResponseInterceptor> interceptors) {
+      if (nonNull(interceptors)) {
+        responseInterceptors.addAll(interceptors);
+      }
+      return this;
+    }
+
+    /**
+     * @param serviceRoots the dynamic service roots to add
+     * @return same instance to support builder pattern
+     */
+    public Builder addServiceRoots(List<DynamicServiceRoot> serviceRoots) {
+      if (nonNull(serviceRoots)) {
+        this.serviceRoots.addAll(serviceRoots);
+      }
+      return this;
+    }
+
+    /**
+     * @param interceptor the interceptor to add
+     * @return same instance to support builder pattern
+     */
+    public Builder addRequestInterceptor(RequestInterceptor interceptor) {
+      requestInterceptors.add(interceptor);
+      return this;
+    }
+
+    /**
+     * @param interceptor the interceptor to remove
+     * @return same instance to support builder pattern
+     */
+    public Builder removeRequestInterceptor(RequestInterceptor interceptor) {
+      requestInterceptors.remove(interceptor);
+      return this;
+    }
+
+    /**
+     * @param interceptor the interceptor to add
+     * @return same instance to support builder pattern
+     */
+    public Builder addResponseInterceptor(ResponseInterceptor interceptor) {
+      responseInterceptors.add(interceptor);
+      return this;
+    }
+
+    /**
+     * @param interceptor the interceptor to remove
+     * @return same instance to support builder pattern
+     */
+    public Builder removeResponseInterceptor(ResponseInterceptor interceptor) {
+      responseInterceptors.remove(interceptor);
+      return this;
+    }
+
+    /**
+     * @param serviceRoot the dynamic service root to add
+     * @return same instance to support builder pattern
+     */
+    public Builder addServiceRoot(DynamicServiceRoot serviceRoot) {
+      serviceRoots.add(serviceRoot);
+      return this;
+    }
+
+    /**
+     * @param serviceRoot the dynamic service root to remove
+     * @return same instance to support builder pattern
+     */
+    public Builder removeServiceRoot(DynamicServiceRoot serviceRoot) {
+      serviceRoots.remove(serviceRoot);
+      return this;
+    }
+
+    /**
+     * @param name the parameter name
+     * @param value the parameter value
+     * @return same instance to support builder pattern
+     */
+    public Builder setGlobalPathParameter(String name, String value) {
+      globalPathParameters.put(name, value);
+      return this;
+    }
+
+    /**
+     * @param parameters the parameters to add, replacing the ones with the same names
+     * @return same instance to support builder pattern
+     */
+    public Builder setGlobalPathParameters(Map<String, String> parameters) {
+      if (nonNull(parameters)) {
+        globalPathParameters.putAll(parameters);
+      }
+      return this;
+    }
+
+    /**
+     * @param name the parameter name
+     * @param value the parameter value
+     * @return same instance to support builder pattern
+     */
+    public Builder setGlobalHeaderParameter(String name, String value) {
+      globalHeaderParameters.put(name, value);
+      return this;
+    }
+
+    /**
+     * @param parameters the parameters to add, replacing the ones with the same names
+     * @return same instance to support builder pattern
+     */
+    public Builder setGlobalHeaderParameters(Map<String, String> parameters) {
+      if (nonNull(parameters)) {
+        globalHeaderParameters.putAll(parameters);
+      }
+      return this;
+    }
+
+    /**
+     * Replaces the values of a global query parameter with a single value.
+     *
+     * @param name the parameter name
+     * @param value the parameter value
+     * @return same instance to support builder pattern
+     */
+    public Builder setGlobalQueryParameter(String name, String value) {
+      List<String> values = new ArrayList<>();
+      values.add(value);
+      globalQueryParameters.put(name, values);
+      return this;
+    }
+
+    /**
+     * Adds a value to a global query parameter.
+     *
+     * @param name the parameter name
+     * @param value the parameter value
+     * @return same instance to support builder pattern
+     */
+    public Builder addGlobalQueryParameter(String name, String value) {
+      globalQueryParameters.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+      return this;
+    }
+
+    /**
+     * Adds the values of the global query parameters.
+     *
+     * @param parameters the parameters
+     * @return same instance to support builder pattern
+     */
+    public Builder addGlobalQueryParameters(Map<String, List<String>> parameters) {
+      if (nonNull(parameters)) {
+        parameters.forEach((name, values) -> values.forEach(v -> addGlobalQueryParameter(name, v)));
+      }
+      return this;
+    }
+
+    /**
+     * @param name the parameter name
+     * @return same instance to support builder pattern
+     */
+    public Builder removeGlobalPathParameter(String name) {
+      globalPathParameters.remove(name);
+      return this;
+    }
+
+    /**
+     * @param name the parameter name
+     * @return same instance to support builder pattern
+     */
+    public Builder removeGlobalHeaderParameter(String name) {
+      globalHeaderParameters.remove(name);
+      return this;
+    }
+
+    /**
+     * Removes all the values of a global query parameter.
+     *
+     * @param name the parameter name
+     * @return same instance to support builder pattern
+     */
+    public Builder removeGlobalQueryParameter(String name) {
+      globalQueryParameters.remove(name);
+      return this;
+    }
+
+    /**
+     * Removes all the global path, header and query parameters.
+     *
+     * @return same instance to support builder pattern
+     */
+    public Builder clearGlobalParameters() {
+      globalPathParameters.clear();
+      globalHeaderParameters.clear();
+      globalQueryParameters.clear();
+      return this;
+    }
+
+    /**
+     * @return a new snapshot with the next version
+     */
+    public RestConfigSnapshot build() {
+      Map<String, List<String>> queryParameters = new LinkedHashMap<>();
+      globalQueryParameters.forEach(
+          (name, values) ->
+              queryParameters.put(name, Collections.unmodifiableList(new ArrayList<>(values))));
+      return new RestConfigSnapshot(
+          version + 1,
+          Collections.unmodifiableList(new ArrayList<>(requestInterceptors)),
+          Collections.unmodifiableList(new ArrayList<>(responseInterceptors)),
+          Collections.unmodifiableList(new ArrayList<>(serviceRoots)),
+          Collections.unmodifiableMap(new LinkedHashMap<>(globalPathParameters)),
+          Collections.unmodifiableMap(new LinkedHashMap<>(globalHeaderParameters)),
+          Collections.unmodifiableMap(queryParameters));
+    }
+  }
+}
@@ -22,6 +22,7 @@ import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.logging.Logger;
+import org.dominokit.rest.shared.GwtIncompatible;
 import org.dominokit.rest.shared.RestfulRequest;
 
 /**
@@ -42,17 +43,24 @@ public class ServerRequest<R, S> extends BaseRequest
   private final SenderSupplier<R, S> senderSupplier =
       new SenderSupplier<>(() -> new RequestSender<R, S>() {});
 
-  private final Map<String, String> headers = new HashMap<>();
-  private final Map<String, List<String>> queryParameters = new HashMap<>();
-  private final Map<String, String> pathParameters = new HashMap<>();
+  // parameters are shared with the snapshots returned by the accessors until either side changes,
+  // the values of the multi valued parameters are immutable ParameterValues lists
+  private final CopyOnWriteMap<String, String> headers = new CopyOnWriteMap<>();
+  private final CopyOnWriteMap<String, List<String>> queryParameters =
+      new CopyOnWriteMap<>(ArrayList::new);
+  private final CopyOnWriteMap<String, String> pathParameters = new CopyOnWriteMap<>();
 
   // NEW: matrix parameters support
-  private final Map<String, List<String>> matrixParameters = new HashMap<>();
+  private final CopyOnWriteMap<String, List<String>> matrixParameters =
+      new CopyOnWriteMap<>(ArrayList::new);
   // NEW: fragment parameters (used for {name} or {name:regex} inside the fragment part)
-  private final Map<String, String> fragmentParameters = new HashMap<>();
-  private final Map<String, MetaParam> metaParameters = new HashMap<>();
+  private final CopyOnWriteMap<String, String> fragmentParameters = new CopyOnWriteMap<>();
+  private final CopyOnWriteMap<String, MetaParam> metaParameters = new CopyOnWriteMap<>();
 
+  private RequestDescriptor descriptor;
   private RequestMeta requestMeta;
+  // true while requestMeta is the meta of a shared RequestDescriptor
+  private boolean sharedMeta;
   private R requestBean;
   private RestfulRequest httpRequest;
 
@@ -61,52 +69,35 @@ public class ServerRequest<R, S> extends BaseRequest
   private String httpMethod;
   private String path = "";
   private String serviceRoot = "";
-  private Integer[] successCodes = new Integer[] {200, 201, 202, 203, 204};
+  private StatusCodes successCodes = StatusCodes.DEFAULT_SUCCESS;
   private boolean voidResponse = false;
 
   private int timeout = -1;
   private int maxRetries = -1;
+  private int retryBackoff;
+  private HedgePolicy hedgePolicy;
+  private PhaseTimeouts phaseTimeouts;
+  private int deadlineBudget = -1;
+  private long deadlineAt = -1;
+  private long deadline = -1;
   private Optional<WithCredentialsRequest> withCredentialsRequest = Optional.empty();
 
   private RequestWriter<R> requestWriter = request -> null;
   private ResponseReader<S> responseReader = request -> null;
 
   private Success<S> success = response -> {};
+  // the handlers of the current send, null when sent without handlers
+  private Success<S> sendSuccess;
+  private Fail sendFail;
+  private AbortHandler sendAbort;
+  // aborts the attempts of the current send other than httpRequest, such as a hedge
+  private AbortHandler attemptsAbort;
+  private AbortHandler abortHandler = () -> {};
 
-  private final RequestState<ServerSuccessRequestStateContext> executedOnServer =
-      context -> {
-        success.onSuccess((S) context.responseBean);
-        state = completed;
-        onCompleted();
-      };
-
-  private final RequestState<ServerSuccessRequestStateContext> aborted =
-      context -> {
-        LOGGER.info("Request have already been aborted.!");
-        onCompleted();
-      };
-
-  private final RequestState<ServerResponseReceivedStateContext> sent =
-      context -> {
-        if (state.equals(aborted)) {
-          LOGGER.info("Request aborted, not response will be processed.");
-        } else {
-          if (context.nextContext instanceof ServerSuccessRequestStateContext) {
-            state = executedOnServer;
-            ServerRequest.this.applyState(context.nextContext);
-          } else if (context.nextContext instanceof ServerFailedRequestStateContext) {
-            state = failedOnServer;
-            ServerRequest.this.applyState(context.nextContext);
-          } else {
-            throw new InvalidRequestState(
-                "Request cannot be processed until a responseBean is received from the server");
-          }
-        }
-      };
   private String responseType;
   private NullQueryParamStrategy nullQueryParamStrategy;
   private boolean multipartForm = false;
-  private RequestParametersProvider parametersProvider = new DefaultParametersProvider<R, S>(this);
+  private FileDownload fileDownload;
 
   /** Default constructor. */
   protected ServerRequest() {
@@ -123,13 +114,124 @@ public class ServerRequest<R, S> extends BaseRequest
     this.requestMeta = requestMeta;
     this.requestBean = requestBean;
     this.httpMethod = HttpMethod.GET;
-    this.requestMeta.setParametersProvider(parametersProvider);
+    this.requestMeta.setParametersProvider(new DefaultParametersProvider<R, S>(this));
+  }
+
+  /**
+   * Creates a new instance from the values shared by all the requests of a service method, the
+   * {@link RequestMeta} bound to this request is only created if it is asked for.
+   *
+   * @param descriptor the {@link RequestDescriptor} of the service method
+   * @param requestBean the request bean
+   */
+  protected ServerRequest(RequestDescriptor descriptor, R requestBean) {
+    this.descriptor = descriptor;
+    this.requestMeta = descriptor.getMeta();
+    this.sharedMeta = true;
+    this.requestBean = requestBean;
+    this.httpMethod = descriptor.getHttpMethod();
+    this.path = descriptor.getPath();
+    this.serviceRoot = descriptor.getServiceRoot();
+    this.successCodes = descriptor.getSuccessCodes();
+    if (nonNull(descriptor.getAcceptHeader())) {
+      headers.put(ACCEPT, descriptor.getAcceptHeader());
+    }
+    if (nonNull(descriptor.getContentTypeHeader())) {
+      headers.put(CONTENT_TYPE, descriptor.getContentTypeHeader());
+    }
   }
 
   /** prepare the request and execute it. */
   @Override
   public final void send() {
-    execute();
+    send(null, null, null);
+  }
+
+  /**
+   * Sends the request and reports the outcome to the specified handlers after the handlers
+   * registered with {@link #onSuccess(Success)} and {@link #onFailed(Fail)}. The handlers apply to
+   * this send only, and a failure is not reported to the default fail handler of the configuration
+   * since the specified handler takes care of it.
+   *
+   * @param successHandler the handler to call when the request succeeds
+   * @param failHandler the handler to call when the request fails
+   */
+  public void send(Success<S> successHandler, Fail failHandler) {
+    send(requireNonNull(successHandler), requireNonNull(failHandler), null);
+  }
+
+  /**
+   * Same as {@link #send(Success, Fail)} but with a handler to call if the request is aborted
+   * during this send, any of the handlers can be null. Unlike {@link #onAborted(AbortHandler)} the
+   * abort handler does not outlive this send.
+   *
+   * @param successHandler the handler to call when the request succeeds
+   * @param failHandler the handler to call instead of the default fail handler when the request
+   *     fails
+   * @param abortHandler the handler to call when the request is aborted
+   */
+  public void send(Success<S> successHandler, Fail failHandler, AbortHandler abortHandler) {
+    moveToSent();
+    this.sendSuccess = successHandler;
+    this.sendFail = failHandler;
+    this.sendAbort = abortHandler;
+    startRouting();
+  }
+
+  /**
+   * Sends the request and returns a {@link java.util.concurrent.CompletionStage} that completes
+   * with the response, or exceptionally with a {@link RequestFailedException} when the request
+   * fails. Cancelling the returned stage aborts the request, and aborting the request cancels the
+   * stage.
+   *
+   * @return the stage of the response
+   */
+  @GwtIncompatible
+  public java.util.concurrent.CompletionStage<S> sendAsync() {
+    return ServerRequestFuture.send(this);
+  }
+
+  /**
+   * Sends the request and blocks the calling thread until the response is available. The success
+   * and fail handlers registered on the request are still called before this method returns.
+   *
+   * <p>Waiting does not hold any monitor, which makes this method suitable to be called from
+   * virtual threads, see {@code DominoRestConfig#useVirtualThreads()}. Interrupting the waiting
+   * thread aborts the request.
+   *
+   * @return the response
+   * @throws RequestFailedException if the request fails or the waiting thread is interrupted
+   */
+  @GwtIncompatible
+  public S sendAndWait() {
+    return ServerRequestFuture.send(this).await();
+  }
+
+  /**
+   * Same as {@link #sendAndWait()} but gives up waiting after the specified time and aborts the
+   * request.
+   *
+   * @param timeout the maximum time to wait
+   * @param unit the unit of the timeout
+   * @return the response
+   * @throws RequestFailedException if the request fails, the waiting thread is interrupted or the
+   *     timeout elapses
+   */
+  @GwtIncompatible
+  public S sendAndWait(long timeout, java.util.concurrent.TimeUnit unit) {
+    return ServerRequestFuture.send(this).await(timeout, unit);
+  }
+
+  /**
+   * Alias of {@link #sendAndWait()} to be used where the request is treated as a {@link
+   * java.util.concurrent.Callable}.
+   *
+   * @return the response
+   * @throws RequestFailedException if the request fails or the waiting thread is interrupted
+   */
+  @GwtIncompatible
+  public S call() {
+    return sendAndWait();
   }
 
   /**
@@ -159,10 +261,55 @@ public class ServerRequest<R, S> extends BaseRequest
   /** {@inheritDoc} */
   @Override
   public void startRouting() {
-    state = sent;
+    // no-op when sent through execute(), which already moved the request forward
+    transition(READY, SENT);
+    attemptsAbort = null;
+    // the budget starts over with every send, including a resend after a failure
+    deadline = deadlineAt;
+    if (deadlineBudget >= 0) {
+      long budgetDeadline = System.currentTimeMillis() + deadlineBudget;
+      deadline = deadline < 0 ? budgetDeadline : Math.min(deadline, budgetDeadline);
+    }
     requestContext.getConfig().getServerRouter().routeRequest(this);
   }
 
+  /** {@inheritDoc} */
+  @Override
+  protected void onServerSuccess(Object responseBean) {
+    Success<S> handler = sendSuccess;
+    if (isNull(handler)) {
+      success.onSuccess((S) responseBean);
+      return;
+    }
+    try {
+      success.onSuccess((S) responseBean);
+    } finally {
+      handler.onSuccess((S) responseBean);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>A request sent with {@link #send(Success, Fail)} reports the failure to the fail handler of
+   * the send, the default fail handler of the configuration is not called.
+   */
+  @Override
+  protected void onServerFailed(FailedResponseBean response) {
+    Fail handler = sendFail;
+    if (isNull(handler)) {
+      super.onServerFailed(response);
+      return;
+    }
+    try {
+      if (nonNull(fail) && !isFailHandlerSkipped()) {
+        fail.onFail(response);
+      }
+    } finally {
+      handler.onFail(response);
+    }
+  }
+
   /**
    * Sets the HTTP request.
    *
@@ -175,19 +322,57 @@ public class ServerRequest<R, S> extends BaseRequest
   /** {@inheritDoc} */
   @Override
   public void abort() {
-    if (state.equals(ready)) {
-      state = aborted;
-    } else if (state.equals(sent)) {
+    if (transition(READY, ABORTED)) {
+      abortHandler.onAborted();
+    } else if (transition(SENT, ABORTED)) {
+      // switch state first, a transport may report the cancellation synchronously
       if (nonNull(httpRequest)) {
         httpRequest.abort();
       }
-      state = aborted;
+      AbortHandler attempts = attemptsAbort;
+      if (nonNull(attempts)) {
+        attempts.onAborted();
+      }
       LOGGER.info("Request have been aborted : " + this.getClass().getCanonicalName());
-    } else if (state.equals(completed)) {
+      abortHandler.onAborted();
+      AbortHandler handler = sendAbort;
+      if (nonNull(handler)) {
+        handler.onAborted();
+      }
+    } else if (getState() == COMPLETED) {
       LOGGER.info("Could not abort request, request have already been completed.!");
     }
   }
 
+  /**
+   * Sets the handler that aborts the attempts the current send has in flight besides the {@link
+   * #setHttpRequest(RestfulRequest) HTTP request}, it is dropped when the request is sent again.
+   *
+   * @param attemptsAbort the handler
+   */
+  void setAttemptsAbort(AbortHandler attemptsAbort) {
+    this.attemptsAbort = attemptsAbort;
+  }
+
+  /**
+   * Adds a handler to be called when the request is aborted, handlers registered earlier are still
+   * called.
+   *
+   * @param abortHandler the handler
+   * @return same instance to support builder pattern
+   */
+  public ServerRequest<R, S> onAborted(AbortHandler abortHandler) {
+    if (nonNull(abortHandler)) {
+      AbortHandler current = this.abortHandler;
+      this.abortHandler =
+          () -> {
+            current.onAborted();
+            abortHandler.onAborted();
+          };
+    }
+    return this;
+  }
+
   /**
    * Sets with credentials for this request
    *
@@ -206,9 +391,21 @@ public class ServerRequest<R, S> extends BaseRequest
     return withCredentialsRequest;
   }
 
+  /**
+   * @return the descriptor the request was created from, null if it was created from a {@link
+   *     RequestMeta}
+   */
+  RequestDescriptor getDescriptor() {
+    return descriptor;
+  }
+
   /** {@inheritDoc} */
   @Override
   public RequestMeta getMeta() {
+    if (sharedMeta) {
+      requestMeta = requestMeta.copyFor(new DefaultParametersProvider<R, S>(this));
+      sharedMeta = false;
+    }
     return requestMeta;
   }
 
@@ -247,27 +444,30 @@ public class ServerRequest<R, S> extends BaseRequest
   /** {@inheritDoc} */
   @Override
   public ServerRequest<R, S> setQueryParameter(String name, String value) {
-    queryParameters.put(name, new ArrayList<>());
-    addQueryParameter(name, value);
+    queryParameters.put(name, ParameterValues.of(value));
     return this;
   }
 
   @Override
   public HasParameters<R, S> addQueryParameter(String name, String value) {
-    if (queryParameters.containsKey(name)) {
-      queryParameters.get(name).add(value);
-    } else {
-      setQueryParameter(name, value);
-    }
+    queryParameters.put(name, ParameterValues.append(queryParameters.get(name), value));
+    return this;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public HasParameters<R, S> addQueryParameterValues(String name, List<String> values) {
+    queryParameters.put(name, ParameterValues.appendAll(queryParameters.get(name), values));
     return this;
   }
 
   /** {@inheritDoc} */
   @Override
   public ServerRequest<R, S> setQueryParameters(Map<String, List<String>> parameters) {
-    parameters
-        .keySet()
-        .forEach(name -> parameters.get(name).forEach(value -> addQueryParameter(name, value)));
+    parameters.forEach(
+        (name, values) ->
+            queryParameters.put(
+                name, ParameterValues.appendAll(queryParameters.get(name), values)));
     return this;
   }
 
@@ -275,9 +475,9 @@ public class ServerRequest<R, S> extends BaseRequest
   @Override
   public HasParameters<R, S> addQueryParameters(Map<String, List<String>> parameters) {
     parameters.forEach(
-        (key, values) -> {
-          values.forEach(value -> addQueryParameter(key, value));
-        });
+        (name, values) ->
+            queryParameters.put(
+                name, ParameterValues.appendAll(queryParameters.get(name), values)));
     return this;
   }
 
@@ -285,15 +485,13 @@ public class ServerRequest<R, S> extends BaseRequest
 
   @Override
   public HasParameters<R, S> setMatrixParameter(String name, String value) {
-    matrixParameters.put(name, new ArrayList<>());
-    addMatrixParameter(name, value);
+    matrixParameters.put(name, ParameterValues.of(value));
     return this;
   }
 
   @Override
   public HasParameters<R, S> setMatrixParameter(String name, List<String> values) {
-    matrixParameters.put(name, new ArrayList<>());
-    values.forEach(v -> addMatrixParameter(name, v));
+    matrixParameters.put(name, ParameterValues.copyOf(values));
     return this;
   }
 
@@ -307,21 +505,13 @@ public class ServerRequest<R, S> extends BaseRequest
 
   @Override
   public HasParameters<R, S> addMatrixParameter(String name, String value) {
-    if (matrixParameters.containsKey(name)) {
-      matrixParameters.get(name).add(value);
-    } else {
-      setMatrixParameter(name, value);
-    }
+    matrixParameters.put(name, ParameterValues.append(matrixParameters.get(name), value));
     return this;
   }
 
   @Override
   public HasParameters<R, S> addMatrixParameter(String name, List<String> values) {
-    if (matrixParameters.containsKey(name)) {
-      matrixParameters.get(name).addAll(values);
-    } else {
-      setMatrixParameter(name, values);
-    }
+    matrixParameters.put(name, ParameterValues.appendAll(matrixParameters.get(name), values));
     return this;
   }
 
@@ -333,11 +523,12 @@ public class ServerRequest<R, S> extends BaseRequest
     return this;
   }
 
-  /** Exposes a defensive copy of matrix params (optional helper). */
+  /**
+   * @return a copy on write snapshot of the matrix parameters, the value lists are copied when
+   *     they are first read from the snapshot
+   */
   public Map<String, List<String>> matrixParameters() {
-    Map<String, List<String>> copy = new HashMap<>();
-    matrixParameters.forEach((k, v) -> copy.put(k, new ArrayList<>(v)));
-    return copy;
+    return matrixParameters.snapshot();
   }
 
   // ---------------------------------------------------------------
@@ -382,29 +573,66 @@ public class ServerRequest<R, S> extends BaseRequest
     return this;
   }
 
+  /**
+   * @return a copy on write snapshot of the fragment parameters
+   */
   public Map<String, String> fragmentParameters() {
-    return new HashMap<>(fragmentParameters);
+    return fragmentParameters.snapshot();
   }
 
   /**
-   * @return new map containing all headers defined in the request
+   * The returned map is a snapshot, it is not copied until either the snapshot or the request is
+   * modified. The snapshot and its views can be modified without changing the request.
+   *
+   * @return a snapshot of all the headers defined in the request
    */
   public Map<String, String> headers() {
-    return new HashMap<>(headers);
+    return headers.snapshot();
   }
 
   /**
-   * @return new map containing all query parameters defined in the request
+   * The returned map is a snapshot, it is not copied until either the snapshot or the request is
+   * modified. The snapshot, its views and the value lists read from it can be modified without
+   * changing the request.
+   *
+   * @return a snapshot of all the query parameters defined in the request
    */
   public Map<String, List<String>> queryParameters() {
-    return new HashMap<>(queryParameters);
+    return queryParameters.snapshot();
   }
 
   /**
-   * @return new map containing all path parameters defined in the request
+   * The returned map is a snapshot, it is not copied until either the snapshot or the request is
+   * modified. The snapshot and its views can be modified without changing the request.
+   *
+   * @return a snapshot of all the path parameters defined in the request
    */
   public Map<String, String> pathParameters() {
-    return new HashMap<>(pathParameters);
+    return pathParameters.snapshot();
+  }
+
+  Map<String, String> headersView() {
+    return headers.readOnlyView();
+  }
+
+  Map<String, List<String>> queryParametersView() {
+    return queryParameters.readOnlyView();
+  }
+
+  Map<String, String> pathParametersView() {
+    return pathParameters.readOnlyView();
+  }
+
+  Map<String, List<String>> matrixParametersView() {
+    return matrixParameters.readOnlyView();
+  }
+
+  Map<String, String> fragmentParametersView() {
+    return fragmentParameters.readOnlyView();
+  }
+
+  Map<String, MetaParam> metaParametersView() {
+    return metaParameters.readOnlyView();
   }
 
   /**
@@ -422,7 +650,7 @@ public class ServerRequest<R, S> extends BaseRequest
 
       // PATH params: globals + request-scoped
       Map<String, String> combinedPathParams = new HashMap<>();
-      combinedPathParams.putAll(DominoRestContext.make().getConfig().getGlobalPathParameters());
+      combinedPathParams.putAll(getConfigSnapshot().getGlobalPathParameters());
       combinedPathParams.putAll(pathParameters);
 
       // Build UrlFormatter with per-component maps:
@@ -435,35 +663,33 @@ public class ServerRequest<R, S> extends BaseRequest
               combinedPathParams,
               toSingleValueMap(matrixParameters),
               toSingleValueMap(queryParameters),
-              fragmentParameters);
+              fragmentParameters,
+              requestContext.getConfig());
 
-      UrlSplitUtil.Split result =
-          new UrlSplitUtil(DominoRestContext.make().getConfig().getRegexEngine()).split(root);
+      UrlSplitUtil.Split result = UrlSplitUtil.splitUrl(root);
       String tokenString = result.rightSide;
       String serviceRoot = result.leftSide;
 
       String formatted = urlFormatter.formatUrl(tokenString);
 
-      ServicePath sp = new ServicePath(formatted);
+      ServicePath sp =
+          new ServicePath(formatted)
+              .setEncodingMode(requestContext.getConfig().getEncodingMode());
       // Preserve multiplicity of matrix params by appending all values to the LAST segment
       if (!matrixParameters.isEmpty()) {
         List<String> segments = sp.paths();
         if (!segments.isEmpty()) {
           int lastIdx = segments.size() - 1;
           matrixParameters.forEach(
-              (name, values) -> values.forEach(v -> sp.appendMatrixParameter(lastIdx, name, v)));
+              (name, values) -> sp.appendMatrixParameter(lastIdx, name, values));
         }
       }
 
       if (!queryParameters.isEmpty()) {
-        for (Map.Entry<String, List<String>> entry : queryParameters.entrySet()) {
-          sp.setQueryParameter(entry.getKey(), entry.getValue());
-        }
+        queryParameters.forEach(sp::setQueryParameter);
       }
 
-      formatted = sp.value();
-
-      this.setUrl(insureBackSlash(serviceRoot, formatted));
+      this.setUrl(insureBackSlash(serviceRoot, sp, formatted.length()));
     }
   }
 
@@ -471,6 +697,16 @@ public class ServerRequest<R, S> extends BaseRequest
     return (lh.endsWith("/") || rh.startsWith("/")) ? (lh + rh) : (lh + "/" + rh);
   }
 
+  private String insureBackSlash(String lh, ServicePath rh, int expectedLength) {
+    StringBuilder url = new StringBuilder(lh.length() + expectedLength + 16).append(lh);
+    int start = url.length();
+    rh.appendTo(url);
+    if (!lh.endsWith("/") && (url.length() == start || url.charAt(start) != '/')) {
+      url.insert(start, '/');
+    }
+    return url.toString();
+  }
+
   // Helper: collapse matrix map (List<String>) to a single-value map for UrlFormatter
   // used only for placeholder replacement in matrix *names* inside templates, e.g. ;{k}={v}
   // For multiple values, explicit append via ServicePath happens above.
@@ -508,7 +744,7 @@ public class ServerRequest<R, S> extends BaseRequest
    * @return a copy of the request current meta parameters
    */
   public Map<String, MetaParam> getMetaParameters() {
-    return new HashMap<>(metaParameters);
+    return metaParameters.snapshot();
   }
 
   /**
@@ -539,7 +775,7 @@ public class ServerRequest<R, S> extends BaseRequest
     result.putAll(queryParameters);
     pathParameters.forEach((k, v) -> result.put(k, Collections.singletonList(v)));
     headers.forEach((k, v) -> result.put(k, Collections.singletonList(v)));
-    matrixParameters.forEach((k, values) -> result.put(k, new ArrayList<>(values)));
+    result.putAll(matrixParameters);
     // NEW: fragment params as single-valued entries
     fragmentParameters.forEach((k, v) -> result.put(k, Collections.singletonList(v)));
     return result;
@@ -592,7 +828,7 @@ public class ServerRequest<R, S> extends BaseRequest
    * @return same request instance.
    */
   public ServerRequest<R, S> setContentType(String[] contentType) {
-    requestMeta.setConsume(contentType);
+    getMeta().setConsume(contentType);
     setHeader(CONTENT_TYPE, String.join(", ", contentType));
     return this;
   }
@@ -604,7 +840,7 @@ public class ServerRequest<R, S> extends BaseRequest
    * @return same request instance.
    */
   public ServerRequest<R, S> setAccept(String[] accept) {
-    requestMeta.setProduce(accept);
+    getMeta().setProduce(accept);
     setHeader(ACCEPT, String.join(", ", accept));
     return this;
   }
@@ -632,7 +868,15 @@ public class ServerRequest<R, S> extends BaseRequest
    * @return the accepted succees codes
    */
   public Integer[] getSuccessCodes() {
-    return successCodes;
+    return successCodes.toArray();
+  }
+
+  /**
+   * @param statusCode the response status code
+   * @return true if the status code is one of the success codes of this request
+   */
+  public boolean isSuccessCode(int statusCode) {
+    return successCodes.contains(statusCode);
   }
 
   /**
@@ -642,7 +886,7 @@ public class ServerRequest<R, S> extends BaseRequest
    * @return same instance
    */
   public ServerRequest<R, S> setSuccessCodes(Integer[] successCodes) {
-    this.successCodes = successCodes;
+    this.successCodes = StatusCodes.of(successCodes);
     return this;
   }
 
@@ -653,6 +897,18 @@ public class ServerRequest<R, S> extends BaseRequest
     return serviceRoot;
   }
 
+  /**
+   * Binds this request to a context, the request is then sent with the configuration of that
+   * context instead of the global one.
+   *
+   * @param requestContext the {@link DominoRestContext}, null for the global context
+   * @return same request instance.
+   */
+  public ServerRequest<R, S> setRequestContext(DominoRestContext requestContext) {
+    this.requestContext = isNull(requestContext) ? DominoRestContext.make() : requestContext;
+    return this;
+  }
+
   /**
    * sets the service root for this request
    *
@@ -747,7 +1003,7 @@ public class ServerRequest<R, S> extends BaseRequest
   /** {@inheritDoc} */
   @Override
   public boolean isAborted() {
-    return state.equals(aborted);
+    return getState() == ABORTED;
   }
 
   /**
@@ -813,6 +1069,127 @@ public class ServerRequest<R, S> extends BaseRequest
     this.maxRetries = maxRetries;
   }
 
+  /**
+   * @return the delay in milliseconds before the first retry, 0 to retry right away
+   */
+  public int getRetryBackoff() {
+    return retryBackoff;
+  }
+
+  /**
+   * Sets the delay before retrying a timed out attempt, the delay doubles with every retry and is
+   * waited on the shared {@link RestConfig#getRequestTimer()}
+   *
+   * @param retryBackoff the delay in milliseconds before the first retry, 0 to retry right away
+   */
+  public void setRetryBackoff(int retryBackoff) {
+    this.retryBackoff = Math.max(retryBackoff, 0);
+  }
+
+  /**
+   * Sets the timeouts of the individual phases of each attempt of this request, phases not limited
+   * here fall back to {@link RestConfig#getPhaseTimeouts()}.
+   *
+   * @param phaseTimeouts the phase timeouts
+   * @return same instance to support builder pattern
+   * @see PhaseTimeouts
+   */
+  public ServerRequest<R, S> setPhaseTimeouts(PhaseTimeouts phaseTimeouts) {
+    this.phaseTimeouts = phaseTimeouts;
+    return this;
+  }
+
+  /**
+   * @return the phase timeouts set on this request if any
+   */
+  public Optional<PhaseTimeouts> getPhaseTimeouts() {
+    return Optional.ofNullable(phaseTimeouts);
+  }
+
+  /**
+   * Bounds the total time this request may take from the moment it is sent, including the request
+   * interceptors, all retries and reading the response. Each attempt timeout is shrunk to the
+   * remaining time, and once the deadline passes the request fails with a {@link
+   * DeadlineExceededException} without hitting the wire again.
+   *
+   * @param millis the time budget in milliseconds, negative to remove the deadline
+   * @return same instance to support builder pattern
+   */
+  public ServerRequest<R, S> setDeadline(int millis) {
+    this.deadlineBudget = millis;
+    if (millis < 0) {
+      this.deadlineAt = -1;
+      this.deadline = -1;
+    }
+    return this;
+  }
+
+  /**
+   * Same as {@link #setDeadline(int)} but with an absolute point in time, useful to propagate the
+   * deadline of an enclosing operation.
+   *
+   * @param epochMillis the deadline in milliseconds since the epoch
+   * @return same instance to support builder pattern
+   */
+  public ServerRequest<R, S> setDeadlineAt(long epochMillis) {
+    this.deadlineAt = epochMillis;
+    this.deadline = epochMillis;
+    return this;
+  }
+
+  /**
+   * @return true if this request has a deadline
+   */
+  public boolean hasDeadline() {
+    return deadlineAt >= 0 || deadlineBudget >= 0;
+  }
+
+  /**
+   * @return the deadline in milliseconds since the epoch, -1 if the request has no deadline or was
+   *     not sent yet
+   */
+  public long getDeadline() {
+    return deadline;
+  }
+
+  /**
+   * @return the milliseconds left before the deadline, 0 if it passed, {@link Long#MAX_VALUE} if
+   *     the request has no deadline
+   */
+  public long getRemainingTime() {
+    if (deadline < 0) {
+      return Long.MAX_VALUE;
+    }
+    return Math.max(0, deadline - System.currentTimeMillis());
+  }
+
+  /**
+   * @return true if the deadline of this request has passed
+   */
+  public boolean isDeadlineExceeded() {
+    return deadline >= 0 && System.currentTimeMillis() >= deadline;
+  }
+
+  /**
+   * Hedges this request: if no response is received within the policy delay a duplicate request is
+   * sent, the first response wins and the other request is aborted.
+   *
+   * @param hedgePolicy the hedge policy, null to disable hedging
+   * @return same instance to support builder pattern
+   * @see HedgePolicy
+   */
+  public ServerRequest<R, S> setHedgePolicy(HedgePolicy hedgePolicy) {
+    this.hedgePolicy = hedgePolicy;
+    return this;
+  }
+
+  /**
+   * @return the hedge policy of this request if any
+   */
+  public Optional<HedgePolicy> getHedgePolicy() {
+    return Optional.ofNullable(hedgePolicy);
+  }
+
   /**
    * Sets the response type
    *
@@ -839,10 +1216,8 @@ public class ServerRequest<R, S> extends BaseRequest
    * @return the supplier value as a string, empty if null
    */
   public String emptyOrStringValue(Supplier<?> supplier) {
-    if (isNull(supplier) || isNull(supplier.get())) {
-      return "";
-    }
-    return String.valueOf(supplier.get());
+    Object value = isNull(supplier) ? null : supplier.get();
+    return isNull(value) ? "" : String.valueOf(value);
   }
 
   /**
@@ -853,11 +1228,7 @@ public class ServerRequest<R, S> extends BaseRequest
    * @return the formatted date
    */
   public String formatDate(Supplier<Date> supplier, String pattern) {
-    if (isNull(supplier) || isNull(supplier.get())) {
-      return "";
-    }
-    return emptyOrStringValue(
-        () -> requestContext.getConfig().getDateParamFormatter().format(supplier.get(), pattern));
+    return ParameterSetter.formatDate(this, isNull(supplier) ? null : supplier.get(), pattern);
   }
 
   /**
@@ -866,7 +1237,7 @@ public class ServerRequest<R, S> extends BaseRequest
    */
   public NullQueryParamStrategy getNullParamStrategy() {
     if (isNull(nullQueryParamStrategy)) {
-      return DominoRestContext.make().getConfig().getNullQueryParamStrategy();
+      return requestContext.getConfig().getNullQueryParamStrategy();
     }
     return nullQueryParamStrategy;
   }
@@ -899,6 +1270,43 @@ public class ServerRequest<R, S> extends BaseRequest
     this.multipartForm = multipartForm;
   }
 
+  /**
+   * Streams the response body to the specified file instead of reading it in memory
+   *
+   * @param filePath the target file path
+   * @return same instance to support builder pattern
+   * @see FileDownload
+   */
+  public ServerRequest<R, S> downloadTo(String filePath) {
+    return downloadTo(FileDownload.to(filePath));
+  }
+
+  /**
+   * Streams the response body to the file described by the {@link FileDownload} instead of reading
+   * it in memory
+   *
+   * @param fileDownload the download target
+   * @return same instance to support builder pattern
+   */
+  public ServerRequest<R, S> downloadTo(FileDownload fileDownload) {
+    this.fileDownload = fileDownload;
+    return this;
+  }
+
+  /**
+   * @return the download target if the response body should be streamed to a file
+   */
+  public Optional<FileDownload> getFileDownload() {
+    return Optional.ofNullable(fileDownload);
+  }
+
+  /**
+   * @return true if the response body should be streamed to a file, false otherwise
+   */
+  public boolean isFileDownload() {
+    return nonNull(fileDownload);
+  }
+
   /** Handler for before send events. */
   @FunctionalInterface
   public interface BeforeSendHandler {
@@ -906,6 +1314,13 @@ public class ServerRequest<R, S> extends BaseRequest
     void onBeforeSend();
   }
 
+  /** Handler for abort events. */
+  @FunctionalInterface
+  public interface AbortHandler {
+    /** Called after the request has been aborted. */
+    void onAborted();
+  }
+
   /** Represents a request with credentials. */
   public static class WithCredentialsRequest {
     private final boolean withCredentials;
@@ -937,32 +1352,32 @@ public class ServerRequest<R, S> extends BaseRequest
 
     @Override
     public Map<String, String> getHeaders() {
-      return new HashMap<>(serverRequest.headers());
+      return serverRequest.headers();
     }
 
     @Override
     public Map<String, List<String>> getQueryParameters() {
-      return new HashMap<>(serverRequest.queryParameters());
+      return serverRequest.queryParameters();
     }
 
     @Override
     public Map<String, String> getPathParameters() {
-      return new HashMap<>(serverRequest.pathParameters());
+      return serverRequest.pathParameters();
     }
 
     @Override
     public Map<String, List<String>> getMatrixParameters() {
-      return new HashMap<>(serverRequest.matrixParameters());
+      return serverRequest.matrixParameters();
     }
 
     @Override
     public Map<String, String> getFragmentParameters() {
-      return new HashMap<>(serverRequest.fragmentParameters());
+      return serverRequest.fragmentParameters();
     }
 
     @Override
     public Map<String, MetaParam> getMetaParameters() {
-      return new HashMap<>(serverRequest.getMetaParameters());
+      return serverRequest.getMetaParameters();
     }
   }
 }
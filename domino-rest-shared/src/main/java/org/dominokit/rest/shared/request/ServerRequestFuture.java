@@ -0,0 +1,137 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.dominokit.rest.shared.GwtIncompatible;
+
+/**
+ * A {@link CompletableFuture} bound to a {@link ServerRequest}, cancelling the future aborts the
+ * request.
+ *
+ * <p>The future is itself the success, fail and abort handler of the send, so sending a request
+ * this way allocates the future only.
+ *
+ * @param <S> the response type
+ */
+@GwtIncompatible
+class ServerRequestFuture<S> extends CompletableFuture<S>
+    implements Success<S>, Fail, ServerRequest.AbortHandler {
+
+  private final ServerRequest<?, S> request;
+
+  private ServerRequestFuture(ServerRequest<?, S> request) {
+    this.request = request;
+  }
+
+  /**
+   * Sends the request and returns a future for its response.
+   *
+   * @param request the request to send
+   * @param <S> the response type
+   * @return the future of the response
+   */
+  static <S> ServerRequestFuture<S> send(ServerRequest<?, S> request) {
+    ServerRequestFuture<S> future = new ServerRequestFuture<>(request);
+    try {
+      request.send(future, future, future);
+    } catch (RuntimeException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  /**
+   * Blocks the calling thread until the response is available. Waiting relies on {@link
+   * java.util.concurrent.locks.LockSupport} parking only, so a virtual thread waiting here unmounts
+   * from its carrier thread instead of pinning it.
+   *
+   * @return the response
+   * @throws RequestFailedException if the request fails, or if the calling thread is interrupted
+   *     in which case the request is aborted
+   */
+  S await() {
+    try {
+      return get();
+    } catch (InterruptedException e) {
+      throw interrupted(e);
+    } catch (ExecutionException e) {
+      throw failure(e.getCause());
+    }
+  }
+
+  /**
+   * Same as {@link #await()} but gives up after the specified time, aborting the request.
+   *
+   * @param timeout the maximum time to wait
+   * @param unit the unit of the timeout
+   * @return the response
+   * @throws RequestFailedException if the request fails, the calling thread is interrupted or the
+   *     timeout elapses, the cause is a {@link RequestTimeoutException} in the latter case
+   */
+  S await(long timeout, TimeUnit unit) {
+    try {
+      return get(timeout, unit);
+    } catch (InterruptedException e) {
+      throw interrupted(e);
+    } catch (ExecutionException e) {
+      throw failure(e.getCause());
+    } catch (TimeoutException e) {
+      cancel(false);
+      throw new RequestFailedException(new FailedResponseBean(new RequestTimeoutException()));
+    }
+  }
+
+  private RuntimeException interrupted(InterruptedException e) {
+    cancel(false);
+    Thread.currentThread().interrupt();
+    return new RequestFailedException(new FailedResponseBean(e));
+  }
+
+  private static RuntimeException failure(Throwable cause) {
+    if (cause instanceof RuntimeException) {
+      return (RuntimeException) cause;
+    }
+    return new RequestFailedException(new FailedResponseBean(cause));
+  }
+
+  @Override
+  public void onSuccess(S response) {
+    complete(response);
+  }
+
+  @Override
+  public void onFail(FailedResponseBean failedResponse) {
+    completeExceptionally(new RequestFailedException(failedResponse));
+  }
+
+  @Override
+  public void onAborted() {
+    cancel(false);
+  }
+
+  @Override
+  public boolean cancel(boolean mayInterruptIfRunning) {
+    boolean cancelled = super.cancel(mayInterruptIfRunning);
+    if (cancelled) {
+      request.abort();
+    }
+    return cancelled;
+  }
+}
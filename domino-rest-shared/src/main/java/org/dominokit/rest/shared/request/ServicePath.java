@@ -18,19 +18,12 @@ package org.dominokit.rest.shared.request;
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
-import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-import java.util.stream.Stream;
-import org.dominokit.rest.shared.regex.DominoCompiledPattern;
-import org.dominokit.rest.shared.regex.RegexEngine;
 
 /**
  * Parses and manipulates a URL-like token into path segments, query parameters, fragments, and
@@ -46,32 +39,56 @@ import org.dominokit.rest.shared.regex.RegexEngine;
  *       use {@link #pathWithoutMatrix()}.
  * </ul>
  *
- * <p><strong>Encoding:</strong> This class does not perform URL encode/decode. Values are taken
- * verbatim, consistent with previous behavior.
+ * <p><strong>Encoding:</strong> The parsed token is taken verbatim and never decoded. Names and
+ * values passed to the methods are taken verbatim too, unless the {@link
+ * #setEncodingMode(EncodingMode) encoding mode} is {@link EncodingMode#ENCODE}, then they are
+ * encoded with {@link UriEncoder} for the component they are put into or looked up in.
+ *
+ * <p><strong>Parsing:</strong> The constructor only locates the path, query and fragment parts of
+ * the token, each part is parsed into array backed lists the first time it is accessed. Rendering
+ * appends all parts in a single pass to a {@link StringBuilder}, see {@link
+ * #appendTo(StringBuilder)}.
  */
 public class ServicePath {
 
-  private static final String QUERY_REGEX = "\\?";
-  private static final String FRAGMENT_REGEX = "\\#";
-
   /** Root path that is logically prefixed (but not necessarily present in the token). */
   private final String rootPath;
 
-  /**
-   * Back-compat cache of segment names. Always derived from {@link #pathSegments}. Do not modify
-   * directly.
-   */
-  private List<String> paths = new LinkedList<>();
+  /** The rebased token, fragments are parsed from it verbatim. */
+  private final String token;
 
-  private List<Parameter> queryParameters = new LinkedList<>();
-  private List<String> fragments = new LinkedList<>();
+  /** The rebased token without '!', path and query are parsed from it. */
+  private final String cleaned;
 
-  /** Structured list of path segments, each with its own matrix parameters. */
-  private List<PathSegment> pathSegments = new LinkedList<>();
+  private final int pathEnd;
+  private final int queryStart;
+  private final int queryEnd;
 
   // Remember if the (rebased) token started with a leading slash.
   private final boolean leadingSlash;
 
+  private EncodingMode encodingMode = EncodingMode.NONE;
+
+  /** Structured list of path segments, each with its own matrix parameters. Parsed lazily. */
+  private List<PathSegment> pathSegments;
+
+  private List<Parameter> queryParameters;
+  private List<String> fragments;
+
+  /** Live read-only view of the segment names of {@link #pathSegments}. */
+  private final List<String> paths =
+      new AbstractList<String>() {
+        @Override
+        public String get(int index) {
+          return segments().get(index).name();
+        }
+
+        @Override
+        public int size() {
+          return segments().size();
+        }
+      };
+
   // ---------------------------------------------------------------------------------------------
   // Constructors
   // ---------------------------------------------------------------------------------------------
@@ -94,56 +111,38 @@ public class ServicePath {
    *
    * @param rootPath the root path token (may be {@code null} or empty)
    * @param token a URL token (e.g. {@code /a/b;c=1?x=1#frag})
-   * @throws IllegalArgumentException if {@code token} is null
+   * @throws IllegalArgumentException if {@code token} is null or its query has no {@code '='}
    */
   public ServicePath(String rootPath, String token) {
     if (isNull(token)) throw new IllegalArgumentException();
     this.rootPath = isNull(rootPath) ? "" : rootPath.trim();
-    String rebasedToken = rebaseToken(rootPath, token);
-    this.leadingSlash = rebasedToken.startsWith("/");
-    this.pathSegments.addAll(asPathSegments(rebasedToken));
-    this.paths =
-        this.pathSegments.stream()
-            .map(PathSegment::name)
-            .collect(Collectors.toCollection(LinkedList::new));
-    this.queryParameters.addAll(asQueryParameters(rebasedToken));
-    this.fragments.addAll(parseFragments(rebasedToken));
+    this.token = rebaseToken(rootPath, token);
+    this.leadingSlash = this.token.startsWith("/");
+    this.cleaned = this.token.indexOf('!') < 0 ? this.token : this.token.replace("!", "");
+
+    // The fragment starts at the first '#' outside braces, the query at the first '?' before it
+    int hashIdx = UrlSplitUtil.indexOfOutsideBraces(cleaned, '#');
+    this.queryEnd = hashIdx >= 0 ? hashIdx : cleaned.length();
+    int qIdx = UrlSplitUtil.indexOfOutsideBraces(cleaned, '?');
+    this.pathEnd = qIdx >= 0 && qIdx < queryEnd ? qIdx : queryEnd;
+    this.queryStart = pathEnd < queryEnd ? pathEnd + 1 : queryEnd;
+
+    if (queryStart < queryEnd && indexOf(cleaned, '=', queryStart, queryEnd) == queryEnd) {
+      throw new IllegalArgumentException(
+          "Query string ["
+              + cleaned.substring(queryStart, queryEnd)
+              + "] is missing '=' operator.");
+    }
   }
 
   /** If rootPath is a non-empty prefix of token, remove it; otherwise return token unchanged. */
-  private String rebaseToken(String rootPath, String token) {
+  private static String rebaseToken(String rootPath, String token) {
     if (isNull(rootPath) || rootPath.trim().isEmpty() || !token.startsWith(rootPath)) {
       return token;
     }
     return token.substring(rootPath.length());
   }
 
-  /** Parses fragments from a token. Fragments are read after the '#' and then split by '/'. */
-  private List<String> parseFragments(String token) {
-    int first = token.indexOf('#');
-    if (first >= 0 && first < token.length() - 1) {
-      String frag = token.substring(first + 1);
-
-      // If someone used multiple hashes in a row (e.g., "##frag/child"), strip the extra leading
-      // '#'
-      int i = 0;
-      while (i < frag.length() && frag.charAt(i) == '#') i++;
-      String normalized = frag.substring(i);
-
-      if (!normalized.isEmpty()) {
-        // IMPORTANT: Do NOT call asNamesList()/splittedPaths() here
-        // because they strip '#' again. Just split the fragment by '/'.
-        String[] parts = normalized.split("/");
-        java.util.LinkedList<String> list = new java.util.LinkedList<>();
-        for (String p : parts) {
-          if (!p.isEmpty()) list.add(p);
-        }
-        return list;
-      }
-    }
-    return new java.util.LinkedList<>();
-  }
-
   // ---------------------------------------------------------------------------------------------
   // Path matching / accessors
   // ---------------------------------------------------------------------------------------------
@@ -156,24 +155,20 @@ public class ServicePath {
    * @return true if the current path ends with the given sequence; false otherwise
    */
   public boolean endsWithPath(String path) {
-    if (isEmpty(path)) return false;
-    return endsWith(paths(), asNamesList(path));
-  }
-
-  private boolean endsWith(List<String> paths, List<String> targets) {
-    if (isValidSize(paths, targets)) return matchEnds(paths, targets);
-    return false;
-  }
-
-  private boolean matchEnds(List<String> paths, List<String> targets) {
-    int offset = paths.size() - targets.size();
-    return IntStream.range(0, targets.size())
-        .allMatch(i -> targets.get(i).equals(paths.get(i + offset)));
+    if (isEmpty(path) || path.startsWith("?") || path.startsWith("#")) return false;
+    List<String> targets = asNamesList(path);
+    List<PathSegment> segments = segments();
+    int offset = segments.size() - targets.size();
+    if (targets.isEmpty() || offset < 0) return false;
+    for (int i = 0; i < targets.size(); i++) {
+      if (!targets.get(i).equals(segments.get(i + offset).name())) return false;
+    }
+    return true;
   }
 
   /**
-   * @return a list of segment <em>names</em> (matrix parameters are not included). For {@code
-   *     http://localhost:8080/a;b=1/c;d=2}, returns {@code ["a", "c"]}.
+   * @return a read-only list of segment <em>names</em> (matrix parameters are not included). For
+   *     {@code http://localhost:8080/a;b=1/c;d=2}, returns {@code ["a", "c"]}.
    */
   public List<String> paths() {
     return paths;
@@ -184,6 +179,9 @@ public class ServicePath {
    *     ["d","e","f"]}.
    */
   public List<String> fragments() {
+    if (isNull(fragments)) {
+      fragments = parseFragments();
+    }
     return fragments;
   }
 
@@ -194,7 +192,7 @@ public class ServicePath {
    * @return same instance to support builder pattern
    */
   public ServicePath appendFragment(String fragment) {
-    this.fragments.add(fragment);
+    fragments().add(encode(fragment, UriEncoder.Component.FRAGMENT));
     return this;
   }
 
@@ -205,7 +203,7 @@ public class ServicePath {
    * @return true if the fragment is present, false otherwise
    */
   public boolean hasFragment(String fragment) {
-    return this.fragments.contains(fragment);
+    return fragments().contains(encode(fragment, UriEncoder.Component.FRAGMENT));
   }
 
   /**
@@ -213,19 +211,22 @@ public class ServicePath {
    *     a;b=1/c;d=2}. If you need names only, use {@link #pathWithoutMatrix()}.
    */
   public String path() {
-    return pathWithMatrix();
+    StringBuilder sb = new StringBuilder();
+    appendPath(sb);
+    return sb.toString();
   }
 
   /**
    * @return the path composed of <em>segment names only</em> (no matrix parameters), joined by '/'.
    */
   public String pathWithoutMatrix() {
-    return String.join("/", paths());
-  }
-
-  /** Renders the path including matrix parameters. */
-  private String pathWithMatrix() {
-    return pathSegments.stream().map(PathSegment::asPathString).collect(Collectors.joining("/"));
+    StringBuilder sb = new StringBuilder();
+    List<PathSegment> segments = segments();
+    for (int i = 0; i < segments.size(); i++) {
+      if (i > 0) sb.append('/');
+      sb.append(segments.get(i).name());
+    }
+    return sb.toString();
   }
 
   // ---------------------------------------------------------------------------------------------
@@ -236,7 +237,9 @@ public class ServicePath {
    * @return the full query string (without the leading '?'), e.g. {@code x=1&y=2&y=3}
    */
   public String query() {
-    return queryParameters.stream().map(Parameter::asQueryString).collect(Collectors.joining("&"));
+    StringBuilder sb = new StringBuilder();
+    appendQuery(sb);
+    return sb.toString();
   }
 
   /**
@@ -246,7 +249,7 @@ public class ServicePath {
    * @return true if present; false otherwise
    */
   public boolean hasQueryParameter(String name) {
-    return queryParameters.stream().anyMatch(parameter -> parameter.key.equals(name));
+    return nonNull(find(parameters(), encode(name, UriEncoder.Component.QUERY)));
   }
 
   /**
@@ -257,7 +260,7 @@ public class ServicePath {
    * @return this
    */
   public ServicePath setQueryParameter(String name, String value) {
-    return setQueryParameter(name, asList(value));
+    return setQueryParameter(name, Collections.singletonList(value));
   }
 
   /**
@@ -270,21 +273,17 @@ public class ServicePath {
   public ServicePath setQueryParameter(String name, List<String> values) {
     if (isNull(name) || name.trim().isEmpty()) return this;
 
-    int idx = parameterIndex(name);
-    if (idx >= 0) {
-      queryParameters.get(idx).setValues(values); // replace in place (keep order)
+    String key = encode(name, UriEncoder.Component.QUERY);
+    List<String> encoded = encode(values, UriEncoder.Component.QUERY);
+    Parameter parameter = find(parameters(), key);
+    if (nonNull(parameter)) {
+      parameter.setValues(encoded); // replace in place (keep order)
     } else {
-      queryParameters.add(new Parameter(name, new LinkedList<>(values))); // new at end
+      parameters().add(new Parameter(key, encoded)); // new at end
     }
     return this;
   }
 
-  private Parameter getParameter(String name) {
-    Optional<Parameter> param =
-        queryParameters.stream().filter(parameter -> parameter.key.equals(name)).findFirst();
-    return param.orElse(null);
-  }
-
   /**
    * Appends an additional query parameter occurrence at the end of the query string.
    *
@@ -293,7 +292,7 @@ public class ServicePath {
    * @return this
    */
   public ServicePath appendParameter(String name, String value) {
-    return appendParameter(name, asList(value));
+    return appendParameter(name, Collections.singletonList(value));
   }
 
   /**
@@ -305,22 +304,18 @@ public class ServicePath {
    */
   public ServicePath appendParameter(String name, List<String> values) {
     if (nonNull(name) && !name.trim().isEmpty()) {
-      if (hasQueryParameter(name)) {
-        getParameter(name).addValues(values);
+      String key = encode(name, UriEncoder.Component.QUERY);
+      List<String> encoded = encode(values, UriEncoder.Component.QUERY);
+      Parameter parameter = find(parameters(), key);
+      if (nonNull(parameter)) {
+        parameter.addValues(encoded);
       } else {
-        this.queryParameters.add(new Parameter(name, values));
+        parameters().add(new Parameter(key, encoded));
       }
     }
     return this;
   }
 
-  private int parameterIndex(String name) {
-    for (int i = 0; i < queryParameters.size(); i++) {
-      if (queryParameters.get(i).key.equals(name)) return i;
-    }
-    return -1;
-  }
-
   /**
    * Replaces the first occurrence of a path segment name with a new name.
    *
@@ -335,11 +330,12 @@ public class ServicePath {
     if (isNull(path) || isNull(replacement)) {
       return this;
     }
-    for (int i = 0; i < pathSegments.size(); i++) {
-      PathSegment seg = pathSegments.get(i);
-      if (Objects.equals(seg.name(), path)) {
-        pathSegments.set(i, seg.renamed(replacement));
-        refreshPathsCache();
+    String name = encode(path, UriEncoder.Component.PATH_SEGMENT);
+    List<PathSegment> segments = segments();
+    for (int i = 0; i < segments.size(); i++) {
+      PathSegment seg = segments.get(i);
+      if (Objects.equals(seg.name(), name)) {
+        segments.set(i, seg.renamed(encode(replacement, UriEncoder.Component.PATH_SEGMENT)));
         break; // only the first occurrence
       }
     }
@@ -355,9 +351,10 @@ public class ServicePath {
    * @throws IndexOutOfBoundsException if the index is invalid
    */
   public ServicePath replacePathAt(int index, String replacement) {
-    PathSegment seg = pathSegments.get(index);
-    pathSegments.set(index, seg.renamed(replacement));
-    refreshPathsCache();
+    List<PathSegment> segments = segments();
+    segments.set(
+        index,
+        segments.get(index).renamed(encode(replacement, UriEncoder.Component.PATH_SEGMENT)));
     return this;
   }
 
@@ -368,9 +365,9 @@ public class ServicePath {
    * @return this
    */
   public ServicePath removeParameter(String name) {
-    Parameter parameter = getParameter(name);
+    Parameter parameter = find(parameters(), encode(name, UriEncoder.Component.QUERY));
     if (nonNull(parameter)) {
-      this.queryParameters.remove(parameter);
+      parameters().remove(parameter);
     }
     return this;
   }
@@ -384,7 +381,7 @@ public class ServicePath {
    *     go through {@code set/append/removeMatrixParameter} methods.
    */
   public List<PathSegment> pathSegments() {
-    return pathSegments;
+    return segments();
   }
 
   /**
@@ -396,7 +393,9 @@ public class ServicePath {
    * @throws IndexOutOfBoundsException if {@code segmentIndex} is invalid
    */
   public boolean hasMatrixParameter(int segmentIndex, String name) {
-    return pathSegments.get(segmentIndex).hasMatrixParameter(name);
+    return segments()
+        .get(segmentIndex)
+        .hasMatrixParameter(encode(name, UriEncoder.Component.MATRIX));
   }
 
   /**
@@ -408,7 +407,7 @@ public class ServicePath {
    * @throws IndexOutOfBoundsException if {@code segmentIndex} is invalid
    */
   public List<String> matrixParameterValues(int segmentIndex, String name) {
-    return pathSegments.get(segmentIndex).matrixValues(name);
+    return segments().get(segmentIndex).matrixValues(encode(name, UriEncoder.Component.MATRIX));
   }
 
   /**
@@ -421,7 +420,7 @@ public class ServicePath {
    * @throws IndexOutOfBoundsException if {@code segmentIndex} is invalid
    */
   public ServicePath setMatrixParameter(int segmentIndex, String name, String value) {
-    return setMatrixParameter(segmentIndex, name, asList(value));
+    return setMatrixParameter(segmentIndex, name, Collections.singletonList(value));
   }
 
   /**
@@ -434,8 +433,11 @@ public class ServicePath {
    * @throws IndexOutOfBoundsException if {@code segmentIndex} is invalid
    */
   public ServicePath setMatrixParameter(int segmentIndex, String name, List<String> values) {
-    pathSegments.get(segmentIndex).setMatrix(name, values);
-    refreshPathsCache();
+    segments()
+        .get(segmentIndex)
+        .setMatrix(
+            encode(name, UriEncoder.Component.MATRIX),
+            encode(values, UriEncoder.Component.MATRIX));
     return this;
   }
 
@@ -449,9 +451,7 @@ public class ServicePath {
    * @throws IndexOutOfBoundsException if {@code segmentIndex} is invalid
    */
   public ServicePath appendMatrixParameter(int segmentIndex, String name, String value) {
-    pathSegments.get(segmentIndex).appendMatrix(name, asList(value));
-    refreshPathsCache();
-    return this;
+    return appendMatrixParameter(segmentIndex, name, Collections.singletonList(value));
   }
 
   /**
@@ -464,8 +464,11 @@ public class ServicePath {
    * @throws IndexOutOfBoundsException if {@code segmentIndex} is invalid
    */
   public ServicePath appendMatrixParameter(int segmentIndex, String name, List<String> values) {
-    pathSegments.get(segmentIndex).appendMatrix(name, values);
-    refreshPathsCache();
+    segments()
+        .get(segmentIndex)
+        .appendMatrix(
+            encode(name, UriEncoder.Component.MATRIX),
+            encode(values, UriEncoder.Component.MATRIX));
     return this;
   }
 
@@ -478,18 +481,10 @@ public class ServicePath {
    * @throws IndexOutOfBoundsException if {@code segmentIndex} is invalid
    */
   public ServicePath removeMatrixParameter(int segmentIndex, String name) {
-    pathSegments.get(segmentIndex).removeMatrix(name);
-    refreshPathsCache();
+    segments().get(segmentIndex).removeMatrix(encode(name, UriEncoder.Component.MATRIX));
     return this;
   }
 
-  private void refreshPathsCache() {
-    this.paths =
-        this.pathSegments.stream()
-            .map(PathSegment::name)
-            .collect(Collectors.toCollection(LinkedList::new));
-  }
-
   // ---------------------------------------------------------------------------------------------
   // Fragment & general state
   // ---------------------------------------------------------------------------------------------
@@ -498,14 +493,16 @@ public class ServicePath {
    * @return the fragment portion (without leading '#'), joined by '/'.
    */
   public String fragment() {
-    return String.join("/", fragments());
+    StringBuilder sb = new StringBuilder();
+    appendFragments(sb);
+    return sb.toString();
   }
 
   /**
    * @return true if all parts (path, query, fragments) are empty.
    */
   public boolean isEmpty() {
-    return paths.isEmpty() && queryParameters.isEmpty() && fragments.isEmpty();
+    return segments().isEmpty() && parameters().isEmpty() && fragments().isEmpty();
   }
 
   /**
@@ -513,34 +510,7 @@ public class ServicePath {
    *     params), query, and fragment.
    */
   public String value() {
-    String body = noRootValue();
-    String separator =
-        (getRootPath().isEmpty()
-                || getRootPath().endsWith("/")
-                || body.startsWith("/")
-                || body.isEmpty())
-            ? ""
-            : "/";
-    return getRootPath() + separator + body;
-  }
-
-  private UrlTokenRegexMatcher getUrlTokenRegexMatcher() {
-    RegexEngine re = DominoRestContext.make().getConfig().getRegexEngine();
-    // Compile once (no special flags needed)
-    final DominoCompiledPattern hostAndPath =
-        re.compile("^((.*:)//([a-z0-9\\-.]+)(|:[0-9]+)/)(.*)$");
-
-    return url -> {
-      // keep your fast pre-check
-      if (url.contains("http:") || url.contains("https:")) {
-        // Full match check keeps replaceAll logic simple and cross-platform
-        if (re.matches(hostAndPath.pattern(), url, hostAndPath.flags())) {
-          // Replace whole match with group(5) – the path/token portion
-          return re.replaceAll(url, hostAndPath, m -> m.group(5));
-        }
-      }
-      return url;
-    };
+    return appendTo(new StringBuilder(rootPath.length() + token.length() + 16)).toString();
   }
 
   /**
@@ -548,148 +518,240 @@ public class ServicePath {
    *     <path-with-matrix>?<query>#<fragment>}
    */
   public String noRootValue() {
-    String p = pathWithMatrix();
-    if (leadingSlash && !p.isEmpty() && !p.startsWith("/")) {
-      p = "/" + p;
+    StringBuilder sb = new StringBuilder(token.length() + 16);
+    appendNoRootValue(sb);
+    return sb.toString();
+  }
+
+  /**
+   * Appends the same representation as {@link #value()} to the given builder without creating
+   * intermediate strings.
+   *
+   * @param sb the builder to append to
+   * @return the same builder
+   */
+  public StringBuilder appendTo(StringBuilder sb) {
+    sb.append(rootPath);
+    int bodyStart = sb.length();
+    appendNoRootValue(sb);
+    if (!rootPath.isEmpty()
+        && !rootPath.endsWith("/")
+        && sb.length() > bodyStart
+        && sb.charAt(bodyStart) != '/') {
+      sb.insert(bodyStart, '/');
+    }
+    return sb;
+  }
+
+  private void appendNoRootValue(StringBuilder sb) {
+    int pathStart = sb.length();
+    appendPath(sb);
+    if (leadingSlash && sb.length() > pathStart && sb.charAt(pathStart) != '/') {
+      sb.insert(pathStart, '/');
     }
-    return p + appendQuery(query()) + appendFragment();
+    // the delimiters are dropped again when the query or the fragment render empty
+    int mark = sb.length();
+    appendQuery(sb.append('?'));
+    if (sb.length() == mark + 1) sb.setLength(mark);
+    mark = sb.length();
+    appendFragments(sb.append('#'));
+    if (sb.length() == mark + 1) sb.setLength(mark);
   }
 
-  private String appendFragment() {
-    return isEmpty(fragment()) ? "" : "#" + fragment();
+  private void appendPath(StringBuilder sb) {
+    List<PathSegment> segments = segments();
+    for (int i = 0; i < segments.size(); i++) {
+      if (i > 0) sb.append('/');
+      segments.get(i).appendTo(sb);
+    }
   }
 
-  private String appendQuery(String query) {
-    return isEmpty(query) ? "" : "?" + query;
+  private void appendQuery(StringBuilder sb) {
+    List<Parameter> parameters = parameters();
+    for (int i = 0; i < parameters.size(); i++) {
+      if (i > 0) sb.append('&');
+      parameters.get(i).appendTo(sb, '&');
+    }
+  }
+
+  private void appendFragments(StringBuilder sb) {
+    List<String> fragments = fragments();
+    for (int i = 0; i < fragments.size(); i++) {
+      if (i > 0) sb.append('/');
+      sb.append(fragments.get(i));
+    }
   }
 
   // ---------------------------------------------------------------------------------------------
-  // Path parsing helpers
+  // Parsing
   // ---------------------------------------------------------------------------------------------
 
-  private List<String> asNamesList(String token) {
-    if (isNull(token) || isEmpty(token) || token.startsWith("?") || token.startsWith("#"))
-      return new ArrayList<>();
-    return Arrays.stream(splittedPaths(token))
-        .filter(p -> !p.isEmpty())
-        .collect(Collectors.toCollection(LinkedList::new));
+  private List<PathSegment> segments() {
+    if (isNull(pathSegments)) {
+      pathSegments = new ArrayList<>();
+      int start = 0;
+      while (start < pathEnd) {
+        int end = indexOf(cleaned, '/', start, pathEnd);
+        if (end > start) {
+          pathSegments.add(parseSegment(cleaned, start, end));
+        }
+        start = end + 1;
+      }
+    }
+    return pathSegments;
   }
 
-  private String[] splittedPaths(String pathString) {
-    return parsePathPart(pathString).split("/");
+  private List<Parameter> parameters() {
+    if (isNull(queryParameters)) {
+      queryParameters = new ArrayList<>();
+      if (!isBlank(cleaned, queryStart, queryEnd)) {
+        parseParameters(cleaned, queryStart, queryEnd, '&', false, queryParameters);
+      }
+    }
+    return queryParameters;
   }
 
-  private String parsePathPart(String pathString) {
-    if (pathString == null) {
-      return "";
+  /** Fragments are read after the first '#', extra leading '#' are stripped, then split by '/'. */
+  private List<String> parseFragments() {
+    List<String> result = new ArrayList<>();
+    int start = token.indexOf('#');
+    if (start < 0) {
+      return result;
+    }
+    do {
+      start++;
+    } while (start < token.length() && token.charAt(start) == '#');
+    while (start < token.length()) {
+      int end = indexOf(token, '/', start, token.length());
+      if (end > start) {
+        result.add(token.substring(start, end));
+      }
+      start = end + 1;
     }
-    String cleaned = pathString.replace("!", "");
+    return result;
+  }
 
-    // Strip fragment (first '#' outside braces)
-    int hashIdx = UrlSplitUtil.indexOfOutsideBraces(cleaned, '#');
-    if (hashIdx >= 0) {
-      cleaned = cleaned.substring(0, hashIdx);
+  /** Splits a segment by ';', the first part is the name, the rest are matrix parts "k=v". */
+  private static PathSegment parseSegment(String source, int from, int to) {
+    int semicolon = indexOf(source, ';', from, to);
+    PathSegment segment = new PathSegment(source.substring(from, semicolon));
+    if (semicolon < to) {
+      parseParameters(source, semicolon + 1, to, ';', true, segment.matrix);
+    }
+    return segment;
+  }
+
+  /**
+   * Parses {@code k=v} pairs separated by the delimiter, grouping repeated keys in first seen
+   * order. Like {@link String#split(String)} trailing empty pairs are dropped. A pair without '='
+   * has an empty value, or a {@code null} value when flags are allowed.
+   */
+  private static void parseParameters(
+      String source,
+      int from,
+      int to,
+      char delimiter,
+      boolean allowFlags,
+      List<Parameter> target) {
+    while (to > from && source.charAt(to - 1) == delimiter) {
+      to--;
+    }
+    int start = from;
+    while (start < to) {
+      int end = indexOf(source, delimiter, start, to);
+      int equals = indexOf(source, '=', start, end);
+      String key = source.substring(start, equals);
+      String value =
+          equals < end ? source.substring(equals + 1, end) : (allowFlags ? null : "");
+      Parameter parameter = find(target, key);
+      if (isNull(parameter)) {
+        parameter = new Parameter(key);
+        target.add(parameter);
+      }
+      parameter.values.add(value);
+      start = end + 1;
     }
+  }
 
-    // Strip query (first '?' outside braces, before fragment)
+  /** Splits the path portion of the token into its non empty segment names. */
+  private static List<String> asNamesList(String token) {
+    String cleaned = token.replace("!", "");
+    int end = UrlSplitUtil.indexOfOutsideBraces(cleaned, '#');
+    end = end >= 0 ? end : cleaned.length();
     int qIdx = UrlSplitUtil.indexOfOutsideBraces(cleaned, '?');
-    if (qIdx >= 0) {
-      cleaned = cleaned.substring(0, qIdx);
+    end = qIdx >= 0 && qIdx < end ? qIdx : end;
+    List<String> names = new ArrayList<>();
+    int start = 0;
+    while (start < end) {
+      int slash = indexOf(cleaned, '/', start, end);
+      if (slash > start) {
+        names.add(cleaned.substring(start, slash));
+      }
+      start = slash + 1;
     }
+    return names;
+  }
+
+  /** @return the index of {@code c} within [from, to) or {@code to} when not found */
+  private static int indexOf(String source, char c, int from, int to) {
+    int index = source.indexOf(c, from);
+    return index < 0 || index > to ? to : index;
+  }
 
-    return cleaned;
+  private static boolean isBlank(String source, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (source.charAt(i) > ' ') return false;
+    }
+    return true;
   }
 
-  private boolean isEmpty(String path) {
+  private static boolean isEmpty(String path) {
     return isNull(path) || path.isEmpty();
   }
 
-  private boolean isValidSize(List<String> paths, List<String> targets) {
-    return !targets.isEmpty() && targets.size() <= paths.size();
+  private static Parameter find(List<Parameter> parameters, String name) {
+    for (int i = 0; i < parameters.size(); i++) {
+      Parameter parameter = parameters.get(i);
+      if (parameter.key.equals(name)) return parameter;
+    }
+    return null;
   }
 
   // ---------------------------------------------------------------------------------------------
-  // Query parsing
+  // Encoding
   // ---------------------------------------------------------------------------------------------
 
-  private List<Parameter> asQueryParameters(String token) {
-    String queryString = queryPart(token);
-    if (isNull(queryString) || queryString.trim().isEmpty()) {
-      return new LinkedList<>();
-    }
-    return parsedParameters(queryString, "&", false);
-  }
-
-  // Replace the old parsedParameters(String, String) with this:
-  private List<Parameter> parsedParameters(
-      String paramString, String delimiter, boolean allowFlags) {
-    return Stream.of(paramString.split(delimiter))
-        .map(part -> part.split("=", 2))
-        .collect(
-            Collectors.groupingBy(
-                keyValue -> keyValue[0],
-                LinkedHashMap::new,
-                Collectors.mapping(
-                    keyValue -> {
-                      if (keyValue.length > 1) {
-                        return keyValue[1]; // has explicit value
-                      } else {
-                        return allowFlags ? null : ""; // flag vs empty
-                      }
-                    },
-                    Collectors.toList())))
-        .entrySet()
-        .stream()
-        .map(entry -> new Parameter(entry.getKey(), entry.getValue()))
-        .collect(Collectors.toCollection(LinkedList::new));
-  }
-
-  private String queryPart(String token) {
-    if (token == null) {
-      return "";
-    }
-    String cleaned = token.replace("!", "");
-
-    // First, strip fragment (anything after '#' outside braces)
-    int hashIdx = UrlSplitUtil.indexOfOutsideBraces(cleaned, '#');
-    String beforeFragment = hashIdx >= 0 ? cleaned.substring(0, hashIdx) : cleaned;
-
-    // Then find '?' outside braces
-    int qIdx = UrlSplitUtil.indexOfOutsideBraces(beforeFragment, '?');
-    if (qIdx < 0 || qIdx == beforeFragment.length() - 1) {
-      return "";
-    }
-
-    String query = beforeFragment.substring(qIdx + 1);
+  /**
+   * Sets how the names and values passed to this path are encoded.
+   *
+   * @param encodingMode the encoding mode, null for {@link EncodingMode#NONE}
+   * @return same instance to support builder pattern
+   */
+  public ServicePath setEncodingMode(EncodingMode encodingMode) {
+    this.encodingMode = isNull(encodingMode) ? EncodingMode.NONE : encodingMode;
+    return this;
+  }
 
-    if (!query.isEmpty() && !query.contains("=")) {
-      throw new IllegalArgumentException("Query string [" + query + "] is missing '=' operator.");
-    }
-    return query;
+  /**
+   * @return the {@link EncodingMode} of the names and values passed to this path
+   */
+  public EncodingMode getEncodingMode() {
+    return encodingMode;
   }
 
-  // ---------------------------------------------------------------------------------------------
-  // Path segments with matrix parsing (NEW)
-  // ---------------------------------------------------------------------------------------------
+  private String encode(String value, UriEncoder.Component component) {
+    return encodingMode == EncodingMode.ENCODE ? UriEncoder.encode(value, component) : value;
+  }
 
-  private List<PathSegment> asPathSegments(String token) {
-    String[] rawSegments = splittedPaths(token);
-    LinkedList<PathSegment> result = new LinkedList<>();
-    for (String raw : rawSegments) {
-      if (raw.isEmpty()) continue;
-      // Split by ';' -> first token is the name, rest are matrix parts "k=v" (k or v may be empty)
-      String[] parts = raw.split(";");
-      String name = parts.length == 0 ? "" : parts[0];
-      List<Parameter> matrix = new LinkedList<>();
-      if (parts.length > 1) {
-        String matrixString = Arrays.stream(parts).skip(1).collect(Collectors.joining(";"));
-        if (!matrixString.isEmpty()) {
-          matrix.addAll(parsedParameters(matrixString, ";", true));
-        }
-      }
-      result.add(new PathSegment(name, matrix));
+  private List<String> encode(List<String> values, UriEncoder.Component component) {
+    if (encodingMode != EncodingMode.ENCODE) {
+      return values;
     }
-    return result;
+    List<String> encoded = new ArrayList<>(values.size());
+    for (int i = 0; i < values.size(); i++) {
+      encoded.add(UriEncoder.encode(values.get(i), component));
+    }
+    return encoded;
   }
 
   // ---------------------------------------------------------------------------------------------
@@ -709,39 +771,34 @@ public class ServicePath {
     if (!(o instanceof ServicePath)) return false;
     ServicePath that = (ServicePath) o;
 
-    return paths.equals(that.paths)
-        && fragments.equals(that.fragments)
-        && queryParameters.size() == that.queryParameters.size()
-        && queryParameters.containsAll(that.queryParameters)
-        && pathSegments.equals(that.pathSegments);
+    return segments().equals(that.segments())
+        && fragments().equals(that.fragments())
+        && sameParameters(parameters(), that.parameters());
   }
 
-  // inside ServicePath
   @Override
   public int hashCode() {
-    return 31 * Objects.hash(paths, fragments, pathSegments)
-        + orderInsensitiveParamsHash(queryParameters);
+    return 31 * Objects.hash(segments(), fragments()) + parametersHash(parameters());
   }
 
-  private int orderInsensitiveParamsHash(List<Parameter> params) {
-    List<Parameter> copy = new ArrayList<>(params);
-    copy.sort(
-        (a, b) -> {
-          int c = a.key.compareTo(b.key);
-          if (c != 0) return c;
-          List<String> av = new ArrayList<>(a.value);
-          List<String> bv = new ArrayList<>(b.value);
-          av.sort(Comparator.nullsFirst(String::compareTo));
-          bv.sort(Comparator.nullsFirst(String::compareTo));
-          return av.toString().compareTo(bv.toString());
-        });
-    return copy.hashCode();
+  /** Order insensitive comparison of parameter lists. */
+  private static boolean sameParameters(List<Parameter> a, List<Parameter> b) {
+    return a.size() == b.size() && a.containsAll(b);
+  }
+
+  /** Order insensitive hash of a parameter list. */
+  private static int parametersHash(List<Parameter> parameters) {
+    int hash = 0;
+    for (int i = 0; i < parameters.size(); i++) {
+      hash += parameters.get(i).hashCode();
+    }
+    return hash;
   }
 
   @Override
   public String toString() {
     // Full round-trippable representation including root, query, and fragment
-    return "ServicePath{" + value() + "}";
+    return appendTo(new StringBuilder("ServicePath{")).append('}').toString();
   }
 
   // ---------------------------------------------------------------------------------------------
@@ -753,21 +810,44 @@ public class ServicePath {
    * but considers multiplicity.
    */
   private static class Parameter {
-    private String key;
-    private List<String> value;
+    private final String key;
+    private final List<String> values;
 
-    Parameter(String key, List<String> value) {
+    Parameter(String key) {
       this.key = key;
-      this.value = new LinkedList<>(value);
+      this.values = new ArrayList<>(1);
+    }
+
+    Parameter(String key, List<String> values) {
+      this.key = key;
+      this.values = new ArrayList<>(values);
     }
 
     void addValues(List<String> moreValues) {
-      value.addAll(moreValues);
+      values.addAll(moreValues);
     }
 
     void setValues(List<String> newValues) {
-      this.value.clear();
-      this.value.addAll(newValues);
+      this.values.clear();
+      this.values.addAll(newValues);
+    }
+
+    /** Renders {@code k=v} pairs, a {@code null} value renders the bare key as a flag. */
+    void appendTo(StringBuilder sb, char delimiter) {
+      for (int i = 0; i < values.size(); i++) {
+        if (i > 0) sb.append(delimiter);
+        sb.append(key);
+        String value = values.get(i);
+        if (nonNull(value)) {
+          sb.append('=').append(value);
+        }
+      }
+    }
+
+    private List<String> sortedValues() {
+      List<String> copy = new ArrayList<>(values);
+      copy.sort(Comparator.nullsFirst(Comparator.naturalOrder()));
+      return copy;
     }
 
     @Override
@@ -776,26 +856,17 @@ public class ServicePath {
       if (!(o instanceof Parameter)) return false;
       Parameter parameter = (Parameter) o;
       return Objects.equals(key, parameter.key)
-          && value.size() == parameter.value.size()
-          && value.containsAll(parameter.value);
+          && values.size() == parameter.values.size()
+          && sortedValues().equals(parameter.sortedValues());
     }
 
-    // inside ServicePath.Parameter
     @Override
     public int hashCode() {
-      List<String> copy = new ArrayList<>(value);
-      copy.sort(Comparator.nullsFirst(String::compareTo));
-      return Objects.hash(key, copy);
-    }
-
-    String asQueryString() {
-      return value.stream().map(v -> key + "=" + v).collect(Collectors.joining("&"));
-    }
-
-    String asMatrixString() {
-      return value.stream()
-          .map(v -> v == null ? key : (key + "=" + v))
-          .collect(Collectors.joining(";"));
+      int hash = Objects.hashCode(key);
+      for (int i = 0; i < values.size(); i++) {
+        hash += 31 * Objects.hashCode(values.get(i));
+      }
+      return hash;
     }
   }
 
@@ -805,11 +876,15 @@ public class ServicePath {
    */
   public static class PathSegment {
     private final String name;
-    private final LinkedList<Parameter> matrix;
+    private final List<Parameter> matrix;
 
-    PathSegment(String name, List<Parameter> matrix) {
+    PathSegment(String name) {
+      this(name, new ArrayList<>());
+    }
+
+    private PathSegment(String name, List<Parameter> matrix) {
       this.name = name == null ? "" : name;
-      this.matrix = new LinkedList<>(matrix == null ? new LinkedList<>() : matrix);
+      this.matrix = matrix;
     }
 
     /**
@@ -824,7 +899,7 @@ public class ServicePath {
      * @return true if a matrix parameter with the given name exists
      */
     public boolean hasMatrixParameter(String param) {
-      return matrix.stream().anyMatch(p -> p.key.equals(param));
+      return nonNull(find(matrix, param));
     }
 
     /**
@@ -832,27 +907,23 @@ public class ServicePath {
      * @return all values for a matrix parameter (empty list if not present)
      */
     public List<String> matrixValues(String param) {
-      return matrix.stream()
-          .filter(p -> p.key.equals(param))
-          .findFirst()
-          .map(p -> new LinkedList<>(p.value))
-          .orElseGet(LinkedList::new);
+      Parameter current = find(matrix, param);
+      return isNull(current) ? new ArrayList<>() : new ArrayList<>(current.values);
     }
 
     /** Replace all values for a matrix parameter with the given values (creating it if absent). */
     void setMatrix(String param, List<String> values) {
-      Parameter current = matrix.stream().filter(p -> p.key.equals(param)).findFirst().orElse(null);
+      Parameter current = find(matrix, param);
       if (current == null) {
         matrix.add(new Parameter(param, values));
       } else {
-        current.value.clear();
-        current.value.addAll(values);
+        current.setValues(values);
       }
     }
 
     /** Append additional values to the named matrix parameter (creating it if absent). */
     void appendMatrix(String param, List<String> values) {
-      Parameter current = matrix.stream().filter(p -> p.key.equals(param)).findFirst().orElse(null);
+      Parameter current = find(matrix, param);
       if (current == null) {
         matrix.add(new Parameter(param, values));
       } else {
@@ -862,7 +933,7 @@ public class ServicePath {
 
     /** Remove the named matrix parameter entirely (if present). */
     void removeMatrix(String param) {
-      Parameter current = matrix.stream().filter(p -> p.key.equals(param)).findFirst().orElse(null);
+      Parameter current = find(matrix, param);
       if (current != null) {
         matrix.remove(current);
       }
@@ -872,18 +943,19 @@ public class ServicePath {
      * Render as a path segment including matrix parameters, e.g. {@code
      * users;active=true;role=admin}.
      */
-    String asPathString() {
-      if (matrix.isEmpty()) return name;
-      String matrices =
-          matrix.stream().map(Parameter::asMatrixString).collect(Collectors.joining(";"));
-      return name + ";" + matrices;
+    void appendTo(StringBuilder sb) {
+      sb.append(name);
+      for (int i = 0; i < matrix.size(); i++) {
+        sb.append(';');
+        matrix.get(i).appendTo(sb, ';');
+      }
     }
 
     /**
      * @return a new {@link PathSegment} with the same matrix parameters and a different name.
      */
     PathSegment renamed(String newName) {
-      return new PathSegment(newName, new LinkedList<>(this.matrix));
+      return new PathSegment(newName, new ArrayList<>(this.matrix));
     }
 
     @Override
@@ -891,36 +963,12 @@ public class ServicePath {
       if (this == o) return true;
       if (!(o instanceof PathSegment)) return false;
       PathSegment that = (PathSegment) o;
-      return Objects.equals(name, that.name)
-          && matrix.size() == that.matrix.size()
-          && matrix.containsAll(that.matrix);
+      return Objects.equals(name, that.name) && sameParameters(matrix, that.matrix);
     }
 
-    // inside ServicePath.PathSegment
     @Override
     public int hashCode() {
-      List<Parameter> copy = new ArrayList<>(matrix);
-      copy.sort(
-          (a, b) -> {
-            int c = a.key.compareTo(b.key);
-            if (c != 0) return c;
-            List<String> av = new ArrayList<>(a.value);
-            List<String> bv = new ArrayList<>(b.value);
-            av.sort(Comparator.nullsFirst(String::compareTo));
-            bv.sort(Comparator.nullsFirst(String::compareTo));
-            return av.toString().compareTo(bv.toString());
-          });
-      return Objects.hash(name, copy);
+      return 31 * name.hashCode() + parametersHash(matrix);
     }
   }
-
-  // ---------------------------------------------------------------------------------------------
-  // Small helpers
-  // ---------------------------------------------------------------------------------------------
-
-  private List<String> asList(String value) {
-    List<String> values = new ArrayList<>();
-    values.add(value);
-    return values;
-  }
 }
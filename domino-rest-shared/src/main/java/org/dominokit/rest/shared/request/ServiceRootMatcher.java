@@ -24,22 +24,19 @@ import java.util.List;
  */
 public class ServiceRootMatcher {
 
-  private static final DynamicServiceRoot defaultRoot =
-      DynamicServiceRoot.pathMatcher(path -> true)
-          .serviceRoot(() -> DominoRestContext.make().getConfig().getDefaultServiceRoot());
-
   /**
    * @param request the request
    * @return the service root for a specific path
    */
   public static String matchedServiceRoot(ImmutableServerRequest<?, ?> request) {
-    final List<DynamicServiceRoot> serviceRoots =
-        DominoRestContext.make().getConfig().getServiceRoots();
-    return serviceRoots.stream()
-        .filter(r -> r.isMatchingPath(request))
-        .findFirst()
-        .orElse(defaultRoot)
-        .onMatchingPath(request);
+    final List<DynamicServiceRoot> serviceRoots = serviceRoots(request);
+    for (DynamicServiceRoot serviceRoot : serviceRoots) {
+      if (serviceRoot.isMatchingPath(request)) {
+        return serviceRoot.onMatchingPath(request);
+      }
+    }
+    return request.getDelegate().getRequestContext().getConfig().getDefaultServiceRoot()
+        + request.getPath();
   }
 
   /**
@@ -47,8 +44,11 @@ public class ServiceRootMatcher {
    * @return true if the path has a dynamic service root configured, false otherwise
    */
   public static boolean hasServiceRoot(ImmutableServerRequest<?, ?> path) {
-    final List<DynamicServiceRoot> serviceRoots =
-        DominoRestContext.make().getConfig().getServiceRoots();
+    final List<DynamicServiceRoot> serviceRoots = serviceRoots(path);
     return serviceRoots.stream().anyMatch(r -> r.isMatchingPath(path));
   }
+
+  private static List<DynamicServiceRoot> serviceRoots(ImmutableServerRequest<?, ?> request) {
+    return request.getDelegate().getConfigSnapshot().getServiceRoots();
+  }
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+import static java.util.Objects.nonNull;
+
+import java.util.Arrays;
+
+/**
+ * An immutable set of HTTP status codes backed by a bitset, checking a status code is a bit test
+ * instead of a scan over boxed integers. Instances can be shared by any number of requests.
+ */
+public final class StatusCodes {
+
+  // status codes are three digit numbers, anything above this is kept in the overflow array
+  private static final int MAX_BITSET_CODE = 639;
+
+  /** The default success codes 200 to 204 */
+  public static final StatusCodes DEFAULT_SUCCESS = of(200, 201, 202, 203, 204);
+
+  private final long[] bits = new long[(MAX_BITSET_CODE >> 6) + 1];
+  private final int[] overflow;
+  private final int[] codes;
+
+  private StatusCodes(int[] codes) {
+    this.codes = codes;
+    int overflowCount = 0;
+    for (int code : codes) {
+      if (code >= 0 && code <= MAX_BITSET_CODE) {
+        bits[code >> 6] |= 1L << code;
+      } else {
+        overflowCount++;
+      }
+    }
+    this.overflow = new int[overflowCount];
+    int index = 0;
+    for (int code : codes) {
+      if (code < 0 || code > MAX_BITSET_CODE) {
+        overflow[index++] = code;
+      }
+    }
+  }
+
+  /**
+   * @param codes the status codes
+   * @return a new set of the status codes
+   */
+  public static StatusCodes of(int... codes) {
+    return new StatusCodes(Arrays.copyOf(codes, codes.length));
+  }
+
+  /**
+   * @param codes the status codes, null entries are ignored
+   * @return a new set of the status codes
+   */
+  public static StatusCodes of(Integer[] codes) {
+    int[] values = new int[codes.length];
+    int count = 0;
+    for (Integer code : codes) {
+      if (nonNull(code)) {
+        values[count++] = code;
+      }
+    }
+    return new StatusCodes(Arrays.copyOf(values, count));
+  }
+
+  /**
+   * @param code the status code
+   * @return true if the code is in this set
+   */
+  public boolean contains(int code) {
+    if (code >= 0 && code <= MAX_BITSET_CODE) {
+      return (bits[code >> 6] & (1L << code)) != 0;
+    }
+    for (int value : overflow) {
+      if (value == code) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return a new array of the status codes in the order they were given
+   */
+  public Integer[] toArray() {
+    Integer[] result = new Integer[codes.length];
+    for (int i = 0; i < codes.length; i++) {
+      result[i] = codes[i];
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(codes);
+  }
+}
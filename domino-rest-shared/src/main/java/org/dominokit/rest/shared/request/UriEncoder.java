@@ -0,0 +1,160 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Percent-encodes values for a url component following RFC 3986.
+ *
+ * <p>Every character that is not allowed verbatim in the component is replaced by the {@code %XX}
+ * escapes of its UTF-8 bytes, {@code %} itself included, so values must not be encoded already.
+ * The allowed characters are looked up in a table, and a value without characters to escape is
+ * returned as is without allocating.
+ *
+ * <p>{@code '!'} is escaped in paths and queries, as {@link ServicePath} strips it from them.
+ */
+public final class UriEncoder {
+
+  private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+  private static final String UNRESERVED =
+      "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-._~";
+  private static final byte[] ALLOWED = new byte[128];
+
+  /** A url component with the characters it allows verbatim. */
+  public enum Component {
+    /** A path segment, {@code '/'} and {@code ';'} are escaped. */
+    PATH_SEGMENT(UNRESERVED + "$&'()*+,=:@"),
+    /** A matrix parameter name or value, {@code '/'}, {@code ';'} and {@code '='} are escaped. */
+    MATRIX(UNRESERVED + "$&'()*+,:@"),
+    /** A query parameter name or value, {@code '&'}, {@code '='} and {@code '+'} are escaped. */
+    QUERY(UNRESERVED + "$'()*,;:@/?"),
+    /** A fragment, {@code '#'} is escaped. */
+    FRAGMENT(UNRESERVED + "!$&'()*+,;=:@/?");
+
+    private final String allowed;
+
+    Component(String allowed) {
+      this.allowed = allowed;
+    }
+
+    private int mask() {
+      return 1 << ordinal();
+    }
+  }
+
+  static {
+    for (Component component : Component.values()) {
+      for (int i = 0; i < component.allowed.length(); i++) {
+        ALLOWED[component.allowed.charAt(i)] |= (byte) component.mask();
+      }
+    }
+  }
+
+  private UriEncoder() {}
+
+  /**
+   * Encodes a value for a url component.
+   *
+   * @param value the value to encode, may be null
+   * @param component the url component the value is put into
+   * @return the encoded value, the same instance if nothing needs to be escaped
+   */
+  public static String encode(String value, Component component) {
+    if (isNull(value)) {
+      return null;
+    }
+    int first = firstEscape(value, component.mask());
+    if (first == value.length()) {
+      return value;
+    }
+    StringBuilder sb = new StringBuilder(value.length() + 16);
+    sb.append(value, 0, first);
+    appendEncoded(sb, value, first, component.mask());
+    return sb.toString();
+  }
+
+  /**
+   * Appends a value encoded for a url component, without creating intermediate strings.
+   *
+   * @param sb the builder to append to
+   * @param value the value to encode
+   * @param component the url component the value is put into
+   * @return the same builder
+   */
+  public static StringBuilder encode(StringBuilder sb, String value, Component component) {
+    int first = firstEscape(value, component.mask());
+    sb.append(value, 0, first);
+    if (first < value.length()) {
+      appendEncoded(sb, value, first, component.mask());
+    }
+    return sb;
+  }
+
+  /**
+   * @param value the value to check
+   * @param component the url component the value is put into
+   * @return true if the value has characters that must be escaped in the component
+   */
+  public static boolean needsEncoding(String value, Component component) {
+    return firstEscape(value, component.mask()) < value.length();
+  }
+
+  private static int firstEscape(String value, int mask) {
+    for (int i = 0; i < value.length(); i++) {
+      if (!isAllowed(value.charAt(i), mask)) {
+        return i;
+      }
+    }
+    return value.length();
+  }
+
+  private static boolean isAllowed(char c, int mask) {
+    return c < 128 && (ALLOWED[c] & mask) != 0;
+  }
+
+  private static void appendEncoded(StringBuilder sb, String value, int from, int mask) {
+    for (int i = from; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (isAllowed(c, mask)) {
+        sb.append(c);
+      } else if (c < 0x80) {
+        escape(sb, c);
+      } else if (c < 0x800) {
+        escape(sb, 0xC0 | (c >> 6));
+        escape(sb, 0x80 | (c & 0x3F));
+      } else if (Character.isHighSurrogate(c)
+          && i + 1 < value.length()
+          && Character.isLowSurrogate(value.charAt(i + 1))) {
+        int codePoint = Character.toCodePoint(c, value.charAt(++i));
+        escape(sb, 0xF0 | (codePoint >> 18));
+        escape(sb, 0x80 | ((codePoint >> 12) & 0x3F));
+        escape(sb, 0x80 | ((codePoint >> 6) & 0x3F));
+        escape(sb, 0x80 | (codePoint & 0x3F));
+      } else {
+        // a lone surrogate is encoded as the replacement character U+FFFD
+        int unit = Character.isHighSurrogate(c) || Character.isLowSurrogate(c) ? 0xFFFD : c;
+        escape(sb, 0xE0 | (unit >> 12));
+        escape(sb, 0x80 | ((unit >> 6) & 0x3F));
+        escape(sb, 0x80 | (unit & 0x3F));
+      }
+    }
+  }
+
+  private static void escape(StringBuilder sb, int b) {
+    sb.append('%').append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+  }
+}
@@ -47,7 +47,8 @@ import org.dominokit.rest.shared.request.exception.PathParameterMissingException
  * <p>Notes:
  *
  * <ul>
- *   <li>No automatic URL-encoding is performed; values are inserted verbatim.
+ *   <li>Values are inserted verbatim, unless {@link RestConfig#getEncodingMode()} is {@link
+ *       EncodingMode#ENCODE}, then they are encoded for their component with {@link UriEncoder}.
  *   <li>Leading slashes are handled by {@link ServicePath#value()} — do not add one here.
  *   <li>The actual portion of the input URL that is modified is controlled by {@link
  *       RestConfig#getRegexEngine()} .
@@ -75,7 +76,7 @@ public class UrlFormatter {
   private final RegexEngine re;
   private final DominoCompiledPattern exprCompiled;
   private final RegexValidationMode validationMode;
-  private UrlSplitUtil urlSplitUtil;
+  private final EncodingMode encodingMode;
 
   /**
    * Backward-compatible constructor: one map powers all components.
@@ -99,18 +100,41 @@ public class UrlFormatter {
       Map<String, String> matrixParams,
       Map<String, String> queryParams,
       Map<String, String> fragmentParams) {
+    this(
+        pathParams,
+        matrixParams,
+        queryParams,
+        fragmentParams,
+        DominoRestContext.make().getConfig());
+  }
+
+  /**
+   * Full constructor using the regex engine and modes of a specific configuration.
+   *
+   * @param pathParams a map of path parameters
+   * @param matrixParams a map of matrix parameters
+   * @param queryParams a map of query parameters
+   * @param fragmentParams a map of fragment parameters
+   * @param cfg the {@link RestConfig} of the request being formatted
+   */
+  public UrlFormatter(
+      Map<String, String> pathParams,
+      Map<String, String> matrixParams,
+      Map<String, String> queryParams,
+      Map<String, String> fragmentParams,
+      RestConfig cfg) {
 
     this.pathParams = pathParams;
     this.matrixParams = matrixParams;
     this.queryParams = queryParams;
     this.fragmentParams = fragmentParams;
 
-    RestConfig cfg = DominoRestContext.make().getConfig();
     this.re = cfg.getRegexEngine();
-    urlSplitUtil = new UrlSplitUtil(re);
-    // We want to iterate all matches → compile with global flag where applicable.
+    // We want to iterate all matches → compile with global flag where applicable, the engine
+    // caches the compiled pattern.
     this.exprCompiled = re.compile(EXPR_PATTERN, "g");
-    this.validationMode = DominoRestContext.make().getConfig().getRegexValidationMode();
+    this.validationMode = cfg.getRegexValidationMode();
+    this.encodingMode = cfg.getEncodingMode();
   }
 
   /**
@@ -134,7 +158,7 @@ public class UrlFormatter {
       return trimmed;
     }
 
-    UrlSplitUtil.Split result = urlSplitUtil.split(trimmed);
+    UrlSplitUtil.Split result = UrlSplitUtil.splitUrl(trimmed);
     // 1) Extract the token (the part we should modify) and the untouched prefix.
     String postfix = result.rightSide;
     String prefix = result.leftSide;
@@ -163,9 +187,14 @@ public class UrlFormatter {
     // 3) Replace per-component with its own map (+ regex validation).
     String replacedPathWithMatrix =
         replaceInPathAndMatrix(pathWithMatrix, pathParams, matrixParams);
-    String replacedQuery = query.isEmpty() ? "" : replaceAll(query, queryParams, "query");
+    String replacedQuery =
+        query.isEmpty()
+            ? ""
+            : replaceAll(query, queryParams, "query", UriEncoder.Component.QUERY);
     String replacedFragment =
-        fragment.isEmpty() ? "" : replaceAll(fragment, fragmentParams, "fragment");
+        fragment.isEmpty()
+            ? ""
+            : replaceAll(fragment, fragmentParams, "fragment", UriEncoder.Component.FRAGMENT);
 
     // 4) Reassemble token, normalize via ServicePath, and prepend prefix.
     String rebuiltToken =
@@ -174,7 +203,15 @@ public class UrlFormatter {
             + (replacedFragment.isEmpty() ? "" : "#" + replacedFragment);
 
     ServicePath normalized = new ServicePath(rebuiltToken);
-    return prefix + normalized.value();
+    return normalized.appendTo(new StringBuilder(prefix)).toString();
+  }
+
+  private void appendValue(StringBuilder out, String value, UriEncoder.Component component) {
+    if (encodingMode == EncodingMode.ENCODE) {
+      UriEncoder.encode(out, value, component);
+    } else {
+      out.append(value);
+    }
   }
 
   private boolean hasExpressions(String url) {
@@ -209,8 +246,11 @@ public class UrlFormatter {
       String name = semi >= 0 ? seg.substring(0, semi) : seg;
       String matrixTail = semi >= 0 ? seg.substring(semi + 1) : "";
 
-      String replacedName = replaceAll(name, pathMap, "path");
-      String replacedTail = matrixTail.isEmpty() ? "" : replaceAll(matrixTail, matrixMap, "matrix");
+      String replacedName = replaceAll(name, pathMap, "path", UriEncoder.Component.PATH_SEGMENT);
+      String replacedTail =
+          matrixTail.isEmpty()
+              ? ""
+              : replaceAll(matrixTail, matrixMap, "matrix", UriEncoder.Component.MATRIX);
 
       out.append(replacedName);
       if (!replacedTail.isEmpty()) {
@@ -223,9 +263,13 @@ public class UrlFormatter {
   /**
    * Replace every occurrence of <code>:name</code>, <code>{name}</code>, or <code>{name:regex}
    * </code> in {@code input} using {@code map}. For the regex form, the value MUST fully match the
-   * regex.
+   * regex. Values are validated before they are encoded for the component.
    */
-  private String replaceAll(String input, Map<String, String> map, String contextName) {
+  private String replaceAll(
+      String input,
+      Map<String, String> map,
+      String contextName,
+      UriEncoder.Component component) {
     if (input == null || input.isEmpty()) {
       return input;
     }
@@ -288,7 +332,7 @@ public class UrlFormatter {
             }
           }
         }
-        out.append(value);
+        appendValue(out, value, component);
         i = end + 1;
         continue;
       }
@@ -322,7 +366,7 @@ public class UrlFormatter {
         }
 
         // Colon-style never has a regex (ParsedExpression.regex will be null)
-        out.append(value);
+        appendValue(out, value, component);
         i = j;
         continue;
       }
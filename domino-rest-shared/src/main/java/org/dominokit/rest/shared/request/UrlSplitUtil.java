@@ -15,30 +15,21 @@
  */
 package org.dominokit.rest.shared.request;
 
-import org.dominokit.rest.shared.regex.DominoCompiledPattern;
-import org.dominokit.rest.shared.regex.DominoMatcher;
 import org.dominokit.rest.shared.regex.RegexEngine;
 
 /** Utility class for splitting and parsing URLs into segments. */
 public final class UrlSplitUtil {
 
-  // Matches: [scheme: ]// [optional userinfo@] [host:port] [rest...]
-  // Groups:
-  //   1 = scheme (may be empty for protocol-relative URLs)
-  //   2 = host:port (authority w/o userinfo)
-  //   3 = rest (path?query#fragment, may be empty)
-  private static final String SPLIT_PATTERN =
-      "^(?:(?:([A-Za-z][A-Za-z0-9+.-]*):)?//)(?:[^@/?#]*@)?([^/?#]+)(.*)$";
-
-  private final DominoCompiledPattern compiled;
+  /** Creates a new instance. */
+  public UrlSplitUtil() {}
 
   /**
    * Creates a new instance.
    *
-   * @param engine the {@link RegexEngine} to use for splitting
+   * @param engine not used anymore, URLs are split without regular expressions
    */
   public UrlSplitUtil(RegexEngine engine) {
-    this.compiled = engine.compile(SPLIT_PATTERN);
+    this();
   }
 
   /**
@@ -46,22 +37,81 @@ public final class UrlSplitUtil {
    *
    * @param url the URL to split
    * @return the split result
+   * @see #splitUrl(String)
    */
   public Split split(String url) {
-    DominoMatcher m = compiled.matcher(url);
-    if (m.isMatch()) {
-      String scheme = nullToEmpty(m.group(1)); // may be ""
-      String hostport = m.group(2); // never null on match
-      String rest = nullToEmpty(m.group(3)); // possibly ""
-      String base = (scheme.isEmpty() ? "" : scheme + ":") + "//" + hostport;
-      return new Split(base, rest);
+    return splitUrl(url);
+  }
+
+  /**
+   * Splits a URL of the form {@code [scheme:]//[userinfo@]host[:port][rest]} into base = {@code
+   * scheme://host[:port]} and rest = {@code path?query#fragment}. The userinfo is dropped from the
+   * base, a URL without {@code //} and a host after the optional scheme is all rest. Only the
+   * {@code unix} scheme accepts an empty authority, for roots like {@code
+   * unix:///path/to/app.sock}.
+   *
+   * @param url the URL to split
+   * @return the split result
+   */
+  public static Split splitUrl(String url) {
+    int length = url.length();
+    // [scheme:] = ALPHA *( ALPHA / DIGIT / "+" / "-" / "." ) ":"
+    int schemeEnd = -1;
+    if (length > 0 && isAlpha(url.charAt(0))) {
+      int i = 1;
+      while (i < length && isSchemeChar(url.charAt(i))) {
+        i++;
+      }
+      if (i < length && url.charAt(i) == ':') {
+        schemeEnd = i;
+      }
+    }
+    int slashes = schemeEnd + 1;
+    if (!url.startsWith("//", slashes)) {
+      // No scheme//authority → treat entire input as "rest"
+      return new Split("", url);
     }
-    // No scheme//authority → treat entire input as "rest"
-    return new Split("", url);
+    int authorityStart = slashes + 2;
+    int hostStart = authorityStart;
+    for (int i = authorityStart; i < length; i++) {
+      char c = url.charAt(i);
+      if (c == '@') {
+        hostStart = i + 1;
+        break;
+      }
+      if (isAuthorityEnd(c)) {
+        break;
+      }
+    }
+    int hostEnd = hostStart;
+    while (hostEnd < length && !isAuthorityEnd(url.charAt(hostEnd))) {
+      hostEnd++;
+    }
+    if (hostEnd == hostStart && !isUnixScheme(url, schemeEnd)) {
+      // No host → treat entire input as "rest"
+      return new Split("", url);
+    }
+    String base =
+        hostStart == authorityStart
+            ? url.substring(0, hostEnd)
+            : url.substring(0, authorityStart) + url.substring(hostStart, hostEnd);
+    return new Split(base, url.substring(hostEnd));
+  }
+
+  private static boolean isUnixScheme(String url, int schemeEnd) {
+    return schemeEnd == 4 && url.regionMatches(true, 0, "unix", 0, 4);
+  }
+
+  private static boolean isAlpha(char c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+  }
+
+  private static boolean isSchemeChar(char c) {
+    return isAlpha(c) || (c >= '0' && c <= '9') || c == '+' || c == '-' || c == '.';
   }
 
-  private static String nullToEmpty(String s) {
-    return s == null ? "" : s;
+  private static boolean isAuthorityEnd(char c) {
+    return c == '/' || c == '?' || c == '#';
   }
 
   /**
@@ -0,0 +1,48 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request.service.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation hedges the calls of an idempotent endpoint, if no response is received within
+ * the delay a duplicate request is sent and the first response wins.
+ *
+ * @see org.dominokit.rest.shared.request.HedgePolicy
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Hedge {
+  /**
+   * @return the delay in milliseconds before sending the duplicate request, a negative value uses
+   *     the observed 95th percentile latency of the endpoint
+   */
+  int delay() default -1;
+
+  /**
+   * @return the delay in milliseconds used until enough latencies of the endpoint are observed
+   */
+  int fallbackDelay() default 100;
+
+  /**
+   * @return the scheme, host and port to send the duplicate request to, empty to use the same
+   *     endpoint
+   */
+  String alternateOrigin() default "";
+}
@@ -19,6 +19,7 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import org.dominokit.rest.shared.request.AsyncFacade;
 import org.dominokit.rest.shared.request.RestConfig;
 
 /**
@@ -34,6 +35,10 @@ import org.dominokit.rest.shared.request.RestConfig;
  * However, you can specifically define a base url for a specific client using {@link
  * RequestFactory#serviceRoot()}, this will override the service root for this client only.
  *
+ * <p>Setting {@link RequestFactory#async()} generates an extra {@code <Service>AsyncFactory} class
+ * whose methods send the request right away and return its result as a {@code CompletionStage} or
+ * a {@code Promise}.
+ *
  * <p>For example:
  *
  * <pre>
@@ -64,4 +69,9 @@ public @interface RequestFactory {
    *     RestConfig#getDefaultServiceRoot()}
    */
   String serviceRoot() default "";
+
+  /**
+   * @return the kind of asynchronous facade to generate, default to {@link AsyncFacade#NONE}
+   */
+  AsyncFacade async() default AsyncFacade.NONE;
 }
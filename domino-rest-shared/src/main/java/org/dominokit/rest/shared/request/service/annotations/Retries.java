@@ -36,4 +36,10 @@ public @interface Retries {
    * @return the maximum number of retries
    */
   int maxRetries() default 3;
+
+  /**
+   * @return the delay in milliseconds before the first retry, doubled with every retry, 0 to retry
+   *     right away
+   */
+  int backoff() default 0;
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request.service.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation defines the timeouts in milliseconds of the individual phases of each request
+ * attempt, a value of 0 leaves the phase to the configured defaults.
+ *
+ * @see org.dominokit.rest.shared.request.PhaseTimeouts
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Timeouts {
+  /**
+   * @return the connect timeout
+   */
+  int connect() default 0;
+
+  /**
+   * @return the timeout until the response headers are received
+   */
+  int firstByte() default 0;
+
+  /**
+   * @return the maximum silence between two chunks of the response body
+   */
+  int idle() default 0;
+
+  /**
+   * @return the timeout of the whole attempt
+   */
+  int total() default 0;
+}
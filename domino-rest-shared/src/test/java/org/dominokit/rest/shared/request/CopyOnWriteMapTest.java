@@ -0,0 +1,196 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+/** Tests for {@link CopyOnWriteMap} and {@link ParameterValues}. */
+public class CopyOnWriteMapTest {
+
+  @Test
+  public void snapshot_doesNotSeeLaterChangesOfTheMap() {
+    CopyOnWriteMap<String, String> map = new CopyOnWriteMap<>();
+    map.put("a", "1");
+
+    Map<String, String> snapshot = map.snapshot();
+    map.put("a", "2");
+    map.put("b", "3");
+
+    assertEquals(Collections.singletonMap("a", "1"), snapshot);
+    assertEquals("2", map.get("a"));
+    assertEquals(2, map.size());
+  }
+
+  @Test
+  public void map_doesNotSeeChangesOfTheSnapshot() {
+    CopyOnWriteMap<String, String> map = new CopyOnWriteMap<>();
+    map.put("a", "1");
+
+    Map<String, String> snapshot = map.snapshot();
+    snapshot.put("b", "2");
+    snapshot.remove("a");
+
+    assertEquals(Collections.singletonMap("a", "1"), map);
+    assertEquals(Collections.singletonMap("b", "2"), snapshot);
+  }
+
+  @Test
+  public void clear_leavesTheSnapshotsUntouched() {
+    CopyOnWriteMap<String, String> map = new CopyOnWriteMap<>();
+    map.put("a", "1");
+
+    Map<String, String> snapshot = map.snapshot();
+    map.clear();
+    map.put("b", "2");
+
+    assertEquals(Collections.singletonMap("a", "1"), snapshot);
+    assertEquals(Collections.singletonMap("b", "2"), map);
+  }
+
+  @Test
+  public void readOnlyView_reflectsTheMap() {
+    CopyOnWriteMap<String, String> map = new CopyOnWriteMap<>();
+    Map<String, String> view = map.readOnlyView();
+    map.put("a", "1");
+
+    assertEquals("1", view.get("a"));
+    assertSame(view, map.readOnlyView());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void readOnlyView_cannotBeModified() {
+    new CopyOnWriteMap<String, String>().readOnlyView().put("a", "1");
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void readOnlyView_entriesCannotBeModified() {
+    CopyOnWriteMap<String, String> map = new CopyOnWriteMap<>();
+    map.put("a", "1");
+    map.readOnlyView().entrySet().iterator().next().setValue("2");
+  }
+
+  @Test
+  public void entries_setThroughTheSnapshotDoNotChangeTheMap() {
+    CopyOnWriteMap<String, String> map = new CopyOnWriteMap<>();
+    map.put("a", "1");
+
+    Map<String, String> snapshot = map.snapshot();
+    assertEquals("1", snapshot.entrySet().iterator().next().setValue("2"));
+
+    assertEquals(Collections.singletonMap("a", "1"), map);
+    assertEquals(Collections.singletonMap("a", "2"), snapshot);
+  }
+
+  @Test
+  public void views_removeFromTheSnapshotOnly() {
+    CopyOnWriteMap<String, String> map = new CopyOnWriteMap<>();
+    map.put("a", "1");
+    map.put("b", "2");
+    map.put("c", "3");
+    map.put("d", "4");
+
+    Map<String, String> snapshot = map.snapshot();
+    assertTrue(snapshot.entrySet().removeIf(entry -> entry.getKey().equals("a")));
+    assertTrue(snapshot.keySet().remove("b"));
+    assertTrue(snapshot.values().remove("3"));
+
+    assertEquals(4, map.size());
+    assertEquals(Collections.singletonMap("d", "4"), snapshot);
+  }
+
+  @Test
+  public void iterator_removesAfterTheEntriesWereCopied() {
+    CopyOnWriteMap<String, String> map = new CopyOnWriteMap<>();
+    map.put("a", "1");
+    map.put("b", "2");
+    map.put("c", "3");
+
+    Map<String, String> snapshot = map.snapshot();
+    Iterator<Map.Entry<String, String>> entries = snapshot.entrySet().iterator();
+    while (entries.hasNext()) {
+      entries.next();
+      entries.remove();
+    }
+
+    assertTrue(snapshot.isEmpty());
+    assertEquals(3, map.size());
+
+    Iterator<Map.Entry<String, String>> owned = map.entrySet().iterator();
+    owned.next();
+    owned.remove();
+    assertEquals(2, map.size());
+    assertSame(map.entrySet(), map.entrySet());
+  }
+
+  @Test
+  public void snapshotValues_canBeModifiedWithoutChangingTheMap() {
+    CopyOnWriteMap<String, List<String>> map = new CopyOnWriteMap<>(ArrayList::new);
+    map.put("a", ParameterValues.of("1"));
+    map.put("b", ParameterValues.of("2"));
+
+    Map<String, List<String>> snapshot = map.snapshot();
+    snapshot.get("a").add("3");
+    snapshot.entrySet().iterator().next().getValue().add("4");
+    snapshot.forEach((key, values) -> values.add("5"));
+
+    assertEquals(Arrays.asList("1", "3", "4", "5"), snapshot.get("a"));
+    assertEquals(Arrays.asList("2", "5"), snapshot.get("b"));
+    assertEquals(Collections.singletonList("1"), map.get("a"));
+    assertEquals(Collections.singletonList("2"), map.get("b"));
+  }
+
+  @Test
+  public void snapshotOfASnapshot_doesNotShareTheCopiedValues() {
+    CopyOnWriteMap<String, List<String>> map = new CopyOnWriteMap<>(ArrayList::new);
+    map.put("a", ParameterValues.of("1"));
+
+    CopyOnWriteMap<String, List<String>> snapshot = map.snapshot();
+    snapshot.get("a").add("2");
+    Map<String, List<String>> nested = snapshot.snapshot();
+    snapshot.get("a").add("3");
+    nested.get("a").add("4");
+
+    assertEquals(Arrays.asList("1", "2", "3"), snapshot.get("a"));
+    assertEquals(Arrays.asList("1", "2", "4"), nested.get("a"));
+    assertEquals(Collections.singletonList("1"), map.get("a"));
+  }
+
+  @Test
+  public void parameterValues_appendCreatesNewLists() {
+    List<String> one = ParameterValues.of("a");
+    List<String> two = ParameterValues.append(one, "b");
+    List<String> four = ParameterValues.appendAll(two, Arrays.asList("c", "d"));
+
+    assertEquals(Collections.singletonList("a"), one);
+    assertEquals(Arrays.asList("a", "b"), two);
+    assertEquals(Arrays.asList("a", "b", "c", "d"), four);
+    assertEquals(Collections.singletonList("x"), ParameterValues.append(null, "x"));
+    assertSame(four, ParameterValues.copyOf(four));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void parameterValues_areImmutable() {
+    ParameterValues.append(ParameterValues.of("a"), "b").add("c");
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/** Tests for {@link HashedWheel} driven with a manual clock. */
+public class HashedWheelTest {
+
+  private static final long START = 1000;
+
+  private static void run(List<Runnable> tasks) {
+    for (Runnable task : tasks) {
+      task.run();
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructor_invalidTick_throws() {
+    new HashedWheel(0, 8, START);
+  }
+
+  @Test
+  public void task_expires_on_the_tick_of_its_deadline() {
+    HashedWheel wheel = new HashedWheel(10, 8, START);
+    List<String> fired = new ArrayList<>();
+    wheel.add(() -> fired.add("a"), START + 25);
+
+    run(wheel.advance(START + 20));
+    assertTrue(fired.isEmpty());
+    assertEquals(1, wheel.size());
+
+    run(wheel.advance(START + 30));
+    assertEquals(1, fired.size());
+    assertTrue(wheel.isEmpty());
+  }
+
+  @Test
+  public void task_beyond_one_turn_waits_for_its_round() {
+    HashedWheel wheel = new HashedWheel(10, 4, START);
+    List<String> fired = new ArrayList<>();
+    // 4 buckets of 10ms, the deadline is three turns away
+    wheel.add(() -> fired.add("far"), START + 125);
+    wheel.add(() -> fired.add("near"), START + 5);
+
+    run(wheel.advance(START + 10));
+    assertEquals(1, fired.size());
+    assertEquals("near", fired.get(0));
+
+    run(wheel.advance(START + 120));
+    assertEquals(1, fired.size());
+
+    run(wheel.advance(START + 130));
+    assertEquals(2, fired.size());
+    assertEquals("far", fired.get(1));
+  }
+
+  @Test
+  public void removed_task_never_expires() {
+    HashedWheel wheel = new HashedWheel(10, 8, START);
+    List<String> fired = new ArrayList<>();
+    HashedWheel.Entry first = wheel.add(() -> fired.add("first"), START + 15);
+    HashedWheel.Entry second = wheel.add(() -> fired.add("second"), START + 15);
+    wheel.add(() -> fired.add("third"), START + 15);
+
+    assertTrue(wheel.remove(second));
+    assertFalse(wheel.remove(second));
+    assertFalse(second.isPending());
+    assertTrue(first.isPending());
+    assertEquals(2, wheel.size());
+
+    run(wheel.advance(START + 20));
+    assertEquals(2, fired.size());
+    assertFalse(fired.contains("second"));
+    assertFalse(first.isPending());
+    assertFalse(wheel.remove(first));
+  }
+
+  @Test
+  public void past_deadline_expires_on_the_next_tick() {
+    HashedWheel wheel = new HashedWheel(10, 8, START);
+    run(wheel.advance(START + 500));
+    List<String> fired = new ArrayList<>();
+    wheel.add(() -> fired.add("late"), START);
+
+    run(wheel.advance(START + 505));
+    assertTrue(fired.isEmpty());
+    run(wheel.advance(START + 510));
+    assertEquals(1, fired.size());
+  }
+
+  @Test
+  public void idle_wheel_catches_up_with_the_clock() {
+    HashedWheel wheel = new HashedWheel(10, 8, START);
+    assertTrue(wheel.advance(START + 100000).isEmpty());
+    assertEquals(START + 100010, wheel.nextTickTime());
+  }
+
+  @Test
+  public void idle_wheel_advanced_before_adding_expires_on_time() {
+    HashedWheel wheel = new HashedWheel(10, 8, START);
+    List<String> fired = new ArrayList<>();
+    // idle for many turns without being advanced
+    long now = START + 100_000;
+    run(wheel.advance(now));
+    wheel.add(() -> fired.add("a"), now + 25);
+
+    assertEquals(now + 10, wheel.nextTickTime());
+    run(wheel.advance(now + 20));
+    assertTrue(fired.isEmpty());
+    run(wheel.advance(now + 30));
+    assertEquals(1, fired.size());
+  }
+
+  @Test
+  public void expired_tasks_can_schedule_new_tasks() {
+    HashedWheel wheel = new HashedWheel(10, 8, START);
+    List<String> fired = new ArrayList<>();
+    wheel.add(
+        () -> {
+          fired.add("first");
+          wheel.add(() -> fired.add("second"), START + 40);
+        },
+        START + 10);
+
+    run(wheel.advance(START + 10));
+    assertEquals(1, fired.size());
+    assertEquals(1, wheel.size());
+    run(wheel.advance(START + 40));
+    assertEquals(2, fired.size());
+  }
+
+  @Test
+  public void many_tasks_are_added_and_removed() {
+    HashedWheel wheel = new HashedWheel(10, 512, START);
+    int[] fired = new int[1];
+    List<HashedWheel.Entry> entries = new ArrayList<>();
+    for (int i = 0; i < 20000; i++) {
+      entries.add(wheel.add(() -> fired[0]++, START + (i % 10000)));
+    }
+    for (int i = 0; i < entries.size(); i += 2) {
+      wheel.remove(entries.get(i));
+    }
+    assertEquals(10000, wheel.size());
+
+    run(wheel.advance(START + 10000));
+    assertEquals(10000, fired[0]);
+    assertTrue(wheel.isEmpty());
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+
+/** Tests for {@link ParameterSetter}, {@link ParamKind} and {@link NullQueryParamStrategy}. */
+public class ParameterSetterTest {
+
+  static {
+    DominoRestContext.make().init(new TestRestConfig());
+  }
+
+  private static ServerRequest<Void, String> request() {
+    return new ServerRequest<Void, String>() {};
+  }
+
+  @Test
+  public void values_are_set_according_to_their_kind() {
+    ServerRequest<Void, String> request = request();
+    ParameterSetter.setParameter(request, "q", 1, ParamKind.QUERY);
+    ParameterSetter.setParameter(request, "q", "two", ParamKind.QUERY);
+    ParameterSetter.setParameter(request, "id", 42L, ParamKind.PATH);
+    ParameterSetter.setParameter(request, "m", true, ParamKind.MATRIX);
+
+    assertEquals(Arrays.asList("1", "two"), request.queryParameters().get("q"));
+    assertEquals("42", request.pathParameters().get("id"));
+    assertEquals(Collections.singletonList("true"), request.matrixParameters().get("m"));
+  }
+
+  @Test
+  public void collection_values_are_added_at_once() {
+    ServerRequest<Void, String> request = request();
+    request.addQueryParameter("tag", "first");
+    ParameterSetter.setCollectionParameter(
+        request, "tag", Arrays.asList("a", 2, null), ParamKind.QUERY);
+    ParameterSetter.setCollectionParameter(
+        request, "m", Arrays.asList("x", "y"), ParamKind.MATRIX);
+    ParameterSetter.setCollectionParameter(
+        request, "id", Arrays.asList("1", "2"), ParamKind.PATH);
+
+    assertEquals(Arrays.asList("first", "a", "2", "null"), request.queryParameters().get("tag"));
+    assertEquals(Arrays.asList("x", "y"), request.matrixParameters().get("m"));
+    assertEquals("2", request.pathParameters().get("id"));
+  }
+
+  @Test
+  public void null_values_use_the_request_strategy_unless_one_is_given() {
+    ServerRequest<Void, String> request = request();
+    ParameterSetter.setParameter(request, "empty", null, ParamKind.QUERY);
+    ParameterSetter.setCollectionParameter(
+        request, "list", Collections.emptyList(), ParamKind.QUERY);
+    ParameterSetter.setParameter(
+        request, "omitted", null, ParamKind.QUERY, NullQueryParamStrategy.OMIT);
+    ParameterSetter.setParameter(
+        request, "m", null, ParamKind.MATRIX, NullQueryParamStrategy.NULL);
+
+    request.setNullQueryParamStrategy(NullQueryParamStrategy.NULL);
+    ParameterSetter.setParameter(request, "nulled", null, ParamKind.QUERY);
+
+    assertEquals(Collections.singletonList(""), request.queryParameters().get("empty"));
+    assertEquals(Collections.singletonList(""), request.queryParameters().get("list"));
+    assertFalse(request.queryParameters().containsKey("omitted"));
+    assertEquals(Collections.singletonList("null"), request.matrixParameters().get("m"));
+    assertEquals(Collections.singletonList("null"), request.queryParameters().get("nulled"));
+  }
+
+  @Test
+  public void type_names_resolve_to_kinds() {
+    assertEquals(ParamKind.QUERY, ParamKind.of("Query"));
+    assertEquals(ParamKind.PATH, ParamKind.of("PATH"));
+    assertEquals(ParamKind.MATRIX, ParamKind.of("matrix"));
+    assertEquals(ParamKind.QUERY, ParamKind.of("header"));
+    assertEquals(ParamKind.QUERY, ParamKind.of(null));
+  }
+
+  @Test
+  public void supplier_setters_keep_their_behavior() {
+    ServerRequest<Void, String> request = request();
+    ParameterSetter.setParameter(request, "q", () -> "v", "Query");
+    ParameterSetter.setParameter(request, "n", () -> null, "Query");
+    ParameterSetter.setCollectionParameter(request, "m", () -> Arrays.asList(1, 2), "Matrix");
+    ParameterSetter.setPathParameter(request, "id", () -> null);
+
+    assertEquals(Collections.singletonList("v"), request.queryParameters().get("q"));
+    assertEquals(Collections.singletonList(""), request.queryParameters().get("n"));
+    assertEquals(Arrays.asList("1", "2"), request.matrixParameters().get("m"));
+    assertEquals("", request.pathParameters().get("id"));
+    assertEquals("", ParameterSetter.formatDate(null, "yyyy"));
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/** Tests for {@link RequestDescriptor} and {@link StatusCodes}. */
+public class RequestDescriptorTest {
+
+  static {
+    DominoRestContext.make().init(new TestRestConfig());
+  }
+
+  private static final RequestDescriptor DESCRIPTOR =
+      new RequestDescriptor(
+          new RequestMeta(RequestDescriptorTest.class, "item", Void.class, String.class),
+          "get",
+          "items/{id}",
+          "http://localhost",
+          new String[] {"application/json", "text/plain"},
+          new String[] {"application/json"},
+          StatusCodes.of(200, 304));
+
+  private static ServerRequest<Void, String> request() {
+    return new ServerRequest<Void, String>(DESCRIPTOR, null) {};
+  }
+
+  @Test
+  public void request_takes_its_values_from_the_descriptor() {
+    ServerRequest<Void, String> request = request();
+
+    assertEquals("GET", request.getHttpMethod());
+    assertEquals("items/{id}", request.getPath());
+    assertEquals("http://localhost", request.getServiceRoot());
+    assertEquals("application/json, text/plain", request.headers().get("Accept"));
+    assertEquals("application/json", request.headers().get("Content-type"));
+    assertArrayEquals(new Integer[] {200, 304}, request.getSuccessCodes());
+    assertTrue(request.isSuccessCode(304));
+    assertFalse(request.isSuccessCode(201));
+  }
+
+  @Test
+  public void meta_is_bound_to_the_request_that_asks_for_it() {
+    ServerRequest<Void, String> first = request();
+    ServerRequest<Void, String> second = request();
+    first.setPathParameter("id", "1");
+    second.setPathParameter("id", "2");
+
+    RequestMeta meta = first.getMeta();
+    assertNotSame(DESCRIPTOR.getMeta(), meta);
+    assertSame(meta, first.getMeta());
+    assertEquals("item", meta.getMethodName());
+    assertArrayEquals(new String[] {"application/json"}, meta.getConsume());
+    assertEquals("1", meta.getParametersProvider().getPathParameters().get("id"));
+    assertEquals("2", second.getMeta().getParametersProvider().getPathParameters().get("id"));
+
+    first.setAccept(new String[] {"text/xml"});
+    assertArrayEquals(new String[] {"text/xml"}, first.getMeta().getProduce());
+    assertArrayEquals(
+        new String[] {"application/json", "text/plain"}, DESCRIPTOR.getMeta().getProduce());
+  }
+
+  @Test
+  public void success_codes_can_be_changed_per_request() {
+    ServerRequest<Void, String> request = request();
+    request.setSuccessCodes(new Integer[] {201, null, 1000});
+
+    assertTrue(request.isSuccessCode(201));
+    assertTrue(request.isSuccessCode(1000));
+    assertFalse(request.isSuccessCode(200));
+    assertTrue(DESCRIPTOR.getSuccessCodes().contains(200));
+  }
+
+  @Test
+  public void status_codes_keep_their_order() {
+    StatusCodes codes = StatusCodes.of(204, 63, 64, -1, 700);
+
+    assertArrayEquals(new Integer[] {204, 63, 64, -1, 700}, codes.toArray());
+    for (int code : new int[] {204, 63, 64, -1, 700}) {
+      assertTrue(codes.contains(code));
+    }
+    assertFalse(codes.contains(200));
+    assertFalse(codes.contains(0));
+    assertTrue(StatusCodes.DEFAULT_SUCCESS.contains(202));
+    assertFalse(StatusCodes.DEFAULT_SUCCESS.contains(205));
+  }
+}
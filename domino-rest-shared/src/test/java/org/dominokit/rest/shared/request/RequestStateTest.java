@@ -0,0 +1,156 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+/** Tests for the state transitions of {@link BaseRequest}. */
+public class RequestStateTest {
+
+  static {
+    DominoRestContext.make().init(new TestRestConfig());
+  }
+
+  private static final RequestDescriptor DESCRIPTOR =
+      new RequestDescriptor(
+          new RequestMeta(RequestStateTest.class, "item", Void.class, String.class),
+          "get",
+          "items",
+          "http://localhost",
+          new String[] {"text/plain"},
+          null,
+          StatusCodes.DEFAULT_SUCCESS);
+
+  private final AtomicInteger routed = new AtomicInteger();
+  private final AtomicInteger succeeded = new AtomicInteger();
+  private final AtomicInteger failed = new AtomicInteger();
+  private final AtomicInteger completed = new AtomicInteger();
+  private final AtomicInteger aborted = new AtomicInteger();
+
+  private ServerRequest<Void, String> request() {
+    ServerRequest<Void, String> request =
+        new ServerRequest<Void, String>(DESCRIPTOR, null) {
+          @Override
+          public void startRouting() {
+            routed.incrementAndGet();
+          }
+        };
+    request.onSuccess(response -> succeeded.incrementAndGet());
+    request.onFailed(response -> failed.incrementAndGet());
+    request.onComplete(completed::incrementAndGet);
+    request.onAborted(aborted::incrementAndGet);
+    return request;
+  }
+
+  @Test
+  public void request_completes_once() {
+    ServerRequest<Void, String> request = request();
+    request.send();
+    request.applySuccess("ok");
+
+    assertEquals(1, routed.get());
+    assertEquals(1, succeeded.get());
+    assertEquals(1, completed.get());
+    assertThrows(Request.InvalidRequestState.class, () -> request.applySuccess("again"));
+    assertThrows(Request.InvalidRequestState.class, request::send);
+    assertEquals(1, succeeded.get());
+  }
+
+  @Test
+  public void failed_request_can_be_sent_again() {
+    ServerRequest<Void, String> request = request();
+    request.send();
+    request.applyFailure(new FailedResponseBean(new IllegalStateException()));
+    request.send();
+    request.applySuccess("ok");
+
+    assertEquals(2, routed.get());
+    assertEquals(1, failed.get());
+    assertEquals(1, succeeded.get());
+    assertEquals(2, completed.get());
+  }
+
+  @Test
+  public void response_of_an_aborted_request_is_ignored() {
+    ServerRequest<Void, String> request = request();
+    request.send();
+    request.abort();
+    request.applySuccess("late");
+
+    assertTrue(request.isAborted());
+    assertEquals(1, aborted.get());
+    assertEquals(0, succeeded.get());
+    assertEquals(1, completed.get());
+    assertThrows(Request.InvalidRequestState.class, request::send);
+  }
+
+  @Test
+  public void response_is_rejected_before_the_request_is_sent() {
+    assertThrows(Request.InvalidRequestState.class, () -> request().applySuccess("early"));
+  }
+
+  @Test
+  public void state_contexts_are_still_applied() {
+    ServerRequest<Void, String> request = request();
+    request.send();
+    request.applyState(
+        new Request.ServerResponseReceivedStateContext(
+            new Request.ServerSuccessRequestStateContext<>("ok")));
+
+    assertEquals(1, succeeded.get());
+  }
+
+  @Test
+  public void abort_racing_a_response_lets_exactly_one_win() throws InterruptedException {
+    for (int i = 0; i < 500; i++) {
+      ServerRequest<Void, String> request = request();
+      request.send();
+      CountDownLatch start = new CountDownLatch(1);
+      Thread response =
+          new Thread(
+              () -> {
+                await(start);
+                request.applySuccess("ok");
+              });
+      Thread abort =
+          new Thread(
+              () -> {
+                await(start);
+                request.abort();
+              });
+      response.start();
+      abort.start();
+      start.countDown();
+      response.join();
+      abort.join();
+    }
+
+    assertEquals(500, succeeded.get() + aborted.get());
+    assertEquals(500, completed.get());
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+/** Tests for {@link RestConfigSnapshot}. */
+public class RestConfigSnapshotTest {
+
+  private static final RequestInterceptor INTERCEPTOR =
+      (request, contextWait) -> contextWait.complete(request);
+
+  @Test
+  public void builder_does_not_change_the_snapshot_it_started_from() {
+    RestConfigSnapshot first =
+        RestConfigSnapshot.EMPTY.toBuilder().addRequestInterceptor(INTERCEPTOR).build();
+    RestConfigSnapshot second =
+        first
+            .toBuilder()
+            .removeRequestInterceptor(INTERCEPTOR)
+            .setGlobalPathParameter("tenant", "acme")
+            .build();
+
+    assertEquals(Collections.singletonList(INTERCEPTOR), first.getRequestInterceptors());
+    assertTrue(first.getGlobalPathParameters().isEmpty());
+    assertTrue(second.getRequestInterceptors().isEmpty());
+    assertEquals("acme", second.getGlobalPathParameters().get("tenant"));
+    assertEquals(1, first.getVersion());
+    assertEquals(2, second.getVersion());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void interceptors_are_read_only() {
+    RestConfigSnapshot.EMPTY.toBuilder().build().getRequestInterceptors().add(INTERCEPTOR);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void query_parameter_values_are_read_only() {
+    RestConfigSnapshot snapshot =
+        RestConfigSnapshot.EMPTY.toBuilder().addGlobalQueryParameter("page", "1").build();
+    snapshot.getGlobalQueryParameters().get("page").add("2");
+  }
+
+  @Test
+  public void query_parameters_are_added_or_replaced() {
+    Map<String, List<String>> parameters = new LinkedHashMap<>();
+    parameters.put("tag", Arrays.asList("b", "c"));
+    RestConfigSnapshot snapshot =
+        RestConfigSnapshot.EMPTY
+            .toBuilder()
+            .addGlobalQueryParameter("tag", "a")
+            .addGlobalQueryParameters(parameters)
+            .setGlobalQueryParameter("page", "1")
+            .addGlobalQueryParameter("page", "2")
+            .setGlobalQueryParameter("page", "3")
+            .build();
+
+    assertEquals(Arrays.asList("a", "b", "c"), snapshot.getGlobalQueryParameters().get("tag"));
+    assertEquals(Collections.singletonList("3"), snapshot.getGlobalQueryParameters().get("page"));
+  }
+
+  @Test
+  public void parameters_and_service_roots_can_be_removed() {
+    DynamicServiceRoot root = DynamicServiceRoot.pathMatcher(path -> true).serviceRoot(() -> "x");
+    RestConfigSnapshot snapshot =
+        RestConfigSnapshot.EMPTY
+            .toBuilder()
+            .addServiceRoot(root)
+            .setGlobalPathParameter("tenant", "acme")
+            .setGlobalPathParameter("region", "eu")
+            .setGlobalHeaderParameter("X-Trace", "on")
+            .addGlobalQueryParameter("tag", "a")
+            .addGlobalQueryParameter("tag", "b")
+            .setGlobalQueryParameter("page", "1")
+            .build();
+
+    RestConfigSnapshot removed =
+        snapshot
+            .toBuilder()
+            .removeServiceRoot(root)
+            .removeGlobalPathParameter("tenant")
+            .removeGlobalHeaderParameter("X-Trace")
+            .removeGlobalQueryParameter("tag")
+            .build();
+    assertTrue(removed.getServiceRoots().isEmpty());
+    assertEquals(Collections.singletonMap("region", "eu"), removed.getGlobalPathParameters());
+    assertTrue(removed.getGlobalHeaderParameters().isEmpty());
+    assertEquals(
+        Collections.singletonMap("page", Collections.singletonList("1")),
+        removed.getGlobalQueryParameters());
+
+    RestConfigSnapshot cleared = snapshot.toBuilder().clearGlobalParameters().build();
+    assertTrue(cleared.getGlobalPathParameters().isEmpty());
+    assertTrue(cleared.getGlobalHeaderParameters().isEmpty());
+    assertTrue(cleared.getGlobalQueryParameters().isEmpty());
+    assertEquals(1, cleared.getServiceRoots().size());
+  }
+
+  @Test
+  public void snapshot_of_a_config_copies_its_values() {
+    RestConfigSnapshot snapshot = RestConfigSnapshot.of(new TestRestConfig());
+
+    assertTrue(snapshot.getRequestInterceptors().isEmpty());
+    assertTrue(snapshot.getServiceRoots().isEmpty());
+  }
+}
@@ -19,6 +19,7 @@ import static org.junit.Assert.*;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import org.junit.Test;
 
 /**
@@ -386,4 +387,42 @@ public class ServicePathTest {
     assertEquals("frag/child", s.fragment());
     assertEquals("/a?x=1#frag/child", s.value());
   }
+
+  @Test
+  public void appendTo_appends_the_value_to_the_given_builder() {
+    ServicePath s = sp("/api", "/api/users;active=true/42?x=1#f");
+    StringBuilder sb = new StringBuilder("http://localhost");
+    assertSame(sb, s.appendTo(sb));
+    assertEquals("http://localhost" + s.value(), sb.toString());
+
+    ServicePath empty = sp("/api", "/api");
+    assertEquals("/api", empty.appendTo(new StringBuilder()).toString());
+  }
+
+  @Test
+  public void paths_reflect_later_segment_changes() {
+    ServicePath s = sp("/a/b");
+    List<String> paths = s.paths();
+    s.replacePathAt(0, "x");
+    assertEquals(Arrays.asList("x", "b"), paths);
+  }
+
+  @Test
+  public void encode_mode_encodes_the_names_and_values_passed_to_mutators() {
+    ServicePath s = sp("/a%20b/c").setEncodingMode(EncodingMode.ENCODE);
+    s.setQueryParameter("q", Collections.singletonList("x&y z"));
+    s.appendMatrixParameter(1, "m", Collections.singletonList("1;2"));
+    s.replacePath("c", "d/e");
+    s.appendFragment("f#g");
+
+    assertEquals("/a%20b/d%2Fe;m=1%3B2?q=x%26y%20z#f%23g", s.value());
+    assertTrue(s.hasQueryParameter("q"));
+    assertTrue(s.hasMatrixParameter(1, "m"));
+    assertEquals(Collections.singletonList("1%3B2"), s.matrixParameterValues(1, "m"));
+
+    ServicePath verbatim = sp("/a").setEncodingMode(null);
+    verbatim.setQueryParameter("q", Collections.singletonList("x y"));
+    assertEquals(EncodingMode.NONE, verbatim.getEncodingMode());
+    assertEquals("/a?q=x y", verbatim.value());
+  }
 }
@@ -22,6 +22,7 @@ import org.dominokit.rest.shared.regex.RegexEngine;
 public class TestRestConfig implements RestConfig {
 
   private RegexValidationMode regexValidationMode = RegexValidationMode.FAIL;
+  private EncodingMode encodingMode = EncodingMode.NONE;
 
   @Override
   public RestConfig setDefaultResourceRootPath(String rootPath) {
@@ -197,4 +198,15 @@ public class TestRestConfig implements RestConfig {
   public RegexValidationMode getRegexValidationMode() {
     return this.regexValidationMode;
   }
+
+  @Override
+  public RestConfig setEncodingMode(EncodingMode encodingMode) {
+    this.encodingMode = encodingMode;
+    return this;
+  }
+
+  @Override
+  public EncodingMode getEncodingMode() {
+    return this.encodingMode;
+  }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.shared.request;
+
+import static org.junit.Assert.*;
+
+import org.dominokit.rest.shared.request.UriEncoder.Component;
+import org.junit.Test;
+
+/** Tests for the component aware escaping of {@link UriEncoder}. */
+public class UriEncoderTest {
+
+  @Test
+  public void unreserved_values_are_returned_unchanged() {
+    String value = "Abc-123._~";
+    for (Component component : Component.values()) {
+      assertSame(value, UriEncoder.encode(value, component));
+      assertFalse(UriEncoder.needsEncoding(value, component));
+    }
+    assertNull(UriEncoder.encode(null, Component.QUERY));
+  }
+
+  @Test
+  public void delimiters_of_each_component_are_escaped() {
+    assertEquals("a%2Fb%3Bc%3Fd%23e", UriEncoder.encode("a/b;c?d#e", Component.PATH_SEGMENT));
+    assertEquals("a=b", UriEncoder.encode("a=b", Component.PATH_SEGMENT));
+    assertEquals("a%3Db%3Bc%2Fd", UriEncoder.encode("a=b;c/d", Component.MATRIX));
+    assertEquals("a%3Db%26c%2Bd/e?f", UriEncoder.encode("a=b&c+d/e?f", Component.QUERY));
+    assertEquals("a=b&c/d?e%23f", UriEncoder.encode("a=b&c/d?e#f", Component.FRAGMENT));
+  }
+
+  @Test
+  public void spaces_percent_and_exclamation_marks_are_escaped() {
+    assertEquals("a%20b%25c%21", UriEncoder.encode("a b%c!", Component.QUERY));
+    assertEquals("a%20b%21", UriEncoder.encode("a b!", Component.PATH_SEGMENT));
+    assertEquals("a%20b!", UriEncoder.encode("a b!", Component.FRAGMENT));
+  }
+
+  @Test
+  public void non_ascii_characters_are_escaped_as_utf8() {
+    assertEquals("caf%C3%A9", UriEncoder.encode("café", Component.PATH_SEGMENT));
+    assertEquals("%E2%82%AC", UriEncoder.encode("€", Component.QUERY));
+    assertEquals("%F0%9F%98%80", UriEncoder.encode("😀", Component.QUERY));
+    assertEquals("%EF%BF%BDx", UriEncoder.encode("\uD83Dx", Component.QUERY));
+  }
+
+  @Test
+  public void encode_appends_to_the_given_builder() {
+    StringBuilder sb = new StringBuilder("q=");
+    assertSame(sb, UriEncoder.encode(sb, "a b", Component.QUERY));
+    assertEquals("q=a%20b", sb.toString());
+  }
+}
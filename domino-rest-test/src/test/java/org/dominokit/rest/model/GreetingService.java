@@ -0,0 +1,34 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.model;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import org.dominokit.rest.shared.request.AsyncFacade;
+import org.dominokit.rest.shared.request.service.annotations.RequestFactory;
+
+@RequestFactory(async = AsyncFacade.COMPLETION_STAGE)
+@Path("async-greet")
+public interface GreetingService {
+
+  @GET
+  @Path("{name}")
+  @Produces(MediaType.TEXT_PLAIN)
+  String greet(@PathParam("name") String name);
+}
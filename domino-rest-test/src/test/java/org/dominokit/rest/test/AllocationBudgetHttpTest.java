@@ -0,0 +1,198 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.ws.rs.HttpMethod;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.dominokit.rest.DominoRestConfig;
+import org.dominokit.rest.jvm.Transport;
+import org.dominokit.rest.jvm.loopback.LoopbackResponse;
+import org.dominokit.rest.jvm.loopback.LoopbackServer;
+import org.dominokit.rest.shared.Response;
+import org.dominokit.rest.shared.request.DominoRestContext;
+import org.dominokit.rest.shared.request.ImmutableServerRequest;
+import org.dominokit.rest.shared.request.RequestMeta;
+import org.dominokit.rest.shared.request.ServerRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/**
+ * Allocation budgets of the per-request hot path, measured in bytes allocated by the calling
+ * thread per request.
+ *
+ * <p>The requests go through the loopback transport without latency, so the whole pipeline from
+ * {@link ServerRequest#send()} to the success handler runs on the measuring thread. A budget is
+ * the currently measured allocation plus some headroom, lower it when the hot path gets slimmer.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AllocationBudgetHttpTest {
+
+  private static final int WARMUP_ITERATIONS = 20_000;
+  private static final int MEASURED_ITERATIONS = 10_000;
+
+  private static final long CREATE_REQUEST_BUDGET = 1_700;
+  private static final long NORMALIZE_URL_BUDGET = 5_500;
+  private static final long GET_BUDGET = 9_000;
+  private static final long POST_BUDGET = 7_500;
+  private static final long FAILED_GET_BUDGET = 6_000;
+  private static final long READ_PARAMETERS_BUDGET = 120;
+
+  private static final String ROOT = "http://loopback";
+
+  private final AtomicInteger completed = new AtomicInteger();
+  private com.sun.management.ThreadMXBean threads;
+
+  @BeforeAll
+  void initRuntimeAndServer() {
+    Assumptions.assumeTrue(
+        ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+        "thread allocation counters are not available");
+    threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    Assumptions.assumeTrue(
+        threads.isThreadAllocatedMemorySupported(), "thread allocation counters are not supported");
+    threads.setThreadAllocatedMemoryEnabled(true);
+
+    DominoRestContext.make().init(DominoRestConfig.initDefaults());
+    LoopbackServer server =
+        new LoopbackServer()
+            .route(HttpMethod.GET, "/items/{id}", request -> LoopbackResponse.ok("item"))
+            .route(
+                HttpMethod.POST,
+                "/items",
+                request -> LoopbackResponse.json(request.getBodyAsString()));
+    DominoRestConfig.getInstance().setLoopbackServer(server).setTransport(Transport.LOOPBACK);
+  }
+
+  @AfterAll
+  void tearDown() {
+    DominoRestConfig.getInstance().setTransport(null).setLoopbackServer(null);
+  }
+
+  @Test
+  void creating_a_request() {
+    assertWithinBudget("create request", CREATE_REQUEST_BUDGET, this::newGet);
+  }
+
+  @Test
+  void normalizing_the_url() {
+    assertWithinBudget("normalize url", NORMALIZE_URL_BUDGET, () -> newGet().normalizeUrl());
+  }
+
+  @Test
+  void reading_the_parameters() {
+    TextGet request = newGet();
+    assertWithinBudget(
+        "read parameters",
+        READ_PARAMETERS_BUDGET,
+        () -> {
+          // what a service root matcher or an interceptor does
+          ImmutableServerRequest<Void, String> view = ImmutableServerRequest.of(request);
+          assertEquals("acme", view.headers().get("X-Tenant"));
+          assertEquals("owner", view.queryParameters().get("expand").get(0));
+          assertEquals("42", request.pathParameters().get("id"));
+          assertEquals(1, request.queryParameters().size());
+        });
+  }
+
+  @Test
+  void get_round_trip() {
+    assertRoundTripsWithinBudget("GET", GET_BUDGET, () -> send(newGet()));
+  }
+
+  @Test
+  void post_round_trip() {
+    assertRoundTripsWithinBudget("POST", POST_BUDGET, () -> send(newPost()));
+  }
+
+  @Test
+  void failed_get_round_trip() {
+    assertRoundTripsWithinBudget(
+        "failed GET", FAILED_GET_BUDGET, () -> send(new TextGet("/missing")));
+  }
+
+  private TextGet newGet() {
+    TextGet request = new TextGet("/items/{id}");
+    request.setPathParameter("id", "42");
+    request.setQueryParameter("expand", "owner");
+    request.setHeader("X-Tenant", "acme");
+    return request;
+  }
+
+  private JsonPost newPost() {
+    JsonPost request = new JsonPost("{\"id\":\"42\",\"name\":\"domino\"}");
+    request.setQueryParameter("validate", "true");
+    return request;
+  }
+
+  private void send(ServerRequest<?, ?> request) {
+    request.send(response -> completed.incrementAndGet(), failed -> completed.incrementAndGet());
+  }
+
+  private void assertRoundTripsWithinBudget(String scenario, long budget, Runnable roundTrip) {
+    completed.set(0);
+    assertWithinBudget(scenario, budget, roundTrip);
+    // a request completing on another thread would hide its allocations
+    assertEquals(WARMUP_ITERATIONS + MEASURED_ITERATIONS, completed.get());
+  }
+
+  private void assertWithinBudget(String scenario, long budget, Runnable operation) {
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      operation.run();
+    }
+    long thread = Thread.currentThread().getId();
+    long before = threads.getThreadAllocatedBytes(thread);
+    for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+      operation.run();
+    }
+    long perOperation = (threads.getThreadAllocatedBytes(thread) - before) / MEASURED_ITERATIONS;
+    assertTrue(
+        perOperation <= budget,
+        scenario + " allocates " + perOperation + " bytes, over its budget of " + budget);
+  }
+
+  /** GET request reading the body as a String. */
+  static final class TextGet extends ServerRequest<Void, String> {
+    TextGet(String path) {
+      super(new RequestMeta(TextGet.class, "text", Void.class, String.class), null);
+      setServiceRoot(ROOT);
+      setHttpMethod(HttpMethod.GET);
+      setPath(path);
+      setAccept(new String[] {"text/plain"});
+      setResponseReader(Response::getBodyAsString);
+    }
+  }
+
+  /** POST request sending and reading a JSON String. */
+  static final class JsonPost extends ServerRequest<String, String> {
+    JsonPost(String body) {
+      super(new RequestMeta(JsonPost.class, "json", String.class, String.class), body);
+      setServiceRoot(ROOT);
+      setHttpMethod(HttpMethod.POST);
+      setPath("/items");
+      setContentType(new String[] {"application/json"});
+      setAccept(new String[] {"application/json"});
+      setRequestWriter(json -> json);
+      setResponseReader(Response::getBodyAsString);
+    }
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.dominokit.rest.DominoRestConfig;
+import org.dominokit.rest.model.GreetingServiceAsyncFactory;
+import org.dominokit.rest.shared.request.DominoRestContext;
+import org.dominokit.rest.shared.request.DynamicServiceRoot;
+import org.dominokit.rest.shared.request.RequestLimiter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/** End-to-end tests for the generated {@code CompletionStage} facades. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AsyncFacadeHttpTest {
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger maxInFlight = new AtomicInteger();
+
+  private HttpServer server;
+
+  @BeforeAll
+  void initRuntimeAndServer() throws Exception {
+    DominoRestContext.make().init(DominoRestConfig.initDefaults());
+
+    server = HttpServer.create(new InetSocketAddress(0), 0);
+    String root = "http://localhost:" + server.getAddress().getPort() + "/";
+    server.createContext("/async-greet", this::greetHandler);
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.start();
+
+    DominoRestConfig.getInstance()
+        .addDynamicServiceRoot(
+            DynamicServiceRoot.pathMatcher(request -> request.getPath().startsWith("async-greet"))
+                .serviceRoot(() -> root));
+  }
+
+  @AfterAll
+  void tearDown() {
+    if (server != null) server.stop(0);
+  }
+
+  @Test
+  void facade_method_sends_the_request_and_returns_a_stage() throws Exception {
+    String greeting =
+        GreetingServiceAsyncFactory.INSTANCE
+            .greet("domino")
+            .toCompletableFuture()
+            .get(5, TimeUnit.SECONDS);
+
+    assertEquals("hello domino", greeting);
+  }
+
+  @Test
+  void limiter_caps_the_number_of_requests_in_flight() throws Exception {
+    maxInFlight.set(0);
+    GreetingServiceAsyncFactory limited =
+        GreetingServiceAsyncFactory.INSTANCE.withLimiter(RequestLimiter.maxConcurrent(2));
+
+    List<CompletableFuture<String>> calls =
+        IntStream.range(0, 8)
+            .mapToObj(i -> limited.greet("n" + i).toCompletableFuture())
+            .collect(Collectors.toList());
+    CompletableFuture.allOf(calls.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+    for (int i = 0; i < calls.size(); i++) {
+      assertEquals("hello n" + i, calls.get(i).join());
+    }
+    assertTrue(maxInFlight.get() <= 2, "max in flight " + maxInFlight.get());
+  }
+
+  private void greetHandler(HttpExchange ex) throws IOException {
+    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+    try {
+      Thread.sleep(50);
+    } catch (InterruptedException ignored) {
+    }
+    String path = ex.getRequestURI().getPath();
+    byte[] bytes = ("hello " + path.substring(path.lastIndexOf('/') + 1)).getBytes(UTF_8);
+    inFlight.decrementAndGet();
+    ex.getResponseHeaders().add("Content-Type", "text/plain");
+    ex.sendResponseHeaders(200, bytes.length);
+    try (OutputStream os = ex.getResponseBody()) {
+      os.write(bytes);
+    }
+  }
+}
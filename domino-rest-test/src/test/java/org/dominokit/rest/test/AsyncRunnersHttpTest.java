@@ -0,0 +1,132 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.ws.rs.HttpMethod;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicReference;
+import org.dominokit.rest.DominoRestConfig;
+import org.dominokit.rest.jvm.AsyncRunners;
+import org.dominokit.rest.shared.Response;
+import org.dominokit.rest.shared.request.DominoRestContext;
+import org.dominokit.rest.shared.request.RequestMeta;
+import org.dominokit.rest.shared.request.ServerRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/** Tests for running the requests preparation and callbacks on configurable runners. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AsyncRunnersHttpTest {
+
+  private HttpServer server;
+  private String root;
+
+  @BeforeAll
+  void initRuntimeAndServer() throws Exception {
+    DominoRestContext.make().init(DominoRestConfig.initDefaults());
+
+    server = HttpServer.create(new InetSocketAddress(0), 0);
+    root = "http://localhost:" + server.getAddress().getPort();
+    server.createContext("/text", AsyncRunnersHttpTest::textHandler);
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.start();
+  }
+
+  @AfterEach
+  void restoreDefaults() {
+    DominoRestConfig.getInstance().setAsyncRunner(null).setCallbackRunner(null);
+  }
+
+  @AfterAll
+  void tearDown() {
+    if (server != null) server.stop(0);
+  }
+
+  @Test
+  void callbacks_are_dispatched_on_the_callback_runner() {
+    DominoRestConfig.getInstance().setCallbackRunner(AsyncRunners.boundedPool(2));
+    AtomicReference<String> callbackThread = new AtomicReference<>();
+    TextGet request = new TextGet(root, "/text/pooled");
+    request.onSuccess(response -> callbackThread.set(Thread.currentThread().getName()));
+
+    assertEquals("pooled", request.sendAndWait());
+    assertTrue(callbackThread.get().startsWith("domino-rest-"), callbackThread.get());
+  }
+
+  @Test
+  void requests_are_prepared_on_the_async_runner() {
+    DominoRestConfig.getInstance().setAsyncRunner(AsyncRunners.forkJoin());
+    TextGet request = new TextGet(root, "/text/prepared");
+
+    assertEquals("prepared", request.sendAndWait());
+    assertTrue(
+        request.preparingThread instanceof ForkJoinWorkerThread,
+        String.valueOf(request.preparingThread));
+  }
+
+  @Test
+  void direct_runners_keep_the_default_behavior() {
+    DominoRestConfig.getInstance()
+        .setAsyncRunner(AsyncRunners.direct())
+        .setCallbackRunner(AsyncRunners.direct());
+    TextGet request = new TextGet(root, "/text/direct");
+
+    assertEquals("direct", request.sendAndWait());
+    assertEquals(Thread.currentThread(), request.preparingThread);
+  }
+
+  /** GET request reading the body as a String, remembers the thread that prepared it. */
+  static final class TextGet extends ServerRequest<Void, String> {
+    private volatile Thread preparingThread;
+
+    TextGet(String serviceRoot, String path) {
+      super(new RequestMeta(TextGet.class, "text", Void.class, String.class), null);
+      setServiceRoot(serviceRoot);
+      setHttpMethod(HttpMethod.GET);
+      setPath(path);
+      setAccept(new String[] {"text/plain"});
+      setResponseReader(Response::getBodyAsString);
+    }
+
+    @Override
+    public void normalizeUrl() {
+      preparingThread = Thread.currentThread();
+      super.normalizeUrl();
+    }
+  }
+
+  private static void textHandler(HttpExchange ex) throws IOException {
+    byte[] bytes = ex.getRequestURI().getPath().substring("/text/".length()).getBytes(UTF_8);
+    ex.getResponseHeaders().add("Content-Type", "text/plain");
+    ex.sendResponseHeaders(200, bytes.length);
+    try (OutputStream os = ex.getResponseBody()) {
+      os.write(bytes);
+    }
+  }
+}
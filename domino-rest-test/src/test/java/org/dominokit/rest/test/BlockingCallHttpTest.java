@@ -0,0 +1,241 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.ws.rs.HttpMethod;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.dominokit.rest.DominoRestConfig;
+import org.dominokit.rest.jvm.VirtualThreads;
+import org.dominokit.rest.shared.Response;
+import org.dominokit.rest.shared.request.DominoRestContext;
+import org.dominokit.rest.shared.request.RequestFailedException;
+import org.dominokit.rest.shared.request.RequestMeta;
+import org.dominokit.rest.shared.request.RequestTimeoutException;
+import org.dominokit.rest.shared.request.ServerRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/** End-to-end tests for the blocking API of {@link ServerRequest}. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BlockingCallHttpTest {
+
+  private static final int BENCHMARK_CALLS = 10_000;
+
+  private HttpServer server;
+  private String root;
+
+  @BeforeAll
+  void initRuntimeAndServer() throws Exception {
+    DominoRestContext.make().init(DominoRestConfig.initDefaults());
+
+    server = HttpServer.create(new InetSocketAddress(0), 1024);
+    root = "http://localhost:" + server.getAddress().getPort();
+    server.createContext("/text", BlockingCallHttpTest::textHandler);
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.start();
+  }
+
+  @AfterAll
+  void tearDown() {
+    if (server != null) server.stop(0);
+  }
+
+  @Test
+  void send_and_wait_returns_the_response() {
+    StringBuilder seen = new StringBuilder();
+    TextGet request = new TextGet(root, "/text/hello");
+    request.onSuccess(seen::append);
+
+    assertEquals("hello", request.sendAndWait());
+    assertEquals("hello", seen.toString());
+  }
+
+  @Test
+  void call_returns_the_response() {
+    assertEquals("called", new TextGet(root, "/text/called").call());
+  }
+
+  @Test
+  void send_and_wait_throws_the_failed_response() {
+    TextGet request = new TextGet(root, "/text/missing");
+    request.setQueryParameter("status", "404");
+
+    RequestFailedException error = assertThrows(RequestFailedException.class, request::call);
+    assertEquals(404, error.getFailedResponse().getStatusCode());
+  }
+
+  @Test
+  void waiting_timeout_aborts_the_request() {
+    TextGet request = new TextGet(root, "/text/slow");
+    request.setQueryParameter("delay", "2000");
+
+    RequestFailedException error =
+        assertThrows(
+            RequestFailedException.class,
+            () -> request.sendAndWait(100, TimeUnit.MILLISECONDS));
+    assertTrue(error.getCause() instanceof RequestTimeoutException, error.toString());
+    assertTrue(request.isAborted());
+  }
+
+  @Test
+  void interrupting_the_waiting_thread_aborts_the_request() throws Exception {
+    TextGet request = new TextGet(root, "/text/slow");
+    request.setQueryParameter("delay", "2000");
+    AtomicInteger interrupted = new AtomicInteger();
+    Thread caller =
+        new Thread(
+            () -> {
+              try {
+                request.sendAndWait();
+              } catch (RequestFailedException e) {
+                if (Thread.currentThread().isInterrupted()) {
+                  interrupted.incrementAndGet();
+                }
+              }
+            });
+    caller.start();
+    Thread.sleep(100);
+    caller.interrupt();
+    caller.join(5000);
+
+    assertEquals(1, interrupted.get());
+    assertTrue(request.isAborted());
+  }
+
+  @Test
+  void requests_can_run_on_a_custom_executor() throws Exception {
+    ExecutorService executor = Executors.newCachedThreadPool();
+    ExecutorService callers = Executors.newFixedThreadPool(4);
+    try {
+      DominoRestConfig.getInstance().setExecutor(executor);
+      List<Future<String>> results = new ArrayList<>();
+      for (int i = 0; i < 20; i++) {
+        TextGet request = new TextGet(root, "/text/r" + i);
+        results.add(callers.submit(request::call));
+      }
+      for (int i = 0; i < results.size(); i++) {
+        assertEquals("r" + i, results.get(i).get(5, TimeUnit.SECONDS));
+      }
+    } finally {
+      DominoRestConfig.getInstance().setExecutor(null);
+      callers.shutdown();
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  @EnabledIfSystemProperty(named = "domino.rest.benchmark", matches = "true")
+  void benchmark_blocking_calls_on_virtual_threads_vs_callbacks() throws Exception {
+    if (!VirtualThreads.isSupported()) {
+      System.out.println("Virtual threads are not supported, skipping the blocking benchmark");
+      return;
+    }
+    long callbacks = timeCallbacks();
+    long blocking;
+    ExecutorService executor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+    try {
+      DominoRestConfig.getInstance().useVirtualThreads();
+      blocking = timeBlocking(executor);
+    } finally {
+      DominoRestConfig.getInstance().setExecutor(null);
+      executor.shutdown();
+    }
+    System.out.printf(
+        "%d concurrent calls: callbacks %d ms, blocking on virtual threads %d ms%n",
+        BENCHMARK_CALLS, callbacks, blocking);
+  }
+
+  private long timeCallbacks() throws InterruptedException {
+    CountDownLatch done = new CountDownLatch(BENCHMARK_CALLS);
+    AtomicInteger failures = new AtomicInteger();
+    long start = System.nanoTime();
+    for (int i = 0; i < BENCHMARK_CALLS; i++) {
+      new TextGet(root, "/text/cb")
+          .onSuccess(response -> {})
+          .onFailed(failedResponse -> failures.incrementAndGet())
+          .onComplete(done::countDown)
+          .send();
+    }
+    assertTrue(done.await(2, TimeUnit.MINUTES), "Callback calls did not complete in time");
+    assertEquals(0, failures.get());
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+  }
+
+  private long timeBlocking(ExecutorService executor) throws Exception {
+    long start = System.nanoTime();
+    List<Future<String>> results = new ArrayList<>(BENCHMARK_CALLS);
+    for (int i = 0; i < BENCHMARK_CALLS; i++) {
+      TextGet request = new TextGet(root, "/text/vt");
+      results.add(executor.submit(request::call));
+    }
+    for (Future<String> result : results) {
+      assertEquals("vt", result.get(2, TimeUnit.MINUTES));
+    }
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+  }
+
+  /** GET request reading the body as a String. */
+  static final class TextGet extends ServerRequest<Void, String> {
+    TextGet(String serviceRoot, String path) {
+      super(new RequestMeta(TextGet.class, "text", Void.class, String.class), null);
+      setServiceRoot(serviceRoot);
+      setHttpMethod(HttpMethod.GET);
+      setPath(path);
+      setAccept(new String[] {"text/plain"});
+      setResponseReader(Response::getBodyAsString);
+    }
+  }
+
+  private static void textHandler(HttpExchange ex) throws IOException {
+    String path = ex.getRequestURI().getPath();
+    String query = ex.getRequestURI().getQuery();
+    int status = 200;
+    if (query != null && query.startsWith("status=")) {
+      status = Integer.parseInt(query.substring("status=".length()));
+    } else if (query != null && query.startsWith("delay=")) {
+      try {
+        Thread.sleep(Long.parseLong(query.substring("delay=".length())));
+      } catch (InterruptedException ignored) {
+      }
+    }
+    byte[] bytes = path.substring("/text/".length()).getBytes(UTF_8);
+    ex.getResponseHeaders().add("Content-Type", "text/plain");
+    ex.sendResponseHeaders(status, bytes.length);
+    try (OutputStream os = ex.getResponseBody()) {
+      os.write(bytes);
+    }
+  }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.ws.rs.HttpMethod;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.dominokit.rest.DominoRestConfig;
+import org.dominokit.rest.shared.Response;
+import org.dominokit.rest.shared.request.DeadlineExceededException;
+import org.dominokit.rest.shared.request.DominoRestContext;
+import org.dominokit.rest.shared.request.RequestFailedException;
+import org.dominokit.rest.shared.request.RequestMeta;
+import org.dominokit.rest.shared.request.ServerRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/** End-to-end tests for request deadlines. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DeadlineHttpTest {
+
+  private final AtomicInteger hits = new AtomicInteger();
+  private final List<String> deadlineHeaders = new CopyOnWriteArrayList<>();
+
+  private HttpServer server;
+  private String root;
+
+  @BeforeAll
+  void initRuntimeAndServer() throws Exception {
+    DominoRestContext.make().init(DominoRestConfig.initDefaults());
+
+    server = HttpServer.create(new InetSocketAddress(0), 0);
+    root = "http://localhost:" + server.getAddress().getPort();
+    server.createContext("/text", this::textHandler);
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.start();
+  }
+
+  @BeforeEach
+  void reset() {
+    hits.set(0);
+    deadlineHeaders.clear();
+  }
+
+  @AfterEach
+  void restoreDefaults() {
+    DominoRestConfig.getInstance().setDeadlineHeader(null);
+  }
+
+  @AfterAll
+  void tearDown() {
+    if (server != null) server.stop(0);
+  }
+
+  @Test
+  void request_within_its_deadline_succeeds() {
+    TextGet request = new TextGet(root, "/text/fast");
+    request.setDeadline(5000);
+
+    assertEquals("fast", request.sendAndWait(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void attempt_timeout_is_shrunk_to_the_deadline() {
+    TextGet request = new TextGet(root, "/text/slow");
+    request.setQueryParameter("delay", "2000");
+    request.setTimeout(5000);
+    request.setDeadline(200);
+
+    long start = System.currentTimeMillis();
+    RequestFailedException error =
+        assertThrows(RequestFailedException.class, () -> request.sendAndWait(5, TimeUnit.SECONDS));
+    assertTrue(System.currentTimeMillis() - start < 1500, "the deadline was not enforced");
+    assertTrue(error.getCause() instanceof DeadlineExceededException, error.toString());
+  }
+
+  @Test
+  void resent_request_gets_a_new_budget() {
+    // only the first hit on this path is slow
+    TextGet request = new TextGet(root, "/text/resend");
+    request.setDeadline(200);
+
+    assertThrows(RequestFailedException.class, () -> request.sendAndWait(5, TimeUnit.SECONDS));
+    assertTrue(request.isDeadlineExceeded());
+
+    assertEquals("resend", request.sendAndWait(5, TimeUnit.SECONDS));
+    assertEquals(2, hits.get());
+  }
+
+  @Test
+  void expired_request_fails_without_hitting_the_wire() {
+    TextGet request = new TextGet(root, "/text/late");
+    request.setDeadlineAt(System.currentTimeMillis() - 1);
+
+    RequestFailedException error =
+        assertThrows(RequestFailedException.class, () -> request.sendAndWait(5, TimeUnit.SECONDS));
+    assertTrue(error.getCause() instanceof DeadlineExceededException, error.toString());
+    assertEquals(0, hits.get());
+  }
+
+  @Test
+  void remaining_budget_is_sent_in_the_configured_header() {
+    DominoRestConfig.getInstance().setDeadlineHeader("X-Request-Deadline");
+    TextGet request = new TextGet(root, "/text/header");
+    request.setDeadline(5000);
+
+    assertEquals("header", request.sendAndWait(5, TimeUnit.SECONDS));
+    assertEquals(1, deadlineHeaders.size());
+    long remaining = Long.parseLong(deadlineHeaders.get(0));
+    assertTrue(remaining > 0 && remaining <= 5000, "unexpected remaining budget " + remaining);
+  }
+
+  @Test
+  void header_is_not_sent_without_a_deadline() {
+    DominoRestConfig.getInstance().setDeadlineHeader("X-Request-Deadline");
+
+    assertEquals("none", new TextGet(root, "/text/none").sendAndWait(5, TimeUnit.SECONDS));
+    assertTrue(deadlineHeaders.isEmpty());
+  }
+
+  /** GET request reading the body as a String. */
+  static final class TextGet extends ServerRequest<Void, String> {
+    TextGet(String serviceRoot, String path) {
+      super(new RequestMeta(TextGet.class, "text", Void.class, String.class), null);
+      setServiceRoot(serviceRoot);
+      setHttpMethod(HttpMethod.GET);
+      setPath(path);
+      setAccept(new String[] {"text/plain"});
+      setResponseReader(Response::getBodyAsString);
+    }
+  }
+
+  private void textHandler(HttpExchange ex) throws IOException {
+    int hit = hits.incrementAndGet();
+    String deadline = ex.getRequestHeaders().getFirst("X-Request-Deadline");
+    if (deadline != null) {
+      deadlineHeaders.add(deadline);
+    }
+    String query = ex.getRequestURI().getQuery();
+    long delay = 0;
+    if (query != null && query.startsWith("delay=")) {
+      delay = Long.parseLong(query.substring("delay=".length()));
+    } else if (hit == 1 && ex.getRequestURI().getPath().equals("/text/resend")) {
+      delay = 2000;
+    }
+    if (delay > 0) {
+      try {
+        Thread.sleep(delay);
+      } catch (InterruptedException ignored) {
+      }
+    }
+    byte[] bytes = ex.getRequestURI().getPath().substring("/text/".length()).getBytes(UTF_8);
+    ex.getResponseHeaders().add("Content-Type", "text/plain");
+    try (OutputStream os = ex.getResponseBody()) {
+      ex.sendResponseHeaders(200, bytes.length);
+      os.write(bytes);
+    } catch (IOException ignored) {
+      // the client gave up on the request
+    }
+  }
+}
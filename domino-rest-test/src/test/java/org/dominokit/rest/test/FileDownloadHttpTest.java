@@ -0,0 +1,201 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.ws.rs.HttpMethod;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.dominokit.rest.DominoRestConfig;
+import org.dominokit.rest.shared.request.DominoRestContext;
+import org.dominokit.rest.shared.request.FileDownload;
+import org.dominokit.rest.shared.request.FileDownloadReader;
+import org.dominokit.rest.shared.request.RequestMeta;
+import org.dominokit.rest.shared.request.ServerRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/** End-to-end tests for streaming response bodies to files with the JVM transport. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FileDownloadHttpTest {
+
+  private static final String ETAG = "\"v1\"";
+
+  private final byte[] payload = new byte[256 * 1024];
+  private final AtomicInteger flakyCalls = new AtomicInteger();
+  private final List<String> rangeHeaders = new CopyOnWriteArrayList<>();
+
+  private HttpServer server;
+  private String root;
+
+  @BeforeAll
+  void initRuntimeAndServer() throws Exception {
+    DominoRestContext.make().init(DominoRestConfig.initDefaults());
+    new Random(42).nextBytes(payload);
+
+    server = HttpServer.create(new InetSocketAddress(0), 0);
+    root = "http://localhost:" + server.getAddress().getPort();
+    server.createContext("/file", this::fileHandler);
+    server.createContext("/flaky", this::flakyHandler);
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.start();
+  }
+
+  @AfterAll
+  void tearDown() {
+    if (server != null) server.stop(0);
+  }
+
+  @Test
+  void body_is_streamed_to_the_target_file_with_progress() throws Exception {
+    Path target = Files.createTempFile("download-test", ".bin");
+    AtomicLong lastProgress = new AtomicLong();
+    AtomicLong reportedTotal = new AtomicLong();
+
+    Download req = new Download(root, "/file");
+    req.downloadTo(
+        FileDownload.to(target.toString())
+            .onProgress(
+                (received, total) -> {
+                  lastProgress.set(received);
+                  reportedTotal.set(total);
+                }));
+
+    Result result = run(req);
+    assertNull(result.error);
+    assertNotNull(result.download);
+    assertEquals(target.toString(), result.download.getFilePath());
+    assertEquals(payload.length, result.download.getBytesWritten());
+    assertEquals(payload.length, lastProgress.get());
+    assertEquals(payload.length, reportedTotal.get());
+    assertEquals(ETAG, result.download.getValidator());
+    assertArrayEquals(payload, Files.readAllBytes(target));
+  }
+
+  @Test
+  void temporary_file_is_used_when_no_target_is_set() throws Exception {
+    Download req = new Download(root, "/file");
+    req.downloadTo(new FileDownload());
+
+    Result result = run(req);
+    assertNull(result.error);
+    assertNotNull(result.download.getFilePath());
+    assertArrayEquals(payload, Files.readAllBytes(Path.of(result.download.getFilePath())));
+  }
+
+  @Test
+  void interrupted_download_is_resumed_with_range_request() throws Exception {
+    flakyCalls.set(0);
+    rangeHeaders.clear();
+    Path target = Files.createTempFile("download-resume-test", ".bin");
+
+    Download req = new Download(root, "/flaky");
+    req.downloadTo(target.toString());
+
+    Result result = run(req);
+    assertNull(result.error);
+    assertEquals(2, flakyCalls.get());
+    assertEquals(1, result.download.getResumeCount());
+    assertEquals(1, rangeHeaders.size());
+    assertTrue(rangeHeaders.get(0).startsWith("bytes="), rangeHeaders.get(0));
+    assertArrayEquals(payload, Files.readAllBytes(target));
+  }
+
+  /** GET request returning a {@link FileDownload}, similar to a generated one. */
+  static final class Download extends ServerRequest<Void, FileDownload> {
+    Download(String serviceRoot, String path) {
+      super(new RequestMeta(Download.class, "download", Void.class, FileDownload.class), null);
+      setServiceRoot(serviceRoot);
+      setHttpMethod(HttpMethod.GET);
+      setPath(path);
+      setAccept(new String[] {"application/octet-stream"});
+      setResponseReader(new FileDownloadReader(this));
+    }
+  }
+
+  private static final class Result {
+    FileDownload download;
+    Throwable error;
+  }
+
+  private Result run(Download req) throws InterruptedException {
+    CountDownLatch done = new CountDownLatch(1);
+    Result r = new Result();
+    req.onSuccess(download -> r.download = download)
+        .onFailed(err -> r.error = err.getThrowable())
+        .onComplete(done::countDown);
+    req.send();
+    assertTrue(done.await(10, TimeUnit.SECONDS), "Request did not complete in time");
+    return r;
+  }
+
+  private void fileHandler(HttpExchange ex) throws IOException {
+    ex.getResponseHeaders().add("Content-Type", "application/octet-stream");
+    ex.getResponseHeaders().add("ETag", ETAG);
+    String range = ex.getRequestHeaders().getFirst("Range");
+    String ifRange = ex.getRequestHeaders().getFirst("If-Range");
+    int offset = 0;
+    if (range != null && ETAG.equals(ifRange)) {
+      rangeHeaders.add(range);
+      offset = Integer.parseInt(range.substring("bytes=".length(), range.indexOf('-')));
+      ex.getResponseHeaders()
+          .add(
+              "Content-Range",
+              "bytes " + offset + "-" + (payload.length - 1) + "/" + payload.length);
+      ex.sendResponseHeaders(206, payload.length - offset);
+    } else {
+      ex.sendResponseHeaders(200, payload.length);
+    }
+    try (OutputStream os = ex.getResponseBody()) {
+      os.write(payload, offset, payload.length - offset);
+    }
+  }
+
+  private void flakyHandler(HttpExchange ex) throws IOException {
+    if (flakyCalls.incrementAndGet() > 1) {
+      fileHandler(ex);
+      return;
+    }
+    // announce the full body, write half of it and drop the connection
+    ex.getResponseHeaders().add("Content-Type", "application/octet-stream");
+    ex.getResponseHeaders().add("ETag", ETAG);
+    ex.sendResponseHeaders(200, payload.length);
+    OutputStream os = ex.getResponseBody();
+    os.write(payload, 0, payload.length / 2);
+    os.flush();
+    ex.close();
+  }
+}
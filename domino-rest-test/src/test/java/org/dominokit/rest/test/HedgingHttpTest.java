@@ -0,0 +1,254 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.ws.rs.HttpMethod;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.dominokit.rest.DominoRestConfig;
+import org.dominokit.rest.shared.Response;
+import org.dominokit.rest.shared.request.DominoRestContext;
+import org.dominokit.rest.shared.request.HedgeBudget;
+import org.dominokit.rest.shared.request.HedgePolicy;
+import org.dominokit.rest.shared.request.LatencyTracker;
+import org.dominokit.rest.shared.request.LatencyTrackers;
+import org.dominokit.rest.shared.request.RequestDescriptor;
+import org.dominokit.rest.shared.request.RequestMeta;
+import org.dominokit.rest.shared.request.ServerRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/**
+ * End-to-end tests for hedged requests against local servers where the first call of every id is
+ * delayed to simulate a long-tail replica.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class HedgingHttpTest {
+
+  private static final int TAIL_DELAY = 2000;
+
+  private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+  private final AtomicInteger ids = new AtomicInteger();
+
+  private HttpServer server;
+  private HttpServer alternate;
+  private String root;
+  private String alternateRoot;
+
+  @BeforeAll
+  void initRuntimeAndServer() throws Exception {
+    DominoRestContext.make().init(DominoRestConfig.initDefaults());
+
+    server = startServer("primary");
+    root = "http://localhost:" + server.getAddress().getPort();
+    alternate = startServer("alternate");
+    alternateRoot = "http://localhost:" + alternate.getAddress().getPort();
+  }
+
+  @AfterEach
+  void restoreBudget() {
+    DominoRestConfig.getInstance().setHedgeBudget(null);
+  }
+
+  @AfterAll
+  void tearDown() {
+    if (server != null) server.stop(0);
+    if (alternate != null) alternate.stop(0);
+  }
+
+  @Test
+  void slow_request_is_hedged_and_first_response_wins() {
+    String id = nextId();
+    TextGet request = new TextGet(root, "/tail/" + id);
+    request.setHedgePolicy(HedgePolicy.fixed(50));
+    long hedgesBefore = DominoRestConfig.getInstance().getHedgeBudget().getHedgeCount();
+
+    long start = System.currentTimeMillis();
+    assertEquals("primary", request.sendAndWait(5, TimeUnit.SECONDS));
+    assertTrue(System.currentTimeMillis() - start < TAIL_DELAY, "the hedge did not win");
+    assertEquals(2, hits.get(id).get());
+    assertEquals(
+        hedgesBefore + 1, DominoRestConfig.getInstance().getHedgeBudget().getHedgeCount());
+  }
+
+  @Test
+  void fast_request_is_not_hedged() {
+    String id = nextId();
+    TextGet request = new TextGet(root, "/fast/" + id);
+    request.setHedgePolicy(HedgePolicy.fixed(1000));
+
+    assertEquals("primary", request.sendAndWait(5, TimeUnit.SECONDS));
+    assertEquals(1, hits.get(id).get());
+  }
+
+  @Test
+  void exhausted_budget_prevents_hedging() {
+    DominoRestConfig.getInstance().setHedgeBudget(HedgeBudget.none());
+    String id = nextId();
+    TextGet request = new TextGet(root, "/tail/" + id);
+    request.setQueryParameter("delay", "300");
+    request.setHedgePolicy(HedgePolicy.fixed(20));
+
+    assertEquals("primary", request.sendAndWait(5, TimeUnit.SECONDS));
+    assertEquals(1, hits.get(id).get());
+  }
+
+  @Test
+  void hedge_can_be_sent_to_an_alternate_origin() {
+    String id = nextId();
+    TextGet request = new TextGet(root, "/tail/" + id);
+    request.setHedgePolicy(HedgePolicy.fixed(50).setAlternateOrigin(alternateRoot));
+
+    assertEquals("alternate", request.sendAndWait(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void non_idempotent_requests_are_not_hedged() {
+    String id = nextId();
+    TextGet request = new TextGet(root, "/tail/" + id);
+    request.setHttpMethod(HttpMethod.POST);
+    request.setQueryParameter("delay", "300");
+    request.setHedgePolicy(HedgePolicy.fixed(20));
+
+    assertEquals("primary", request.sendAndWait(5, TimeUnit.SECONDS));
+    assertEquals(1, hits.get(id).get());
+  }
+
+  @Test
+  void latency_tracker_reports_percentiles_once_enough_samples_are_recorded() {
+    LatencyTracker tracker = new LatencyTracker();
+    assertEquals(42, tracker.percentile(95, 42));
+    for (int i = 1; i <= 100; i++) {
+      tracker.record(i);
+    }
+    assertEquals(95, tracker.percentile(95, 42));
+    assertEquals(50, tracker.percentile(50, 42));
+  }
+
+  @Test
+  void latency_tracker_drops_the_oldest_latencies_from_the_window() {
+    LatencyTracker tracker = new LatencyTracker();
+    Random random = new Random(42);
+    long[] recorded = new long[1000];
+    for (int i = 0; i < recorded.length; i++) {
+      recorded[i] = random.nextInt(50);
+      tracker.record(recorded[i]);
+    }
+    long[] window = Arrays.copyOfRange(recorded, recorded.length - 256, recorded.length);
+    Arrays.sort(window);
+
+    assertEquals(256, tracker.size());
+    for (int percentile = 1; percentile <= 100; percentile++) {
+      int index = (int) Math.ceil(percentile / 100.0 * 256) - 1;
+      assertEquals(window[index], tracker.percentile(percentile, -1), "p" + percentile);
+    }
+  }
+
+  @Test
+  void requests_of_a_descriptor_share_its_tracker() {
+    RequestDescriptor descriptor =
+        new RequestDescriptor(
+            new RequestMeta(TextGet.class, "text", Void.class, String.class),
+            HttpMethod.GET,
+            "/fast",
+            "",
+            null,
+            null,
+            null);
+    LatencyTrackers trackers = DominoRestConfig.create().getLatencyTrackers();
+
+    assertSame(trackers.of(descriptor), trackers.of(descriptor));
+  }
+
+  @Test
+  void latencies_are_tracked_per_configuration() {
+    RequestMeta meta = new RequestMeta(TextGet.class, "text", Void.class, String.class);
+    LatencyTrackers global = DominoRestConfig.getInstance().getLatencyTrackers();
+    LatencyTrackers isolated = DominoRestConfig.create().getLatencyTrackers();
+
+    assertSame(global.of(meta), global.of(meta));
+    assertNotSame(global.of(meta), isolated.of(meta));
+  }
+
+  private String nextId() {
+    return "id" + ids.incrementAndGet();
+  }
+
+  /** Request reading the body as a String. */
+  static final class TextGet extends ServerRequest<Void, String> {
+    TextGet(String serviceRoot, String path) {
+      super(new RequestMeta(TextGet.class, "text", Void.class, String.class), null);
+      setServiceRoot(serviceRoot);
+      setHttpMethod(HttpMethod.GET);
+      setPath(path);
+      setAccept(new String[] {"text/plain"});
+      setResponseReader(Response::getBodyAsString);
+    }
+  }
+
+  private HttpServer startServer(String name) throws IOException {
+    HttpServer httpServer = HttpServer.create(new InetSocketAddress(0), 0);
+    httpServer.createContext("/tail", ex -> handle(ex, name, true));
+    httpServer.createContext("/fast", ex -> handle(ex, name, false));
+    httpServer.setExecutor(Executors.newCachedThreadPool());
+    httpServer.start();
+    return httpServer;
+  }
+
+  private void handle(HttpExchange ex, String name, boolean longTail) throws IOException {
+    String path = ex.getRequestURI().getPath();
+    String id = path.substring(path.lastIndexOf('/') + 1);
+    int hit = hits.computeIfAbsent(id, key -> new AtomicInteger()).incrementAndGet();
+    if (longTail && hit == 1) {
+      String query = ex.getRequestURI().getQuery();
+      long delay =
+          query != null && query.startsWith("delay=")
+              ? Long.parseLong(query.substring("delay=".length()))
+              : TAIL_DELAY;
+      try {
+        Thread.sleep(delay);
+      } catch (InterruptedException ignored) {
+      }
+    }
+    byte[] bytes = name.getBytes(UTF_8);
+    ex.getResponseHeaders().add("Content-Type", "text/plain");
+    try (OutputStream os = ex.getResponseBody()) {
+      ex.sendResponseHeaders(200, bytes.length);
+      os.write(bytes);
+    } catch (IOException ignored) {
+      // the losing request was aborted by the client
+    }
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.ws.rs.HttpMethod;
+import java.util.concurrent.TimeUnit;
+import org.dominokit.rest.DominoRestConfig;
+import org.dominokit.rest.jvm.Transport;
+import org.dominokit.rest.jvm.loopback.LoopbackResponse;
+import org.dominokit.rest.jvm.loopback.LoopbackServer;
+import org.dominokit.rest.model.GreetingServiceAsyncFactory;
+import org.dominokit.rest.model.GreetingServiceFactory;
+import org.dominokit.rest.shared.request.DominoRestContext;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/** Tests for configurations isolated from the global one. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class IsolatedClientHttpTest {
+
+  private DominoRestConfig first;
+  private DominoRestConfig second;
+
+  @BeforeAll
+  void initRuntimeAndClients() {
+    DominoRestContext.make().init(DominoRestConfig.initDefaults());
+    first = client("first");
+    second = client("second");
+    first.addRequestInterceptor(
+        (request, contextWait) -> {
+          request.setHeaderParameter("X-Client", "first");
+          contextWait.complete(request);
+        });
+  }
+
+  @Test
+  void bound_factories_send_with_their_own_configuration() {
+    assertEquals(
+        "first:domino:first",
+        GreetingServiceFactory.INSTANCE
+            .using(first)
+            .greet("domino")
+            .sendAndWait(5, TimeUnit.SECONDS));
+    assertEquals(
+        "second:domino:",
+        GreetingServiceFactory.INSTANCE
+            .using(second)
+            .greet("domino")
+            .sendAndWait(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void bound_async_facades_send_with_their_own_configuration() throws Exception {
+    String greeting =
+        GreetingServiceAsyncFactory.INSTANCE
+            .using(second)
+            .greet("async")
+            .toCompletableFuture()
+            .get(5, TimeUnit.SECONDS);
+
+    assertEquals("second:async:", greeting);
+  }
+
+  @Test
+  void isolated_configurations_do_not_change_the_global_one() {
+    DominoRestConfig global = DominoRestConfig.getInstance();
+
+    assertTrue(global.getRequestInterceptors().isEmpty());
+    assertEquals(1, first.getRequestInterceptors().size());
+    assertNotSame(global.getLoopbackServer(), first.getLoopbackServer());
+    assertNotSame(first.getRequestFactory(), second.getRequestFactory());
+    assertSame(
+        DominoRestContext.make().getConfig().getRequestFactory(), global.getRequestFactory());
+  }
+
+  private static DominoRestConfig client(String name) {
+    LoopbackServer server =
+        new LoopbackServer()
+            .route(
+                HttpMethod.GET,
+                "/async-greet/{name}",
+                request ->
+                    LoopbackResponse.ok(
+                        name
+                            + ":"
+                            + request.getPathParameter("name").orElse("")
+                            + ":"
+                            + request.getHeader("X-Client").orElse("")));
+    return DominoRestConfig.create()
+        .setLoopbackServer(server)
+        .setTransport(Transport.LOOPBACK)
+        .setDefaultServiceRoot("http://loopback/");
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.dominokit.rest.jvm.JvmRegexEngine;
+import org.dominokit.rest.shared.regex.DominoCompiledPattern;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the compiled pattern cache of the {@link JvmRegexEngine}. */
+class JvmRegexEngineTest {
+
+  @Test
+  void compiled_patterns_are_cached_by_pattern_and_flags() {
+    JvmRegexEngine engine = new JvmRegexEngine();
+    DominoCompiledPattern pattern = engine.compile("\\d+");
+
+    assertSame(pattern, engine.compile("\\d+"));
+    assertSame(pattern, engine.compile("\\d+", null));
+    assertNotSame(pattern, engine.compile("\\d+", "g"));
+    assertEquals("g", engine.compile("\\d+", "g").flags());
+    assertEquals(2, engine.getPatternCache().size());
+  }
+
+  @Test
+  void least_recently_used_patterns_are_evicted() {
+    JvmRegexEngine engine = new JvmRegexEngine(2);
+    DominoCompiledPattern a = engine.compile("a");
+    engine.compile("b");
+    engine.compile("a");
+    engine.compile("c");
+
+    assertEquals(2, engine.getPatternCache().size());
+    assertSame(a, engine.compile("a"));
+    assertEquals(2, engine.getPatternCache().size());
+  }
+
+  @Test
+  void matches_requires_a_full_match() {
+    JvmRegexEngine engine = new JvmRegexEngine();
+
+    assertTrue(engine.matches("\\d+", "123"));
+    assertFalse(engine.matches("\\d+", "123a"));
+    assertTrue(engine.matches("a|b", "b"));
+    assertFalse(engine.matches("a|b", "ab"));
+    assertTrue(engine.matches("[a-z]+", "ABC", "i"));
+    assertFalse(engine.matches("^a$", "a\nb", "m"));
+  }
+}
@@ -0,0 +1,354 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.ws.rs.HttpMethod;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.dominokit.rest.DominoRestConfig;
+import org.dominokit.rest.jvm.Transport;
+import org.dominokit.rest.jvm.loopback.Fault;
+import org.dominokit.rest.jvm.loopback.Latency;
+import org.dominokit.rest.jvm.loopback.LoopbackResponse;
+import org.dominokit.rest.jvm.loopback.LoopbackServer;
+import org.dominokit.rest.shared.Response;
+import org.dominokit.rest.shared.RestfulRequest;
+import org.dominokit.rest.shared.request.DominoRestContext;
+import org.dominokit.rest.shared.request.EncodingMode;
+import org.dominokit.rest.shared.request.PhaseTimeoutException;
+import org.dominokit.rest.shared.request.RequestFailedException;
+import org.dominokit.rest.shared.request.RequestInterceptor;
+import org.dominokit.rest.shared.request.RequestMeta;
+import org.dominokit.rest.shared.request.RequestTimer;
+import org.dominokit.rest.shared.request.ResponseInterceptor;
+import org.dominokit.rest.shared.request.ServerRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/** Tests for the in-process loopback transport. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LoopbackTransportHttpTest {
+
+  private static final String ROOT = "http://loopback";
+  private static final int BENCHMARK_CALLS = 200_000;
+
+  private final LoopbackServer server = new LoopbackServer(42);
+
+  @BeforeAll
+  void initRuntimeAndServer() {
+    DominoRestContext.make().init(DominoRestConfig.initDefaults());
+    server
+        .route(
+            HttpMethod.GET,
+            "/items/{id}",
+            request ->
+                LoopbackResponse.ok(
+                    request.getPathParameter("id").orElse("")
+                        + ":"
+                        + request.getQueryParameter("filter").orElse("")))
+        .route(
+            HttpMethod.POST,
+            "/echo",
+            request ->
+                LoopbackResponse.json(request.getBodyAsString())
+                    .header("X-Method", request.getMethod()))
+        .route(
+            "/files/**",
+            request -> LoopbackResponse.ok(request.getPath().substring("/files/".length())))
+        .route(
+            "/broken",
+            request -> {
+              throw new IllegalStateException("broken handler");
+            });
+    DominoRestConfig.getInstance().setLoopbackServer(server).setTransport(Transport.LOOPBACK);
+  }
+
+  @BeforeEach
+  void reset() {
+    server.clearFaults().setLatency(null);
+  }
+
+  @AfterAll
+  void tearDown() {
+    DominoRestConfig.getInstance().setTransport(null).setLoopbackServer(null);
+  }
+
+  @Test
+  void request_is_routed_to_the_matching_handler() {
+    TextGet request = new TextGet("/items/42");
+    request.setQueryParameter("filter", "active");
+
+    assertEquals("42:active", request.sendAndWait(5, TimeUnit.SECONDS));
+    assertEquals("a/b.txt", new TextGet("/files/a/b.txt").sendAndWait(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void encode_mode_escapes_path_and_query_values() {
+    DominoRestConfig.getInstance().setEncodingMode(EncodingMode.ENCODE);
+    try {
+      TextGet request = new TextGet("/items/{id}");
+      request.setPathParameter("id", "a b");
+      request.setQueryParameter("filter", "x&y=z");
+
+      assertEquals("a b:x&y=z", request.sendAndWait(5, TimeUnit.SECONDS));
+    } finally {
+      DominoRestConfig.getInstance().setEncodingMode(EncodingMode.NONE);
+    }
+  }
+
+  @Test
+  void responses_are_dispatched_with_or_without_events() {
+    DominoRestConfig.getInstance().setResponseEvents(true);
+    try {
+      assertEquals("1:", new TextGet("/items/1").sendAndWait(5, TimeUnit.SECONDS));
+      assertEquals(404, failure(new TextGet("/missing")).getFailedResponse().getStatusCode());
+    } finally {
+      DominoRestConfig.getInstance().setResponseEvents(false);
+    }
+    assertEquals("2:", new TextGet("/items/2").sendAndWait(5, TimeUnit.SECONDS));
+    assertEquals(404, failure(new TextGet("/missing")).getFailedResponse().getStatusCode());
+  }
+
+  @Test
+  void interceptors_can_change_while_requests_are_sent() throws Exception {
+    RequestInterceptor interceptor = (request, contextWait) -> contextWait.complete(request);
+    AtomicBoolean sending = new AtomicBoolean(true);
+    Thread changer =
+        new Thread(
+            () -> {
+              while (sending.get()) {
+                DominoRestConfig.getInstance().addRequestInterceptor(interceptor);
+                DominoRestConfig.getInstance().removeRequestInterceptor(interceptor);
+              }
+            });
+    changer.start();
+    try {
+      ExecutorService senders = Executors.newFixedThreadPool(4);
+      List<Future<String>> responses = new ArrayList<>();
+      for (int i = 0; i < 400; i++) {
+        String id = String.valueOf(i);
+        responses.add(
+            senders.submit(() -> new TextGet("/items/" + id).sendAndWait(5, TimeUnit.SECONDS)));
+      }
+      for (int i = 0; i < responses.size(); i++) {
+        assertEquals(i + ":", responses.get(i).get(10, TimeUnit.SECONDS));
+      }
+      senders.shutdown();
+    } finally {
+      sending.set(false);
+      changer.join();
+    }
+    assertTrue(DominoRestConfig.getInstance().getRequestInterceptors().isEmpty());
+  }
+
+  @Test
+  void request_keeps_the_configuration_it_was_sent_with() throws Exception {
+    server.setLatency(Latency.fixed(100));
+    AtomicInteger completed = new AtomicInteger();
+    ResponseInterceptor interceptor =
+        new ResponseInterceptor() {
+          @Override
+          public void onBeforeCompleteCallback(ServerRequest request) {
+            completed.incrementAndGet();
+          }
+        };
+    CountDownLatch first = new CountDownLatch(1);
+    new TextGet("/items/1").onComplete(first::countDown).send();
+    DominoRestConfig.getInstance().addResponseInterceptor(interceptor);
+    try {
+      assertTrue(first.await(5, TimeUnit.SECONDS));
+      assertEquals(0, completed.get());
+
+      CountDownLatch second = new CountDownLatch(1);
+      new TextGet("/items/2").onComplete(second::countDown).send();
+      assertTrue(second.await(5, TimeUnit.SECONDS));
+      assertEquals(1, completed.get());
+    } finally {
+      DominoRestConfig.getInstance().removeResponseInterceptor(interceptor);
+    }
+  }
+
+  @Test
+  void request_body_and_headers_reach_the_handler() throws Exception {
+    CompletableFuture<Response> response = new CompletableFuture<>();
+    RestfulRequest.post(ROOT + "/echo")
+        .onSuccess(response::complete)
+        .onError(response::completeExceptionally)
+        .sendJson("{\"name\":\"domino\"}");
+
+    Response echoed = response.get(5, TimeUnit.SECONDS);
+    assertEquals("{\"name\":\"domino\"}", echoed.getBodyAsString());
+    assertEquals(Collections.singletonList("POST"), echoed.getHeader("x-method"));
+    assertEquals(Collections.singletonList("application/json"), echoed.getHeader("Content-Type"));
+  }
+
+  @Test
+  void unmatched_routes_and_handler_errors_fail_the_request() {
+    assertEquals(404, failure(new TextGet("/missing")).getFailedResponse().getStatusCode());
+    assertEquals(500, failure(new TextGet("/broken")).getFailedResponse().getStatusCode());
+  }
+
+  @Test
+  void latency_delays_the_response() {
+    server.setLatency(Latency.fixed(100));
+
+    long start = System.nanoTime();
+    assertEquals("1:", new TextGet("/items/1").sendAndWait(5, TimeUnit.SECONDS));
+    assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 90);
+  }
+
+  @Test
+  void bound_request_is_delayed_on_the_timer_of_its_configuration() {
+    server.setLatency(Latency.fixed(20));
+    RequestTimer global = DominoRestConfig.getInstance().getRequestTimer();
+    AtomicInteger scheduled = new AtomicInteger();
+    DominoRestConfig isolated =
+        DominoRestConfig.create()
+            .setLoopbackServer(server)
+            .setTransport(Transport.LOOPBACK)
+            .setRequestTimer(
+                (task, delayMillis) -> {
+                  scheduled.incrementAndGet();
+                  return global.schedule(task, delayMillis);
+                });
+    TextGet request = new TextGet("/items/1");
+    request.setTimeout(2000);
+    request.setRequestContext(DominoRestContext.of(isolated));
+
+    assertEquals("1:", request.sendAndWait(5, TimeUnit.SECONDS));
+    // the watchdog and the delayed response
+    assertTrue(scheduled.get() >= 2, String.valueOf(scheduled.get()));
+  }
+
+  @Test
+  void timeout_fault_is_reported_by_the_request_timeout() {
+    server.addFault(Fault.timeout(1));
+    TextGet request = new TextGet("/items/1");
+    request.setTimeout(200);
+
+    RequestFailedException error = failure(request);
+    assertTrue(
+        error.getFailedResponse().getThrowable() instanceof PhaseTimeoutException,
+        String.valueOf(error.getFailedResponse().getThrowable()));
+  }
+
+  @Test
+  void injected_faults_fail_the_requests() {
+    server.addFault(Fault.error(1));
+    assertTrue(
+        failure(new TextGet("/items/1")).getFailedResponse().getThrowable()
+            instanceof IOException);
+
+    server.clearFaults().addFault(Fault.status(1, 503));
+    assertEquals(503, failure(new TextGet("/items/1")).getFailedResponse().getStatusCode());
+
+    server.clearFaults().addFault(Fault.partialBody(1, 0.5));
+    assertEquals("a/b", new TextGet("/files/a/bcdef").sendAndWait(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void seeded_servers_inject_the_same_faults() {
+    assertEquals(outcomes(new LoopbackServer(7)), outcomes(new LoopbackServer(7)));
+  }
+
+  @Test
+  @EnabledIfSystemProperty(named = "domino.rest.benchmark", matches = "true")
+  void benchmark_client_stack_without_network() throws Exception {
+    // warm up before measuring
+    timeCalls(20_000);
+    long millis = timeCalls(BENCHMARK_CALLS);
+    System.out.printf(
+        "%d loopback calls in %d ms, %d calls/s%n",
+        BENCHMARK_CALLS, millis, BENCHMARK_CALLS * 1000L / Math.max(millis, 1));
+  }
+
+  private long timeCalls(int calls) throws InterruptedException {
+    CountDownLatch done = new CountDownLatch(calls);
+    AtomicInteger failures = new AtomicInteger();
+    long start = System.nanoTime();
+    for (int i = 0; i < calls; i++) {
+      new TextGet("/items/" + i)
+          .onSuccess(response -> {})
+          .onFailed(failedResponse -> failures.incrementAndGet())
+          .onComplete(done::countDown)
+          .send();
+    }
+    assertTrue(done.await(2, TimeUnit.MINUTES), "Calls did not complete in time");
+    assertEquals(0, failures.get());
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+  }
+
+  private static List<String> outcomes(LoopbackServer server) {
+    server.route("/**", request -> LoopbackResponse.ok("ok"));
+    server.addFault(Fault.error(0.3)).addFault(Fault.status(0.3, 503));
+    List<String> outcomes = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      server.send(
+          HttpMethod.GET,
+          URI.create(ROOT + "/items/" + i),
+          Collections.emptyMap(),
+          new byte[0],
+          new LoopbackServer.Callback() {
+            @Override
+            public void onResponse(Response response) {
+              outcomes.add(String.valueOf(response.getStatusCode()));
+            }
+
+            @Override
+            public void onError(Throwable error) {
+              outcomes.add("error");
+            }
+          });
+    }
+    return outcomes;
+  }
+
+  private static RequestFailedException failure(TextGet request) {
+    return assertThrows(
+        RequestFailedException.class, () -> request.sendAndWait(5, TimeUnit.SECONDS));
+  }
+
+  /** GET request reading the body as a String. */
+  static final class TextGet extends ServerRequest<Void, String> {
+    TextGet(String path) {
+      super(new RequestMeta(TextGet.class, "text", Void.class, String.class), null);
+      setServiceRoot(ROOT);
+      setHttpMethod(HttpMethod.GET);
+      setPath(path);
+      setAccept(new String[] {"text/plain"});
+      setResponseReader(Response::getBodyAsString);
+    }
+  }
+}
@@ -0,0 +1,338 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.ws.rs.HttpMethod;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.dominokit.rest.DominoRestConfig;
+import org.dominokit.rest.jvm.Transport;
+import org.dominokit.rest.jvm.nio.NioExchange;
+import org.dominokit.rest.jvm.nio.NioResponse;
+import org.dominokit.rest.jvm.nio.NioTransport;
+import org.dominokit.rest.jvm.nio.TcpEndpoint;
+import org.dominokit.rest.shared.Response;
+import org.dominokit.rest.shared.request.DominoRestContext;
+import org.dominokit.rest.shared.request.PhaseTimeoutException;
+import org.dominokit.rest.shared.request.PhaseTimeouts;
+import org.dominokit.rest.shared.request.RequestFailedException;
+import org.dominokit.rest.shared.request.RequestMeta;
+import org.dominokit.rest.shared.request.ServerRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/** End-to-end tests for the NIO transport. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class NioTransportHttpTest {
+
+  private static final int BENCHMARK_CALLS = 20_000;
+
+  static {
+    // the test server writes headers and body separately, without this every response on a
+    // reused connection waits for a delayed ACK of the client
+    System.setProperty("sun.net.httpserver.nodelay", "true");
+  }
+
+  private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+  private HttpServer server;
+  private String root;
+  private NioTransport transport;
+
+  @BeforeAll
+  void initRuntimeAndServer() throws Exception {
+    DominoRestContext.make().init(DominoRestConfig.initDefaults());
+    transport = new NioTransport(1, 2, 8);
+    DominoRestConfig.getInstance().setNioTransport(transport).setTransport(Transport.NIO);
+
+    server = HttpServer.create(new InetSocketAddress(0), 1024);
+    root = "http://localhost:" + server.getAddress().getPort();
+    server.createContext("/text", this::textHandler);
+    server.createContext("/chunked", this::chunkedHandler);
+    server.createContext("/echo", this::echoHandler);
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.start();
+  }
+
+  @BeforeEach
+  void reset() {
+    clientPorts.clear();
+  }
+
+  @AfterAll
+  void tearDown() {
+    DominoRestConfig.getInstance().setTransport(null).setNioTransport(null);
+    transport.close();
+    if (server != null) server.stop(0);
+  }
+
+  @Test
+  void request_is_sent_through_the_nio_transport() {
+    assertEquals("hello", new TextGet(root, "/text/hello").sendAndWait(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void error_status_fails_the_request() {
+    TextGet request = new TextGet(root, "/text/missing");
+    request.setQueryParameter("status", "404");
+
+    RequestFailedException error =
+        assertThrows(RequestFailedException.class, () -> request.sendAndWait(5, TimeUnit.SECONDS));
+    assertEquals(404, error.getFailedResponse().getStatusCode());
+  }
+
+  @Test
+  void chunked_body_is_read() {
+    assertEquals("abcabcabc", new TextGet(root, "/chunked/abc").sendAndWait(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void connections_are_reused_between_requests() {
+    for (int i = 0; i < 20; i++) {
+      assertEquals("seq" + i, new TextGet(root, "/text/seq" + i).sendAndWait(5, TimeUnit.SECONDS));
+    }
+    assertEquals(1, clientPorts.size());
+  }
+
+  @Test
+  void concurrent_idempotent_requests_are_pipelined_on_the_pool_connections() throws Exception {
+    int calls = 200;
+    CountDownLatch done = new CountDownLatch(calls);
+    AtomicInteger failures = new AtomicInteger();
+    Map<Integer, String> results = new ConcurrentHashMap<>();
+    for (int i = 0; i < calls; i++) {
+      int index = i;
+      new TextGet(root, "/text/p" + i)
+          .onSuccess(body -> results.put(index, body))
+          .onFailed(failedResponse -> failures.incrementAndGet())
+          .onComplete(done::countDown)
+          .send();
+    }
+
+    assertTrue(done.await(10, TimeUnit.SECONDS), "Pipelined calls did not complete in time");
+    assertEquals(0, failures.get());
+    for (int i = 0; i < calls; i++) {
+      assertEquals("p" + i, results.get(i));
+    }
+    assertTrue(clientPorts.size() <= 2, "too many connections " + clientPorts.size());
+  }
+
+  @Test
+  void request_body_is_written_after_the_head() throws Exception {
+    CompletableFuture<NioResponse> response = new CompletableFuture<>();
+    Map<String, String> headers = new LinkedHashMap<>();
+    headers.put("Content-Type", "text/plain");
+    URI uri = URI.create(root + "/echo");
+    transport.send(
+        new NioExchange(
+            TcpEndpoint.of(uri),
+            "POST",
+            "/echo",
+            headers,
+            "ping".getBytes(UTF_8),
+            new NioExchange.Callback() {
+              @Override
+              public void onResponse(NioResponse nioResponse) {
+                response.complete(nioResponse);
+              }
+
+              @Override
+              public void onError(Throwable error) {
+                response.completeExceptionally(error);
+              }
+            }));
+
+    NioResponse echoed = response.get(5, TimeUnit.SECONDS);
+    assertEquals(200, echoed.getStatusCode());
+    assertEquals("POST ping", echoed.getBodyAsString());
+  }
+
+  @Test
+  void invalid_headers_are_rejected_before_anything_is_written() {
+    URI uri = URI.create(root + "/text/invalid");
+    NioExchange.Callback callback =
+        new NioExchange.Callback() {
+          @Override
+          public void onResponse(NioResponse response) {}
+
+          @Override
+          public void onError(Throwable error) {}
+        };
+    for (Map.Entry<String, String> header :
+        Map.of(
+                "X-Value", "a\r\nX-Injected: b",
+                "X Name", "value",
+                "X-Name:", "value",
+                "", "value",
+                "X-Euro", "\u20ac",
+                "X-Control", "a\u0000b")
+            .entrySet()) {
+      Map<String, String> headers = Map.of(header.getKey(), header.getValue());
+      assertThrows(
+          IllegalArgumentException.class,
+          () ->
+              new NioExchange(
+                  TcpEndpoint.of(uri), "GET", "/text/invalid", headers, new byte[0], callback),
+          header.getKey());
+    }
+    new NioExchange(
+        TcpEndpoint.of(uri),
+        "GET",
+        "/text/invalid",
+        Map.of("X-Latin", "caf\u00e9\tau lait"),
+        new byte[0],
+        callback);
+  }
+
+  @Test
+  void request_with_an_invalid_header_fails_without_hitting_the_wire() {
+    TextGet request = new TextGet(root, "/text/invalid");
+    request.setHeaderParameter("X-Value", "a\nb");
+
+    RequestFailedException error =
+        assertThrows(RequestFailedException.class, () -> request.sendAndWait(5, TimeUnit.SECONDS));
+    assertTrue(error.getCause() instanceof IllegalArgumentException, error.toString());
+    assertTrue(clientPorts.isEmpty());
+  }
+
+  @Test
+  void phase_timeouts_apply_to_the_nio_transport() {
+    TextGet request = new TextGet(root, "/text/slow");
+    request.setQueryParameter("delay", "1500");
+    request.setPhaseTimeouts(new PhaseTimeouts().setFirstByte(200));
+
+    RequestFailedException error =
+        assertThrows(RequestFailedException.class, () -> request.sendAndWait(5, TimeUnit.SECONDS));
+    assertTrue(error.getCause() instanceof PhaseTimeoutException, error.toString());
+    assertEquals("after", new TextGet(root, "/text/after").sendAndWait(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  @EnabledIfSystemProperty(named = "domino.rest.benchmark", matches = "true")
+  void benchmark_nio_transport_vs_jdk_client() throws Exception {
+    // warm up both transports before measuring
+    timeCalls(2_000);
+    DominoRestConfig.getInstance().setTransport(Transport.JDK_HTTP_CLIENT);
+    try {
+      timeCalls(2_000);
+      long jdk = timeCalls(BENCHMARK_CALLS);
+      DominoRestConfig.getInstance().setTransport(Transport.NIO);
+      long nio = timeCalls(BENCHMARK_CALLS);
+      System.out.printf(
+          "%d concurrent small calls: JDK client %d ms, NIO transport %d ms%n",
+          BENCHMARK_CALLS, jdk, nio);
+    } finally {
+      DominoRestConfig.getInstance().setTransport(Transport.NIO);
+    }
+  }
+
+  private long timeCalls(int calls) throws InterruptedException {
+    CountDownLatch done = new CountDownLatch(calls);
+    AtomicInteger failures = new AtomicInteger();
+    long start = System.nanoTime();
+    for (int i = 0; i < calls; i++) {
+      new TextGet(root, "/text/bench")
+          .onSuccess(response -> {})
+          .onFailed(failedResponse -> failures.incrementAndGet())
+          .onComplete(done::countDown)
+          .send();
+    }
+    assertTrue(done.await(2, TimeUnit.MINUTES), "Calls did not complete in time");
+    assertEquals(0, failures.get());
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+  }
+
+  /** GET request reading the body as a String. */
+  static final class TextGet extends ServerRequest<Void, String> {
+    TextGet(String serviceRoot, String path) {
+      super(new RequestMeta(TextGet.class, "text", Void.class, String.class), null);
+      setServiceRoot(serviceRoot);
+      setHttpMethod(HttpMethod.GET);
+      setPath(path);
+      setAccept(new String[] {"text/plain"});
+      setResponseReader(Response::getBodyAsString);
+    }
+  }
+
+  private void textHandler(HttpExchange ex) throws IOException {
+    clientPorts.add(ex.getRemoteAddress().getPort());
+    String query = ex.getRequestURI().getQuery();
+    int status = 200;
+    if (query != null && query.startsWith("status=")) {
+      status = Integer.parseInt(query.substring("status=".length()));
+    } else if (query != null && query.startsWith("delay=")) {
+      try {
+        Thread.sleep(Long.parseLong(query.substring("delay=".length())));
+      } catch (InterruptedException ignored) {
+      }
+    }
+    byte[] bytes = ex.getRequestURI().getPath().substring("/text/".length()).getBytes(UTF_8);
+    ex.getResponseHeaders().add("Content-Type", "text/plain");
+    try (OutputStream os = ex.getResponseBody()) {
+      ex.sendResponseHeaders(status, bytes.length);
+      os.write(bytes);
+    } catch (IOException ignored) {
+      // the client gave up on the request
+    }
+  }
+
+  private void chunkedHandler(HttpExchange ex) throws IOException {
+    byte[] bytes = ex.getRequestURI().getPath().substring("/chunked/".length()).getBytes(UTF_8);
+    ex.getResponseHeaders().add("Content-Type", "text/plain");
+    ex.sendResponseHeaders(200, 0);
+    try (OutputStream os = ex.getResponseBody()) {
+      for (int i = 0; i < 3; i++) {
+        os.write(bytes);
+        os.flush();
+      }
+    }
+  }
+
+  private void echoHandler(HttpExchange ex) throws IOException {
+    byte[] body;
+    try (InputStream in = ex.getRequestBody()) {
+      body = in.readAllBytes();
+    }
+    byte[] bytes = (ex.getRequestMethod() + " " + new String(body, UTF_8)).getBytes(UTF_8);
+    ex.sendResponseHeaders(200, bytes.length);
+    try (OutputStream os = ex.getResponseBody()) {
+      os.write(bytes);
+    }
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.ws.rs.HttpMethod;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.dominokit.rest.DominoRestConfig;
+import org.dominokit.rest.shared.Response;
+import org.dominokit.rest.shared.request.DominoRestContext;
+import org.dominokit.rest.shared.request.PhaseTimeoutException;
+import org.dominokit.rest.shared.request.PhaseTimeoutException.Phase;
+import org.dominokit.rest.shared.request.PhaseTimeouts;
+import org.dominokit.rest.shared.request.RequestFailedException;
+import org.dominokit.rest.shared.request.RequestMeta;
+import org.dominokit.rest.shared.request.ServerRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/** End-to-end tests for the connect, first byte, idle and total phase timeouts. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PhaseTimeoutHttpTest {
+
+  private HttpServer server;
+  private String root;
+
+  @BeforeAll
+  void initRuntimeAndServer() throws Exception {
+    DominoRestContext.make().init(DominoRestConfig.initDefaults());
+
+    server = HttpServer.create(new InetSocketAddress(0), 0);
+    root = "http://localhost:" + server.getAddress().getPort();
+    server.createContext("/stream", PhaseTimeoutHttpTest::streamHandler);
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.start();
+  }
+
+  @AfterEach
+  void restoreDefaults() {
+    DominoRestConfig.getInstance().setPhaseTimeouts(null);
+  }
+
+  @AfterAll
+  void tearDown() {
+    if (server != null) server.stop(0);
+  }
+
+  @Test
+  void slow_headers_fail_with_a_first_byte_timeout() {
+    TextGet request = stream(1500, 1, 0);
+    request.setPhaseTimeouts(new PhaseTimeouts().setFirstByte(200));
+
+    assertPhase(Phase.FIRST_BYTE, request);
+  }
+
+  @Test
+  void stalled_body_fails_with_an_idle_timeout() {
+    TextGet request = stream(0, 2, 1500);
+    request.setPhaseTimeouts(new PhaseTimeouts().setIdle(300));
+
+    assertPhase(Phase.IDLE, request);
+  }
+
+  @Test
+  void slow_but_progressing_body_is_not_idle() {
+    TextGet request = stream(0, 6, 100);
+    request.setPhaseTimeouts(new PhaseTimeouts().setFirstByte(1000).setIdle(400));
+
+    assertEquals("xxxxxx", request.sendAndWait(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void progressing_body_still_fails_with_a_total_timeout() {
+    TextGet request = stream(0, 20, 100);
+    request.setPhaseTimeouts(new PhaseTimeouts().setIdle(400).setTotal(500));
+
+    assertPhase(Phase.TOTAL, request);
+  }
+
+  @Test
+  void config_phase_timeouts_apply_to_every_request() {
+    DominoRestConfig.getInstance().setPhaseTimeouts(new PhaseTimeouts().setFirstByte(200));
+
+    assertPhase(Phase.FIRST_BYTE, stream(1500, 1, 0));
+  }
+
+  private TextGet stream(int delay, int chunks, int pause) {
+    TextGet request = new TextGet(root, "/stream");
+    request.setQueryParameter("delay", String.valueOf(delay));
+    request.setQueryParameter("chunks", String.valueOf(chunks));
+    request.setQueryParameter("pause", String.valueOf(pause));
+    return request;
+  }
+
+  private static void assertPhase(Phase phase, TextGet request) {
+    long start = System.currentTimeMillis();
+    RequestFailedException error =
+        assertThrows(RequestFailedException.class, () -> request.sendAndWait(5, TimeUnit.SECONDS));
+    assertTrue(System.currentTimeMillis() - start < 1200, "the timeout was not enforced");
+    assertTrue(error.getCause() instanceof PhaseTimeoutException, error.toString());
+    assertEquals(phase, ((PhaseTimeoutException) error.getCause()).getPhase());
+  }
+
+  /** GET request reading the body as a String. */
+  static final class TextGet extends ServerRequest<Void, String> {
+    TextGet(String serviceRoot, String path) {
+      super(new RequestMeta(TextGet.class, "text", Void.class, String.class), null);
+      setServiceRoot(serviceRoot);
+      setHttpMethod(HttpMethod.GET);
+      setPath(path);
+      setAccept(new String[] {"text/plain"});
+      setResponseReader(Response::getBodyAsString);
+    }
+  }
+
+  /** Waits {@code delay} before the headers then writes {@code chunks} one byte chunks. */
+  private static void streamHandler(HttpExchange ex) throws IOException {
+    String[] params = ex.getRequestURI().getQuery().split("&");
+    long delay = Long.parseLong(params[0].substring("delay=".length()));
+    int chunks = Integer.parseInt(params[1].substring("chunks=".length()));
+    long pause = Long.parseLong(params[2].substring("pause=".length()));
+    try (OutputStream os = ex.getResponseBody()) {
+      Thread.sleep(delay);
+      ex.getResponseHeaders().add("Content-Type", "text/plain");
+      ex.sendResponseHeaders(200, 0);
+      for (int i = 0; i < chunks; i++) {
+        if (i > 0) {
+          Thread.sleep(pause);
+        }
+        os.write("x".getBytes(UTF_8));
+        os.flush();
+      }
+    } catch (IOException | InterruptedException ignored) {
+      // the client gave up on the request
+    }
+  }
+}
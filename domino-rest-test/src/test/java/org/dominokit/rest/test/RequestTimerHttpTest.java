@@ -0,0 +1,193 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.ws.rs.HttpMethod;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.dominokit.rest.DominoRestConfig;
+import org.dominokit.rest.jvm.HashedWheelRequestTimer;
+import org.dominokit.rest.shared.Response;
+import org.dominokit.rest.shared.request.DominoRestContext;
+import org.dominokit.rest.shared.request.RequestMeta;
+import org.dominokit.rest.shared.request.RequestTimer;
+import org.dominokit.rest.shared.request.ServerRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/** Tests for the shared JVM request timer and the retry backoff scheduled on it. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RequestTimerHttpTest {
+
+  private final List<Long> hits = new CopyOnWriteArrayList<>();
+
+  private HttpServer server;
+  private String root;
+
+  @BeforeAll
+  void initRuntimeAndServer() throws Exception {
+    DominoRestContext.make().init(DominoRestConfig.initDefaults());
+
+    server = HttpServer.create(new InetSocketAddress(0), 0);
+    root = "http://localhost:" + server.getAddress().getPort();
+    server.createContext("/flaky", this::flakyHandler);
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.start();
+  }
+
+  @AfterAll
+  void tearDown() {
+    if (server != null) server.stop(0);
+  }
+
+  @Test
+  void task_runs_after_its_delay() throws Exception {
+    RequestTimer timer = new HashedWheelRequestTimer();
+    CountDownLatch done = new CountDownLatch(1);
+    long start = System.nanoTime();
+
+    timer.schedule(done::countDown, 100);
+
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 100);
+  }
+
+  @Test
+  void tasks_never_run_before_their_delay() throws Exception {
+    RequestTimer timer = new HashedWheelRequestTimer(1, 64);
+    int tasks = 200;
+    CountDownLatch done = new CountDownLatch(tasks);
+    AtomicInteger early = new AtomicInteger();
+    for (int i = 0; i < tasks; i++) {
+      long delay = 1 + (i % 20);
+      long start = System.nanoTime();
+      timer.schedule(
+          () -> {
+            if (System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(delay)) {
+              early.incrementAndGet();
+            }
+            done.countDown();
+          },
+          delay);
+    }
+
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    assertEquals(0, early.get());
+  }
+
+  @Test
+  void slow_task_does_not_delay_the_other_tasks() throws Exception {
+    RequestTimer timer = new HashedWheelRequestTimer();
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(1);
+    timer.schedule(
+        () -> {
+          try {
+            release.await(5, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        },
+        10);
+    timer.schedule(done::countDown, 50);
+
+    try {
+      assertTrue(done.await(2, TimeUnit.SECONDS));
+    } finally {
+      release.countDown();
+    }
+  }
+
+  @Test
+  void cancelled_tasks_never_run() throws Exception {
+    HashedWheelRequestTimer timer = new HashedWheelRequestTimer();
+    AtomicInteger fired = new AtomicInteger();
+    CountDownLatch done = new CountDownLatch(1);
+    List<RequestTimer.Timeout> timeouts = new ArrayList<>();
+    for (int i = 0; i < 20000; i++) {
+      timeouts.add(timer.schedule(fired::incrementAndGet, 100 + (i % 200)));
+    }
+    timer.schedule(done::countDown, 400);
+    timeouts.forEach(RequestTimer.Timeout::cancel);
+
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    assertEquals(0, fired.get());
+    assertEquals(0, timer.pending());
+  }
+
+  @Test
+  void timed_out_attempt_is_retried_after_the_backoff() {
+    hits.clear();
+    TextGet request = new TextGet(root, "/flaky/retried");
+    request.setTimeout(200);
+    request.setMaxRetries(1);
+    request.setRetryBackoff(300);
+    long start = TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+
+    assertEquals("retried", request.sendAndWait(5, TimeUnit.SECONDS));
+    assertEquals(2, hits.size());
+    // the attempt timeout starts with the send, not when the server sees the first attempt
+    long gap = hits.get(1) - start;
+    assertTrue(gap >= 500, "the retry did not wait for the backoff " + gap);
+  }
+
+  /** GET request reading the body as a String. */
+  static final class TextGet extends ServerRequest<Void, String> {
+    TextGet(String serviceRoot, String path) {
+      super(new RequestMeta(TextGet.class, "text", Void.class, String.class), null);
+      setServiceRoot(serviceRoot);
+      setHttpMethod(HttpMethod.GET);
+      setPath(path);
+      setAccept(new String[] {"text/plain"});
+      setResponseReader(Response::getBodyAsString);
+    }
+  }
+
+  /** Stalls the first call past the attempt timeout and answers the following ones. */
+  private void flakyHandler(HttpExchange ex) throws IOException {
+    hits.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime()));
+    if (hits.size() == 1) {
+      try {
+        Thread.sleep(1000);
+      } catch (InterruptedException ignored) {
+      }
+    }
+    byte[] bytes = ex.getRequestURI().getPath().substring("/flaky/".length()).getBytes(UTF_8);
+    ex.getResponseHeaders().add("Content-Type", "text/plain");
+    try (OutputStream os = ex.getResponseBody()) {
+      ex.sendResponseHeaders(200, bytes.length);
+      os.write(bytes);
+    } catch (IOException ignored) {
+      // the client gave up on the request
+    }
+  }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.ws.rs.HttpMethod;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.dominokit.rest.DominoRestConfig;
+import org.dominokit.rest.shared.Response;
+import org.dominokit.rest.shared.request.DominoRestContext;
+import org.dominokit.rest.shared.request.RequestFailedException;
+import org.dominokit.rest.shared.request.RequestMeta;
+import org.dominokit.rest.shared.request.ServerRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/** End-to-end tests for the {@link CompletionStage} API of {@link ServerRequest}. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ServerRequestAsyncHttpTest {
+
+  private HttpServer server;
+  private String root;
+
+  @BeforeAll
+  void initRuntimeAndServer() throws Exception {
+    DominoRestContext.make().init(DominoRestConfig.initDefaults());
+
+    server = HttpServer.create(new InetSocketAddress(0), 0);
+    root = "http://localhost:" + server.getAddress().getPort();
+    server.createContext("/text", ServerRequestAsyncHttpTest::textHandler);
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.start();
+  }
+
+  @AfterAll
+  void tearDown() {
+    if (server != null) server.stop(0);
+  }
+
+  @Test
+  void send_async_completes_with_the_response() throws Exception {
+    CompletionStage<String> stage = new TextGet(root, "/text/hello").sendAsync();
+
+    assertEquals("hello", stage.toCompletableFuture().get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void stages_can_be_combined() throws Exception {
+    CompletableFuture<String> first =
+        new TextGet(root, "/text/a").sendAsync().toCompletableFuture();
+    CompletableFuture<String> second =
+        new TextGet(root, "/text/b").sendAsync().toCompletableFuture();
+
+    String combined = first.thenCombine(second, String::concat).get(5, TimeUnit.SECONDS);
+    assertEquals("ab", combined);
+  }
+
+  @Test
+  void failed_request_completes_exceptionally_with_the_failed_response() throws Exception {
+    CompletableFuture<String> future =
+        new TextGet(root, "/text/missing")
+            .setQueryParameter("status", "404")
+            .sendAsync()
+            .toCompletableFuture();
+
+    ExecutionException error =
+        assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+    assertTrue(error.getCause() instanceof RequestFailedException, error.toString());
+    assertEquals(
+        404, ((RequestFailedException) error.getCause()).getFailedResponse().getStatusCode());
+  }
+
+  @Test
+  void previously_registered_handlers_are_still_called() throws Exception {
+    StringBuilder seen = new StringBuilder();
+    TextGet request = new TextGet(root, "/text/handled");
+    request.onSuccess(seen::append);
+
+    assertEquals("handled", request.sendAsync().toCompletableFuture().get(5, TimeUnit.SECONDS));
+    assertEquals("handled", seen.toString());
+  }
+
+  @Test
+  void handlers_of_a_send_are_not_called_by_the_next_send() throws Exception {
+    AtomicInteger firstFailures = new AtomicInteger();
+    AtomicInteger secondFailures = new AtomicInteger();
+    TextGet request = new TextGet(root, "/text/missing");
+    request.setQueryParameter("status", "404");
+
+    CountDownLatch first = new CountDownLatch(1);
+    request.send(
+        response -> {},
+        failedResponse -> {
+          firstFailures.incrementAndGet();
+          first.countDown();
+        });
+    assertTrue(first.await(5, TimeUnit.SECONDS));
+    CountDownLatch second = new CountDownLatch(1);
+    request.send(
+        response -> {},
+        failedResponse -> {
+          secondFailures.incrementAndGet();
+          second.countDown();
+        });
+    assertTrue(second.await(5, TimeUnit.SECONDS));
+
+    assertEquals(1, firstFailures.get());
+    assertEquals(1, secondFailures.get());
+  }
+
+  @Test
+  void abort_handler_of_a_send_is_not_called_by_the_next_send() throws Exception {
+    AtomicInteger firstAborts = new AtomicInteger();
+    AtomicInteger secondAborts = new AtomicInteger();
+    TextGet request = new TextGet(root, "/text/slow");
+    request.setQueryParameter("delay", "2000");
+    request.setDeadline(100);
+
+    CountDownLatch first = new CountDownLatch(1);
+    request.send(response -> {}, failedResponse -> first.countDown(), firstAborts::incrementAndGet);
+    assertTrue(first.await(5, TimeUnit.SECONDS));
+    request.setDeadline(-1);
+    request.send(response -> {}, failedResponse -> {}, secondAborts::incrementAndGet);
+    request.abort();
+
+    assertEquals(0, firstAborts.get());
+    assertEquals(1, secondAborts.get());
+  }
+
+  @Test
+  void failures_reported_by_the_future_skip_the_default_fail_handler() {
+    AtomicInteger defaultFailures = new AtomicInteger();
+    DominoRestConfig config =
+        DominoRestConfig.create()
+            .setDefaultFailHandler(failedResponse -> defaultFailures.incrementAndGet());
+    TextGet request = new TextGet(root, "/text/missing");
+    request.setQueryParameter("status", "500");
+    request.setRequestContext(DominoRestContext.of(config));
+
+    assertThrows(RequestFailedException.class, () -> request.sendAndWait(5, TimeUnit.SECONDS));
+    assertEquals(0, defaultFailures.get());
+  }
+
+  @Test
+  void cancelling_the_future_aborts_the_request() {
+    TextGet request = new TextGet(root, "/text/slow");
+    request.setQueryParameter("delay", "2000");
+    CompletableFuture<String> future = request.sendAsync().toCompletableFuture();
+
+    assertTrue(future.cancel(true));
+    assertTrue(request.isAborted());
+    assertThrows(CancellationException.class, future::join);
+  }
+
+  @Test
+  void aborting_the_request_cancels_the_future() {
+    TextGet request = new TextGet(root, "/text/slow");
+    request.setQueryParameter("delay", "2000");
+    CompletableFuture<String> future = request.sendAsync().toCompletableFuture();
+
+    request.abort();
+    assertTrue(future.isCancelled());
+  }
+
+  /** GET request reading the body as a String. */
+  static final class TextGet extends ServerRequest<Void, String> {
+    TextGet(String serviceRoot, String path) {
+      super(new RequestMeta(TextGet.class, "text", Void.class, String.class), null);
+      setServiceRoot(serviceRoot);
+      setHttpMethod(HttpMethod.GET);
+      setPath(path);
+      setAccept(new String[] {"text/plain"});
+      setResponseReader(Response::getBodyAsString);
+    }
+  }
+
+  private static void textHandler(HttpExchange ex) throws IOException {
+    String path = ex.getRequestURI().getPath();
+    String query = ex.getRequestURI().getQuery();
+    int status = 200;
+    if (query != null && query.startsWith("status=")) {
+      status = Integer.parseInt(query.substring("status=".length()));
+    } else if (query != null && query.startsWith("delay=")) {
+      try {
+        Thread.sleep(Long.parseLong(query.substring("delay=".length())));
+      } catch (InterruptedException ignored) {
+      }
+    }
+    byte[] bytes = path.substring("/text/".length()).getBytes(UTF_8);
+    ex.getResponseHeaders().add("Content-Type", "text/plain");
+    ex.sendResponseHeaders(status, bytes.length);
+    try (OutputStream os = ex.getResponseBody()) {
+      os.write(bytes);
+    }
+  }
+}
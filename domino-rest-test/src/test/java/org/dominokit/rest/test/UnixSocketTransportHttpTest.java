@@ -0,0 +1,285 @@
+/*
+ * Copyright © 2019 Dominokit
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dominokit.rest.test;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.ws.rs.HttpMethod;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ProtocolFamily;
+import java.net.StandardProtocolFamily;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.dominokit.rest.DominoRestConfig;
+import org.dominokit.rest.jvm.Transport;
+import org.dominokit.rest.jvm.nio.NioExchange;
+import org.dominokit.rest.jvm.nio.NioResponse;
+import org.dominokit.rest.jvm.nio.UnixSocketEndpoint;
+import org.dominokit.rest.shared.Response;
+import org.dominokit.rest.shared.request.DominoRestContext;
+import org.dominokit.rest.shared.request.RequestMeta;
+import org.dominokit.rest.shared.request.ServerRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+/** End-to-end tests for {@code unix://} service roots served over a unix domain socket. */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledOnOs({OS.LINUX, OS.MAC})
+class UnixSocketTransportHttpTest {
+
+  private static final int BENCHMARK_CALLS = 20_000;
+
+  private final AtomicInteger accepted = new AtomicInteger();
+
+  private Path directory;
+  private String socketPath;
+  private String root;
+  private ServerSocketChannel unixServer;
+  private ServerSocketChannel tcpServer;
+
+  @BeforeAll
+  void initRuntimeAndServer() throws Exception {
+    Assumptions.assumeTrue(UnixSocketEndpoint.isSupported(), "unix domain sockets need JDK 16");
+    DominoRestContext.make().init(DominoRestConfig.initDefaults());
+
+    directory = Files.createTempDirectory("domino-rest-uds");
+    socketPath = directory.resolve("app.sock").toString();
+    root = "unix://" + socketPath;
+    unixServer =
+        (ServerSocketChannel)
+            ServerSocketChannel.class
+                .getMethod("open", ProtocolFamily.class)
+                .invoke(null, StandardProtocolFamily.valueOf("UNIX"));
+    unixServer.bind(new UnixSocketEndpoint(socketPath).address());
+    tcpServer = ServerSocketChannel.open();
+    tcpServer.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    startAccepting(unixServer);
+    startAccepting(tcpServer);
+  }
+
+  @BeforeEach
+  void reset() {
+    accepted.set(0);
+  }
+
+  @AfterAll
+  void tearDown() throws IOException {
+    if (unixServer != null) unixServer.close();
+    if (tcpServer != null) tcpServer.close();
+    if (directory != null) {
+      Files.deleteIfExists(directory.resolve("app.sock"));
+      Files.deleteIfExists(directory);
+    }
+  }
+
+  @Test
+  void unix_service_root_is_served_over_the_socket() {
+    EchoGet request = new EchoGet(root, "/items/1");
+    request.setQueryParameter("q", "a");
+
+    assertEquals("GET /items/1?q=a", request.sendAndWait(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void connections_to_the_socket_are_reused() {
+    for (int i = 0; i < 20; i++) {
+      String echoed = new EchoGet(root, "/items/" + i).sendAndWait(5, TimeUnit.SECONDS);
+      assertEquals("GET /items/" + i, echoed);
+    }
+    // the connection opened by a previous test may be reused as well
+    assertTrue(accepted.get() <= 1, "too many connections " + accepted.get());
+  }
+
+  @Test
+  void request_body_is_sent_over_the_socket() throws Exception {
+    CompletableFuture<NioResponse> response = new CompletableFuture<>();
+    URI uri = URI.create(root + "/echo");
+    DominoRestConfig.getInstance()
+        .getNioTransport()
+        .send(
+            new NioExchange(
+                UnixSocketEndpoint.of(uri),
+                "POST",
+                UnixSocketEndpoint.target(uri),
+                new LinkedHashMap<>(),
+                "ping".getBytes(UTF_8),
+                new NioExchange.Callback() {
+                  @Override
+                  public void onResponse(NioResponse nioResponse) {
+                    response.complete(nioResponse);
+                  }
+
+                  @Override
+                  public void onError(Throwable error) {
+                    response.completeExceptionally(error);
+                  }
+                }));
+
+    assertEquals("POST /echo ping", response.get(5, TimeUnit.SECONDS).getBodyAsString());
+  }
+
+  @Test
+  void socket_path_ends_at_the_first_sock_segment() {
+    URI uri = URI.create("unix:///var/run/app.sock/api/a%2Fb?x=1");
+
+    assertEquals("/var/run/app.sock", UnixSocketEndpoint.of(uri).getPath());
+    assertEquals("/api/a%2Fb?x=1", UnixSocketEndpoint.target(uri));
+    assertEquals("/", UnixSocketEndpoint.target(URI.create("unix:///var/run/app.sock")));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> UnixSocketEndpoint.of(URI.create("unix:///var/run/app/api")));
+  }
+
+  @Test
+  @EnabledIfSystemProperty(named = "domino.rest.benchmark", matches = "true")
+  void benchmark_unix_socket_vs_loopback_tcp() {
+    String tcpRoot = "http://127.0.0.1:" + tcpServer.socket().getLocalPort();
+    DominoRestConfig.getInstance().setTransport(Transport.NIO);
+    try {
+      // warm up both paths before measuring
+      timeCalls(tcpRoot, 2_000);
+      timeCalls(root, 2_000);
+      long tcp = timeCalls(tcpRoot, BENCHMARK_CALLS);
+      long unix = timeCalls(root, BENCHMARK_CALLS);
+      System.out.printf(
+          "%d sequential calls: loopback TCP %d us/call, unix socket %d us/call%n",
+          BENCHMARK_CALLS, tcp / BENCHMARK_CALLS, unix / BENCHMARK_CALLS);
+    } finally {
+      DominoRestConfig.getInstance().setTransport(null);
+    }
+  }
+
+  private long timeCalls(String serviceRoot, int calls) {
+    long start = System.nanoTime();
+    for (int i = 0; i < calls; i++) {
+      new EchoGet(serviceRoot, "/bench").sendAndWait(5, TimeUnit.SECONDS);
+    }
+    return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+  }
+
+  /** GET request reading the echoed request line as a String. */
+  static final class EchoGet extends ServerRequest<Void, String> {
+    EchoGet(String serviceRoot, String path) {
+      super(new RequestMeta(EchoGet.class, "echo", Void.class, String.class), null);
+      setServiceRoot(serviceRoot);
+      setHttpMethod(HttpMethod.GET);
+      setPath(path);
+      setAccept(new String[] {"text/plain"});
+      setResponseReader(Response::getBodyAsString);
+    }
+  }
+
+  private void startAccepting(ServerSocketChannel server) {
+    Thread acceptor =
+        new Thread(
+            () -> {
+              while (server.isOpen()) {
+                try {
+                  SocketChannel channel = server.accept();
+                  accepted.incrementAndGet();
+                  Thread connection = new Thread(() -> serve(channel));
+                  connection.setDaemon(true);
+                  connection.start();
+                } catch (IOException e) {
+                  // the server was closed
+                }
+              }
+            });
+    acceptor.setDaemon(true);
+    acceptor.start();
+  }
+
+  /**
+   * A minimal keep-alive HTTP/1.1 server answering every request with its method, target and body.
+   */
+  private static void serve(SocketChannel channel) {
+    try (SocketChannel ignored = channel;
+        InputStream in = new BufferedInputStream(Channels.newInputStream(channel));
+        OutputStream out = Channels.newOutputStream(channel)) {
+      String requestLine;
+      while ((requestLine = readLine(in)) != null) {
+        int contentLength = 0;
+        String header;
+        while (!(header = readLine(in)).isEmpty()) {
+          if (header.toLowerCase(Locale.ROOT).startsWith("content-length:")) {
+            contentLength = Integer.parseInt(header.substring("content-length:".length()).trim());
+          }
+        }
+        byte[] body = in.readNBytes(contentLength);
+        String[] parts = requestLine.split(" ");
+        String echo = parts[0] + " " + parts[1];
+        if (body.length > 0) {
+          echo += " " + new String(body, UTF_8);
+        }
+        byte[] bytes = echo.getBytes(UTF_8);
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        response.write(
+            ("HTTP/1.1 200 OK\r\nContent-Type: text/plain\r\nContent-Length: "
+                    + bytes.length
+                    + "\r\n\r\n")
+                .getBytes(ISO_8859_1));
+        response.write(bytes);
+        // a single write keeps Nagle from delaying the body on the TCP connections
+        out.write(response.toByteArray());
+      }
+    } catch (IOException e) {
+      // the client closed the connection
+    }
+  }
+
+  private static String readLine(InputStream in) throws IOException {
+    ByteArrayOutputStream line = new ByteArrayOutputStream();
+    int b;
+    while ((b = in.read()) != -1) {
+      if (b == '\n') {
+        byte[] bytes = line.toByteArray();
+        int length = bytes.length;
+        if (length > 0 && bytes[length - 1] == '\r') {
+          length--;
+        }
+        return new String(bytes, 0, length, ISO_8859_1);
+      }
+      line.write(b);
+    }
+    return line.size() == 0 ? null : line.toString(ISO_8859_1);
+  }
+}
@@ -124,6 +124,38 @@ class UrlSplitUtilTest {
     assertSplit("data:text/plain,hello", "", "data:text/plain,hello");
   }
 
+  @Test
+  @DisplayName("Only the text up to the first '@' of the authority is userinfo")
+  void first_at_sign_ends_the_userinfo() {
+    assertSplit("http://a@b@c/p", "http://b@c", "/p");
+    assertSplit("http://host/a@b", "http://host", "/a@b");
+  }
+
+  @Test
+  @DisplayName("A scheme must start with a letter")
+  void invalid_scheme_falls_back_to_rest() {
+    assertSplit("1http://example.com/a", "", "1http://example.com/a");
+    assertSplit("a+b.c-d://example.com/a", "a+b.c-d://example.com", "/a");
+  }
+
+  @Test
+  @DisplayName("Only unix: roots may have an empty authority")
+  void empty_authority_is_only_accepted_for_unix() {
+    assertSplit("unix:///var/run/app.sock/api", "unix://", "/var/run/app.sock/api");
+    assertSplit("UNIX:///app.sock", "UNIX://", "/app.sock");
+    assertSplit("///users//42?x=1", "", "///users//42?x=1");
+    assertSplit("http:///a", "", "http:///a");
+    assertSplit("//user@/a", "", "//user@/a");
+  }
+
+  @Test
+  @DisplayName("Static split matches the instance split")
+  void static_split_matches_instance_split() {
+    UrlSplitUtil.Split split = UrlSplitUtil.splitUrl("https://user@example.com:8443/a?x=1#f");
+    assertEquals("https://example.com:8443", split.leftSide);
+    assertEquals("/a?x=1#f", split.rightSide);
+  }
+
   // ---------------- Helpers ----------------
 
   private static org.junit.jupiter.params.provider.Arguments arg(